@@ -0,0 +1,37 @@
+/*
+ * Migration: Keyset Paging Index
+ * Supports streamAll() and findPage() ordering by (created_at DESC, id DESC)
+ */
+
+PRINT '========================================';
+PRINT '   Migration: Keyset Paging Index      ';
+PRINT '   Version: 1.2                        ';
+PRINT '========================================';
+GO
+
+USE TaskTrackerDB;
+GO
+
+-- 1. Add composite index matching the paging order
+PRINT '1. Adding paging index...';
+IF NOT EXISTS (SELECT * FROM sys.indexes
+               WHERE name = 'IX_Tasks_CreatedAt_Id' AND object_id = OBJECT_ID('Tasks'))
+BEGIN
+    CREATE INDEX IX_Tasks_CreatedAt_Id ON Tasks(created_at DESC, id DESC)
+        INCLUDE (description, status);
+    PRINT '     Index "IX_Tasks_CreatedAt_Id" created';
+END
+ELSE
+BEGIN
+    PRINT '     Index "IX_Tasks_CreatedAt_Id" already exists';
+END
+GO
+
+PRINT '========================================';
+PRINT '   Migration completed successfully!    ';
+PRINT '========================================';
+PRINT '';
+PRINT 'Changes applied:';
+PRINT '  - Added index on (created_at DESC, id DESC)';
+PRINT '========================================';
+GO
@@ -0,0 +1,70 @@
+/*
+ * Migration: Materialized Task Counters
+ * Indexed view maintained by SQL Server on every write to Tasks
+ * count()/countByStatus() read two rows instead of scanning IX_Tasks_Status
+ */
+
+PRINT '========================================';
+PRINT '   Migration: Task Counters            ';
+PRINT '   Version: 1.3                        ';
+PRINT '========================================';
+GO
+
+USE TaskTrackerDB;
+GO
+
+-- Indexed views require these session settings
+SET ANSI_NULLS ON;
+SET QUOTED_IDENTIFIER ON;
+SET ANSI_PADDING ON;
+SET ANSI_WARNINGS ON;
+SET ARITHABORT ON;
+SET CONCAT_NULL_YIELDS_NULL ON;
+SET NUMERIC_ROUNDABORT OFF;
+GO
+
+-- 1. Create schema-bound view
+PRINT '1. Creating counter view...';
+IF NOT EXISTS (SELECT * FROM sys.views WHERE name = 'vw_TaskStatusCounts')
+BEGIN
+    EXEC('CREATE VIEW dbo.vw_TaskStatusCounts
+        WITH SCHEMABINDING
+        AS
+        SELECT
+            status,
+            COUNT_BIG(*) AS task_count
+        FROM dbo.Tasks
+        GROUP BY status');
+    PRINT '     View "vw_TaskStatusCounts" created';
+END
+ELSE
+BEGIN
+    PRINT '     View "vw_TaskStatusCounts" already exists';
+END
+GO
+
+-- 2. Materialize the view
+PRINT '2. Adding clustered index on view...';
+IF NOT EXISTS (SELECT * FROM sys.indexes
+               WHERE name = 'IX_vw_TaskStatusCounts' AND object_id = OBJECT_ID('vw_TaskStatusCounts'))
+BEGIN
+    CREATE UNIQUE CLUSTERED INDEX IX_vw_TaskStatusCounts ON dbo.vw_TaskStatusCounts(status);
+    PRINT '     Index "IX_vw_TaskStatusCounts" created';
+END
+ELSE
+BEGIN
+    PRINT '     Index "IX_vw_TaskStatusCounts" already exists';
+END
+GO
+
+PRINT '========================================';
+PRINT '   Migration completed successfully!    ';
+PRINT '========================================';
+PRINT '';
+PRINT 'Changes applied:';
+PRINT '  - Created indexed view vw_TaskStatusCounts';
+PRINT '';
+PRINT 'Run: SELECT * FROM vw_TaskStatusCounts WITH (NOEXPAND)';
+PRINT 'Repository: mssql.counters.mode=AUTO picks up the view automatically';
+PRINT '========================================';
+GO
@@ -0,0 +1,59 @@
+/*
+ * Migration: Full-Text Search
+ * Full-text catalog and index on Tasks.description
+ * With mssql.search.mode=FULLTEXT, findByDescriptionContaining() uses CONTAINS instead of scanning with LIKE '%...%'
+ * (opt-in: matches words and word prefixes only, and new rows are indexed with a short delay)
+ * Requires the Full-Text Search feature of SQL Server
+ */
+
+PRINT '========================================';
+PRINT '   Migration: Full-Text Search         ';
+PRINT '   Version: 1.4                        ';
+PRINT '========================================';
+GO
+
+USE TaskTrackerDB;
+GO
+
+-- 1. Create catalog
+PRINT '1. Creating full-text catalog...';
+IF NOT EXISTS (SELECT * FROM sys.fulltext_catalogs WHERE name = 'ftc_TaskTracker')
+BEGIN
+    CREATE FULLTEXT CATALOG ftc_TaskTracker;
+    PRINT '     Catalog "ftc_TaskTracker" created';
+END
+ELSE
+BEGIN
+    PRINT '     Catalog "ftc_TaskTracker" already exists';
+END
+GO
+
+-- 2. Create full-text index
+-- Neutral word breaker (LANGUAGE 0) and no stoplist: every word and number stays searchable
+-- CHANGE_TRACKING AUTO: new and changed rows are indexed in the background, usually within seconds
+PRINT '2. Creating full-text index on Tasks(description)...';
+IF NOT EXISTS (SELECT * FROM sys.fulltext_indexes WHERE object_id = OBJECT_ID('Tasks'))
+BEGIN
+    CREATE FULLTEXT INDEX ON dbo.Tasks(description LANGUAGE 0)
+        KEY INDEX PK_Tasks ON ftc_TaskTracker
+        WITH CHANGE_TRACKING = AUTO, STOPLIST = OFF;
+    PRINT '     Full-text index on "Tasks" created';
+END
+ELSE
+BEGIN
+    PRINT '     Full-text index on "Tasks" already exists';
+END
+GO
+
+PRINT '========================================';
+PRINT '   Migration completed successfully!    ';
+PRINT '========================================';
+PRINT '';
+PRINT 'Changes applied:';
+PRINT '  - Created full-text catalog ftc_TaskTracker';
+PRINT '  - Created full-text index on Tasks(description)';
+PRINT '';
+PRINT 'Run: SELECT * FROM Tasks WHERE CONTAINS(description, ''"review*"'')';
+PRINT 'Repository: set mssql.search.mode=FULLTEXT to use the index (default is LIKE)';
+PRINT '========================================';
+GO
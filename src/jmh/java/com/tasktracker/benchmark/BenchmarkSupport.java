@@ -0,0 +1,94 @@
+package com.tasktracker.benchmark;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.repository.RepositoryFactory;
+import com.tasktracker.repository.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Gemeinsame Hilfsmethoden für die JMH Benchmarks
+ * Backend-Auswahl über den Parameter "backend", MSSQL-Verbindung über
+ * -Dbench.mssql.url, -Dbench.mssql.username und -Dbench.mssql.password
+ */
+
+final class BenchmarkSupport{
+    static final String SEARCH_KEYWORD = "kategorie 7";
+
+    private static final int FILL_CHUNK_SIZE = 10_000;
+    private static final String[] WORDS = {
+            "Datenbank", "Review", "Deployment", "Tests", "Dokumentation",
+            "Refactoring", "Release", "Migration", "Support", "Analyse"
+    };
+
+    private BenchmarkSupport(){
+    }
+
+    static TaskRepository createRepository(String backend){
+        RepositoryFactory factory = RepositoryFactory.getInstance();
+
+        switch (backend.toUpperCase()){
+            case "IN_MEMORY":
+                return factory.createInMemoryRepository();
+            case "CONCURRENT_IN_MEMORY":
+                return factory.createConcurrentInMemoryRepository();
+            case "CACHED_CONCURRENT_IN_MEMORY":
+                return factory.createCachingRepository(factory.createConcurrentInMemoryRepository());
+            case "OFF_HEAP":
+                return factory.createOffHeapRepository();
+            case "SNAPSHOT_IN_MEMORY":
+                return factory.createSnapshotInMemoryRepository();
+            case "SHARDED":
+                return factory.createShardedRepository();
+            case "MSSQL":
+                return factory.createMssqlRepository(
+                        System.getProperty("bench.mssql.url",
+                                "jdbc:sqlserver://localhost:1433;databaseName=TaskTrackerDB;trustServerCertificate=true"),
+                        System.getProperty("bench.mssql.username", "sa"),
+                        System.getProperty("bench.mssql.password", ""));
+            default:
+                throw new IllegalArgumentException("Unbekanntes Backend: " + backend);
+        }
+    }
+
+    /*
+     * Füllt das Repository auf genau size Aufgaben auf, jede zehnte ist ERLEDIGT
+     * Bestehende Daten werden weiterverwendet, wenn die Anzahl bereits passt
+     */
+    static void fill(TaskRepository repository, int size){
+        long existing = repository.count();
+        if (existing > size){
+            repository.deleteAll();
+            existing = 0;
+        }
+
+        List<Task> chunk = new ArrayList<>(FILL_CHUNK_SIZE);
+        for (long i = existing; i < size; i++){
+            chunk.add(newTask(i));
+            if (chunk.size() == FILL_CHUNK_SIZE){
+                repository.saveAll(chunk);
+                chunk = new ArrayList<>(FILL_CHUNK_SIZE);
+            }
+        }
+        repository.saveAll(chunk);
+    }
+
+    static Task newTask(long sequence){
+        Task task = new Task(WORDS[(int) (sequence % WORDS.length)] + " Aufgabe " + sequence
+                + " Kategorie " + (sequence % 100));
+        if (sequence % 10 == 0){
+            task.setTaskStatus(TaskStatus.ERLEDIGT);
+        }
+        return task;
+    }
+
+    static List<Task> newTasks(long firstSequence, int count){
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++){
+            tasks.add(newTask(firstSequence + i));
+        }
+        return tasks;
+    }
+}
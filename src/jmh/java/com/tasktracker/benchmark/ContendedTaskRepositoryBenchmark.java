@@ -0,0 +1,79 @@
+package com.tasktracker.benchmark;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Gemischte Last 90/10 (9 lesende, 1 schreibender Thread je Gruppe)
+ * Nur für thread-sichere Backends, Skalierung über -tg, z.B. -PjmhArgs="-tg 18,2"
+ * CACHED_CONCURRENT_IN_MEMORY misst die Treffer des Caches unter Konkurrenz (cache.max.size, Standard 10000)
+ */
+
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ContendedTaskRepositoryBenchmark{
+
+    @Param({"CONCURRENT_IN_MEMORY", "CACHED_CONCURRENT_IN_MEMORY"})
+    public String backend;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private TaskRepository repository;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        repository = BenchmarkSupport.createRepository(backend);
+        BenchmarkSupport.fill(repository, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        repository.deleteAll();
+    }
+
+    private long randomId(){
+        return ThreadLocalRandom.current().nextLong(1, size + 1);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(9)
+    public Optional<Task> read(){
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Task write(){
+        long id = randomId();
+        Task task = new Task(id, "Aktualisiert " + id,
+                ThreadLocalRandom.current().nextBoolean() ? TaskStatus.ERLEDIGT : TaskStatus.OFFEN);
+        return repository.save(task);
+    }
+
+    @Benchmark
+    @Group("counts")
+    @GroupThreads(9)
+    public long countByStatus(){
+        return repository.countByStatus(TaskStatus.ERLEDIGT);
+    }
+
+    @Benchmark
+    @Group("counts")
+    @GroupThreads(1)
+    public Task toggleStatus(){
+        return write();
+    }
+}
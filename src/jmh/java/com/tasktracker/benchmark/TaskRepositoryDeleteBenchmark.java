@@ -0,0 +1,62 @@
+package com.tasktracker.benchmark;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * delete ist destruktiv: pro Iteration werden BATCH zusätzliche Aufgaben angelegt
+ * und im SingleShot-Modus gelöscht, Ergebnis ist die Zeit pro Batch
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = TaskRepositoryDeleteBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = TaskRepositoryDeleteBenchmark.BATCH)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class TaskRepositoryDeleteBenchmark{
+
+    static final int BATCH = 10_000;
+
+    @Param({"IN_MEMORY"})
+    public String backend;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private TaskRepository repository;
+    private long[] ids;
+    private int next;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        repository = BenchmarkSupport.createRepository(backend);
+        BenchmarkSupport.fill(repository, size);
+        sequence = size;
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareBatch(){
+        List<Task> tasks = BenchmarkSupport.newTasks(sequence, BATCH);
+        sequence += BATCH;
+        repository.saveAll(tasks);
+
+        ids = tasks.stream().mapToLong(Task::getTaskId).toArray();
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        repository.deleteAll();
+    }
+
+    @Benchmark
+    public boolean delete(){
+        return repository.delete(ids[next++]);
+    }
+}
@@ -0,0 +1,103 @@
+package com.tasktracker.benchmark;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Lesende Operationen, einzeln (1 Thread) und unter Konkurrenz (4 Threads)
+ * Große Datenmengen brauchen einen großen Heap, siehe jvmArgsAppend
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class TaskRepositoryReadBenchmark{
+
+    @Param({"IN_MEMORY", "OFF_HEAP", "SNAPSHOT_IN_MEMORY"})
+    public String backend;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private TaskRepository repository;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        repository = BenchmarkSupport.createRepository(backend);
+        BenchmarkSupport.fill(repository, size);
+        maxId = repository.findAll().stream().mapToLong(Task::getTaskId).max().orElse(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        repository.deleteAll();
+    }
+
+    private long randomId(){
+        return ThreadLocalRandom.current().nextLong(1, maxId + 1);
+    }
+
+    @Benchmark
+    public Optional<Task> findById(){
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public boolean existsById(){
+        return repository.existsById(randomId());
+    }
+
+    @Benchmark
+    public List<Task> findAll(){
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Task> findByStatus(){
+        return repository.findByStatus(TaskStatus.ERLEDIGT);
+    }
+
+    @Benchmark
+    public List<Task> findByDescriptionContaining(){
+        return repository.findByDescriptionContaining(BenchmarkSupport.SEARCH_KEYWORD);
+    }
+
+    @Benchmark
+    public long count(){
+        return repository.count();
+    }
+
+    @Benchmark
+    public long countByStatus(){
+        return repository.countByStatus(TaskStatus.OFFEN);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Task> findByIdContended(){
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Task> findByStatusContended(){
+        return repository.findByStatus(TaskStatus.ERLEDIGT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long countByStatusContended(){
+        return repository.countByStatus(TaskStatus.OFFEN);
+    }
+}
@@ -0,0 +1,81 @@
+package com.tasktracker.benchmark;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Schreibende Operationen auf einem vorbefüllten Repository
+ * save und saveAll lassen den Bestand wachsen, update ändert vorhandene Aufgaben
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class TaskRepositoryWriteBenchmark{
+
+    private static final int SAVE_ALL_BATCH = 1000;
+
+    @Param({"IN_MEMORY"})
+    public String backend;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private TaskRepository repository;
+    private long maxId;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        repository = BenchmarkSupport.createRepository(backend);
+        sequence = size;
+    }
+
+    @Setup(Level.Iteration)
+    public void resetSize(){
+        // Wachstum aus der vorherigen Iteration entfernen, damit size stimmt
+        BenchmarkSupport.fill(repository, size);
+        maxId = repository.findAll().stream().mapToLong(Task::getTaskId).max().orElse(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        repository.deleteAll();
+    }
+
+    @Benchmark
+    public Task save(){
+        return repository.save(BenchmarkSupport.newTask(sequence++));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Task> saveAll(){
+        List<Task> tasks = BenchmarkSupport.newTasks(sequence, SAVE_ALL_BATCH);
+        sequence += SAVE_ALL_BATCH;
+        repository.saveAll(tasks);
+        return tasks;
+    }
+
+    @Benchmark
+    public Task update(){
+        long id = ThreadLocalRandom.current().nextLong(1, maxId + 1);
+        Task task = new Task(id, "Aktualisiert " + id,
+                id % 2 == 0 ? TaskStatus.ERLEDIGT : TaskStatus.OFFEN);
+        try{
+            return repository.update(task);
+        }catch (IllegalArgumentException e){
+            // Lücke in den IDs (z.B. MSSQL nach deleteAll)
+            return task;
+        }
+    }
+}
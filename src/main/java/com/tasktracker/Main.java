@@ -5,7 +5,9 @@ import com.tasktracker.model.TaskStatus;
 import com.tasktracker.repository.InMemoryTaskRepository;
 import com.tasktracker.repository.TaskRepository;
 
+import java.util.Iterator;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 public class Main{
     public static void main(String[] args) {
@@ -67,18 +69,20 @@ public class Main{
     }
 
     public static void listTasks(TaskRepository repository){
-        var tasks = repository.findAll();
-
-        if (tasks.isEmpty()){
-            System.out.println("Keine Aufgaben vorhanden");
-        }else{
-            System.out.println("\n=== Aufgabenliste ===");
-            tasks.forEach(task -> {
-                System.out.printf("ID: %d | %s | Status: %s%n",
-                task.getTaskId(),
-                task.getDescription(),
-                task.getTaskStatus());
-            });
+        try (Stream<Task> tasks = repository.streamAll()){
+            Iterator<Task> iterator = tasks.iterator();
+
+            if (!iterator.hasNext()){
+                System.out.println("Keine Aufgaben vorhanden");
+            }else{
+                System.out.println("\n=== Aufgabenliste ===");
+                iterator.forEachRemaining(task -> {
+                    System.out.printf("ID: %d | %s | Status: %s%n",
+                    task.getTaskId(),
+                    task.getDescription(),
+                    task.getTaskStatus());
+                });
+            }
         }
     }
 
@@ -93,26 +97,30 @@ public class Main{
                 return;
             }
 
-            Task task = taskOpt.get();
-            System.out.println("Aktuelle Beschreibung: " + task.getDescription());
+            // Die gelesene Instanz bleibt unverändert, sie ist der erwartete Stand für das bedingte Update
+            Task current = taskOpt.get();
+            System.out.println("Aktuelle Beschreibung: " + current.getDescription());
             System.out.print("Neue Beschreibung (leer lassen um nicht zu ändern): ");
             String newDesc = scanner.nextLine();
-
-            if (!newDesc.trim().isEmpty()){
-                task.setDescription(newDesc);
-            }
+            String description = newDesc.trim().isEmpty() ? current.getDescription() : newDesc;
 
             System.out.print("Status (1=OFFEN, 2=ERLEDIGT, leer=lassen");
             String statusInput = scanner.nextLine();
 
+            TaskStatus status = current.getTaskStatus();
             if (statusInput.equals("2")){
-                task.setTaskStatus(TaskStatus.ERLEDIGT);
+                status = TaskStatus.ERLEDIGT;
             }else if (statusInput.equals("1")){
-                task.setTaskStatus(TaskStatus.OFFEN);
+                status = TaskStatus.OFFEN;
             }
 
-            repository.update(task);
-            System.out.println("Aufgabe aktualisiert!");
+            // Nur schreiben, wenn seit dem Lesen niemand sonst die Aufgabe geändert hat
+            Task changed = new Task(id, description, status);
+            if (repository.updateIfUnchanged(changed, current.getTaskStatus(), current.getDescription())){
+                System.out.println("Aufgabe aktualisiert!");
+            }else{
+                System.out.println("Aufgabe wurde zwischenzeitlich geändert oder gelöscht, bitte erneut versuchen");
+            }
         }catch (NumberFormatException e){
             System.out.println("Ungültige ID!");
         }catch (IllegalArgumentException e){
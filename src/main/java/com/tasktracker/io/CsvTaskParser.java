@@ -0,0 +1,117 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.model.TaskValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * CSV nach RFC 4180: Kopfzeile mit Spaltennamen, Felder optional in "..." mit "" als Escape
+ * Ausgewertet werden die Spalten description (Pflicht) und status, weitere Spalten werden ignoriert
+ */
+
+final class CsvTaskParser implements TaskRecordParser{
+    private final char delimiter;
+    private final int descriptionColumn;
+    private final int statusColumn;
+    private final TaskValidator validator;
+    private final TaskStatus defaultStatus;
+
+    CsvTaskParser(String header, char delimiter, TaskValidator validator, TaskStatus defaultStatus){
+        this.delimiter = delimiter;
+        this.validator = validator;
+        this.defaultStatus = defaultStatus;
+
+        List<String> columns = split(stripBom(header), delimiter);
+        int description = -1;
+        int status = -1;
+        for (int i = 0; i < columns.size(); i++){
+            String name = columns.get(i).trim().toLowerCase();
+            if (name.equals("description")){
+                description = i;
+            }else if (name.equals("status")){
+                status = i;
+            }
+        }
+        if (description < 0){
+            throw new IllegalArgumentException("CSV-Kopfzeile enthält keine Spalte 'description'");
+        }
+        this.descriptionColumn = description;
+        this.statusColumn = status;
+    }
+
+    @Override
+    public Task parse(String record){
+        List<String> fields = split(record, delimiter);
+        if (fields.size() <= descriptionColumn){
+            throw new IllegalArgumentException("Zu wenige Spalten: " + fields.size());
+        }
+        String status = statusColumn >= 0 && statusColumn < fields.size() ? fields.get(statusColumn) : null;
+        return validator.create(0, fields.get(descriptionColumn), parseStatus(status, defaultStatus));
+    }
+
+    /*
+     * Ein Datensatz ist vollständig, wenn die Anführungszeichen paarig sind
+     * (Zeilenumbrüche innerhalb von "..." gehören zum Feld)
+     */
+    static boolean hasOpenQuote(CharSequence record){
+        boolean open = false;
+        for (int i = 0; i < record.length(); i++){
+            if (record.charAt(i) == '"'){
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    static List<String> split(String record, char delimiter){
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < record.length(); i++){
+            char c = record.charAt(i);
+            if (quoted){
+                if (c == '"'){
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"'){
+                        field.append('"');
+                        i++;
+                    }else{
+                        quoted = false;
+                    }
+                }else{
+                    field.append(c);
+                }
+            }else if (c == '"'){
+                quoted = true;
+            }else if (c == delimiter){
+                fields.add(field.toString());
+                field.setLength(0);
+            }else{
+                field.append(c);
+            }
+        }
+        if (quoted){
+            throw new IllegalArgumentException("Nicht geschlossenes Anführungszeichen");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static TaskStatus parseStatus(String value, TaskStatus defaultStatus){
+        if (value == null || value.trim().isEmpty()){
+            return defaultStatus;
+        }
+        try{
+            return TaskStatus.valueOf(value.trim().toUpperCase());
+        }catch (IllegalArgumentException e){
+            throw new IllegalArgumentException("Unbekannter Status: " + value.trim());
+        }
+    }
+
+    private static String stripBom(String header){
+        return !header.isEmpty() && header.charAt(0) == '\uFEFF' ? header.substring(1) : header;
+    }
+}
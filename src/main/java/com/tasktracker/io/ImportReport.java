@@ -0,0 +1,112 @@
+package com.tasktracker.io;
+
+/*
+ * Ergebnis eines Imports mit Kennzahlen je Stufe
+ * Durchsatz je Stufe bezieht sich auf die in der Stufe verbrachte Zeit, nicht auf die Gesamtdauer;
+ * Wartezeiten zeigen, welche Stufe bremst (Leser wartet -> Parser zu langsam, Parser warten -> Speichern zu langsam)
+ */
+
+public final class ImportReport{
+    private final long recordsRead;
+    private final long readNanos;
+    private final long readWaitNanos;
+    private final long tasksParsed;
+    private final long parseRejected;
+    private final long parseNanos;
+    private final long parseWaitNanos;
+    private final int parserThreads;
+    private final long tasksSaved;
+    private final long saveRejected;
+    private final long batches;
+    private final long saveNanos;
+    private final long elapsedNanos;
+
+    ImportReport(long recordsRead, long readNanos, long readWaitNanos,
+                 long tasksParsed, long parseRejected, long parseNanos, long parseWaitNanos, int parserThreads,
+                 long tasksSaved, long saveRejected, long batches, long saveNanos, long elapsedNanos){
+        this.recordsRead = recordsRead;
+        this.readNanos = readNanos;
+        this.readWaitNanos = readWaitNanos;
+        this.tasksParsed = tasksParsed;
+        this.parseRejected = parseRejected;
+        this.parseNanos = parseNanos;
+        this.parseWaitNanos = parseWaitNanos;
+        this.parserThreads = parserThreads;
+        this.tasksSaved = tasksSaved;
+        this.saveRejected = saveRejected;
+        this.batches = batches;
+        this.saveNanos = saveNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRecordsRead(){
+        return recordsRead;
+    }
+
+    public long getTasksParsed(){
+        return tasksParsed;
+    }
+
+    public long getTasksSaved(){
+        return tasksSaved;
+    }
+
+    public long getParseRejected(){
+        return parseRejected;
+    }
+
+    public long getSaveRejected(){
+        return saveRejected;
+    }
+
+    public long getRejected(){
+        return parseRejected + saveRejected;
+    }
+
+    public long getBatches(){
+        return batches;
+    }
+
+    public double getReadThroughput(){
+        return perSecond(recordsRead, readNanos);
+    }
+
+    /*
+     * Summe über alle Parser-Threads
+     */
+    public double getParseThroughput(){
+        return perSecond(tasksParsed + parseRejected, parseNanos / Math.max(1, parserThreads));
+    }
+
+    public double getSaveThroughput(){
+        return perSecond(tasksSaved + saveRejected, saveNanos);
+    }
+
+    public long getReadWaitMillis(){
+        return readWaitNanos / 1_000_000;
+    }
+
+    public long getParseWaitMillis(){
+        return parseWaitNanos / 1_000_000;
+    }
+
+    public long getElapsedMillis(){
+        return elapsedNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("Lesen:     %d Datensätze, %.0f/s, %d ms auf Parser gewartet%n"
+                        + "Parsen:    %d gültig, %d abgelehnt, %.0f/s mit %d Threads, %d ms auf Speichern gewartet%n"
+                        + "Speichern: %d Aufgaben in %d Stapeln, %.0f/s, %d abgelehnt%n"
+                        + "Gesamt:    %d ms, %.0f Aufgaben/s",
+                recordsRead, getReadThroughput(), getReadWaitMillis(),
+                tasksParsed, parseRejected, getParseThroughput(), parserThreads, getParseWaitMillis(),
+                tasksSaved, batches, getSaveThroughput(), saveRejected,
+                getElapsedMillis(), perSecond(tasksSaved, elapsedNanos));
+    }
+
+    private static double perSecond(long count, long nanos){
+        return nanos <= 0 ? 0 : count * 1_000_000_000.0 / nanos;
+    }
+}
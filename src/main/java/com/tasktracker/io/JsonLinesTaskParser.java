@@ -0,0 +1,159 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.model.TaskValidator;
+
+/*
+ * JSON Lines: ein flaches JSON-Objekt je Zeile, z.B. {"description": "...", "status": "OFFEN"}
+ * Ausgewertet werden description (Pflicht) und status, weitere Felder werden übersprungen
+ * Verschachtelte Objekte und Arrays sind nicht vorgesehen und führen zur Ablehnung
+ */
+
+final class JsonLinesTaskParser implements TaskRecordParser{
+    private final TaskValidator validator;
+    private final TaskStatus defaultStatus;
+
+    JsonLinesTaskParser(TaskValidator validator, TaskStatus defaultStatus){
+        this.validator = validator;
+        this.defaultStatus = defaultStatus;
+    }
+
+    @Override
+    public Task parse(String record){
+        Cursor cursor = new Cursor(record);
+        String description = null;
+        String status = null;
+
+        cursor.expect('{');
+        if (!cursor.consume('}')){
+            do{
+                String key = cursor.readString();
+                cursor.expect(':');
+                String value = cursor.readScalar();
+                if (key.equals("description")){
+                    description = value;
+                }else if (key.equals("status")){
+                    status = value;
+                }
+            }while (cursor.consume(','));
+            cursor.expect('}');
+        }
+        cursor.expectEnd();
+
+        if (description == null){
+            throw new IllegalArgumentException("Feld 'description' fehlt");
+        }
+        return validator.create(0, description, CsvTaskParser.parseStatus(status, defaultStatus));
+    }
+
+    private static final class Cursor{
+        private final String text;
+        private int position;
+
+        Cursor(String text){
+            this.text = text;
+        }
+
+        void expect(char c){
+            if (!consume(c)){
+                throw new IllegalArgumentException("'" + c + "' erwartet an Position " + position);
+            }
+        }
+
+        boolean consume(char c){
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == c){
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void expectEnd(){
+            skipWhitespace();
+            if (position != text.length()){
+                throw new IllegalArgumentException("Unerwartete Zeichen nach dem Objekt");
+            }
+        }
+
+        /*
+         * Zeichenkette, Zahl, true/false oder null; null wird als fehlender Wert geliefert
+         */
+        String readScalar(){
+            skipWhitespace();
+            if (position >= text.length()){
+                throw new IllegalArgumentException("Wert erwartet");
+            }
+            char c = text.charAt(position);
+            if (c == '"'){
+                return readString();
+            }
+            if (c == '{' || c == '['){
+                throw new IllegalArgumentException("Verschachtelte Werte werden nicht unterstützt");
+            }
+            int start = position;
+            while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0){
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()){
+                throw new IllegalArgumentException("Wert erwartet an Position " + start);
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        String readString(){
+            skipWhitespace();
+            if (position >= text.length() || text.charAt(position) != '"'){
+                throw new IllegalArgumentException("Zeichenkette erwartet an Position " + position);
+            }
+            position++;
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()){
+                char c = text.charAt(position++);
+                if (c == '"'){
+                    return value.toString();
+                }
+                if (c != '\\'){
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()){
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped){
+                    case '"': value.append('"'); break;
+                    case '\\': value.append('\\'); break;
+                    case '/': value.append('/'); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'u':
+                        if (position + 4 > text.length()){
+                            throw new IllegalArgumentException("Unvollständige Unicode-Escape-Sequenz");
+                        }
+                        try{
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        }catch (NumberFormatException e){
+                            throw new IllegalArgumentException("Ungültige Unicode-Escape-Sequenz");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Ungültige Escape-Sequenz: \\" + escaped);
+                }
+            }
+            throw new IllegalArgumentException("Nicht geschlossene Zeichenkette");
+        }
+
+        private void skipWhitespace(){
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))){
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.tasktracker.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/*
+ * Binäres Austauschformat für Aufgaben (Export, Import, Sicherung)
+ *
+ * Dateikopf (8 Byte): Magic "TTBF" | Version (1 Byte) | Flags (1 Byte) | reserviert (2 Byte)
+ * Danach Blöcke, jeweils mit Kopf (16 Byte): Anzahl Aufgaben | Rohlänge | gespeicherte Länge | CRC32 der Rohdaten
+ * Rohdaten: Aufgaben hintereinander im TaskCodec-Format (varint ID, Status-Ordinal, Länge + UTF-8)
+ * Mit FLAG_COMPRESSED sind die Blöcke einzeln per Deflate komprimiert
+ * Ein Block mit 0 Aufgaben und Länge 0 beendet die Datei
+ */
+
+public final class TaskBinaryFormat{
+    public static final int MAGIC = 0x54544246; // "TTBF"
+    public static final byte VERSION = 1;
+    public static final byte FLAG_COMPRESSED = 1;
+
+    public static final int DEFAULT_BLOCK_BYTES = 1 << 20;
+    public static final int MAX_BLOCK_BYTES = 64 << 20;
+
+    static final int FILE_HEADER_BYTES = 8;
+    static final int BLOCK_HEADER_BYTES = 16;
+
+    private TaskBinaryFormat(){
+    }
+
+    static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException{
+        while (buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+    }
+
+    /*
+     * Liest genau buffer.remaining() Bytes; false, wenn der Kanal vorher sauber endet
+     */
+    static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException{
+        boolean any = false;
+        while (buffer.hasRemaining()){
+            int read = channel.read(buffer);
+            if (read < 0){
+                if (!any){
+                    return false;
+                }
+                throw new EOFException("Unerwartetes Dateiende");
+            }
+            any |= read > 0;
+        }
+        return true;
+    }
+}
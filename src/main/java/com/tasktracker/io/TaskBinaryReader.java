@@ -0,0 +1,145 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.persistence.TaskCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/*
+ * Liest Dateien im TaskBinaryFormat blockweise
+ * Jeder Block wird vor dem Dekodieren über seine CRC32 geprüft
+ */
+
+public final class TaskBinaryReader implements AutoCloseable{
+    private final ReadableByteChannel channel;
+    private final boolean compressed;
+    private final Inflater inflater;
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(TaskBinaryFormat.BLOCK_HEADER_BYTES);
+
+    private byte[] raw = new byte[0];
+    private byte[] stored = new byte[0];
+    private boolean finished;
+
+    public TaskBinaryReader(ReadableByteChannel channel) throws IOException{
+        this.channel = channel;
+
+        ByteBuffer header = ByteBuffer.allocate(TaskBinaryFormat.FILE_HEADER_BYTES);
+        if (!TaskBinaryFormat.readFully(channel, header)){
+            throw new IOException("Leere Datei, kein Dateikopf");
+        }
+        header.flip();
+        if (header.getInt() != TaskBinaryFormat.MAGIC){
+            throw new IOException("Keine TaskTracker-Exportdatei");
+        }
+        byte version = header.get();
+        if (version != TaskBinaryFormat.VERSION){
+            throw new IOException("Nicht unterstützte Formatversion: " + version);
+        }
+        this.compressed = (header.get() & TaskBinaryFormat.FLAG_COMPRESSED) != 0;
+        this.inflater = compressed ? new Inflater() : null;
+    }
+
+    /*
+     * Hängt die Aufgaben des nächsten Blocks an target an und liefert deren Anzahl, 0 am Dateiende
+     */
+    public int readBlock(List<Task> target) throws IOException{
+        if (finished){
+            return 0;
+        }
+
+        blockHeader.clear();
+        if (!TaskBinaryFormat.readFully(channel, blockHeader)){
+            throw new IOException("Datei endet ohne Endemarke");
+        }
+        blockHeader.flip();
+        int tasks = blockHeader.getInt();
+        int rawLength = blockHeader.getInt();
+        int storedLength = blockHeader.getInt();
+        int expectedCrc = blockHeader.getInt();
+
+        if (tasks == 0){
+            finished = true;
+            return 0;
+        }
+        if (tasks < 0 || rawLength <= 0 || storedLength <= 0
+                || rawLength > TaskBinaryFormat.MAX_BLOCK_BYTES * 2 || storedLength > TaskBinaryFormat.MAX_BLOCK_BYTES * 2){
+            throw new IOException("Ungültiger Blockkopf");
+        }
+
+        ByteBuffer data = readPayload(rawLength, storedLength);
+        crc.reset();
+        crc.update(raw, 0, rawLength);
+        if ((int) crc.getValue() != expectedCrc){
+            throw new IOException("Prüfsumme eines Blocks stimmt nicht");
+        }
+
+        try{
+            for (int i = 0; i < tasks; i++){
+                target.add(TaskCodec.readTask(data));
+            }
+        }catch (RuntimeException e){
+            throw new IOException("Block beschädigt", e);
+        }
+        if (data.hasRemaining()){
+            throw new IOException("Block enthält mehr Daten als angegeben");
+        }
+        return tasks;
+    }
+
+    @Override
+    public void close(){
+        if (inflater != null){
+            inflater.end();
+        }
+    }
+
+    private ByteBuffer readPayload(int rawLength, int storedLength) throws IOException{
+        if (raw.length < rawLength){
+            raw = new byte[rawLength];
+        }
+        if (!compressed){
+            if (storedLength != rawLength){
+                throw new IOException("Ungültiger Blockkopf");
+            }
+            readExactly(raw, storedLength);
+            return ByteBuffer.wrap(raw, 0, rawLength);
+        }
+
+        if (stored.length < storedLength){
+            stored = new byte[storedLength];
+        }
+        readExactly(stored, storedLength);
+        inflater.reset();
+        inflater.setInput(stored, 0, storedLength);
+        try{
+            int inflated = 0;
+            while (inflated < rawLength && !inflater.finished()){
+                int n = inflater.inflate(raw, inflated, rawLength - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())){
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != rawLength){
+                throw new IOException("Block lässt sich nicht vollständig entpacken");
+            }
+        }catch (DataFormatException e){
+            throw new IOException("Block beschädigt", e);
+        }
+        return ByteBuffer.wrap(raw, 0, rawLength);
+    }
+
+    private void readExactly(byte[] target, int length) throws IOException{
+        ByteBuffer buffer = ByteBuffer.wrap(target, 0, length);
+        if (!TaskBinaryFormat.readFully(channel, buffer)){
+            throw new IOException("Unerwartetes Dateiende");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.persistence.GrowableByteBuffer;
+import com.tasktracker.persistence.TaskCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/*
+ * Schreibt Aufgaben blockweise im TaskBinaryFormat
+ * finish() schreibt den letzten Block und die Endemarke; close() gibt nur Ressourcen frei, ohne finish()
+ * fehlt die Endemarke und TaskBinaryReader lehnt die Datei ab (z. B. nach einem Fehler beim Lesen der Quelle)
+ * Der Kanal selbst bleibt offen
+ */
+
+public final class TaskBinaryWriter implements AutoCloseable{
+    private final WritableByteChannel channel;
+    private final int blockBytes;
+    private final Deflater deflater;
+
+    private final GrowableByteBuffer block;
+    private final CRC32 crc = new CRC32();
+    private byte[] compressed;
+    private int blockTasks;
+
+    private long taskCount;
+    private long bytesWritten;
+    private boolean finished;
+    private boolean closed;
+
+    public TaskBinaryWriter(WritableByteChannel channel, boolean compress) throws IOException{
+        this(channel, compress, TaskBinaryFormat.DEFAULT_BLOCK_BYTES);
+    }
+
+    public TaskBinaryWriter(WritableByteChannel channel, boolean compress, int blockBytes) throws IOException{
+        if (blockBytes <= 0 || blockBytes > TaskBinaryFormat.MAX_BLOCK_BYTES){
+            throw new IllegalArgumentException("Blockgröße muss zwischen 1 und " + TaskBinaryFormat.MAX_BLOCK_BYTES + " liegen");
+        }
+        this.channel = channel;
+        this.blockBytes = blockBytes;
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.block = new GrowableByteBuffer(blockBytes + 1024);
+
+        ByteBuffer header = ByteBuffer.allocate(TaskBinaryFormat.FILE_HEADER_BYTES);
+        header.putInt(TaskBinaryFormat.MAGIC)
+                .put(TaskBinaryFormat.VERSION)
+                .put(compress ? TaskBinaryFormat.FLAG_COMPRESSED : 0)
+                .putShort((short) 0)
+                .flip();
+        TaskBinaryFormat.writeFully(channel, header);
+        bytesWritten += TaskBinaryFormat.FILE_HEADER_BYTES;
+    }
+
+    public void write(Task task) throws IOException{
+        if (finished || closed){
+            throw new IllegalStateException("Writer ist bereits abgeschlossen");
+        }
+        TaskCodec.writeTask(block, task);
+        blockTasks++;
+        taskCount++;
+        if (block.size() >= blockBytes){
+            flushBlock();
+        }
+    }
+
+    public long getTaskCount(){
+        return taskCount;
+    }
+
+    public long getBytesWritten(){
+        return bytesWritten;
+    }
+
+    public void finish() throws IOException{
+        if (closed){
+            throw new IllegalStateException("Writer ist bereits geschlossen");
+        }
+        if (finished){
+            return;
+        }
+        finished = true;
+        flushBlock();
+        writeBlockHeader(0, 0, 0, 0);
+    }
+
+    @Override
+    public void close(){
+        if (closed){
+            return;
+        }
+        closed = true;
+        if (deflater != null){
+            deflater.end();
+        }
+    }
+
+    private void flushBlock() throws IOException{
+        if (blockTasks == 0){
+            return;
+        }
+
+        int rawLength = block.size();
+        crc.reset();
+        crc.update(block.array(), 0, rawLength);
+
+        ByteBuffer payload;
+        if (deflater != null){
+            if (compressed == null || compressed.length < rawLength + 64){
+                compressed = new byte[rawLength + rawLength / 8 + 64];
+            }
+            deflater.reset();
+            deflater.setInput(block.array(), 0, rawLength);
+            deflater.finish();
+            int storedLength = 0;
+            while (!deflater.finished()){
+                if (storedLength == compressed.length){
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                storedLength += deflater.deflate(compressed, storedLength, compressed.length - storedLength);
+            }
+            payload = ByteBuffer.wrap(compressed, 0, storedLength);
+        }else{
+            payload = block.asByteBuffer();
+        }
+
+        writeBlockHeader(blockTasks, rawLength, payload.remaining(), (int) crc.getValue());
+        bytesWritten += payload.remaining();
+        TaskBinaryFormat.writeFully(channel, payload);
+
+        block.clear();
+        blockTasks = 0;
+    }
+
+    private void writeBlockHeader(int tasks, int rawLength, int storedLength, int checksum) throws IOException{
+        ByteBuffer header = ByteBuffer.allocate(TaskBinaryFormat.BLOCK_HEADER_BYTES);
+        header.putInt(tasks).putInt(rawLength).putInt(storedLength).putInt(checksum).flip();
+        TaskBinaryFormat.writeFully(channel, header);
+        bytesWritten += TaskBinaryFormat.BLOCK_HEADER_BYTES;
+    }
+}
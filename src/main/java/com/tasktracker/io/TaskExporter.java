@@ -0,0 +1,71 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.repository.TaskRepository;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/*
+ * Exportiert alle Aufgaben eines beliebigen Repositorys im TaskBinaryFormat
+ * Liest über streamAll(), es liegt also nie der gesamte Bestand im Speicher
+ */
+
+public class TaskExporter{
+    private final boolean compress;
+    private final int blockBytes;
+
+    public TaskExporter(boolean compress){
+        this(compress, TaskBinaryFormat.DEFAULT_BLOCK_BYTES);
+    }
+
+    public TaskExporter(boolean compress, int blockBytes){
+        this.compress = compress;
+        this.blockBytes = blockBytes;
+    }
+
+    /*
+     * Liefert die Anzahl exportierter Aufgaben, der Kanal bleibt offen
+     * Die Endemarke wird nur nach vollständigem Export geschrieben, ein abgebrochener Export ist daher
+     * für TaskBinaryReader als unvollständig erkennbar
+     */
+    public long export(TaskRepository repository, WritableByteChannel channel) throws IOException{
+        try (TaskBinaryWriter writer = new TaskBinaryWriter(channel, compress, blockBytes);
+             Stream<Task> tasks = repository.streamAll()){
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()){
+                writer.write(iterator.next());
+            }
+            writer.finish();
+            return writer.getTaskCount();
+        }
+    }
+
+    /*
+     * Wie TaskSnapshot: in eine temporäre Datei schreiben und erst nach Erfolg atomar umbenennen,
+     * ein fehlgeschlagener Export lässt eine vorhandene Datei unverändert
+     */
+    public long export(TaskRepository repository, Path file) throws IOException{
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try{
+            long count;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+                count = export(repository, channel);
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return count;
+        }catch (IOException | RuntimeException e){
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.model.TaskValidator;
+import com.tasktracker.repository.TaskRepository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Massenimport externer Aufgabenlisten (CSV, JSON Lines) in vier Stufen:
+ * 1. Leser: liest die Datei in Blöcken von chunkRecords Datensätzen
+ * 2. Parser: zerlegen und prüfen die Blöcke parallel (Task-Konstruktor + TaskValidator)
+ * 3. Begrenzte Warteschlangen zwischen den Stufen bremsen schnellere Stufen aus
+ * 4. Speichern: sammelt gültige Aufgaben und schreibt sie per saveAll in Stapeln von batchSize
+ *
+ * Ungültige Datensätze und nicht speicherbare Aufgaben landen in der Fehlerdatei (Zeile, Grund, Datensatz),
+ * der Import läuft weiter; nach einem fehlgeschlagenen Stapel wird einzeln gespeichert
+ * Die Reihenfolge der Datei bleibt wegen der parallelen Parser nicht erhalten
+ * Importierte Aufgaben erhalten immer neue IDs
+ */
+
+public class TaskImportPipeline{
+    public enum Format{
+        CSV, JSONL;
+
+        public static Format forFile(Path file){
+            String name = file.getFileName().toString().toLowerCase();
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")){
+                return JSONL;
+            }
+            return CSV;
+        }
+    }
+
+    public static final int DEFAULT_CHUNK_RECORDS = 1000;
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+
+    private static final int READ_BUFFER_CHARS = 1 << 20;
+
+    private final TaskRepository repository;
+    private final TaskValidator validator;
+    private final int parserThreads;
+    private final int chunkRecords;
+    private final int queueCapacity;
+    private final int batchSize;
+    private TaskStatus defaultStatus = TaskStatus.OFFEN;
+    private char csvDelimiter = ',';
+
+    public TaskImportPipeline(TaskRepository repository){
+        this(repository, new TaskValidator(), Runtime.getRuntime().availableProcessors(),
+                DEFAULT_CHUNK_RECORDS, 2 * Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    public TaskImportPipeline(TaskRepository repository, TaskValidator validator, int parserThreads,
+                              int chunkRecords, int queueCapacity, int batchSize){
+        if (parserThreads <= 0 || chunkRecords <= 0 || queueCapacity <= 0 || batchSize <= 0){
+            throw new IllegalArgumentException("Threads, Blockgröße, Warteschlange und Stapelgröße müssen positiv sein");
+        }
+        this.repository = repository;
+        this.validator = validator;
+        this.parserThreads = parserThreads;
+        this.chunkRecords = chunkRecords;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+    }
+
+    public TaskImportPipeline withDefaultStatus(TaskStatus defaultStatus){
+        this.defaultStatus = defaultStatus;
+        return this;
+    }
+
+    public TaskImportPipeline withCsvDelimiter(char csvDelimiter){
+        this.csvDelimiter = csvDelimiter;
+        return this;
+    }
+
+    public ImportReport run(Path input, Path rejectFile) throws IOException{
+        return run(input, Format.forFile(input), rejectFile);
+    }
+
+    /*
+     * rejectFile darf null sein, abgelehnte Datensätze werden dann nur gezählt
+     */
+    public ImportReport run(Path input, Format format, Path rejectFile) throws IOException{
+        long started = System.nanoTime();
+        Stats stats = new Stats();
+        BlockingQueue<Chunk> parseQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ParsedChunk> saveQueue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parserThreads + 1, runnable -> {
+            Thread thread = new Thread(runnable, "task-import-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Channels.newInputStream(FileChannel.open(input, StandardOpenOption.READ)), StandardCharsets.UTF_8), READ_BUFFER_CHARS);
+             RejectWriter rejects = new RejectWriter(rejectFile)){
+
+            TaskRecordParser parser = createParser(format, reader);
+            Future<?> readerTask = workers.submit(() -> {
+                readChunks(reader, format, parseQueue, stats);
+                return null;
+            });
+            for (int i = 0; i < parserThreads; i++){
+                workers.submit(() -> parseChunks(parser, parseQueue, saveQueue, rejects, stats));
+            }
+
+            saveBatches(saveQueue, rejects, stats);
+            awaitReader(readerTask);
+        }finally{
+            workers.shutdownNow();
+        }
+
+        return new ImportReport(stats.recordsRead.sum(), stats.readNanos.sum(), stats.readWaitNanos.sum(),
+                stats.tasksParsed.sum(), stats.parseRejected.sum(), stats.parseNanos.sum(), stats.parseWaitNanos.sum(), parserThreads,
+                stats.tasksSaved.sum(), stats.saveRejected.sum(), stats.batches.sum(), stats.saveNanos.sum(),
+                System.nanoTime() - started);
+    }
+
+    private TaskRecordParser createParser(Format format, BufferedReader reader) throws IOException{
+        if (format == Format.JSONL){
+            return new JsonLinesTaskParser(validator, defaultStatus);
+        }
+        String header = reader.readLine();
+        while (header != null && header.trim().isEmpty()){
+            header = reader.readLine();
+        }
+        if (header == null){
+            throw new IOException("CSV-Datei ist leer");
+        }
+        return new CsvTaskParser(header, csvDelimiter, validator, defaultStatus);
+    }
+
+    /*
+     * Stufe 1: Datensätze blockweise lesen; CSV-Felder in Anführungszeichen dürfen Zeilenumbrüche enthalten
+     * Am Ende erhält jeder Parser eine Endemarke
+     */
+    private void readChunks(BufferedReader reader, Format format, BlockingQueue<Chunk> parseQueue, Stats stats)
+            throws IOException, InterruptedException{
+        long lineNumber = format == Format.CSV ? 1 : 0;
+        try{
+            long busyStart = System.nanoTime();
+            Chunk chunk = new Chunk(chunkRecords);
+            StringBuilder pending = null;
+            long pendingLine = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null){
+                lineNumber++;
+                if (pending != null){
+                    pending.append('\n').append(line);
+                    if (CsvTaskParser.hasOpenQuote(pending)){
+                        continue;
+                    }
+                    chunk.add(pendingLine, pending.toString());
+                    pending = null;
+                }else if (line.trim().isEmpty()){
+                    continue;
+                }else if (format == Format.CSV && CsvTaskParser.hasOpenQuote(line)){
+                    pending = new StringBuilder(line);
+                    pendingLine = lineNumber;
+                    continue;
+                }else{
+                    chunk.add(lineNumber, line);
+                }
+
+                if (chunk.size() == chunkRecords){
+                    stats.recordsRead.add(chunk.size());
+                    stats.readNanos.add(System.nanoTime() - busyStart);
+                    long waitStart = System.nanoTime();
+                    parseQueue.put(chunk);
+                    busyStart = System.nanoTime();
+                    stats.readWaitNanos.add(busyStart - waitStart);
+                    chunk = new Chunk(chunkRecords);
+                }
+            }
+            if (pending != null){
+                // Nicht geschlossenes Anführungszeichen am Dateiende, der Parser lehnt den Datensatz ab
+                chunk.add(pendingLine, pending.toString());
+            }
+            if (chunk.size() > 0){
+                stats.recordsRead.add(chunk.size());
+                parseQueue.put(chunk);
+            }
+            stats.readNanos.add(System.nanoTime() - busyStart);
+        }finally{
+            for (int i = 0; i < parserThreads; i++){
+                parseQueue.put(Chunk.END);
+            }
+        }
+    }
+
+    /*
+     * Stufe 2: parallel zerlegen und prüfen, Ablehnungen sofort in die Fehlerdatei
+     */
+    private void parseChunks(TaskRecordParser parser, BlockingQueue<Chunk> parseQueue,
+                             BlockingQueue<ParsedChunk> saveQueue, RejectWriter rejects, Stats stats){
+        try{
+            while (true){
+                Chunk chunk = parseQueue.take();
+                if (chunk == Chunk.END){
+                    break;
+                }
+
+                long start = System.nanoTime();
+                ParsedChunk parsed = new ParsedChunk(chunk.size());
+                for (int i = 0; i < chunk.size(); i++){
+                    try{
+                        parsed.add(chunk.lines[i], parser.parse(chunk.records.get(i)));
+                    }catch (IllegalArgumentException e){
+                        stats.parseRejected.increment();
+                        rejects.reject(chunk.lines[i], e.getMessage(), chunk.records.get(i));
+                    }
+                }
+                stats.tasksParsed.add(parsed.tasks.size());
+                stats.parseNanos.add(System.nanoTime() - start);
+
+                long waitStart = System.nanoTime();
+                saveQueue.put(parsed);
+                stats.parseWaitNanos.add(System.nanoTime() - waitStart);
+            }
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }catch (RuntimeException e){
+            // z.B. Fehlerdatei nicht beschreibbar: Import abbrechen statt Datensätze stillschweigend zu verlieren
+            stats.failure.compareAndSet(null, e);
+        }finally{
+            try{
+                saveQueue.put(ParsedChunk.END);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /*
+     * Stufe 4: im aufrufenden Thread sammeln und per saveAll schreiben
+     * Schlägt ein Stapel fehl, werden seine noch nicht gespeicherten Aufgaben einzeln gespeichert
+     */
+    private void saveBatches(BlockingQueue<ParsedChunk> saveQueue, RejectWriter rejects, Stats stats) throws IOException{
+        ParsedChunk batch = new ParsedChunk(batchSize);
+        int finishedParsers = 0;
+        try{
+            while (finishedParsers < parserThreads){
+                ParsedChunk parsed = saveQueue.take();
+                if (parsed == ParsedChunk.END){
+                    finishedParsers++;
+                    continue;
+                }
+                batch.addAll(parsed);
+                if (batch.tasks.size() >= batchSize){
+                    saveBatch(batch, rejects, stats);
+                    batch = new ParsedChunk(batchSize);
+                }
+            }
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Import unterbrochen", e);
+        }
+        if (stats.failure.get() != null){
+            throw new IOException("Import abgebrochen: " + stats.failure.get().getMessage(), stats.failure.get());
+        }
+        if (!batch.tasks.isEmpty()){
+            saveBatch(batch, rejects, stats);
+        }
+    }
+
+    private void saveBatch(ParsedChunk batch, RejectWriter rejects, Stats stats){
+        long start = System.nanoTime();
+        try{
+            repository.saveAll(batch.tasks);
+            stats.tasksSaved.add(batch.tasks.size());
+            stats.batches.increment();
+        }catch (RuntimeException e){
+            saveIndividually(batch, rejects, stats);
+        }finally{
+            stats.saveNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /*
+     * saveAll kann teilweise gespeichert haben (SqlServerTaskRepository committet je batch.insert.size),
+     * diese Aufgaben haben dann bereits eine ID. Alle übrigen werden einzeln gespeichert und nur die
+     * tatsächlich gescheiterten abgelehnt - ein erneuter Import der Fehlerdatei erzeugt so keine Duplikate
+     */
+    private void saveIndividually(ParsedChunk batch, RejectWriter rejects, Stats stats){
+        for (int i = 0; i < batch.tasks.size(); i++){
+            Task task = batch.tasks.get(i);
+            if (task.getTaskId() != 0 && repository.existsById(task.getTaskId())){
+                stats.tasksSaved.increment();
+                continue;
+            }
+            try{
+                task.setTaskId(0);
+                repository.save(task);
+                stats.tasksSaved.increment();
+            }catch (RuntimeException e){
+                stats.saveRejected.increment();
+                rejects.reject(batch.lines[i], "Speichern fehlgeschlagen: " + e.getMessage(), task.getDescription());
+            }
+        }
+    }
+
+    private static void awaitReader(Future<?> readerTask) throws IOException{
+        try{
+            readerTask.get();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Import unterbrochen", e);
+        }catch (ExecutionException e){
+            if (e.getCause() instanceof IOException){
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Lesen der Importdatei fehlgeschlagen", e.getCause());
+        }
+    }
+
+    private static final class Chunk{
+        static final Chunk END = new Chunk(0);
+
+        final List<String> records;
+        final long[] lines;
+
+        Chunk(int capacity){
+            this.records = new ArrayList<>(capacity);
+            this.lines = new long[capacity];
+        }
+
+        void add(long line, String record){
+            lines[records.size()] = line;
+            records.add(record);
+        }
+
+        int size(){
+            return records.size();
+        }
+    }
+
+    private static final class ParsedChunk{
+        static final ParsedChunk END = new ParsedChunk(0);
+
+        final List<Task> tasks;
+        long[] lines;
+
+        ParsedChunk(int capacity){
+            this.tasks = new ArrayList<>(capacity);
+            this.lines = new long[Math.max(capacity, 1)];
+        }
+
+        void add(long line, Task task){
+            if (tasks.size() == lines.length){
+                lines = Arrays.copyOf(lines, lines.length * 2);
+            }
+            lines[tasks.size()] = line;
+            tasks.add(task);
+        }
+
+        void addAll(ParsedChunk other){
+            for (int i = 0; i < other.tasks.size(); i++){
+                add(other.lines[i], other.tasks.get(i));
+            }
+        }
+    }
+
+    private static final class Stats{
+        final LongAdder recordsRead = new LongAdder();
+        final LongAdder readNanos = new LongAdder();
+        final LongAdder readWaitNanos = new LongAdder();
+        final LongAdder tasksParsed = new LongAdder();
+        final LongAdder parseRejected = new LongAdder();
+        final LongAdder parseNanos = new LongAdder();
+        final LongAdder parseWaitNanos = new LongAdder();
+        final LongAdder tasksSaved = new LongAdder();
+        final LongAdder saveRejected = new LongAdder();
+        final LongAdder batches = new LongAdder();
+        final LongAdder saveNanos = new LongAdder();
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    }
+
+    /*
+     * Fehlerdatei als TSV: Zeile, Grund, Datensatz (Zeilenumbrüche und Tabs maskiert)
+     */
+    private static final class RejectWriter implements AutoCloseable{
+        private final BufferedWriter writer;
+
+        RejectWriter(Path file) throws IOException{
+            this.writer = file == null ? null : Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            if (writer != null){
+                writer.write("zeile\tgrund\tdatensatz");
+                writer.newLine();
+            }
+        }
+
+        synchronized void reject(long line, String reason, String record){
+            if (writer == null){
+                return;
+            }
+            try{
+                writer.write(line + "\t" + escape(reason) + "\t" + escape(record));
+                writer.newLine();
+            }catch (IOException e){
+                throw new UncheckedIOException("Fehlerdatei konnte nicht geschrieben werden", e);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException{
+            if (writer != null){
+                writer.close();
+            }
+        }
+
+        private static String escape(String value){
+            if (value == null){
+                return "";
+            }
+            return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\r", "\\r").replace("\n", "\\n");
+        }
+    }
+}
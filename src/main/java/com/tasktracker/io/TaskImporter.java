@@ -0,0 +1,76 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.repository.TaskRepository;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Importiert Dateien im TaskBinaryFormat über saveAll() in großen Stapeln
+ * keepIds = false: Aufgaben erhalten neue IDs vom Ziel
+ * keepIds = true: die exportierten IDs werden übernommen (Wiederherstellung einer Sicherung);
+ * das MSSQL-Backend vergibt IDs per IDENTITY und ignoriert sie
+ */
+
+public class TaskImporter{
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    private final int batchSize;
+    private final boolean keepIds;
+
+    public TaskImporter(boolean keepIds){
+        this(DEFAULT_BATCH_SIZE, keepIds);
+    }
+
+    public TaskImporter(int batchSize, boolean keepIds){
+        if (batchSize <= 0){
+            throw new IllegalArgumentException("Stapelgröße muss positiv sein");
+        }
+        this.batchSize = batchSize;
+        this.keepIds = keepIds;
+    }
+
+    /*
+     * Liefert die Anzahl importierter Aufgaben
+     * Bei einem Fehler bleiben bereits gespeicherte Stapel erhalten
+     */
+    public long importTasks(ReadableByteChannel channel, TaskRepository repository) throws IOException{
+        long imported = 0;
+        List<Task> batch = new ArrayList<>(batchSize);
+
+        try (TaskBinaryReader reader = new TaskBinaryReader(channel)){
+            while (reader.readBlock(batch) > 0){
+                if (batch.size() >= batchSize){
+                    imported += save(repository, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()){
+            imported += save(repository, batch);
+        }
+        return imported;
+    }
+
+    public long importTasks(Path file, TaskRepository repository) throws IOException{
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            return importTasks(channel, repository);
+        }
+    }
+
+    private int save(TaskRepository repository, List<Task> batch){
+        if (!keepIds){
+            for (Task task : batch){
+                task.setTaskId(0);
+            }
+        }
+        repository.saveAll(batch);
+        return batch.size();
+    }
+}
@@ -0,0 +1,13 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+
+/*
+ * Wandelt einen Datensatz (CSV-Zeile, JSON-Objekt) in eine geprüfte Aufgabe ohne ID um
+ * Ungültige Datensätze führen zu einer IllegalArgumentException mit dem Grund
+ * Implementierungen müssen thread-sicher sein, die Importstufen rufen parallel auf
+ */
+
+interface TaskRecordParser{
+    Task parse(String record);
+}
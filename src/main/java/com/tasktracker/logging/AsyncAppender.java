@@ -0,0 +1,203 @@
+package com.tasktracker.logging;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Asynchroner Appender mit festem Ringpuffer vorallokierter LogEvent-Slots
+ * Aufrufer kopieren nur Referenzen in einen Slot (kurzer Lock, keine Formatierung, keine I/O)
+ * Ein Daemon-Thread holt Stapel aus dem Ring, formatiert sie und schreibt in die Sinks
+ * Voller Ring: TRACE bis INFO werden verworfen und gezählt, WARN und ERROR warten auf Platz
+ * Nach close() werden neue Meldungen verworfen
+ */
+
+final class AsyncAppender{
+    private static final int BATCH_SIZE = 256;
+
+    private final LogEvent[] ring;
+    private final int mask;
+    private long head;
+    private long tail;
+    private long written;
+    private boolean closed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+
+    private final LongAdder dropped = new LongAdder();
+    private final LogPattern pattern;
+    private final List<LogSink> sinks;
+    private final Thread worker;
+
+    AsyncAppender(int capacity, LogPattern pattern, List<LogSink> sinks){
+        if (capacity <= 0){
+            throw new IllegalArgumentException("Puffergröße muss positiv sein");
+        }
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.ring = new LogEvent[size];
+        for (int i = 0; i < size; i++){
+            ring[i] = new LogEvent();
+        }
+        this.mask = size - 1;
+        this.pattern = pattern;
+        this.sinks = sinks;
+
+        this.worker = new Thread(this::run, "log-appender");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    void append(LogLevel level, String logger, String format, int argCount, Object arg1, Object arg2, Object[] args){
+        long now = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+
+        lock.lock();
+        try{
+            while (head - tail == ring.length){
+                if (closed || level.compareTo(LogLevel.WARN) < 0){
+                    dropped.increment();
+                    return;
+                }
+                notFull.awaitUninterruptibly();
+            }
+            if (closed){
+                dropped.increment();
+                return;
+            }
+            ring[(int) (head & mask)].set(now, level, logger, thread, format, argCount, arg1, arg2, args);
+            if (head++ == tail){
+                notEmpty.signal();
+            }
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Wartet, bis alle bis jetzt angenommenen Meldungen geschrieben sind
+     */
+    void flush(long timeoutMillis){
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try{
+            long target = head;
+            while (written < target && worker.isAlive()){
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0){
+                    return;
+                }
+                drained.awaitNanos(remaining);
+            }
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    long getDroppedEvents(){
+        return dropped.sum();
+    }
+
+    /*
+     * Schreibt den Rest des Rings und schließt die Sinks
+     */
+    void close(long timeoutMillis){
+        lock.lock();
+        try{
+            closed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        }finally{
+            lock.unlock();
+        }
+        try{
+            worker.join(timeoutMillis);
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(){
+        LogEvent[] batch = new LogEvent[BATCH_SIZE];
+        for (int i = 0; i < batch.length; i++){
+            batch[i] = new LogEvent();
+        }
+
+        while (true){
+            int count;
+            lock.lock();
+            try{
+                while (head == tail && !closed){
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (head == tail){
+                    break;
+                }
+                count = (int) Math.min(head - tail, BATCH_SIZE);
+                for (int i = 0; i < count; i++){
+                    LogEvent slot = ring[(int) ((tail + i) & mask)];
+                    batch[i].copyFrom(slot);
+                    slot.clear();
+                }
+                tail += count;
+                notFull.signalAll();
+            }finally{
+                lock.unlock();
+            }
+
+            write(batch, count);
+
+            lock.lock();
+            try{
+                written += count;
+                drained.signalAll();
+            }finally{
+                lock.unlock();
+            }
+        }
+        closeSinks();
+    }
+
+    private void write(LogEvent[] batch, int count){
+        for (int i = 0; i < count; i++){
+            String text = pattern.format(batch[i]);
+            for (LogSink sink : sinks){
+                try{
+                    sink.write(batch[i].level, text);
+                }catch (IOException | RuntimeException e){
+                    report(e);
+                }
+            }
+            batch[i].clear();
+        }
+        for (LogSink sink : sinks){
+            try{
+                sink.flush();
+            }catch (IOException | RuntimeException e){
+                report(e);
+            }
+        }
+    }
+
+    private void closeSinks(){
+        for (LogSink sink : sinks){
+            try{
+                sink.close();
+            }catch (IOException | RuntimeException e){
+                report(e);
+            }
+        }
+    }
+
+    // Fehler des Logging selbst gehen direkt auf die Konsole
+    private static void report(Exception e){
+        System.err.println("Log-Ausgabe fehlgeschlagen: " + e.getMessage());
+    }
+}
@@ -0,0 +1,37 @@
+package com.tasktracker.logging;
+
+import java.io.PrintStream;
+
+/*
+ * Konsole: WARN und ERROR nach System.err, alles andere nach System.out
+ */
+
+final class ConsoleSink implements LogSink{
+    private final PrintStream out;
+    private final PrintStream err;
+
+    ConsoleSink(){
+        this(System.out, System.err);
+    }
+
+    ConsoleSink(PrintStream out, PrintStream err){
+        this.out = out;
+        this.err = err;
+    }
+
+    @Override
+    public void write(LogLevel level, String text){
+        (level.compareTo(LogLevel.WARN) >= 0 ? err : out).print(text);
+    }
+
+    @Override
+    public void flush(){
+        out.flush();
+        err.flush();
+    }
+
+    @Override
+    public void close(){
+        flush();
+    }
+}
@@ -0,0 +1,75 @@
+package com.tasktracker.logging;
+
+/*
+ * Wiederverwendbarer Slot im Ringpuffer des AsyncAppender
+ * Hält Format und Argumente unformatiert, formatiert wird erst im Hintergrund-Thread
+ */
+
+final class LogEvent{
+    long timeMillis;
+    LogLevel level;
+    String logger;
+    String thread;
+    String format;
+    int argCount;
+    Object arg1;
+    Object arg2;
+    Object[] args;
+
+    void set(long timeMillis, LogLevel level, String logger, String thread,
+             String format, int argCount, Object arg1, Object arg2, Object[] args){
+        this.timeMillis = timeMillis;
+        this.level = level;
+        this.logger = logger;
+        this.thread = thread;
+        this.format = format;
+        this.argCount = argCount;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.args = args;
+    }
+
+    void copyFrom(LogEvent other){
+        set(other.timeMillis, other.level, other.logger, other.thread,
+                other.format, other.argCount, other.arg1, other.arg2, other.args);
+    }
+
+    // Referenzen freigeben, damit der Ringpuffer keine Argumente am Leben hält
+    void clear(){
+        set(0, null, null, null, null, 0, null, null, null);
+    }
+
+    int argumentCount(){
+        return argCount < 0 ? (args == null ? 0 : args.length) : argCount;
+    }
+
+    Object argument(int index){
+        if (argCount < 0){
+            return args[index];
+        }
+        return index == 0 ? arg1 : arg2;
+    }
+
+    /*
+     * Ersetzt {} der Reihe nach durch die Argumente, überzählige Platzhalter bleiben stehen
+     * Liefert ein nicht verbrauchtes Throwable als letztes Argument zurück
+     */
+    Throwable appendMessage(StringBuilder out){
+        String format = this.format == null ? "null" : this.format;
+        int count = argumentCount();
+        int used = 0;
+        int from = 0;
+        int placeholder;
+        while (used < count && (placeholder = format.indexOf("{}", from)) >= 0){
+            out.append(format, from, placeholder);
+            out.append(String.valueOf(argument(used++)));
+            from = placeholder + 2;
+        }
+        out.append(format, from, format.length());
+
+        if (used < count && argument(count - 1) instanceof Throwable){
+            return (Throwable) argument(count - 1);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.tasktracker.logging;
+
+import java.util.Locale;
+
+/*
+ * Log-Level in aufsteigender Schwere, OFF schaltet einen Logger ganz ab
+ */
+
+public enum LogLevel{
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /*
+     * Akzeptiert die Schreibweisen aus application.properties, WARNING und FATAL als Aliase
+     */
+    public static LogLevel parse(String value){
+        if (value == null || value.trim().isEmpty()){
+            throw new IllegalArgumentException("Log-Level darf nicht leer sein");
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        switch (normalized){
+            case "WARNING":
+                return WARN;
+            case "FATAL":
+                return ERROR;
+            default:
+                try{
+                    return valueOf(normalized);
+                }catch (IllegalArgumentException e){
+                    throw new IllegalArgumentException("Unbekanntes Log-Level: " + value);
+                }
+        }
+    }
+}
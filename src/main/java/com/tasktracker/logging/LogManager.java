@@ -0,0 +1,176 @@
+package com.tasktracker.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Einstiegspunkt des Logging: liefert Logger und hält den gemeinsamen AsyncAppender
+ * Liest beim ersten Zugriff application.properties:
+ *   logging.level.<präfix>   Level je Paket/Klasse, der längste passende Präfix gewinnt, sonst logging.level.root
+ *   logging.pattern.console  Ausgabeformat (Logback-Syntax, Teilmenge)
+ *   logging.file.*           optionale Logdatei mit Rotation nach Größe
+ *   logging.async.buffer-size Slots im Ringpuffer
+ * configure() kann zur Laufzeit neu konfigurieren, bestehende Logger übernehmen ihr neues Level
+ */
+
+public final class LogManager{
+    private static final String CONFIG_FILE = "application.properties";
+    private static final String LEVEL_PREFIX = "logging.level.";
+    private static final String ROOT = "root";
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private static final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+    private static volatile Map<String, LogLevel> levels = new HashMap<>();
+    private static volatile LogLevel rootLevel = LogLevel.INFO;
+    private static volatile AsyncAppender appender;
+
+    static{
+        configure(loadConfiguration());
+        Thread hook = new Thread(() -> appender.close(CLOSE_TIMEOUT_MILLIS), "log-shutdown");
+        Runtime.getRuntime().addShutdownHook(hook);
+    }
+
+    private LogManager(){
+    }
+
+    public static Logger getLogger(Class<?> type){
+        return getLogger(type.getName());
+    }
+
+    public static Logger getLogger(String name){
+        Logger logger = loggers.get(name);
+        if (logger == null){
+            logger = loggers.computeIfAbsent(name, key -> new Logger(key, resolveLevel(key)));
+        }
+        return logger;
+    }
+
+    /*
+     * Ersetzt Level und Appender; der alte Appender schreibt seinen Puffer noch aus
+     */
+    public static synchronized void configure(Properties properties){
+        Map<String, LogLevel> newLevels = new HashMap<>();
+        LogLevel newRoot = LogLevel.INFO;
+        for (String key : properties.stringPropertyNames()){
+            if (!key.startsWith(LEVEL_PREFIX)){
+                continue;
+            }
+            String name = key.substring(LEVEL_PREFIX.length());
+            LogLevel level = LogLevel.parse(properties.getProperty(key));
+            if (ROOT.equals(name)){
+                newRoot = level;
+            }else{
+                newLevels.put(name, level);
+            }
+        }
+        levels = newLevels;
+        rootLevel = newRoot;
+        for (Logger logger : loggers.values()){
+            logger.setLevel(resolveLevel(logger.getName()));
+        }
+
+        AsyncAppender previous = appender;
+        appender = createAppender(properties);
+        if (previous != null){
+            previous.close(CLOSE_TIMEOUT_MILLIS);
+        }
+    }
+
+    /*
+     * Wartet, bis alle bisher geloggten Meldungen geschrieben sind (z.B. vor Programmende oder in Tests)
+     */
+    public static void flush(){
+        appender.flush(CLOSE_TIMEOUT_MILLIS);
+    }
+
+    public static long getDroppedEvents(){
+        return appender.getDroppedEvents();
+    }
+
+    static AsyncAppender appender(){
+        return appender;
+    }
+
+    static LogLevel resolveLevel(String name){
+        Map<String, LogLevel> current = levels;
+        String candidate = name;
+        while (true){
+            LogLevel level = current.get(candidate);
+            if (level != null){
+                return level;
+            }
+            int dot = candidate.lastIndexOf('.');
+            if (dot < 0){
+                return rootLevel;
+            }
+            candidate = candidate.substring(0, dot);
+        }
+    }
+
+    static Properties loadConfiguration(){
+        Properties properties = new Properties();
+        try (InputStream input = LogManager.class.getClassLoader().getResourceAsStream(CONFIG_FILE)){
+            if (input != null){
+                properties.load(input);
+            }
+        }catch (IOException e){
+            System.err.println("Logging: Fehler beim Laden von " + CONFIG_FILE + ": " + e.getMessage());
+        }
+        return properties;
+    }
+
+    private static AsyncAppender createAppender(Properties properties){
+        LogPattern pattern = new LogPattern(properties.getProperty("logging.pattern.console"));
+        int bufferSize = Integer.parseInt(properties.getProperty("logging.async.buffer-size",
+                String.valueOf(DEFAULT_BUFFER_SIZE)).trim());
+
+        List<LogSink> sinks = new ArrayList<>();
+        sinks.add(new ConsoleSink());
+        String fileName = properties.getProperty("logging.file.name");
+        if (Boolean.parseBoolean(properties.getProperty("logging.file.enabled", "false"))
+                && fileName != null && !fileName.trim().isEmpty()){
+            long maxBytes = parseSize(properties.getProperty("logging.file.max-size", "10MB"));
+            int maxHistory = Integer.parseInt(properties.getProperty("logging.file.max-history", "7").trim());
+            try{
+                sinks.add(new RollingFileSink(Paths.get(fileName.trim()), maxBytes, maxHistory));
+            }catch (IOException e){
+                System.err.println("Logging: Logdatei " + fileName + " nicht verfügbar: " + e.getMessage());
+            }
+        }
+        return new AsyncAppender(bufferSize, pattern, sinks);
+    }
+
+    /*
+     * Größenangaben wie 10MB, 512KB, 1GB oder reine Bytes
+     */
+    static long parseSize(String value){
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        long factor = 1;
+        if (normalized.endsWith("KB")){
+            factor = 1024L;
+        }else if (normalized.endsWith("MB")){
+            factor = 1024L * 1024;
+        }else if (normalized.endsWith("GB")){
+            factor = 1024L * 1024 * 1024;
+        }
+        if (factor > 1){
+            normalized = normalized.substring(0, normalized.length() - 2).trim();
+        }else if (normalized.endsWith("B")){
+            normalized = normalized.substring(0, normalized.length() - 1).trim();
+        }
+        try{
+            return Long.parseLong(normalized) * factor;
+        }catch (NumberFormatException e){
+            throw new IllegalArgumentException("Ungültige Größenangabe: " + value);
+        }
+    }
+}
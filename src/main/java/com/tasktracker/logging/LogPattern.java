@@ -0,0 +1,190 @@
+package com.tasktracker.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Teilmenge der Logback-Pattern-Syntax aus logging.pattern.console:
+ * %d{format}, %thread/%t, %level/%p, %logger{länge}/%c, %msg/%m, %n, %% sowie Breiten wie %-5level
+ * Das Pattern wird einmal in Segmente zerlegt, danach ist format() nur noch Anhängen
+ */
+
+final class LogPattern{
+    static final String DEFAULT_PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+
+    private interface Segment{
+        void append(StringBuilder out, LogEvent event);
+    }
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final StringBuilder scratch = new StringBuilder();
+
+    LogPattern(String pattern){
+        compile(pattern == null || pattern.isEmpty() ? DEFAULT_PATTERN : pattern);
+    }
+
+    /*
+     * Nicht thread-sicher (gemeinsamer Puffer), wird nur vom Appender-Thread benutzt
+     */
+    String format(LogEvent event){
+        StringBuilder out = scratch;
+        out.setLength(0);
+        Throwable thrown = null;
+        for (Segment segment : segments){
+            if (segment instanceof MessageSegment){
+                thrown = event.appendMessage(out);
+            }else{
+                segment.append(out, event);
+            }
+        }
+        if (thrown != null){
+            StringWriter trace = new StringWriter();
+            thrown.printStackTrace(new PrintWriter(trace));
+            out.append(trace);
+        }
+        return out.toString();
+    }
+
+    private void compile(String pattern){
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()){
+            char c = pattern.charAt(i);
+            if (c != '%' || i + 1 >= pattern.length()){
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (pattern.charAt(i + 1) == '%'){
+                literal.append('%');
+                i += 2;
+                continue;
+            }
+
+            int pos = i + 1;
+            boolean leftAlign = false;
+            if (pattern.charAt(pos) == '-'){
+                leftAlign = true;
+                pos++;
+            }
+            int width = 0;
+            while (pos < pattern.length() && Character.isDigit(pattern.charAt(pos))){
+                width = width * 10 + (pattern.charAt(pos++) - '0');
+            }
+            int nameStart = pos;
+            while (pos < pattern.length() && Character.isLetter(pattern.charAt(pos))){
+                pos++;
+            }
+            String keyword = pattern.substring(nameStart, pos);
+            String option = null;
+            if (pos < pattern.length() && pattern.charAt(pos) == '{'){
+                int end = pattern.indexOf('}', pos);
+                if (end > 0){
+                    option = pattern.substring(pos + 1, end);
+                    pos = end + 1;
+                }
+            }
+
+            Segment segment = keyword(keyword, option);
+            if (segment == null){
+                // Unbekanntes Schlüsselwort bleibt als Text stehen
+                literal.append(pattern, i, pos);
+            }else{
+                flushLiteral(literal);
+                segments.add(width > 0 ? padded(segment, width, leftAlign) : segment);
+            }
+            i = pos;
+        }
+        flushLiteral(literal);
+    }
+
+    private void flushLiteral(StringBuilder literal){
+        if (literal.length() > 0){
+            String text = literal.toString();
+            segments.add((out, event) -> out.append(text));
+            literal.setLength(0);
+        }
+    }
+
+    private static Segment keyword(String keyword, String option){
+        switch (keyword){
+            case "d":
+            case "date":
+                DateTimeFormatter formatter = DateTimeFormatter
+                        .ofPattern(option == null ? "yyyy-MM-dd HH:mm:ss.SSS" : option)
+                        .withZone(ZoneId.systemDefault());
+                return (out, event) -> formatter.formatTo(Instant.ofEpochMilli(event.timeMillis), out);
+            case "t":
+            case "thread":
+                return (out, event) -> out.append(event.thread);
+            case "p":
+            case "le":
+            case "level":
+                return (out, event) -> out.append(event.level.name());
+            case "c":
+            case "lo":
+            case "logger":
+                if (option == null){
+                    return (out, event) -> out.append(event.logger);
+                }
+                int length = Integer.parseInt(option.trim());
+                return (out, event) -> out.append(abbreviate(event.logger, length));
+            case "m":
+            case "msg":
+            case "message":
+                return new MessageSegment();
+            case "n":
+                String separator = System.lineSeparator();
+                return (out, event) -> out.append(separator);
+            default:
+                return null;
+        }
+    }
+
+    private static Segment padded(Segment segment, int width, boolean leftAlign){
+        return (out, event) -> {
+            int start = out.length();
+            segment.append(out, event);
+            int missing = width - (out.length() - start);
+            for (int i = 0; i < missing; i++){
+                if (leftAlign){
+                    out.append(' ');
+                }else{
+                    out.insert(start, ' ');
+                }
+            }
+        };
+    }
+
+    /*
+     * Wie Logback: Paketnamen von links auf den Anfangsbuchstaben kürzen, bis der Name passt
+     * Der Klassenname selbst wird nie gekürzt, Länge 0 liefert nur den Klassennamen
+     */
+    static String abbreviate(String name, int maxLength){
+        if (maxLength == 0){
+            return name.substring(name.lastIndexOf('.') + 1);
+        }
+        if (name.length() <= maxLength){
+            return name;
+        }
+        String[] parts = name.split("\\.");
+        int length = name.length();
+        for (int i = 0; i < parts.length - 1 && length > maxLength; i++){
+            length -= parts[i].length() - 1;
+            parts[i] = parts[i].substring(0, Math.min(1, parts[i].length()));
+        }
+        return String.join(".", parts);
+    }
+
+    private static final class MessageSegment implements Segment{
+        @Override
+        public void append(StringBuilder out, LogEvent event){
+            event.appendMessage(out);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.tasktracker.logging;
+
+import java.io.IOException;
+
+/*
+ * Ausgabeziel des AsyncAppender, wird nur vom Hintergrund-Thread benutzt
+ */
+
+interface LogSink{
+    void write(LogLevel level, String text) throws IOException;
+
+    void flush() throws IOException;
+
+    void close() throws IOException;
+}
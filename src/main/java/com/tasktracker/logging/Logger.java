@@ -0,0 +1,175 @@
+package com.tasktracker.logging;
+
+/*
+ * Logger mit {}-Platzhaltern, Instanzen über LogManager.getLogger()
+ * Deaktivierte Level kosten einen Vergleich mit einem volatile int: kein String, kein Array, kein Lock
+ * Aktivierte Meldungen werden erst im Hintergrund-Thread des Appenders formatiert -
+ * Argumente müssen daher unveränderlich sein (IDs, Zahlen, Strings), keine Task-Objekte
+ * Ein Throwable als letztes, nicht verbrauchtes Argument wird mit Stacktrace ausgegeben
+ */
+
+public final class Logger{
+    private final String name;
+    private volatile int threshold;
+
+    Logger(String name, LogLevel level){
+        this.name = name;
+        this.threshold = level.ordinal();
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public LogLevel getLevel(){
+        return LogLevel.values()[threshold];
+    }
+
+    void setLevel(LogLevel level){
+        this.threshold = level.ordinal();
+    }
+
+    public boolean isEnabled(LogLevel level){
+        return level.ordinal() >= threshold && level != LogLevel.OFF;
+    }
+
+    public boolean isTraceEnabled(){
+        return threshold <= 0;
+    }
+
+    public boolean isDebugEnabled(){
+        return threshold <= 1;
+    }
+
+    public boolean isInfoEnabled(){
+        return threshold <= 2;
+    }
+
+    public boolean isWarnEnabled(){
+        return threshold <= 3;
+    }
+
+    public boolean isErrorEnabled(){
+        return threshold <= 4;
+    }
+
+    public void trace(String message){
+        if (threshold <= 0){
+            LogManager.appender().append(LogLevel.TRACE, name, message, 0, null, null, null);
+        }
+    }
+
+    public void trace(String format, Object arg){
+        if (threshold <= 0){
+            LogManager.appender().append(LogLevel.TRACE, name, format, 1, arg, null, null);
+        }
+    }
+
+    public void trace(String format, Object arg1, Object arg2){
+        if (threshold <= 0){
+            LogManager.appender().append(LogLevel.TRACE, name, format, 2, arg1, arg2, null);
+        }
+    }
+
+    public void trace(String format, Object... args){
+        if (threshold <= 0){
+            LogManager.appender().append(LogLevel.TRACE, name, format, -1, null, null, args);
+        }
+    }
+
+    public void debug(String message){
+        if (threshold <= 1){
+            LogManager.appender().append(LogLevel.DEBUG, name, message, 0, null, null, null);
+        }
+    }
+
+    public void debug(String format, Object arg){
+        if (threshold <= 1){
+            LogManager.appender().append(LogLevel.DEBUG, name, format, 1, arg, null, null);
+        }
+    }
+
+    public void debug(String format, Object arg1, Object arg2){
+        if (threshold <= 1){
+            LogManager.appender().append(LogLevel.DEBUG, name, format, 2, arg1, arg2, null);
+        }
+    }
+
+    public void debug(String format, Object... args){
+        if (threshold <= 1){
+            LogManager.appender().append(LogLevel.DEBUG, name, format, -1, null, null, args);
+        }
+    }
+
+    public void info(String message){
+        if (threshold <= 2){
+            LogManager.appender().append(LogLevel.INFO, name, message, 0, null, null, null);
+        }
+    }
+
+    public void info(String format, Object arg){
+        if (threshold <= 2){
+            LogManager.appender().append(LogLevel.INFO, name, format, 1, arg, null, null);
+        }
+    }
+
+    public void info(String format, Object arg1, Object arg2){
+        if (threshold <= 2){
+            LogManager.appender().append(LogLevel.INFO, name, format, 2, arg1, arg2, null);
+        }
+    }
+
+    public void info(String format, Object... args){
+        if (threshold <= 2){
+            LogManager.appender().append(LogLevel.INFO, name, format, -1, null, null, args);
+        }
+    }
+
+    public void warn(String message){
+        if (threshold <= 3){
+            LogManager.appender().append(LogLevel.WARN, name, message, 0, null, null, null);
+        }
+    }
+
+    public void warn(String format, Object arg){
+        if (threshold <= 3){
+            LogManager.appender().append(LogLevel.WARN, name, format, 1, arg, null, null);
+        }
+    }
+
+    public void warn(String format, Object arg1, Object arg2){
+        if (threshold <= 3){
+            LogManager.appender().append(LogLevel.WARN, name, format, 2, arg1, arg2, null);
+        }
+    }
+
+    public void warn(String format, Object... args){
+        if (threshold <= 3){
+            LogManager.appender().append(LogLevel.WARN, name, format, -1, null, null, args);
+        }
+    }
+
+    public void error(String message){
+        if (threshold <= 4){
+            LogManager.appender().append(LogLevel.ERROR, name, message, 0, null, null, null);
+        }
+    }
+
+    public void error(String format, Object arg){
+        if (threshold <= 4){
+            LogManager.appender().append(LogLevel.ERROR, name, format, 1, arg, null, null);
+        }
+    }
+
+    public void error(String format, Object arg1, Object arg2){
+        if (threshold <= 4){
+            LogManager.appender().append(LogLevel.ERROR, name, format, 2, arg1, arg2, null);
+        }
+    }
+
+    public void error(String format, Object... args){
+        if (threshold <= 4){
+            LogManager.appender().append(LogLevel.ERROR, name, format, -1, null, null, args);
+        }
+    }
+}
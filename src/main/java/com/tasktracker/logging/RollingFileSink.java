@@ -0,0 +1,88 @@
+package com.tasktracker.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Logdatei mit Rotation nach Größe: name -> name.1 -> name.2 ... bis maxHistory, ältere werden gelöscht
+ * maxHistory 0 bedeutet: beim Erreichen von maxBytes wird die Datei neu begonnen
+ */
+
+final class RollingFileSink implements LogSink{
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final long maxBytes;
+    private final int maxHistory;
+
+    private OutputStream out;
+    private long size;
+
+    RollingFileSink(Path file, long maxBytes, int maxHistory) throws IOException{
+        if (maxBytes <= 0 || maxHistory < 0){
+            throw new IllegalArgumentException("Ungültige Rotationseinstellungen für " + file);
+        }
+        this.file = file.toAbsolutePath();
+        this.maxBytes = maxBytes;
+        this.maxHistory = maxHistory;
+
+        Path parent = this.file.getParent();
+        if (parent != null){
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    @Override
+    public void write(LogLevel level, String text) throws IOException{
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (size > 0 && size + bytes.length > maxBytes){
+            rotate();
+        }
+        out.write(bytes);
+        size += bytes.length;
+    }
+
+    @Override
+    public void flush() throws IOException{
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException{
+        out.close();
+    }
+
+    private void open() throws IOException{
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), BUFFER_SIZE);
+        size = Files.size(file);
+    }
+
+    private void rotate() throws IOException{
+        out.close();
+        if (maxHistory == 0){
+            Files.delete(file);
+        }else{
+            Files.deleteIfExists(rotated(maxHistory));
+            for (int i = maxHistory - 1; i >= 1; i--){
+                Path source = rotated(i);
+                if (Files.exists(source)){
+                    Files.move(source, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path rotated(int index){
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,152 @@
+package com.tasktracker.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Lock-freies Latenz-Histogramm in Nanosekunden mit log-linearen Buckets
+ * Je Zweierpotenz 32 lineare Unter-Buckets: relativer Fehler der Perzentile unter 3 %,
+ * Wertebereich bis 2^42 ns (gut eine Stunde), größere Werte landen im letzten Bucket
+ * record() ist ein einziges getAndIncrement auf einem Array-Element - keine Locks, keine Allokation
+ */
+
+public final class LatencyHistogram{
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 42;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos){
+        if (nanos < 0){
+            nanos = 0;
+        }
+        counts.getAndIncrement(bucketIndex(nanos));
+        totalCount.increment();
+        totalNanos.add(nanos);
+
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)){
+            max = maxNanos.get();
+        }
+    }
+
+    /*
+     * Momentaufnahme; bei gleichzeitigem record() können Zähler und Buckets minimal auseinanderliegen
+     */
+    public Snapshot snapshot(){
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++){
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long max = maxNanos.get();
+        return new Snapshot(count, totalNanos.sum(), max,
+                percentile(copy, count, 0.50, max),
+                percentile(copy, count, 0.90, max),
+                percentile(copy, count, 0.99, max),
+                percentile(copy, count, 0.999, max));
+    }
+
+    public long getCount(){
+        return totalCount.sum();
+    }
+
+    static int bucketIndex(long nanos){
+        if (nanos < SUB_BUCKETS){
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT){
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /*
+     * Größter Wert, der noch in den Bucket fällt
+     */
+    static long bucketUpperBound(int index){
+        if (index < SUB_BUCKETS){
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long max){
+        if (total == 0){
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++){
+            seen += counts[i];
+            if (seen >= rank){
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    public static final class Snapshot{
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long p999;
+
+        Snapshot(long count, long totalNanos, long maxNanos, long p50, long p90, long p99, long p999){
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+        }
+
+        public long getCount(){
+            return count;
+        }
+
+        public long getTotalNanos(){
+            return totalNanos;
+        }
+
+        public long getMeanNanos(){
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        public long getMaxNanos(){
+            return maxNanos;
+        }
+
+        public long getP50Nanos(){
+            return p50;
+        }
+
+        public long getP90Nanos(){
+            return p90;
+        }
+
+        public long getP99Nanos(){
+            return p99;
+        }
+
+        public long getP999Nanos(){
+            return p999;
+        }
+    }
+}
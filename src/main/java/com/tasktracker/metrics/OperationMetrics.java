@@ -0,0 +1,95 @@
+package com.tasktracker.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Kennzahlen einer Operation: Latenz (Erfolg und Fehler), Aufrufe, Fehler, gelieferte Zeilen
+ */
+
+public final class OperationMetrics implements OperationMetricsMXBean{
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    OperationMetrics(String name){
+        this.name = name;
+    }
+
+    /*
+     * startNanos stammt von System.nanoTime() vor dem Aufruf
+     */
+    public void success(long startNanos, long rowCount){
+        latency.record(System.nanoTime() - startNanos);
+        if (rowCount > 0){
+            rows.add(rowCount);
+        }
+    }
+
+    public void success(long startNanos){
+        latency.record(System.nanoTime() - startNanos);
+    }
+
+    public void failure(long startNanos){
+        latency.record(System.nanoTime() - startNanos);
+        errors.increment();
+    }
+
+    public void addRows(long rowCount){
+        rows.add(rowCount);
+    }
+
+    public LatencyHistogram.Snapshot snapshot(){
+        return latency.snapshot();
+    }
+
+    @Override
+    public String getName(){
+        return name;
+    }
+
+    @Override
+    public long getCount(){
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrors(){
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows(){
+        return rows.sum();
+    }
+
+    @Override
+    public double getMeanMicros(){
+        return snapshot().getMeanNanos() / 1000.0;
+    }
+
+    @Override
+    public double getP50Micros(){
+        return snapshot().getP50Nanos() / 1000.0;
+    }
+
+    @Override
+    public double getP90Micros(){
+        return snapshot().getP90Nanos() / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros(){
+        return snapshot().getP99Nanos() / 1000.0;
+    }
+
+    @Override
+    public double getP999Micros(){
+        return snapshot().getP999Nanos() / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros(){
+        return snapshot().getMaxNanos() / 1000.0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.tasktracker.metrics;
+
+/*
+ * JMX-Sicht auf eine Operation, registriert unter
+ * com.tasktracker:type=RepositoryMetrics,name=<Repository>,operation=<Methode>
+ */
+
+public interface OperationMetricsMXBean{
+    String getName();
+
+    long getCount();
+
+    long getErrors();
+
+    long getRows();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+}
@@ -0,0 +1,118 @@
+package com.tasktracker.metrics;
+
+import com.tasktracker.logging.LogManager;
+import com.tasktracker.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Sammlung der OperationMetrics eines Repositorys
+ * Optional: JMX-Registrierung und periodische Textausgabe (dumpInterval in ms, 0 = aus)
+ */
+
+public final class RepositoryMetrics implements AutoCloseable{
+    private static final Logger LOG = LogManager.getLogger(RepositoryMetrics.class);
+
+    private final String name;
+    private final Map<String, OperationMetrics> operations = new LinkedHashMap<>();
+    private final List<ObjectName> registered = new ArrayList<>();
+    private ScheduledExecutorService reporter;
+
+    public RepositoryMetrics(String name){
+        this.name = name;
+    }
+
+    /*
+     * Decorators holen ihre OperationMetrics einmal beim Aufbau, der Aufrufpfad berührt diese Map nicht
+     */
+    public synchronized OperationMetrics operation(String operation){
+        return operations.computeIfAbsent(operation, OperationMetrics::new);
+    }
+
+    public synchronized Collection<OperationMetrics> getOperations(){
+        return Collections.unmodifiableCollection(new ArrayList<>(operations.values()));
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public synchronized void registerMBeans(){
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (OperationMetrics metrics : operations.values()){
+            try{
+                ObjectName objectName = new ObjectName("com.tasktracker:type=RepositoryMetrics,name="
+                        + ObjectName.quote(name) + ",operation=" + metrics.getName());
+                if (server.isRegistered(objectName)){
+                    server.unregisterMBean(objectName);
+                }
+                server.registerMBean(metrics, objectName);
+                registered.add(objectName);
+            }catch (JMException e){
+                LOG.warn("JMX-Registrierung fehlgeschlagen für {}: {}", metrics.getName(), e.getMessage());
+            }
+        }
+    }
+
+    public synchronized void startDump(long intervalMillis){
+        if (intervalMillis <= 0 || reporter != null){
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "repository-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> LOG.info(format()), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Tabelle aller Operationen mit mindestens einem Aufruf, Zeiten in Mikrosekunden
+     */
+    public String format(){
+        StringBuilder out = new StringBuilder();
+        out.append("=== Repository-Metriken: ").append(name).append(" ===").append(System.lineSeparator());
+        out.append(String.format("%-26s %10s %7s %11s %9s %9s %9s %9s %9s %10s%n",
+                "Operation", "Aufrufe", "Fehler", "Zeilen", "Mittel", "p50", "p90", "p99", "p99.9", "Max"));
+        for (OperationMetrics metrics : getOperations()){
+            LatencyHistogram.Snapshot snapshot = metrics.snapshot();
+            if (snapshot.getCount() == 0){
+                continue;
+            }
+            out.append(String.format("%-26s %10d %7d %11d %9.1f %9.1f %9.1f %9.1f %9.1f %10.1f%n",
+                    metrics.getName(), snapshot.getCount(), metrics.getErrors(), metrics.getRows(),
+                    snapshot.getMeanNanos() / 1000.0, snapshot.getP50Nanos() / 1000.0, snapshot.getP90Nanos() / 1000.0,
+                    snapshot.getP99Nanos() / 1000.0, snapshot.getP999Nanos() / 1000.0, snapshot.getMaxNanos() / 1000.0));
+        }
+        return out.toString();
+    }
+
+    @Override
+    public synchronized void close(){
+        if (reporter != null){
+            reporter.shutdownNow();
+            reporter = null;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objectName : registered){
+            try{
+                server.unregisterMBean(objectName);
+            }catch (JMException e){
+                // Bereits entfernt
+            }
+        }
+        registered.clear();
+    }
+}
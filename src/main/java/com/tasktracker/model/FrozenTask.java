@@ -0,0 +1,46 @@
+package com.tasktracker.model;
+
+/*
+ * Unveränderliche Aufgabe, wie sie SnapshotTaskRepository speichert und ausliefert
+ * Alle Setter werfen UnsupportedOperationException - Änderungen nur über update() mit einer neuen Task
+ */
+
+public final class FrozenTask extends Task{
+
+    private FrozenTask(long id, String description, TaskStatus status){
+        super(id, description, status);
+    }
+
+    /*
+     * Liefert task selbst, wenn sie bereits eingefroren ist und die ID passt, sonst eine Kopie
+     */
+    public static FrozenTask of(Task task, long id){
+        if (task instanceof FrozenTask && task.getTaskId() == id){
+            return (FrozenTask) task;
+        }
+        return new FrozenTask(id, task.getDescription(), task.getTaskStatus());
+    }
+
+    public static FrozenTask of(Task task){
+        return of(task, task.getTaskId());
+    }
+
+    public FrozenTask withStatus(TaskStatus status){
+        return status == getTaskStatus() ? this : new FrozenTask(getTaskId(), getDescription(), status);
+    }
+
+    @Override
+    public void setDescription(String description){
+        throw new UnsupportedOperationException("Aufgabe ist unveränderlich, bitte update() mit einer neuen Task verwenden");
+    }
+
+    @Override
+    public void setTaskStatus(TaskStatus status){
+        throw new UnsupportedOperationException("Aufgabe ist unveränderlich, bitte update() mit einer neuen Task verwenden");
+    }
+
+    @Override
+    public void setTaskId(long id){
+        throw new UnsupportedOperationException("Aufgabe ist unveränderlich, bitte update() mit einer neuen Task verwenden");
+    }
+}
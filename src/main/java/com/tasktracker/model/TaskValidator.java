@@ -0,0 +1,52 @@
+package com.tasktracker.model;
+
+/*
+ * Gemeinsame Prüfregeln für Aufgaben vor dem Speichern
+ * Ergänzt die Prüfung im Task-Konstruktor (leere Beschreibung) um Status und maximale Länge
+ * Standardlänge entspricht der Spalte description NVARCHAR(1000)
+ */
+
+public final class TaskValidator{
+    public static final int DEFAULT_MAX_DESCRIPTION_LENGTH = 1000;
+
+    private final int maxDescriptionLength;
+
+    public TaskValidator(){
+        this(DEFAULT_MAX_DESCRIPTION_LENGTH);
+    }
+
+    public TaskValidator(int maxDescriptionLength){
+        if (maxDescriptionLength <= 0){
+            throw new IllegalArgumentException("Maximale Beschreibungslänge muss positiv sein");
+        }
+        this.maxDescriptionLength = maxDescriptionLength;
+    }
+
+    public int getMaxDescriptionLength(){
+        return maxDescriptionLength;
+    }
+
+    public void validate(Task task){
+        if (task == null){
+            throw new IllegalArgumentException("Task darf nicht null sein");
+        }
+        if (task.getDescription() == null || task.getDescription().trim().isEmpty()){
+            throw new IllegalArgumentException("Task-Beschreibung darf nicht leer sein");
+        }
+        if (task.getDescription().length() > maxDescriptionLength){
+            throw new IllegalArgumentException("Task-Beschreibung ist länger als " + maxDescriptionLength + " Zeichen");
+        }
+        if (task.getTaskStatus() == null){
+            throw new IllegalArgumentException("Task-Status darf nicht null sein");
+        }
+    }
+
+    /*
+     * Erstellt eine Aufgabe über den Task-Konstruktor und prüft sie anschließend
+     */
+    public Task create(long id, String description, TaskStatus status){
+        Task task = new Task(id, description, status);
+        validate(task);
+        return task;
+    }
+}
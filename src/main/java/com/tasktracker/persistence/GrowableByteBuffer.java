@@ -0,0 +1,94 @@
+package com.tasktracker.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/*
+ * Wachsender Schreibpuffer für Binärformate (Journal, Snapshot, Export)
+ */
+
+public final class GrowableByteBuffer{
+    private byte[] data;
+    private int size;
+
+    public GrowableByteBuffer(int initialCapacity){
+        this.data = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public byte[] array(){
+        return data;
+    }
+
+    public void clear(){
+        size = 0;
+    }
+
+    /*
+     * Verwirft alles ab position, z. B. einen nur teilweise geschriebenen Datensatz
+     */
+    public void truncate(int position){
+        if (position < 0 || position > size){
+            throw new IllegalArgumentException("Ungültige Position: " + position);
+        }
+        size = position;
+    }
+
+    public void put(byte value){
+        ensure(1);
+        data[size++] = value;
+    }
+
+    public void put(byte[] bytes){
+        put(bytes, 0, bytes.length);
+    }
+
+    public void put(byte[] bytes, int offset, int length){
+        ensure(length);
+        System.arraycopy(bytes, offset, data, size, length);
+        size += length;
+    }
+
+    public void putInt(int value){
+        ensure(4);
+        putIntAt(size, value);
+        size += 4;
+    }
+
+    public void putLong(long value){
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    public void putIntAt(int position, int value){
+        data[position] = (byte) (value >>> 24);
+        data[position + 1] = (byte) (value >>> 16);
+        data[position + 2] = (byte) (value >>> 8);
+        data[position + 3] = (byte) value;
+    }
+
+    /*
+     * LEB128: 7 Bit je Byte, höchstes Bit kennzeichnet ein Folgebyte
+     */
+    public void putVarLong(long value){
+        ensure(10);
+        while ((value & ~0x7FL) != 0){
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+
+    public ByteBuffer asByteBuffer(){
+        return ByteBuffer.wrap(data, 0, size);
+    }
+
+    private void ensure(int additional){
+        if (size + additional > data.length){
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + additional));
+        }
+    }
+}
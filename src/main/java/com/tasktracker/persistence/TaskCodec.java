@@ -0,0 +1,119 @@
+package com.tasktracker.persistence;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Kompakte Binärkodierung einer Aufgabe:
+ * varint ID | Status-Ordinal (1 Byte, 0xFF = kein Status) | varint Länge | UTF-8 Beschreibung
+ */
+
+public final class TaskCodec{
+    public static final int MAX_DESCRIPTION_BYTES = 1 << 24;
+
+    private static final byte NO_STATUS = (byte) 0xFF;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private TaskCodec(){
+    }
+
+    /*
+     * Lehnt Beschreibungen ab, die readTask() nicht mehr lesen würde; schreibt in diesem Fall nichts
+     */
+    public static void writeTask(GrowableByteBuffer out, long id, TaskStatus status, String description){
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_DESCRIPTION_BYTES){
+            throw new IllegalArgumentException(tooLong(bytes.length));
+        }
+        out.putVarLong(id);
+        out.put(writeStatus(status));
+        out.putVarLong(bytes.length);
+        out.put(bytes);
+    }
+
+    public static void writeTask(GrowableByteBuffer out, Task task){
+        writeTask(out, task.getTaskId(), task.getTaskStatus(), task.getDescription());
+    }
+
+    /*
+     * Dieselbe Grenze wie writeTask(), ohne zu kodieren; UTF-8 braucht höchstens 3 Bytes je char
+     */
+    public static void checkDescription(String description){
+        if (description == null || (long) description.length() * 3 <= MAX_DESCRIPTION_BYTES){
+            return;
+        }
+        int bytes = description.getBytes(StandardCharsets.UTF_8).length;
+        if (bytes > MAX_DESCRIPTION_BYTES){
+            throw new IllegalArgumentException(tooLong(bytes));
+        }
+    }
+
+    public static Task readTask(ByteBuffer in){
+        long id = readVarLong(in);
+        TaskStatus status = readStatus(in.get());
+        long length = readVarLong(in);
+        if (length < 0 || length > MAX_DESCRIPTION_BYTES || length > in.remaining()){
+            throw new IllegalArgumentException("Ungültige Beschreibungslänge: " + length);
+        }
+
+        String description;
+        if (in.hasArray()){
+            description = new String(in.array(), in.arrayOffset() + in.position(), (int) length, StandardCharsets.UTF_8);
+            in.position(in.position() + (int) length);
+        }else{
+            byte[] bytes = new byte[(int) length];
+            in.get(bytes);
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Task(id, description, status);
+    }
+
+    public static long readVarLong(ByteBuffer in){
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7){
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0){
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Ungültiger varint");
+    }
+
+    /*
+     * Prüft ohne zu lesen, ob ab der aktuellen Position ein vollständiger Datensatz vorliegt
+     */
+    public static boolean hasCompleteTask(ByteBuffer in){
+        ByteBuffer probe = in.duplicate();
+        try{
+            readVarLong(probe);
+            probe.get();
+            long length = readVarLong(probe);
+            return length >= 0 && length <= probe.remaining();
+        }catch (BufferUnderflowException | IllegalArgumentException e){
+            return false;
+        }
+    }
+
+    private static String tooLong(int bytes){
+        return "Beschreibung ist mit " + bytes + " Bytes länger als " + MAX_DESCRIPTION_BYTES + " Bytes";
+    }
+
+    static byte writeStatus(TaskStatus status){
+        return status == null ? NO_STATUS : (byte) status.ordinal();
+    }
+
+    static TaskStatus readStatus(byte ordinal){
+        if (ordinal == NO_STATUS){
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= STATUSES.length){
+            throw new IllegalArgumentException("Unbekannter Status: " + ordinal);
+        }
+        return STATUSES[ordinal];
+    }
+}
@@ -0,0 +1,482 @@
+package com.tasktracker.persistence;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/*
+ * Append-only Journal für Änderungen an Aufgaben
+ * Datensatz: int Länge | int CRC32 | Typ (1 Byte) | Nutzdaten
+ * UPDATE_STATUS und DELETE_BY_STATUS halten eine Mengenänderung in einem Datensatz fest,
+ * beim Abspielen ergibt sich dieselbe Menge, da die Datensätze in Reihenfolge angewendet werden
+ * Jede Generation ist eine eigene Datei journal-<generation>.log, rotate() beginnt eine neue
+ *
+ * Group Commit: append() schreibt nur in den Puffer und liefert eine Sequenznummer,
+ * awaitDurable() wartet, bis diese auf der Platte ist. Der erste Wartende schreibt und
+ * synchronisiert den gesamten Puffer, alle während dessen eintreffenden Datensätze
+ * landen im nächsten Schreibvorgang - ein fsync deckt damit viele Änderungen ab
+ */
+
+public final class TaskJournal implements AutoCloseable{
+    public static final byte SAVE = 1;
+    public static final byte DELETE = 2;
+    public static final byte DELETE_ALL = 3;
+    public static final byte UPDATE_STATUS = 4;
+    public static final byte DELETE_BY_STATUS = 5;
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = TaskCodec.MAX_DESCRIPTION_BYTES + 32;
+
+    public interface Replay{
+        void save(Task task);
+
+        void delete(long id);
+
+        void deleteAll();
+
+        void updateStatus(TaskStatus from, TaskStatus to);
+
+        void deleteByStatus(TaskStatus status);
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final CRC32 crc = new CRC32();
+    private GrowableByteBuffer pendingBuffer = new GrowableByteBuffer(64 * 1024);
+    private GrowableByteBuffer writeBuffer = new GrowableByteBuffer(64 * 1024);
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean flushing;
+    private IOException failure;
+
+    private FileChannel channel;
+    private long generation;
+    private long fileSize;
+
+    private long syncs;
+
+    public TaskJournal(Path directory, long generation, boolean fsync) throws IOException{
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        openGeneration(generation);
+    }
+
+    public long appendSave(long id, TaskStatus status, String description){
+        lock.lock();
+        try{
+            int start = beginRecord(SAVE);
+            try{
+                TaskCodec.writeTask(pendingBuffer, id, status, description);
+            }catch (RuntimeException e){
+                // Zu lange Beschreibung: den angefangenen Datensatz nicht im Puffer stehen lassen
+                pendingBuffer.truncate(start);
+                throw e;
+            }
+            return endRecord(start);
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    public long appendDelete(long id){
+        lock.lock();
+        try{
+            int start = beginRecord(DELETE);
+            pendingBuffer.putVarLong(id);
+            return endRecord(start);
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    public long appendDeleteAll(){
+        lock.lock();
+        try{
+            return endRecord(beginRecord(DELETE_ALL));
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    public long appendUpdateStatus(TaskStatus from, TaskStatus to){
+        lock.lock();
+        try{
+            int start = beginRecord(UPDATE_STATUS);
+            pendingBuffer.put(TaskCodec.writeStatus(from));
+            pendingBuffer.put(TaskCodec.writeStatus(to));
+            return endRecord(start);
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    public long appendDeleteByStatus(TaskStatus status){
+        lock.lock();
+        try{
+            int start = beginRecord(DELETE_BY_STATUS);
+            pendingBuffer.put(TaskCodec.writeStatus(status));
+            return endRecord(start);
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Blockiert, bis alle Datensätze bis einschließlich seq geschrieben (und bei fsync synchronisiert) sind
+     */
+    public void awaitDurable(long seq){
+        lock.lock();
+        try{
+            while (durableSeq < seq){
+                checkFailure();
+                if (flushing){
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushing = true;
+                long target = appendedSeq;
+                GrowableByteBuffer batch = swapBuffers();
+                lock.unlock();
+                IOException error = null;
+                try{
+                    writeAndSync(batch);
+                }catch (IOException e){
+                    error = e;
+                }finally{
+                    lock.lock();
+                }
+                flushing = false;
+                if (error != null){
+                    failure = error;
+                }else{
+                    recordWrite(batch);
+                    durableSeq = Math.max(durableSeq, target);
+                }
+                flushed.signalAll();
+            }
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Schließt die aktuelle Generation und beginnt eine neue
+     * Der Aufrufer muss sicherstellen, dass währenddessen nichts angehängt wird
+     */
+    public long rotate(){
+        lock.lock();
+        try{
+            drain();
+            channel.close();
+            openGeneration(generation + 1);
+            return generation;
+        }catch (IOException e){
+            failure = e;
+            throw new UncheckedIOException("Journal konnte nicht rotiert werden", e);
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    public long getGeneration(){
+        lock.lock();
+        try{
+            return generation;
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Größe der aktuellen Generation inklusive noch nicht geschriebener Datensätze
+     */
+    public long size(){
+        lock.lock();
+        try{
+            return fileSize + pendingBuffer.size();
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    public long getSyncCount(){
+        lock.lock();
+        try{
+            return syncs;
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException{
+        lock.lock();
+        try{
+            if (!channel.isOpen()){
+                return;
+            }
+            try{
+                drain();
+            }finally{
+                channel.close();
+            }
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    public static List<Long> generations(Path directory) throws IOException{
+        List<Long> result = new ArrayList<>();
+        if (!Files.isDirectory(directory)){
+            return result;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)){
+            for (Path file : files){
+                String name = file.getFileName().toString();
+                try{
+                    result.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                }catch (NumberFormatException e){
+                    // Fremde Datei mit ähnlichem Namen
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    public static void deleteGenerationsBefore(Path directory, long generation) throws IOException{
+        for (long existing : generations(directory)){
+            if (existing < generation){
+                Files.deleteIfExists(fileFor(directory, existing));
+            }
+        }
+    }
+
+    /*
+     * Spielt eine Generation ab und liefert die Anzahl gültiger Datensätze
+     * Ein abgeschnittener oder beschädigter Datensatz (Absturz mitten im Schreiben) wird nur am Ende der
+     * neuesten Generation akzeptiert: das Abspielen endet dort und die Datei wird auf den gültigen Teil
+     * gekürzt, damit sie nach dem nächsten Start (dann nicht mehr die neueste Generation) sauber ist
+     * Jede andere Beschädigung bricht die Wiederherstellung mit einer IOException ab
+     */
+    public static long replay(Path directory, long generation, Replay handler, boolean newest) throws IOException{
+        Path file = fileFor(directory, generation);
+        long records = 0;
+        long valid = 0;
+        String damage = null;
+        boolean tail = false;
+
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)){
+            long size = in.size();
+            CRC32 checksum = new CRC32();
+
+            scan:
+            while (valid < size){
+                if (size - valid < HEADER_BYTES){
+                    damage = "unvollständiger Kopf";
+                    tail = true;
+                    break;
+                }
+                long windowStart = valid;
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                        Math.min(size - windowStart, Integer.MAX_VALUE));
+                while (window.remaining() >= HEADER_BYTES){
+                    int start = window.position();
+                    int length = window.getInt();
+                    int expected = window.getInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES){
+                        damage = "ungültige Länge " + length;
+                        tail = isZeroFilled(in, windowStart + start, size);
+                        break scan;
+                    }
+                    if (length > window.remaining()){
+                        if (windowStart + start + HEADER_BYTES + length > size){
+                            damage = "Datensatz reicht über das Dateiende hinaus";
+                            tail = true;
+                            break scan;
+                        }
+                        // Datensatz an der Fenstergrenze, beginnt das nächste Fenster
+                        break;
+                    }
+
+                    ByteBuffer payload = window.slice();
+                    payload.limit(length);
+                    checksum.reset();
+                    checksum.update(payload.duplicate());
+                    if ((int) checksum.getValue() != expected){
+                        damage = "Prüfsumme stimmt nicht";
+                        tail = isZeroFilled(in, windowStart + start + HEADER_BYTES + length, size);
+                        break scan;
+                    }
+                    // Prüfsumme stimmt, ein nicht lesbarer Inhalt ist also kein abgebrochener Schreibvorgang
+                    if (!apply(payload, handler)){
+                        throw new IOException("Journal " + file + ": Datensatz bei Byte " + (windowStart + start) + " nicht lesbar");
+                    }
+                    window.position(start + HEADER_BYTES + length);
+                    valid = windowStart + window.position();
+                    records++;
+                }
+            }
+        }
+
+        if (damage != null){
+            if (!newest || !tail){
+                throw new IOException("Journal " + file + " beschädigt bei Byte " + valid + ": " + damage);
+            }
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)){
+                out.truncate(valid);
+                out.force(true);
+            }
+        }
+        return records;
+    }
+
+    /*
+     * Ein Absturz kann die Datei verlängern, ohne die Daten zu schreiben; der Rest besteht dann aus Nullen
+     * Liefert auch true, wenn from bereits am Dateiende liegt
+     */
+    private static boolean isZeroFilled(FileChannel in, long from, long size) throws IOException{
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = from;
+        while (position < size){
+            buffer.clear();
+            int read = in.read(buffer, position);
+            if (read <= 0){
+                return true;
+            }
+            for (int i = 0; i < read; i++){
+                if (buffer.get(i) != 0){
+                    return false;
+                }
+            }
+            position += read;
+        }
+        return true;
+    }
+
+    private static boolean apply(ByteBuffer payload, Replay handler){
+        try{
+            byte type = payload.get();
+            switch (type){
+                case SAVE:
+                    handler.save(TaskCodec.readTask(payload));
+                    return true;
+                case DELETE:
+                    handler.delete(TaskCodec.readVarLong(payload));
+                    return true;
+                case DELETE_ALL:
+                    handler.deleteAll();
+                    return true;
+                case UPDATE_STATUS:
+                    TaskStatus from = TaskCodec.readStatus(payload.get());
+                    handler.updateStatus(from, TaskCodec.readStatus(payload.get()));
+                    return true;
+                case DELETE_BY_STATUS:
+                    handler.deleteByStatus(TaskCodec.readStatus(payload.get()));
+                    return true;
+                default:
+                    return false;
+            }
+        }catch (RuntimeException e){
+            return false;
+        }
+    }
+
+    private int beginRecord(byte type){
+        checkFailure();
+        int start = pendingBuffer.size();
+        pendingBuffer.putInt(0);
+        pendingBuffer.putInt(0);
+        pendingBuffer.put(type);
+        return start;
+    }
+
+    private long endRecord(int start){
+        int payloadStart = start + HEADER_BYTES;
+        int length = pendingBuffer.size() - payloadStart;
+        crc.reset();
+        crc.update(pendingBuffer.array(), payloadStart, length);
+        pendingBuffer.putIntAt(start, length);
+        pendingBuffer.putIntAt(start + 4, (int) crc.getValue());
+        return ++appendedSeq;
+    }
+
+    private GrowableByteBuffer swapBuffers(){
+        GrowableByteBuffer batch = pendingBuffer;
+        pendingBuffer = writeBuffer;
+        pendingBuffer.clear();
+        writeBuffer = batch;
+        return batch;
+    }
+
+    /*
+     * Schreibt alles Ausstehende unter dem Lock, wartet vorher auf einen laufenden Flush
+     */
+    private void drain() throws IOException{
+        while (flushing){
+            flushed.awaitUninterruptibly();
+        }
+        checkFailure();
+        if (pendingBuffer.size() > 0){
+            long target = appendedSeq;
+            GrowableByteBuffer batch = swapBuffers();
+            writeAndSync(batch);
+            recordWrite(batch);
+            durableSeq = target;
+            flushed.signalAll();
+        }
+    }
+
+    private void writeAndSync(GrowableByteBuffer batch) throws IOException{
+        ByteBuffer data = batch.asByteBuffer();
+        while (data.hasRemaining()){
+            channel.write(data);
+        }
+        if (fsync){
+            channel.force(false);
+        }
+    }
+
+    private void recordWrite(GrowableByteBuffer batch){
+        fileSize += batch.size();
+        syncs++;
+    }
+
+    private void openGeneration(long generation) throws IOException{
+        this.channel = FileChannel.open(fileFor(directory, generation),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.generation = generation;
+        this.fileSize = channel.size();
+    }
+
+    private void checkFailure(){
+        if (failure != null){
+            throw new UncheckedIOException("Journal nach Schreibfehler nicht mehr verwendbar", failure);
+        }
+    }
+
+    private static Path fileFor(Path directory, long generation){
+        return directory.resolve(String.format("%s%016d%s", PREFIX, generation, SUFFIX));
+    }
+}
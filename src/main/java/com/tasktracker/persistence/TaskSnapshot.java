@@ -0,0 +1,174 @@
+package com.tasktracker.persistence;
+
+import com.tasktracker.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/*
+ * Vollständiger Zustand als Binärdatei tasks.snapshot
+ * Kopf: Magic | Version | Journal-Generation | nächste ID | Anzahl, danach die Aufgaben (TaskCodec)
+ * und am Ende die CRC32 über alle Aufgaben
+ * Geschrieben wird in eine temporäre Datei, die nach fsync atomar umbenannt wird -
+ * ein Absturz hinterlässt also immer entweder den alten oder den neuen Snapshot
+ * Die Generation bezeichnet das erste Journal, das nach dem Laden noch abgespielt werden muss
+ */
+
+public final class TaskSnapshot{
+    private static final int MAGIC = 0x5454534E; // "TTSN"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8;
+    private static final String FILE_NAME = "tasks.snapshot";
+    private static final String TEMP_NAME = "tasks.snapshot.tmp";
+    private static final int WRITE_CHUNK = 1 << 20;
+    private static final long MAP_WINDOW = 1L << 30;
+
+    private final long generation;
+    private final long nextId;
+    private final long count;
+
+    private TaskSnapshot(long generation, long nextId, long count){
+        this.generation = generation;
+        this.nextId = nextId;
+        this.count = count;
+    }
+
+    public long getGeneration(){
+        return generation;
+    }
+
+    public long getNextId(){
+        return nextId;
+    }
+
+    public long getCount(){
+        return count;
+    }
+
+    public static void write(Path directory, long generation, long nextId, Collection<Task> tasks) throws IOException{
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(TEMP_NAME);
+        CRC32 checksum = new CRC32();
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            GrowableByteBuffer buffer = new GrowableByteBuffer(WRITE_CHUNK + 1024);
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putLong(generation);
+            buffer.putLong(nextId);
+            buffer.putLong(tasks.size());
+            writeFully(out, buffer);
+            buffer.clear();
+
+            for (Task task : tasks){
+                TaskCodec.writeTask(buffer, task);
+                if (buffer.size() >= WRITE_CHUNK){
+                    checksum.update(buffer.array(), 0, buffer.size());
+                    writeFully(out, buffer);
+                    buffer.clear();
+                }
+            }
+            checksum.update(buffer.array(), 0, buffer.size());
+            buffer.putInt((int) checksum.getValue());
+            writeFully(out, buffer);
+            out.force(true);
+        }
+
+        Files.move(temp, directory.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(directory);
+    }
+
+    /*
+     * Lädt den Snapshot über Memory-Mapping und übergibt jede Aufgabe an sink
+     * Liefert null, wenn noch kein Snapshot existiert
+     */
+    public static TaskSnapshot read(Path directory, Consumer<Task> sink) throws IOException{
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)){
+            return null;
+        }
+
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)){
+            long size = in.size();
+            if (size < HEADER_BYTES + 4){
+                throw new IOException("Snapshot unvollständig: " + file);
+            }
+
+            ByteBuffer header = in.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC){
+                throw new IOException("Keine Snapshot-Datei: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION){
+                throw new IOException("Nicht unterstützte Snapshot-Version: " + version);
+            }
+            TaskSnapshot snapshot = new TaskSnapshot(header.getLong(), header.getLong(), header.getLong());
+
+            long bodyEnd = size - 4;
+            long position = HEADER_BYTES;
+            long loaded = 0;
+            CRC32 checksum = new CRC32();
+
+            // Fenster von höchstens 1 GiB, ein Datensatz an der Fenstergrenze beginnt das nächste Fenster
+            while (position < bodyEnd){
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, bodyEnd - position));
+                int consumed = 0;
+                while (window.hasRemaining() && TaskCodec.hasCompleteTask(window)){
+                    int start = window.position();
+                    Task task;
+                    try{
+                        task = TaskCodec.readTask(window);
+                    }catch (IllegalArgumentException e){
+                        throw new IOException("Snapshot beschädigt bei Byte " + (position + start), e);
+                    }
+                    ByteBuffer record = window.duplicate();
+                    record.position(start).limit(window.position());
+                    checksum.update(record);
+                    consumed = window.position();
+                    sink.accept(task);
+                    loaded++;
+                }
+                if (consumed == 0){
+                    throw new IOException("Snapshot beschädigt bei Byte " + position);
+                }
+                position += consumed;
+            }
+
+            ByteBuffer footer = ByteBuffer.allocate(4);
+            while (footer.hasRemaining() && in.read(footer, bodyEnd + footer.position()) > 0){
+                // weiterlesen
+            }
+            footer.flip();
+            if (loaded != snapshot.count || footer.remaining() != 4 || footer.getInt() != (int) checksum.getValue()){
+                throw new IOException("Snapshot-Prüfsumme stimmt nicht: " + file);
+            }
+            return snapshot;
+        }
+    }
+
+    private static void writeFully(FileChannel out, GrowableByteBuffer buffer) throws IOException{
+        ByteBuffer data = buffer.asByteBuffer();
+        while (data.hasRemaining()){
+            out.write(data);
+        }
+    }
+
+    private static void syncDirectory(Path directory){
+        // Nicht jedes Betriebssystem erlaubt fsync auf Verzeichnisse
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)){
+            dir.force(true);
+        }catch (IOException e){
+            // Umbenennung ist trotzdem atomar, nur ihre Dauerhaftigkeit ist dann Sache des Dateisystems
+        }
+    }
+}
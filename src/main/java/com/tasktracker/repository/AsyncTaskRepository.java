@@ -0,0 +1,254 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/*
+ * Asynchrone Variante eines beliebigen TaskRepository
+ * Jede Operation läuft auf einem eigenen (virtuellen) Thread, ein Semaphor begrenzt
+ * die gleichzeitig laufenden Operationen, damit der Connection Pool nicht überläuft
+ * Ohne Virtual Threads (vor Java 21) wird ein fester Pool aus maxConcurrency Daemon-Threads verwendet,
+ * überzählige Aufrufe warten dann in der Queue des Pools statt auf eigenen Plattform-Threads
+ * Parallele Operationen setzen ein thread-sicheres Repository voraus (isThreadSafe())
+ * Bei allen anderen, z.B. InMemoryTaskRepository, wird die Parallelität auf 1 begrenzt,
+ * die Operationen laufen dann nacheinander und der Semaphor sorgt für die Sichtbarkeit zwischen den Threads
+ */
+
+public class AsyncTaskRepository implements AutoCloseable{
+    private final TaskRepository repository;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    public AsyncTaskRepository(TaskRepository repository){
+        this(repository, ConnectionPool.DEFAULT_POOL_SIZE);
+    }
+
+    public AsyncTaskRepository(TaskRepository repository, int maxConcurrency){
+        this(repository, effectiveConcurrency(repository, maxConcurrency), true);
+    }
+
+    private AsyncTaskRepository(TaskRepository repository, int maxConcurrency, boolean ownsExecutor){
+        this(repository, maxConcurrency, newThreadPerTaskExecutor(maxConcurrency), ownsExecutor);
+    }
+
+    public AsyncTaskRepository(TaskRepository repository, int maxConcurrency, ExecutorService executor){
+        this(repository, effectiveConcurrency(repository, maxConcurrency), executor, false);
+    }
+
+    private AsyncTaskRepository(TaskRepository repository, int maxConcurrency, ExecutorService executor,
+                                boolean ownsExecutor){
+        if (maxConcurrency <= 0){
+            throw new IllegalArgumentException("Maximale Parallelität muss positiv sein");
+        }
+        this.repository = repository;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /*
+     * Nicht thread-sichere Repositories vertragen nur eine Operation zur Zeit
+     */
+    static int effectiveConcurrency(TaskRepository repository, int maxConcurrency){
+        if (maxConcurrency <= 0){
+            throw new IllegalArgumentException("Maximale Parallelität muss positiv sein");
+        }
+        return repository.isThreadSafe() ? maxConcurrency : 1;
+    }
+
+    /*
+     * Führt eine beliebige Operation auf dem Repository asynchron aus
+     */
+    public <T> CompletableFuture<T> submit(Function<TaskRepository, T> operation){
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try{
+            executor.execute(() -> {
+                try{
+                    permits.acquire();
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                try{
+                    future.complete(operation.apply(repository));
+                }catch (Throwable t){
+                    future.completeExceptionally(t);
+                }finally{
+                    permits.release();
+                }
+            });
+        }catch (RejectedExecutionException e){
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public CompletableFuture<Task> save(Task task){
+        return submit(repo -> repo.save(task));
+    }
+
+    public CompletableFuture<Optional<Task>> findById(long id){
+        return submit(repo -> repo.findById(id));
+    }
+
+    public CompletableFuture<List<Task>> findAll(){
+        return submit(TaskRepository::findAll);
+    }
+
+    public CompletableFuture<Task> update(Task task){
+        return submit(repo -> repo.update(task));
+    }
+
+    public CompletableFuture<Task> saveOrUpdate(Task task){
+        return submit(repo -> repo.saveOrUpdate(task));
+    }
+
+    public CompletableFuture<Boolean> updateIfUnchanged(Task task, TaskStatus expectedStatus,
+                                                        String expectedDescription){
+        return submit(repo -> repo.updateIfUnchanged(task, expectedStatus, expectedDescription));
+    }
+
+    public CompletableFuture<Boolean> delete(long id){
+        return submit(repo -> repo.delete(id));
+    }
+
+    public CompletableFuture<Boolean> existsById(long id){
+        return submit(repo -> repo.existsById(id));
+    }
+
+    public CompletableFuture<List<Task>> findByStatus(TaskStatus status){
+        return submit(repo -> repo.findByStatus(status));
+    }
+
+    public CompletableFuture<List<Task>> findByDescriptionContaining(String keyword){
+        return submit(repo -> repo.findByDescriptionContaining(keyword));
+    }
+
+    public CompletableFuture<Long> count(){
+        return submit(TaskRepository::count);
+    }
+
+    public CompletableFuture<Long> countByStatus(TaskStatus status){
+        return submit(repo -> repo.countByStatus(status));
+    }
+
+    public CompletableFuture<Void> saveAll(List<Task> taskList){
+        return submit(repo -> {
+            repo.saveAll(taskList);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> deleteAll(){
+        return submit(repo -> {
+            repo.deleteAll();
+            return null;
+        });
+    }
+
+    public CompletableFuture<Integer> updateAll(List<Task> taskList){
+        return submit(repo -> repo.updateAll(taskList));
+    }
+
+    public CompletableFuture<Integer> deleteAllById(Collection<Long> ids){
+        return submit(repo -> repo.deleteAllById(ids));
+    }
+
+    public CompletableFuture<Integer> updateStatus(TaskStatus from, TaskStatus to){
+        return submit(repo -> repo.updateStatus(from, to));
+    }
+
+    public CompletableFuture<Integer> deleteByStatus(TaskStatus status){
+        return submit(repo -> repo.deleteByStatus(status));
+    }
+
+    public CompletableFuture<Integer> updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        return submit(repo -> repo.updateStatusByIds(ids, status));
+    }
+
+    public CompletableFuture<TaskPage> findPage(PageCursor after, int pageSize){
+        return submit(repo -> repo.findPage(after, pageSize));
+    }
+
+    public CompletableFuture<TaskStatistics> statistics(){
+        return submit(TaskRepository::statistics);
+    }
+
+    /*
+     * Fan-out: countByStatus für alle Status parallel
+     */
+    public CompletableFuture<Map<TaskStatus, Long>> countAllByStatus(){
+        Map<TaskStatus, CompletableFuture<Long>> futures = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()){
+            futures.put(status, countByStatus(status));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+                    futures.forEach((status, future) -> counts.put(status, future.join()));
+                    return counts;
+                });
+    }
+
+    public int getMaxConcurrency(){
+        return maxConcurrency;
+    }
+
+    public int getActiveOperations(){
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getWaitingOperations(){
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void close(){
+        if (!ownsExecutor){
+            return;
+        }
+        executor.shutdown();
+        try{
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)){
+                executor.shutdownNow();
+            }
+        }catch (InterruptedException e){
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Executors.newVirtualThreadPerTaskExecutor() per Reflection, damit der Build auch mit Java 17 läuft
+     * Der Ersatz-Pool ist fest auf maxConcurrency Threads begrenzt, mehr könnten ohnehin keine Permits erhalten
+     */
+    static ExecutorService newThreadPerTaskExecutor(int maxConcurrency){
+        if (maxConcurrency <= 0){
+            throw new IllegalArgumentException("Maximale Parallelität muss positiv sein");
+        }
+        try{
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }catch (ReflectiveOperationException e){
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+                Thread thread = new Thread(runnable, "async-task-repository-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.tasktracker.repository;
+
+/*
+ * Kennzahlen des CachingTaskRepository
+ */
+
+public final class CacheStats{
+    private final int size;
+    private final int maxSize;
+    private final long hits;
+    private final long negativeHits;
+    private final long misses;
+    private final long evictions;
+    private final long rejections;
+
+    public CacheStats(int size, int maxSize, long hits, long negativeHits, long misses, long evictions, long rejections){
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.negativeHits = negativeHits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.rejections = rejections;
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public int getMaxSize(){
+        return maxSize;
+    }
+
+    public long getHits(){
+        return hits;
+    }
+
+    public long getNegativeHits(){
+        return negativeHits;
+    }
+
+    public long getMisses(){
+        return misses;
+    }
+
+    public long getEvictions(){
+        return evictions;
+    }
+
+    public long getRejections(){
+        return rejections;
+    }
+
+    public double getHitRate(){
+        long requests = hits + negativeHits + misses;
+        return requests == 0 ? 0.0 : (double) (hits + negativeHits) / requests;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("Cache: %d/%d Einträge, Trefferquote %.1f%% (%d Treffer, %d negativ, %d Fehlgriffe), "
+                        + "%d verdrängt, %d abgelehnt",
+                size, maxSize, getHitRate() * 100, hits, negativeHits, misses, evictions, rejections);
+    }
+}
@@ -0,0 +1,514 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/*
+ * Cache-Decorator für Punktzugriffe (findById, existsById)
+ * LRU-Reihenfolge mit TinyLFU-Zulassung: ein neuer Eintrag verdrängt das LRU-Opfer nur,
+ * wenn er laut Frequenz-Sketch häufiger angefragt wurde
+ * Eigene Schreibzugriffe aktualisieren bzw. invalidieren den Cache sofort (write-through)
+ * Gecacht werden Kopien, Aufrufer können den Cache daher nicht über Task-Setter verändern
+ * Treffer lesen ohne Sperre aus einer ConcurrentHashMap und legen die ID nur in einem verlustbehafteten
+ * Zugriffspuffer ab; LRU-Reihenfolge und Sketch werden erst beim Leeren des Puffers unter der Sperre
+ * nachgeführt (wie bei Caffeine), bei vollem Puffer gehen einzelne Zugriffe für die Statistik verloren
+ */
+
+public class CachingTaskRepository extends ForwardingTaskRepository{
+    private static final CachedTask MISSING = new CachedTask(null, null);
+
+    private final int maxSize;
+    private final boolean negativeCaching;
+    private final ConcurrentHashMap<Long, CachedTask> entries;
+
+    // Nur unter evictionLock: LRU-Reihenfolge (gleiche Schlüssel wie entries) und Frequenz-Sketch
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LinkedHashMap<Long, Boolean> accessOrder;
+    private final FrequencySketch sketch;
+    private final AccessBuffer accessBuffer = new AccessBuffer();
+
+    // Wird vor und nach jedem Schreibzugriff erhöht, damit parallele Ladevorgänge keine veralteten Daten einlagern
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public CachingTaskRepository(TaskRepository delegate, int maxSize, boolean negativeCaching){
+        super(delegate);
+        if (maxSize <= 0){
+            throw new IllegalArgumentException("Cache-Größe muss positiv sein");
+        }
+        this.maxSize = maxSize;
+        this.negativeCaching = negativeCaching;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1 << 16));
+        this.accessOrder = new LinkedHashMap<>(Math.min(maxSize, 1 << 16), 0.75f, true);
+        this.sketch = new FrequencySketch(maxSize);
+    }
+
+    @Override
+    public Optional<Task> findById(long id){
+        if (id <= 0){
+            return Optional.empty();
+        }
+
+        CachedTask cached = lookup(id);
+        if (cached != null){
+            return cached == MISSING ? Optional.empty() : Optional.of(cached.toTask(id));
+        }
+
+        long generation = writeGeneration.get();
+        Optional<Task> loaded = delegate.findById(id);
+        if (loaded.isPresent()){
+            admit(id, CachedTask.of(loaded.get()), generation);
+        }else if (negativeCaching){
+            admit(id, MISSING, generation);
+        }
+        return loaded;
+    }
+
+    @Override
+    public boolean existsById(long id){
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public Task save(Task task){
+        long generation = writeGeneration.incrementAndGet();
+        Task saved = null;
+        try{
+            saved = delegate.save(task);
+            return saved;
+        }finally{
+            completeWrite(generation, task.getTaskId(), saved);
+        }
+    }
+
+    @Override
+    public Task update(Task task){
+        long generation = writeGeneration.incrementAndGet();
+        Task updated = null;
+        try{
+            updated = delegate.update(task);
+            return updated;
+        }finally{
+            completeWrite(generation, task.getTaskId(), updated);
+        }
+    }
+
+    @Override
+    public Task saveOrUpdate(Task task){
+        long generation = writeGeneration.incrementAndGet();
+        Task saved = null;
+        try{
+            saved = delegate.saveOrUpdate(task);
+            return saved;
+        }finally{
+            completeWrite(generation, task.getTaskId(), saved);
+        }
+    }
+
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        writeGeneration.incrementAndGet();
+        try{
+            return delegate.updateIfUnchanged(task, expectedStatus, expectedDescription);
+        }finally{
+            invalidateAfterWrite(task.getTaskId());
+        }
+    }
+
+    @Override
+    public boolean delete(long id){
+        writeGeneration.incrementAndGet();
+        try{
+            return delegate.delete(id);
+        }finally{
+            invalidateAfterWrite(id);
+        }
+    }
+
+    @Override
+    public void saveAll(List<Task> taskList){
+        writeGeneration.incrementAndGet();
+        try{
+            delegate.saveAll(taskList);
+        }finally{
+            invalidateAfterWrite(taskIds(taskList));
+        }
+    }
+
+    @Override
+    public int updateAll(List<Task> taskList){
+        writeGeneration.incrementAndGet();
+        try{
+            return delegate.updateAll(taskList);
+        }finally{
+            invalidateAfterWrite(taskIds(taskList));
+        }
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> ids){
+        writeGeneration.incrementAndGet();
+        try{
+            return delegate.deleteAllById(ids);
+        }finally{
+            invalidateAfterWrite(ids);
+        }
+    }
+
+    /*
+     * Die betroffenen IDs sind vorher nicht bekannt, daher wird der ganze Cache geleert
+     */
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        writeGeneration.incrementAndGet();
+        try{
+            return delegate.updateStatus(from, to);
+        }finally{
+            clearAfterWrite();
+        }
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        writeGeneration.incrementAndGet();
+        try{
+            return delegate.deleteByStatus(status);
+        }finally{
+            clearAfterWrite();
+        }
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        writeGeneration.incrementAndGet();
+        try{
+            return delegate.updateStatusByIds(ids, status);
+        }finally{
+            invalidateAfterWrite(ids);
+        }
+    }
+
+    @Override
+    public void deleteAll(){
+        writeGeneration.incrementAndGet();
+        try{
+            delegate.deleteAll();
+        }finally{
+            clearAfterWrite();
+        }
+    }
+
+    public CacheStats getStats(){
+        return new CacheStats(entries.size(), maxSize, hits.sum(), negativeHits.sum(), misses.sum(),
+                evictions.sum(), rejections.sum());
+    }
+
+    private CachedTask lookup(long id){
+        CachedTask cached = entries.get(id);
+        if (cached == null){
+            misses.increment();
+        }else if (cached == MISSING){
+            negativeHits.increment();
+        }else{
+            hits.increment();
+        }
+        // Wartende Schreiber haben Vorrang, der Puffer wird dann von ihnen geleert
+        if (accessBuffer.record(id) && !evictionLock.hasQueuedThreads() && evictionLock.tryLock()){
+            try{
+                drainAccesses();
+            }finally{
+                evictionLock.unlock();
+            }
+        }
+        return cached;
+    }
+
+    // Nur unter evictionLock
+    private void drainAccesses(){
+        accessBuffer.drainTo(id -> {
+            sketch.increment(id);
+            accessOrder.get(id);
+        });
+    }
+
+    /*
+     * Erhöht die Generation nach dem Backend-Aufruf erneut: ein Ladevorgang, der während des Schreibens
+     * begonnen hat, sieht beim Einlagern eine andere Generation und verwirft das womöglich alte Ergebnis
+     * Write-through nur, wenn seit Beginn kein anderer Schreibzugriff begonnen hat (generation + 1);
+     * sonst ist die Reihenfolge im Backend unbekannt und der Eintrag wird nur entfernt
+     */
+    private void completeWrite(long generation, long id, Task written){
+        evictionLock.lock();
+        try{
+            boolean alone = writeGeneration.incrementAndGet() == generation + 1;
+            if (alone && written != null && written.getTaskId() > 0){
+                admitLocked(written.getTaskId(), CachedTask.of(written));
+                return;
+            }
+            removeLocked(id);
+            if (written != null){
+                removeLocked(written.getTaskId());
+            }
+        }finally{
+            evictionLock.unlock();
+        }
+    }
+
+    private void invalidateAfterWrite(long id){
+        evictionLock.lock();
+        try{
+            writeGeneration.incrementAndGet();
+            removeLocked(id);
+        }finally{
+            evictionLock.unlock();
+        }
+    }
+
+    private void invalidateAfterWrite(Collection<Long> ids){
+        evictionLock.lock();
+        try{
+            writeGeneration.incrementAndGet();
+            if (ids != null){
+                for (Long id : ids){
+                    if (id != null){
+                        removeLocked(id);
+                    }
+                }
+            }
+        }finally{
+            evictionLock.unlock();
+        }
+    }
+
+    private void clearAfterWrite(){
+        evictionLock.lock();
+        try{
+            writeGeneration.incrementAndGet();
+            entries.clear();
+            accessOrder.clear();
+        }finally{
+            evictionLock.unlock();
+        }
+    }
+
+    private void removeLocked(long id){
+        entries.remove(id);
+        accessOrder.remove(id);
+    }
+
+    private static List<Long> taskIds(List<Task> taskList){
+        List<Long> ids = new ArrayList<>();
+        if (taskList != null){
+            for (Task task : taskList){
+                ids.add(task.getTaskId());
+            }
+        }
+        return ids;
+    }
+
+    private void admit(long id, CachedTask value, long generation){
+        evictionLock.lock();
+        try{
+            if (writeGeneration.get() != generation){
+                return;
+            }
+            admitLocked(id, value);
+        }finally{
+            evictionLock.unlock();
+        }
+    }
+
+    /*
+     * Leert zuerst den Zugriffspuffer, damit die Zulassung mit aktuellen Häufigkeiten entscheidet
+     */
+    private void admitLocked(long id, CachedTask value){
+        drainAccesses();
+        if (accessOrder.size() < maxSize || accessOrder.containsKey(id)){
+            entries.put(id, value);
+            accessOrder.put(id, Boolean.TRUE);
+            return;
+        }
+
+        Iterator<Long> eldest = accessOrder.keySet().iterator();
+        long victim = eldest.next();
+        if (sketch.frequency(id) > sketch.frequency(victim)){
+            eldest.remove();
+            entries.remove(victim);
+            evictions.increment();
+            entries.put(id, value);
+            accessOrder.put(id, Boolean.TRUE);
+        }else{
+            rejections.increment();
+        }
+    }
+
+    private static final class CachedTask{
+        private final String description;
+        private final TaskStatus status;
+
+        private CachedTask(String description, TaskStatus status){
+            this.description = description;
+            this.status = status;
+        }
+
+        private static CachedTask of(Task task){
+            return new CachedTask(task.getDescription(), task.getTaskStatus());
+        }
+
+        private Task toTask(long id){
+            return new Task(id, description, status);
+        }
+    }
+
+    /*
+     * Verlustbehafteter Ringpuffer für gelesene IDs, in Stripes nach Thread aufgeteilt
+     * record() kostet nur ein CAS im eigenen Stripe; ist der Stripe voll, wird der Zugriff verworfen
+     * drainTo() darf immer nur ein Thread gleichzeitig aufrufen (unter evictionLock)
+     * 0 markiert einen freien Platz, gecacht werden nur IDs > 0
+     */
+    static final class AccessBuffer{
+        private static final int STRIPE_CAPACITY = 16;
+        private static final int STRIPE_MASK = STRIPE_CAPACITY - 1;
+        private static final int DRAIN_THRESHOLD = STRIPE_CAPACITY / 2;
+
+        private final Stripe[] stripes;
+
+        AccessBuffer(){
+            int processors = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+            this.stripes = new Stripe[Integer.highestOneBit(processors * 2 - 1)];
+            for (int i = 0; i < stripes.length; i++){
+                stripes[i] = new Stripe();
+            }
+        }
+
+        /*
+         * true, wenn der Stripe geleert werden sollte
+         */
+        boolean record(long id){
+            Stripe stripe = stripes[stripeIndex()];
+            long tail = stripe.writes.get();
+            long pending = tail - stripe.reads;
+            if (pending >= STRIPE_CAPACITY){
+                return true;
+            }
+            if (stripe.writes.compareAndSet(tail, tail + 1)){
+                stripe.slots.set((int) (tail & STRIPE_MASK), id);
+                pending++;
+            }
+            return pending >= DRAIN_THRESHOLD;
+        }
+
+        void drainTo(LongConsumer consumer){
+            for (Stripe stripe : stripes){
+                long head = stripe.reads;
+                long tail = stripe.writes.get();
+                while (head < tail){
+                    int index = (int) (head & STRIPE_MASK);
+                    long id = stripe.slots.get(index);
+                    if (id == 0){
+                        // Platz reserviert, aber noch nicht geschrieben
+                        break;
+                    }
+                    stripe.slots.set(index, 0);
+                    consumer.accept(id);
+                    head++;
+                }
+                stripe.reads = head;
+            }
+        }
+
+        private int stripeIndex(){
+            long h = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L;
+            return (int) (h >>> 32) & (stripes.length - 1);
+        }
+
+        private static final class Stripe{
+            private final AtomicLongArray slots = new AtomicLongArray(STRIPE_CAPACITY);
+            private final AtomicLong writes = new AtomicLong();
+            private volatile long reads;
+        }
+    }
+
+    /*
+     * Count-Min-Sketch mit 4 Zeilen und 4-Bit-Zählern
+     * Alle Zähler werden nach 10 * maxSize Zugriffen halbiert, damit alte Häufigkeiten verblassen
+     */
+    static final class FrequencySketch{
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxSize){
+            int counters = Integer.highestOneBit(Math.max(16, Math.min(maxSize, 1 << 24)) * 2 - 1);
+            this.table = new long[counters / 16 * 4];
+            this.mask = table.length / 4 - 1;
+            this.sampleSize = 10 * Math.max(maxSize, 16);
+        }
+
+        void increment(long key){
+            boolean added = false;
+            for (int row = 0; row < 4; row++){
+                int index = index(key, row);
+                int shift = counterShift(key, row);
+                if (((table[index] >>> shift) & 0xfL) < 15){
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize){
+                reset();
+            }
+        }
+
+        int frequency(long key){
+            int min = 15;
+            for (int row = 0; row < 4; row++){
+                min = (int) Math.min(min, (table[index(key, row)] >>> counterShift(key, row)) & 0xfL);
+            }
+            return min;
+        }
+
+        private void reset(){
+            for (int i = 0; i < table.length; i++){
+                table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+            }
+            additions /= 2;
+        }
+
+        private int index(long key, int row){
+            return (int) (hash(key, row) & mask) * 4 + row;
+        }
+
+        private int counterShift(long key, int row){
+            return (int) ((hash(key, row) >>> 40) & 15) << 2;
+        }
+
+        private static long hash(long key, int row){
+            long h = (key + SEEDS[row]) * 0x9e3779b97f4a7c15L;
+            return h ^ (h >>> 31);
+        }
+    }
+}
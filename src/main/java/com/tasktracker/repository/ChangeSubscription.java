@@ -0,0 +1,168 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.logging.LogManager;
+import com.tasktracker.logging.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Abonnement eines Empfängers: eigener begrenzter Ringpuffer und eigener Dispatcher-Thread
+ * Der Ring ist lock-frei: Produzent und Konsument stimmen sich nur über head/tail ab
+ * Es gibt immer nur einen Produzenten zur Zeit (TaskChangePublisher serialisiert die Veröffentlichung,
+ * damit alle Empfänger dieselbe Reihenfolge sehen) und genau einen Konsumenten
+ * Ein langsamer Empfänger verliert Ereignisse (DROP, Standard) oder bremst über seinen vollen Puffer
+ * alle Schreiber des Repositorys (BLOCK), da diese beim Veröffentlichen ihre Locks noch halten
+ */
+
+public final class ChangeSubscription implements AutoCloseable{
+    private static final Logger LOG = LogManager.getLogger(ChangeSubscription.class);
+
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    public enum OverflowPolicy{
+        BLOCK,
+        DROP
+    }
+
+    private final TaskChangePublisher publisher;
+    private final TaskChangeListener listener;
+    private final OverflowPolicy policy;
+
+    private final AtomicReferenceArray<TaskChangeEvent> ring;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private final Thread dispatcher;
+    private volatile boolean consumerParked;
+    private volatile boolean closed;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder listenerErrors = new LongAdder();
+
+    ChangeSubscription(TaskChangePublisher publisher, TaskChangeListener listener, int capacity, OverflowPolicy policy){
+        if (listener == null || policy == null){
+            throw new IllegalArgumentException("Empfänger und Überlaufstrategie dürfen nicht null sein");
+        }
+        if (capacity <= 0){
+            throw new IllegalArgumentException("Puffergröße muss positiv sein");
+        }
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.publisher = publisher;
+        this.listener = listener;
+        this.policy = policy;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+
+        this.dispatcher = new Thread(this::dispatch, "task-change-dispatcher");
+        this.dispatcher.setDaemon(true);
+    }
+
+    void start(){
+        dispatcher.start();
+    }
+
+    /*
+     * Nur vom (serialisierten) Produzenten aufgerufen
+     */
+    void offer(TaskChangeEvent event){
+        long position = head.get();
+        int spins = 0;
+        while (position - tail.get() > mask){
+            if (closed){
+                return;
+            }
+            if (policy == OverflowPolicy.DROP){
+                dropped.increment();
+                return;
+            }
+            if (++spins < SPINS_BEFORE_PARK){
+                Thread.onSpinWait();
+            }else{
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        ring.lazySet((int) (position & mask), event);
+        // Veröffentlicht den Slot für den Konsumenten
+        head.set(position + 1);
+        if (consumerParked){
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private void dispatch(){
+        long position = tail.get();
+        while (!closed){
+            if (position == head.get()){
+                consumerParked = true;
+                // Erneut prüfen, sonst könnte ein offer() zwischen Prüfung und park() verloren gehen
+                if (position == head.get() && !closed){
+                    LockSupport.park(this);
+                }
+                consumerParked = false;
+                continue;
+            }
+
+            int slot = (int) (position & mask);
+            TaskChangeEvent event = ring.get(slot);
+            ring.lazySet(slot, null);
+            try{
+                listener.onChange(event);
+                delivered.increment();
+            }catch (RuntimeException e){
+                listenerErrors.increment();
+                LOG.warn("Empfänger von Änderungen fehlgeschlagen bei {}: {}", event.getSequence(), e.getMessage());
+            }
+            // Slot erst nach der Zustellung freigeben: getPending() == 0 heißt dann "alles zugestellt"
+            tail.set(++position);
+        }
+    }
+
+    public OverflowPolicy getPolicy(){
+        return policy;
+    }
+
+    public int getCapacity(){
+        return mask + 1;
+    }
+
+    // Ereignisse im Puffer, die noch nicht zugestellt wurden
+    public long getPending(){
+        return head.get() - tail.get();
+    }
+
+    public long getDeliveredEvents(){
+        return delivered.sum();
+    }
+
+    public long getDroppedEvents(){
+        return dropped.sum();
+    }
+
+    public long getListenerErrors(){
+        return listenerErrors.sum();
+    }
+
+    public boolean isClosed(){
+        return closed;
+    }
+
+    /*
+     * Beendet das Abonnement, noch nicht zugestellte Ereignisse werden verworfen
+     * Darf auch aus dem Empfänger selbst aufgerufen werden
+     */
+    @Override
+    public void close(){
+        if (closed){
+            return;
+        }
+        closed = true;
+        publisher.unsubscribe(this);
+        LockSupport.unpark(dispatcher);
+    }
+}
@@ -0,0 +1,345 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * Thread-sichere In-Memory Variante für viele parallele Aufrufer
+ * IDs werden per CAS vergeben und nie erneut vergeben (auch nicht nach deleteAll), Lesezugriffe blockieren nie
+ * Status-Zähler werden innerhalb von compute() gepflegt und laufen daher nie auseinander
+ * Änderungsereignisse entstehen ebenfalls in compute(), je ID also in der Reihenfolge der Änderungen
+ */
+
+public class ConcurrentInMemoryTaskRepository implements ObservableTaskRepository{
+
+    private final ConcurrentHashMap<Long, Entry> tasks = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Map<TaskStatus, LongAdder> statusCounts = new EnumMap<>(TaskStatus.class);
+    private final TaskChangePublisher changes = new TaskChangePublisher();
+
+    public ConcurrentInMemoryTaskRepository(){
+        for (TaskStatus status : TaskStatus.values()){
+            statusCounts.put(status, new LongAdder());
+        }
+    }
+
+    @Override
+    public Task save(Task task){
+        long id = task.getTaskId();
+        if (id == 0){
+            id = nextId.getAndIncrement();
+            task.setTaskId(id);
+        }else{
+            // Explizite IDs dürfen später nicht erneut vergeben werden
+            nextId.accumulateAndGet(id + 1, Math::max);
+        }
+
+        Entry entry = new Entry(task, task.getTaskStatus());
+        tasks.compute(id, (key, old) -> {
+            if (old != null){
+                decrement(old.status);
+            }
+            increment(entry.status);
+            changes.saved(old != null, key, old == null ? null : old.status, entry.status, task.getDescription());
+            return entry;
+        });
+        return task;
+    }
+
+    @Override
+    public Optional<Task> findById(long id){
+        Entry entry = tasks.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.task);
+    }
+
+    @Override
+    public List<Task> findAll(){
+        List<Task> result = new ArrayList<>(tasks.size());
+        for (Entry entry : tasks.values()){
+            result.add(entry.task);
+        }
+        return result;
+    }
+
+    @Override
+    public Task update(Task task){
+        Entry entry = new Entry(task, task.getTaskStatus());
+        Entry replaced = tasks.computeIfPresent(task.getTaskId(), (key, old) -> {
+            decrement(old.status);
+            increment(entry.status);
+            changes.updated(key, old.status, entry.status, task.getDescription());
+            return entry;
+        });
+
+        if (replaced == null){
+            throw new IllegalArgumentException("Task nicht gefunden");
+        }
+        return task;
+    }
+
+    // save() ersetzt Aufgaben mit bekannter ID bereits atomar in compute()
+    @Override
+    public Task saveOrUpdate(Task task){
+        return save(task);
+    }
+
+    /*
+     * Vergleich und Ersetzen in computeIfPresent, also atomar je ID ohne weiteren Lock
+     */
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        Entry entry = new Entry(task, task.getTaskStatus());
+        boolean[] applied = new boolean[1];
+        tasks.computeIfPresent(task.getTaskId(), (key, old) -> {
+            if (old.status != expectedStatus || !old.description.equals(expectedDescription)){
+                return old;
+            }
+            decrement(old.status);
+            increment(entry.status);
+            changes.updated(key, old.status, entry.status, task.getDescription());
+            applied[0] = true;
+            return entry;
+        });
+        return applied[0];
+    }
+
+    @Override
+    public boolean delete(long id){
+        if (id <= 0){
+            return false;
+        }
+
+        boolean[] deleted = new boolean[1];
+        tasks.computeIfPresent(id, (key, old) -> {
+            decrement(old.status);
+            deleted[0] = true;
+            changes.deleted(key, old.status);
+            return null;
+        });
+        return deleted[0];
+    }
+
+    @Override
+    public boolean existsById(long id){
+        if (id <= 0){
+            return false;
+        }
+        return tasks.containsKey(id);
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status){
+        return tasks.values().stream()
+                .filter(entry -> entry.status == status)
+                .map(entry -> entry.task)
+                .sorted(Comparator.comparing(Task::getTaskId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findByDescriptionContaining(String keyword){
+        if (keyword == null || keyword.trim().isEmpty()){
+            return new ArrayList<>();
+        }
+
+        String lowerKeyword = keyword.toLowerCase();
+        return tasks.values().stream()
+                .map(entry -> entry.task)
+                .filter(task -> task.getDescription().toLowerCase().contains(lowerKeyword))
+                .sorted(Comparator.comparing(Task::getTaskId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long count(){
+        return tasks.mappingCount();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status){
+        if (status == null){
+            return 0;
+        }
+        return statusCounts.get(status).sum();
+    }
+
+    @Override
+    public void saveAll(List<Task> taskList){
+        if (taskList == null) return;
+
+        for (Task task : taskList){
+            save(task);
+        }
+    }
+
+    /*
+     * Einzeln über compute entfernen, damit die Zähler mit parallelen Schreibern stimmen
+     * Der ID-Zähler wird anders als bei den Single-Thread-Varianten nicht zurückgesetzt: ein paralleles
+     * save() kann eine ID bereits bezogen, aber noch nicht eingefügt haben und würde sonst überschrieben
+     */
+    @Override
+    public void deleteAll(){
+        for (Long id : tasks.keySet()){
+            delete(id);
+        }
+    }
+
+    /*
+     * Ein Durchlauf über die Einträge; der Status wird in compute() erneut geprüft,
+     * parallel geänderte Aufgaben werden so nicht überschrieben
+     */
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        if (from == null || to == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (from == to) return 0;
+
+        int[] updated = new int[1];
+        for (Map.Entry<Long, Entry> candidate : tasks.entrySet()){
+            if (candidate.getValue().status != from){
+                continue;
+            }
+            tasks.computeIfPresent(candidate.getKey(), (key, old) -> {
+                if (old.status != from){
+                    return old;
+                }
+                old.task.setTaskStatus(to);
+                decrement(from);
+                increment(to);
+                changes.updated(key, from, to, old.task.getDescription());
+                updated[0]++;
+                return new Entry(old.task, to);
+            });
+        }
+        return updated[0];
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+
+        int[] deleted = new int[1];
+        for (Map.Entry<Long, Entry> candidate : tasks.entrySet()){
+            if (candidate.getValue().status != status){
+                continue;
+            }
+            tasks.computeIfPresent(candidate.getKey(), (key, old) -> {
+                if (old.status != status){
+                    return old;
+                }
+                decrement(status);
+                changes.deleted(key, status);
+                deleted[0]++;
+                return null;
+            });
+        }
+        return deleted[0];
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (ids == null) return 0;
+
+        int[] updated = new int[1];
+        for (Long id : new LinkedHashSet<>(ids)){
+            if (id == null) continue;
+            tasks.computeIfPresent(id, (key, old) -> {
+                old.task.setTaskStatus(status);
+                decrement(old.status);
+                increment(status);
+                changes.updated(key, old.status, status, old.task.getDescription());
+                updated[0]++;
+                return new Entry(old.task, status);
+            });
+        }
+        return updated[0];
+    }
+
+    @Override
+    public boolean isThreadSafe(){
+        return true;
+    }
+
+    /*
+     * deleteAll() meldet jede gelöschte Aufgabe einzeln, da parallele Schreiber dazwischen liegen können
+     */
+    @Override
+    public ChangeSubscription subscribe(TaskChangeListener listener, int capacity, ChangeSubscription.OverflowPolicy policy){
+        return changes.subscribe(listener, capacity, policy);
+    }
+
+    @Override
+    public Stream<Task> streamAll(){
+        return tasks.values().stream().map(entry -> entry.task);
+    }
+
+    /*
+     * Ermittelt die pageSize + 1 größten IDs unterhalb des Cursors mit einem begrenzten Heap
+     */
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        if (pageSize <= 0){
+            throw new IllegalArgumentException("Seitengröße muss positiv sein");
+        }
+
+        long upperBound = after == null ? Long.MAX_VALUE : after.getId();
+        PriorityQueue<Task> top = new PriorityQueue<>(Comparator.comparing(Task::getTaskId));
+        for (Entry entry : tasks.values()){
+            long id = entry.task.getTaskId();
+            if (id >= upperBound){
+                continue;
+            }
+            if (top.size() <= pageSize){
+                top.add(entry.task);
+            }else if (id > top.peek().getTaskId()){
+                top.poll();
+                top.add(entry.task);
+            }
+        }
+
+        List<Task> candidates = new ArrayList<>(top);
+        candidates.sort(Comparator.comparing(Task::getTaskId).reversed());
+        return TaskPage.of(candidates, pageSize);
+    }
+
+    private void increment(TaskStatus status){
+        if (status != null){
+            statusCounts.get(status).increment();
+        }
+    }
+
+    private void decrement(TaskStatus status){
+        if (status != null){
+            statusCounts.get(status).decrement();
+        }
+    }
+
+    /*
+     * Status und Beschreibung werden beim Speichern festgehalten, da Aufrufer dieselbe Task-Instanz
+     * vor update() bereits verändert haben können
+     */
+    private static final class Entry{
+        private final Task task;
+        private final TaskStatus status;
+        private final String description;
+
+        private Entry(Task task, TaskStatus status){
+            this.task = task;
+            this.status = status;
+            this.description = task.getDescription();
+        }
+    }
+}
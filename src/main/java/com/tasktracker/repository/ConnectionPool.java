@@ -0,0 +1,356 @@
+package com.tasktracker.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Begrenzter JDBC Connection Pool für SqlServerTaskRepository
+ * Konfiguration über mssql.pool.size, mssql.connection.timeout, mssql.max.lifetime
+ * und mssql.pool.validation.idle (alle Zeiten in Millisekunden)
+ * Ausgegebene Verbindungen sind Proxies, close() gibt sie an den Pool zurück
+ */
+
+public class ConnectionPool implements AutoCloseable{
+    public static final int DEFAULT_POOL_SIZE = 10;
+    public static final long DEFAULT_CONNECTION_TIMEOUT = 30_000;
+    public static final long DEFAULT_MAX_LIFETIME = 1_800_000;
+    public static final long DEFAULT_VALIDATION_IDLE = 5_000;
+
+    private static final String DRIVER_CLASS = "com.microsoft.sqlserver.jdbc.SQLServerDriver";
+    private static volatile boolean driverLoaded;
+
+    private final String url;
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long connectionTimeout;
+    private final long maxLifetime;
+    private final long validationIdle;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile boolean closed;
+
+    @FunctionalInterface
+    public interface ConnectionFactory{
+        Connection create() throws SQLException;
+    }
+
+    public ConnectionPool(String url, String username, String password){
+        this(url, username, password, DEFAULT_POOL_SIZE, DEFAULT_CONNECTION_TIMEOUT, DEFAULT_MAX_LIFETIME,
+                DEFAULT_VALIDATION_IDLE);
+    }
+
+    public ConnectionPool(Properties properties){
+        this(
+                properties.getProperty("mssql.url", "jdbc:sqlserver://localhost:1433;"+
+                        "databaseName=TaskTrackedDB;trustServerCertificate=true"),
+                properties.getProperty("mssql.username", "sa"),
+                properties.getProperty("mssql.password", ""),
+                Integer.parseInt(properties.getProperty("mssql.pool.size", String.valueOf(DEFAULT_POOL_SIZE))),
+                Long.parseLong(properties.getProperty("mssql.connection.timeout", String.valueOf(DEFAULT_CONNECTION_TIMEOUT))),
+                Long.parseLong(properties.getProperty("mssql.max.lifetime", String.valueOf(DEFAULT_MAX_LIFETIME))),
+                Long.parseLong(properties.getProperty("mssql.pool.validation.idle", String.valueOf(DEFAULT_VALIDATION_IDLE))));
+    }
+
+    public ConnectionPool(String url, String username, String password, int maxSize,
+                          long connectionTimeout, long maxLifetime, long validationIdle){
+        this(url, () -> openConnection(url, username, password), maxSize, connectionTimeout, maxLifetime, validationIdle);
+    }
+
+    public ConnectionPool(String url, ConnectionFactory factory, int maxSize,
+                          long connectionTimeout, long maxLifetime, long validationIdle){
+        if (maxSize <= 0){
+            throw new IllegalArgumentException("Pool-Größe muss positiv sein");
+        }
+        this.url = url;
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.connectionTimeout = connectionTimeout;
+        this.maxLifetime = maxLifetime;
+        this.validationIdle = validationIdle;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public Connection getConnection() throws SQLException{
+        if (closed){
+            throw new SQLException("Connection Pool ist geschlossen");
+        }
+
+        try{
+            if (!permits.tryAcquire(connectionTimeout, TimeUnit.MILLISECONDS)){
+                timeouts.increment();
+                throw new SQLTimeoutException("Keine Verbindung innerhalb von " + connectionTimeout + " ms verfügbar");
+            }
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new SQLException("Warten auf Verbindung unterbrochen", e);
+        }
+
+        try{
+            PooledConnection pooled = takeIdle();
+            if (pooled == null){
+                pooled = new PooledConnection(factory.create());
+                created.increment();
+            }
+            active.incrementAndGet();
+            return pooled.lease();
+        }catch (SQLException | RuntimeException e){
+            permits.release();
+            throw e;
+        }
+    }
+
+    public String getUrl(){
+        return url;
+    }
+
+    public Stats getStats(){
+        int idleCount;
+        synchronized (idle){
+            idleCount = idle.size();
+        }
+        return new Stats(maxSize, active.get(), idleCount, permits.getQueueLength(),
+                created.sum(), evicted.sum(), timeouts.sum());
+    }
+
+    @Override
+    public void close(){
+        closed = true;
+        synchronized (idle){
+            while (!idle.isEmpty()){
+                closeQuietly(idle.pop());
+            }
+        }
+    }
+
+    private PooledConnection takeIdle(){
+        while (true){
+            PooledConnection pooled;
+            synchronized (idle){
+                pooled = idle.poll();
+            }
+            if (pooled == null){
+                return null;
+            }
+
+            long now = System.currentTimeMillis();
+            if (pooled.isExpired(now) || (now - pooled.lastUsed >= validationIdle && !pooled.isValid())){
+                evicted.increment();
+                closeQuietly(pooled);
+                continue;
+            }
+            return pooled;
+        }
+    }
+
+    private void release(PooledConnection pooled, boolean broken){
+        active.decrementAndGet();
+        try{
+            if (closed || broken || pooled.isExpired(System.currentTimeMillis()) || !pooled.reset()){
+                evicted.increment();
+                closeQuietly(pooled);
+                return;
+            }
+            pooled.lastUsed = System.currentTimeMillis();
+            synchronized (idle){
+                // LIFO: zuletzt genutzte Verbindungen bleiben warm, alte laufen über max.lifetime aus
+                idle.push(pooled);
+            }
+        }finally{
+            permits.release();
+        }
+    }
+
+    private static void closeQuietly(PooledConnection pooled){
+        try{
+            pooled.physical.close();
+        }catch (SQLException e){
+            // Verbindung ist ohnehin unbrauchbar
+        }
+    }
+
+    private static Connection openConnection(String url, String username, String password) throws SQLException{
+        if (!driverLoaded){
+            try{
+                Class.forName(DRIVER_CLASS);
+                driverLoaded = true;
+            }catch (ClassNotFoundException e){
+                throw new SQLException("JDBC Driver nicht gefunden", e);
+            }
+        }
+
+        if (username == null || username.isEmpty()){
+            return DriverManager.getConnection(url);
+        }else{
+            return DriverManager.getConnection(url, username, password);
+        }
+    }
+
+    private final class PooledConnection{
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastUsed = createdAt;
+
+        private PooledConnection(Connection physical){
+            this.physical = physical;
+        }
+
+        private boolean isExpired(long now){
+            return maxLifetime > 0 && now - createdAt >= maxLifetime;
+        }
+
+        private boolean isValid(){
+            try{
+                int seconds = (int) Math.max(1, Math.min(5, connectionTimeout / 1000));
+                return physical.isValid(seconds);
+            }catch (SQLException e){
+                return false;
+            }
+        }
+
+        /*
+         * Offene Transaktionen verwerfen, bevor die Verbindung erneut ausgegeben wird
+         */
+        private boolean reset(){
+            try{
+                if (physical.isClosed()){
+                    return false;
+                }
+                if (!physical.getAutoCommit()){
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                return true;
+            }catch (SQLException e){
+                return false;
+            }
+        }
+
+        private Connection lease(){
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new LeaseHandler(this));
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler{
+        private final PooledConnection pooled;
+        private boolean returned;
+        private boolean broken;
+
+        private LeaseHandler(PooledConnection pooled){
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable{
+            switch (method.getName()){
+                case "close":
+                    if (!returned){
+                        returned = true;
+                        release(pooled, broken);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (returned){
+                throw new SQLException("Verbindung wurde bereits an den Pool zurückgegeben");
+            }
+
+            try{
+                return method.invoke(pooled.physical, args);
+            }catch (InvocationTargetException e){
+                Throwable cause = e.getCause();
+                // SQLState 08xxx: Verbindungsfehler, Verbindung nicht wiederverwenden
+                if (cause instanceof SQLException && ((SQLException) cause).getSQLState() != null
+                        && ((SQLException) cause).getSQLState().startsWith("08")){
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /*
+     * Momentaufnahme der Pool-Auslastung
+     */
+    public static final class Stats{
+        private final int maxSize;
+        private final int active;
+        private final int idle;
+        private final int waiting;
+        private final long created;
+        private final long evicted;
+        private final long timeouts;
+
+        public Stats(int maxSize, int active, int idle, int waiting, long created, long evicted, long timeouts){
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.waiting = waiting;
+            this.created = created;
+            this.evicted = evicted;
+            this.timeouts = timeouts;
+        }
+
+        public int getMaxSize(){
+            return maxSize;
+        }
+
+        public int getActive(){
+            return active;
+        }
+
+        public int getIdle(){
+            return idle;
+        }
+
+        public int getWaiting(){
+            return waiting;
+        }
+
+        public long getCreated(){
+            return created;
+        }
+
+        public long getEvicted(){
+            return evicted;
+        }
+
+        public long getTimeouts(){
+            return timeouts;
+        }
+
+        @Override
+        public String toString(){
+            return "Pool: " + active + " aktiv, " + idle + " frei, " + waiting + " wartend (max " + maxSize
+                    + ", erstellt " + created + ", verworfen " + evicted + ", Timeouts " + timeouts + ")";
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.tasktracker.repository;
+
+/*
+ * Kennzahlen des Beschreibungs-Index, um Speicherbedarf und Nutzen abzuwägen
+ * estimatedBytes ist eine Abschätzung auf Basis typischer Objektgrößen
+ */
+
+public final class DescriptionIndexStats{
+    private final long indexedTasks;
+    private final long trigrams;
+    private final long postings;
+    private final long estimatedBytes;
+
+    public DescriptionIndexStats(long indexedTasks, long trigrams, long postings, long estimatedBytes){
+        this.indexedTasks = indexedTasks;
+        this.trigrams = trigrams;
+        this.postings = postings;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public long getIndexedTasks(){
+        return indexedTasks;
+    }
+
+    public long getTrigrams(){
+        return trigrams;
+    }
+
+    public long getPostings(){
+        return postings;
+    }
+
+    public long getEstimatedBytes(){
+        return estimatedBytes;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("Beschreibungs-Index: %d Aufgaben, %d Trigramme, %d Postings, ca. %.1f MB",
+                indexedTasks, trigrams, postings, estimatedBytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,578 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.logging.LogManager;
+import com.tasktracker.logging.Logger;
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.persistence.TaskCodec;
+import com.tasktracker.persistence.TaskJournal;
+import com.tasktracker.persistence.TaskSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/*
+ * Macht das In-Memory Repository dauerhaft: jede Änderung wird vor der Rückkehr ins Journal
+ * geschrieben, regelmäßig wird ein Snapshot erstellt und das Journal rotiert
+ * Beim Start: Snapshot laden, danach die Journale ab dessen Generation abspielen
+ *
+ * Schreiber werden über das Write-Lock serialisiert, damit Journal und Speicher dieselbe
+ * Reihenfolge haben; auf das fsync wird außerhalb des Locks gewartet (Group Commit)
+ * Jede Änderung geht zuerst ins Journal und erst danach in den Speicher: scheitert das Anhängen
+ * (Journal nach Schreibfehler gesperrt, Datensatz zu groß), bleibt der Speicher unverändert
+ * Lesezugriffe laufen parallel unter dem Read-Lock
+ * Hinweis: andere Threads können eine Änderung sehen, bevor sie auf der Platte ist; scheitert das
+ * Schreiben danach, ist das Journal gesperrt und jede weitere Änderung wird abgelehnt
+ */
+
+public class DurableTaskRepository extends ForwardingTaskRepository{
+    private static final Logger LOG = LogManager.getLogger(DurableTaskRepository.class);
+
+    private final InMemoryTaskRepository memory;
+    private final Path directory;
+    private final long snapshotMaxBytes;
+    private final TaskJournal journal;
+
+    private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService snapshotter;
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+
+    private final long recoveredSnapshotTasks;
+    private final long recoveredJournalRecords;
+
+    public DurableTaskRepository(Path directory, boolean fsync, long snapshotInterval, long snapshotMaxBytes){
+        this(new InMemoryTaskRepository(), directory, fsync, snapshotInterval, snapshotMaxBytes);
+    }
+
+    DurableTaskRepository(InMemoryTaskRepository memory, Path directory, boolean fsync, long snapshotInterval, long snapshotMaxBytes){
+        super(memory);
+        if (memory.count() > 0){
+            throw new IllegalArgumentException("Repository für die Wiederherstellung muss leer sein");
+        }
+        this.memory = memory;
+        this.directory = directory;
+        this.snapshotMaxBytes = snapshotMaxBytes;
+
+        try{
+            long start = System.nanoTime();
+            TaskSnapshot snapshot = TaskSnapshot.read(directory, memory::save);
+            long snapshotGeneration = 0;
+            if (snapshot != null){
+                memory.restoreNextId(snapshot.getNextId());
+                snapshotGeneration = snapshot.getGeneration();
+            }
+            this.recoveredSnapshotTasks = snapshot == null ? 0 : snapshot.getCount();
+
+            long records = 0;
+            long lastGeneration = snapshotGeneration - 1;
+            TaskJournal.Replay replay = new MemoryReplay();
+            List<Long> generations = TaskJournal.generations(directory);
+            for (int i = 0; i < generations.size(); i++){
+                long generation = generations.get(i);
+                if (generation >= snapshotGeneration){
+                    records += TaskJournal.replay(directory, generation, replay, i == generations.size() - 1);
+                    lastGeneration = generation;
+                }
+            }
+            this.recoveredJournalRecords = records;
+
+            // Immer eine neue Generation beginnen; ein abgeschnittenes Ende hat replay() bereits entfernt
+            this.journal = new TaskJournal(directory, lastGeneration + 1, fsync);
+
+            if (recoveredSnapshotTasks > 0 || records > 0){
+                LOG.info("Wiederhergestellt: {} Aufgaben aus Snapshot, {} Journal-Einträge in {} ms",
+                        recoveredSnapshotTasks, records, (System.nanoTime() - start) / 1_000_000);
+            }
+        }catch (IOException e){
+            throw new UncheckedIOException("Wiederherstellung aus " + directory + " fehlgeschlagen", e);
+        }
+
+        if (snapshotInterval > 0){
+            this.snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "task-snapshotter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, snapshotInterval, snapshotInterval, TimeUnit.MILLISECONDS);
+        }else{
+            this.snapshotter = null;
+        }
+    }
+
+    @Override
+    public Task save(Task task){
+        validate(task);
+        long seq;
+        rwLock.writeLock().lock();
+        try{
+            seq = journal.appendSave(assignedId(task), task.getTaskStatus(), task.getDescription());
+            memory.save(task);
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+        return task;
+    }
+
+    /*
+     * Je Aufgabe erst Journal, dann Speicher; scheitert ein Eintrag, sind die vorherigen in beiden enthalten
+     */
+    @Override
+    public void saveAll(List<Task> taskList){
+        if (taskList == null || taskList.isEmpty()) return;
+        taskList.forEach(DurableTaskRepository::validate);
+
+        long seq = 0;
+        rwLock.writeLock().lock();
+        try{
+            for (Task task : taskList){
+                seq = journal.appendSave(assignedId(task), task.getTaskStatus(), task.getDescription());
+                memory.save(task);
+            }
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+    }
+
+    @Override
+    public Task update(Task task){
+        validate(task);
+        long seq;
+        rwLock.writeLock().lock();
+        try{
+            if (!memory.existsById(task.getTaskId())){
+                throw new IllegalArgumentException("Task nicht gefunden");
+            }
+            seq = journal.appendSave(task.getTaskId(), task.getTaskStatus(), task.getDescription());
+            memory.update(task);
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+        return task;
+    }
+
+    @Override
+    public int updateAll(List<Task> taskList){
+        if (taskList == null || taskList.isEmpty()) return 0;
+        taskList.forEach(DurableTaskRepository::validate);
+
+        int updated = 0;
+        long seq = 0;
+        rwLock.writeLock().lock();
+        try{
+            for (Task task : taskList){
+                if (memory.existsById(task.getTaskId())){
+                    seq = journal.appendSave(task.getTaskId(), task.getTaskStatus(), task.getDescription());
+                    memory.update(task);
+                    updated++;
+                }
+            }
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+        return updated;
+    }
+
+    // save() des Speichers ersetzt bestehende Aufgaben bereits
+    @Override
+    public Task saveOrUpdate(Task task){
+        return save(task);
+    }
+
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        validate(task);
+        long seq;
+        rwLock.writeLock().lock();
+        try{
+            if (!memory.isUnchanged(task.getTaskId(), expectedStatus, expectedDescription)){
+                return false;
+            }
+            seq = journal.appendSave(task.getTaskId(), task.getTaskStatus(), task.getDescription());
+            memory.update(task);
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+        return true;
+    }
+
+    @Override
+    public boolean delete(long id){
+        long seq;
+        rwLock.writeLock().lock();
+        try{
+            if (!memory.existsById(id)){
+                return false;
+            }
+            seq = journal.appendDelete(id);
+            memory.delete(id);
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+        return true;
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> ids){
+        if (ids == null || ids.isEmpty()) return 0;
+
+        int deleted = 0;
+        long seq = 0;
+        rwLock.writeLock().lock();
+        try{
+            for (Long id : ids){
+                if (id != null && memory.existsById(id)){
+                    seq = journal.appendDelete(id);
+                    memory.delete(id);
+                    deleted++;
+                }
+            }
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+        return deleted;
+    }
+
+    /*
+     * Ein Journal-Datensatz für die ganze Menge, die Änderung im Speicher ist deterministisch
+     */
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        if (from == null || to == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (from == to) return 0;
+
+        int updated;
+        long seq;
+        rwLock.writeLock().lock();
+        try{
+            if (memory.countByStatus(from) == 0){
+                return 0;
+            }
+            seq = journal.appendUpdateStatus(from, to);
+            updated = memory.updateStatus(from, to);
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+        return updated;
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+
+        int deleted;
+        long seq;
+        rwLock.writeLock().lock();
+        try{
+            if (memory.countByStatus(status) == 0){
+                return 0;
+            }
+            seq = journal.appendDeleteByStatus(status);
+            deleted = memory.deleteByStatus(status);
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+        return deleted;
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (ids == null || ids.isEmpty()) return 0;
+
+        int updated = 0;
+        long seq = 0;
+        rwLock.writeLock().lock();
+        try{
+            for (Long id : new LinkedHashSet<>(ids)){
+                Task task = id == null ? null : memory.findById(id).orElse(null);
+                if (task != null){
+                    seq = journal.appendSave(id, status, task.getDescription());
+                    updated += memory.updateStatusByIds(List.of(id), status);
+                }
+            }
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+        return updated;
+    }
+
+    @Override
+    public void deleteAll(){
+        long seq;
+        rwLock.writeLock().lock();
+        try{
+            seq = journal.appendDeleteAll();
+            memory.deleteAll();
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+        commit(seq);
+    }
+
+    @Override
+    public Optional<Task> findById(long id){
+        rwLock.readLock().lock();
+        try{
+            return memory.findById(id);
+        }finally{
+            rwLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAll(){
+        rwLock.readLock().lock();
+        try{
+            return memory.findAll();
+        }finally{
+            rwLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(long id){
+        rwLock.readLock().lock();
+        try{
+            return memory.existsById(id);
+        }finally{
+            rwLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status){
+        rwLock.readLock().lock();
+        try{
+            return memory.findByStatus(status);
+        }finally{
+            rwLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findByDescriptionContaining(String keyword){
+        rwLock.readLock().lock();
+        try{
+            return memory.findByDescriptionContaining(keyword);
+        }finally{
+            rwLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count(){
+        rwLock.readLock().lock();
+        try{
+            return memory.count();
+        }finally{
+            rwLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status){
+        rwLock.readLock().lock();
+        try{
+            return memory.countByStatus(status);
+        }finally{
+            rwLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public TaskStatistics statistics(){
+        rwLock.readLock().lock();
+        try{
+            return memory.statistics();
+        }finally{
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Der Stream des Backends ist nicht gegen parallele Schreiber geschützt, daher eine Momentaufnahme
+     */
+    @Override
+    public Stream<Task> streamAll(){
+        return findAll().stream();
+    }
+
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        rwLock.readLock().lock();
+        try{
+            return memory.findPage(after, pageSize);
+        }finally{
+            rwLock.readLock().unlock();
+        }
+    }
+
+    // Das eigene Read-/Write-Lock schützt das nicht thread-sichere Backend
+    @Override
+    public boolean isThreadSafe(){
+        return true;
+    }
+
+    /*
+     * Schreibt einen Snapshot und löscht die davon abgedeckten Journale
+     * Nur Rotation und Kopie der Aufgaben laufen unter dem Write-Lock, das Schreiben nicht
+     */
+    public void snapshot(){
+        if (!snapshotRunning.compareAndSet(false, true)){
+            return;
+        }
+        try{
+            long generation;
+            long nextId;
+            List<Task> copy;
+            rwLock.writeLock().lock();
+            try{
+                generation = journal.rotate();
+                nextId = memory.getNextId();
+                List<Task> tasks = memory.findAll();
+                copy = new ArrayList<>(tasks.size());
+                for (Task task : tasks){
+                    // Kopie, damit spätere Änderungen des Aufrufers nicht in den Snapshot geraten
+                    copy.add(new Task(task.getTaskId(), task.getDescription(), task.getTaskStatus()));
+                }
+            }finally{
+                rwLock.writeLock().unlock();
+            }
+
+            TaskSnapshot.write(directory, generation, nextId, copy);
+            TaskJournal.deleteGenerationsBefore(directory, generation);
+        }catch (IOException e){
+            throw new UncheckedIOException("Snapshot fehlgeschlagen", e);
+        }finally{
+            snapshotRunning.set(false);
+        }
+    }
+
+    public long getJournalSize(){
+        return journal.size();
+    }
+
+    public long getJournalSyncCount(){
+        return journal.getSyncCount();
+    }
+
+    public long getRecoveredSnapshotTasks(){
+        return recoveredSnapshotTasks;
+    }
+
+    public long getRecoveredJournalRecords(){
+        return recoveredJournalRecords;
+    }
+
+    @Override
+    public void close(){
+        if (snapshotter != null){
+            snapshotter.shutdown();
+            try{
+                snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
+        rwLock.writeLock().lock();
+        try{
+            journal.close();
+        }catch (IOException e){
+            throw new UncheckedIOException("Journal konnte nicht geschlossen werden", e);
+        }finally{
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Vor jeder Änderung im Speicher: was das Journal nicht aufnehmen (und später nicht lesen) kann,
+     * darf auch im Speicher nicht sichtbar werden
+     */
+    /*
+     * ID, die memory.save() vergeben wird; sie muss schon im Journal-Eintrag stehen
+     */
+    private long assignedId(Task task){
+        return task.getTaskId() == 0 ? memory.getNextId() : task.getTaskId();
+    }
+
+    private static void validate(Task task){
+        if (task == null){
+            throw new IllegalArgumentException("Task darf nicht null sein");
+        }
+        TaskCodec.checkDescription(task.getDescription());
+    }
+
+    private void commit(long seq){
+        if (seq == 0){
+            return;
+        }
+        journal.awaitDurable(seq);
+        if (snapshotMaxBytes > 0 && journal.size() > snapshotMaxBytes && snapshotter != null
+                && !snapshotter.isShutdown() && !snapshotRunning.get()){
+            snapshotter.execute(this::snapshotQuietly);
+        }
+    }
+
+    private void snapshotQuietly(){
+        try{
+            snapshot();
+        }catch (RuntimeException e){
+            LOG.error("Snapshot fehlgeschlagen: {}", e.getMessage());
+        }
+    }
+
+    private class MemoryReplay implements TaskJournal.Replay{
+        @Override
+        public void save(Task task){
+            memory.save(task);
+        }
+
+        @Override
+        public void delete(long id){
+            memory.delete(id);
+        }
+
+        @Override
+        public void deleteAll(){
+            memory.deleteAll();
+        }
+
+        @Override
+        public void updateStatus(TaskStatus from, TaskStatus to){
+            memory.updateStatus(from, to);
+        }
+
+        @Override
+        public void deleteByStatus(TaskStatus status){
+            memory.deleteByStatus(status);
+        }
+    }
+}
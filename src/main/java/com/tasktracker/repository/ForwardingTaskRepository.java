@@ -0,0 +1,170 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/*
+ * Basisklasse für Decorators, leitet jede Operation an das Backend weiter
+ * Unterklassen überschreiben nur die Operationen, die sie verändern
+ */
+
+public abstract class ForwardingTaskRepository implements TaskRepository, AutoCloseable{
+    protected final TaskRepository delegate;
+
+    protected ForwardingTaskRepository(TaskRepository delegate){
+        this.delegate = Objects.requireNonNull(delegate, "Backend darf nicht null sein");
+    }
+
+    public TaskRepository getDelegate(){
+        return delegate;
+    }
+
+    @Override
+    public Task save(Task task){
+        return delegate.save(task);
+    }
+
+    @Override
+    public Optional<Task> findById(long id){
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Task> findAll(){
+        return delegate.findAll();
+    }
+
+    @Override
+    public Task update(Task task){
+        return delegate.update(task);
+    }
+
+    @Override
+    public boolean delete(long id){
+        return delegate.delete(id);
+    }
+
+    @Override
+    public boolean existsById(long id){
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status){
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Task> findByDescriptionContaining(String keyword){
+        return delegate.findByDescriptionContaining(keyword);
+    }
+
+    @Override
+    public long count(){
+        return delegate.count();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status){
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public TaskStatistics statistics(){
+        return delegate.statistics();
+    }
+
+    @Override
+    public void saveAll(List<Task> taskList){
+        delegate.saveAll(taskList);
+    }
+
+    @Override
+    public void deleteAll(){
+        delegate.deleteAll();
+    }
+
+    @Override
+    public int updateAll(List<Task> taskList){
+        return delegate.updateAll(taskList);
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> ids){
+        return delegate.deleteAllById(ids);
+    }
+
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        return delegate.updateStatus(from, to);
+    }
+
+    @Override
+    public Task saveOrUpdate(Task task){
+        return delegate.saveOrUpdate(task);
+    }
+
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        return delegate.updateIfUnchanged(task, expectedStatus, expectedDescription);
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        return delegate.deleteByStatus(status);
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        return delegate.updateStatusByIds(ids, status);
+    }
+
+    @Override
+    public Stream<Task> streamAll(){
+        return delegate.streamAll();
+    }
+
+    // Ein Decorator ist höchstens so thread-sicher wie sein Backend
+    @Override
+    public boolean isThreadSafe(){
+        return delegate.isThreadSafe();
+    }
+
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        return delegate.findPage(after, pageSize);
+    }
+
+    /*
+     * Deklariert keine geprüften Ausnahmen, damit close() keine InterruptedException weiterreichen muss
+     */
+    @Override
+    public void close(){
+        closeResource(delegate);
+    }
+
+    /*
+     * Schließt resource, falls AutoCloseable; eine Unterbrechung setzt nur das Interrupt-Flag erneut,
+     * andere geprüfte Fehler werden als IllegalStateException weitergereicht
+     */
+    static void closeResource(Object resource){
+        if (!(resource instanceof AutoCloseable)){
+            return;
+        }
+        try{
+            ((AutoCloseable) resource).close();
+        }catch (RuntimeException e){
+            throw e;
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }catch (Exception e){
+            throw new IllegalStateException("Fehler beim Schließen von " + resource.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -4,20 +4,48 @@ import com.tasktracker.model.Task;
 import com.tasktracker.model.TaskStatus;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class InMemoryTaskRepository implements TaskRepository{
+public class InMemoryTaskRepository implements ObservableTaskRepository{
 
-    private final Map<Long, Task> tasks = new HashMap<>();
+    // Primitive long-Schlüssel: kein Boxing beim Lesen, kein HashMap.Node je Aufgabe
+    private final LongObjectHashMap<Task> tasks = new LongObjectHashMap<>();
     private long nextId = 1;
 
+    // Alle IDs aufsteigend, auch Aufgaben ohne Status, die im Status-Index fehlen (für findPage)
+    private final LongSortedSet ids = new LongSortedSet();
+
+    // Sekundärindex: je Status die IDs in aufsteigender Reihenfolge, primitiv und blockweise gespeichert
+    private final Map<TaskStatus, LongSortedSet> statusIndex = new EnumMap<>(TaskStatus.class);
+
+    // Trigramm-Index für die Suche in Beschreibungen
+    private final TrigramIndex descriptionIndex = new TrigramIndex();
+
+    private final TaskChangePublisher changes = new TaskChangePublisher();
+
+    public InMemoryTaskRepository(){
+        for (TaskStatus status : TaskStatus.values()){
+            statusIndex.put(status, new LongSortedSet());
+        }
+    }
+
     @Override
     public Task save(Task task){
         if (task.getTaskId() == 0){
             task.setTaskId(nextId);
             nextId++;
+        }else if (task.getTaskId() >= nextId){
+            // Explizite IDs (Import, Wiederherstellung) dürfen später nicht erneut vergeben werden
+            nextId = task.getTaskId() + 1;
         }
-        tasks.put(task.getTaskId(), task);
+        boolean existed = tasks.put(task.getTaskId(), task) != null;
+        if (!existed){
+            ids.add(task.getTaskId());
+        }
+        TaskStatus oldStatus = existed ? unindexStatus(task.getTaskId()) : null;
+        indexStatus(task);
+        descriptionIndex.put(task.getTaskId(), task.getDescription());
+        changes.saved(existed, task.getTaskId(), oldStatus, task.getTaskStatus(), task.getDescription());
         return task;
     }
 
@@ -28,7 +56,9 @@ public class InMemoryTaskRepository implements TaskRepository{
 
     @Override
     public List<Task> findAll(){
-        return new ArrayList<>(tasks.values());
+        List<Task> result = new ArrayList<>(tasks.size());
+        tasks.addValuesTo(result);
+        return result;
     }
 
     @Override
@@ -37,15 +67,50 @@ public class InMemoryTaskRepository implements TaskRepository{
             throw new IllegalArgumentException("Task nicht gefunden");
         }
         tasks.put(task.getTaskId(), task);
+        TaskStatus oldStatus = unindexStatus(task.getTaskId());
+        indexStatus(task);
+        descriptionIndex.put(task.getTaskId(), task.getDescription());
+        changes.updated(task.getTaskId(), oldStatus, task.getTaskStatus(), task.getDescription());
         return task;
     }
 
+    // save() ersetzt Aufgaben mit bekannter ID bereits
+    @Override
+    public Task saveOrUpdate(Task task){
+        return save(task);
+    }
+
+    /*
+     * Vergleicht mit dem Stand der Indizes (Status-Index, Beschreibung im Trigramm-Index), nicht mit der
+     * gespeicherten Instanz: Aufrufer dürfen die von findById gelieferte Instanz vorher verändert haben
+     */
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        if (!isUnchanged(task.getTaskId(), expectedStatus, expectedDescription)){
+            return false;
+        }
+        update(task);
+        return true;
+    }
+
+    boolean isUnchanged(long id, TaskStatus expectedStatus, String expectedDescription){
+        return tasks.containsKey(id) && indexedStatus(id) == expectedStatus
+                && Objects.equals(descriptionIndex.description(id), expectedDescription);
+    }
+
     @Override
     public boolean delete(long id){
         if (id <= 0){
             return false;
         }
-        return tasks.remove(id) != null;
+        if (tasks.remove(id) == null){
+            return false;
+        }
+        ids.remove(id);
+        TaskStatus oldStatus = unindexStatus(id);
+        descriptionIndex.remove(id);
+        changes.deleted(id, oldStatus);
+        return true;
     }
 
     @Override
@@ -58,10 +123,14 @@ public class InMemoryTaskRepository implements TaskRepository{
 
     @Override
     public List<Task> findByStatus(TaskStatus status){
-        return tasks.values().stream()
-                .filter(task -> task.getTaskStatus() == status)
-                .sorted(Comparator.comparing(Task::getTaskId))
-                .collect(Collectors.toList());
+        if (status == null){
+            return new ArrayList<>();
+        }
+
+        LongSortedSet matching = statusIndex.get(status);
+        List<Task> result = new ArrayList<>(matching.size());
+        matching.forEach(id -> result.add(tasks.get(id)));
+        return result;
     }
 
     @Override
@@ -70,11 +139,12 @@ public class InMemoryTaskRepository implements TaskRepository{
             return new ArrayList<>();
         }
 
-        String lowerKeyword = keyword.toLowerCase();
-        return tasks.values().stream()
-                .filter(task -> task.getDescription().toLowerCase().contains(lowerKeyword))
-                .sorted(Comparator.comparing(Task::getTaskId))
-                .collect(Collectors.toList());
+        long[] ids = descriptionIndex.search(keyword);
+        List<Task> result = new ArrayList<>(ids.length);
+        for (long id : ids){
+            result.add(tasks.get(id));
+        }
+        return result;
     }
 
     @Override
@@ -84,9 +154,17 @@ public class InMemoryTaskRepository implements TaskRepository{
 
     @Override
     public long countByStatus(TaskStatus status){
-        return tasks.values().stream()
-                .filter(task -> task.getTaskStatus() == status)
-                .count();
+        if (status == null){
+            return 0;
+        }
+        return statusIndex.get(status).size();
+    }
+
+    @Override
+    public TaskStatistics statistics(){
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        statusIndex.forEach((status, ids) -> counts.put(status, (long) ids.size()));
+        return new TaskStatistics(tasks.size(), counts);
     }
 
     @Override
@@ -101,6 +179,143 @@ public class InMemoryTaskRepository implements TaskRepository{
     @Override
     public void deleteAll(){
         tasks.clear();
+        ids.clear();
+        statusIndex.values().forEach(LongSortedSet::clear);
+        descriptionIndex.clear();
         nextId = 1;
+        changes.cleared();
+    }
+
+    /*
+     * Verschiebt den gesamten Status-Index in einem Durchlauf, die gespeicherten Instanzen werden geändert
+     */
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        if (from == null || to == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (from == to) return 0;
+
+        LongSortedSet source = statusIndex.get(from);
+        int updated = source.size();
+        source.forEach(id -> {
+            Task task = tasks.get(id);
+            task.setTaskStatus(to);
+            changes.updated(id, from, to, task.getDescription());
+        });
+        statusIndex.get(to).addAll(source);
+        source.clear();
+        return updated;
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+
+        LongSortedSet matching = statusIndex.get(status);
+        int deleted = matching.size();
+        matching.forEach(id -> {
+            tasks.remove(id);
+            ids.remove(id);
+            descriptionIndex.remove(id);
+            changes.deleted(id, status);
+        });
+        matching.clear();
+        return deleted;
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (ids == null) return 0;
+
+        int updated = 0;
+        for (Long id : new LinkedHashSet<>(ids)){
+            Task task = id == null ? null : tasks.get(id);
+            if (task != null){
+                TaskStatus oldStatus = unindexStatus(id);
+                task.setTaskStatus(status);
+                indexStatus(task);
+                changes.updated(id, oldStatus, status, task.getDescription());
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /*
+     * Nicht thread-sicher wie das Repository selbst: Schreiber müssen weiterhin von außen synchronisiert sein
+     */
+    @Override
+    public ChangeSubscription subscribe(TaskChangeListener listener, int capacity, ChangeSubscription.OverflowPolicy policy){
+        return changes.subscribe(listener, capacity, policy);
+    }
+
+    @Override
+    public Stream<Task> streamAll(){
+        return tasks.valueStream();
+    }
+
+    /*
+     * Läuft über die sortierte ID-Menge, damit auch Aufgaben ohne Status (nicht im Status-Index) erscheinen
+     */
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        if (pageSize <= 0){
+            throw new IllegalArgumentException("Seitengröße muss positiv sein");
+        }
+
+        long bound = after == null ? Long.MAX_VALUE : after.getId();
+        long[] pageIds = ids.descendingBelow(bound, pageSize == Integer.MAX_VALUE ? pageSize : pageSize + 1);
+        List<Task> candidates = new ArrayList<>(pageIds.length);
+        for (long id : pageIds){
+            candidates.add(tasks.get(id));
+        }
+        return TaskPage.of(candidates, pageSize);
+    }
+
+    long getNextId(){
+        return nextId;
+    }
+
+    void restoreNextId(long nextId){
+        this.nextId = Math.max(this.nextId, nextId);
+    }
+
+    public DescriptionIndexStats getDescriptionIndexStats(){
+        return descriptionIndex.stats();
+    }
+
+    /*
+     * Der Status wird über den Index und nicht über die Task-Instanz entfernt,
+     * da Aufrufer die gespeicherte Instanz vor update() bereits verändert haben können
+     * Liefert den bisherigen Status (null, wenn die Aufgabe keinen hatte)
+     */
+    private TaskStatus unindexStatus(long id){
+        for (Map.Entry<TaskStatus, LongSortedSet> entry : statusIndex.entrySet()){
+            if (entry.getValue().remove(id)){
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private TaskStatus indexedStatus(long id){
+        for (Map.Entry<TaskStatus, LongSortedSet> entry : statusIndex.entrySet()){
+            if (entry.getValue().contains(id)){
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private void indexStatus(Task task){
+        if (task.getTaskStatus() != null){
+            statusIndex.get(task.getTaskStatus()).add(task.getTaskId());
+        }
     }
 }
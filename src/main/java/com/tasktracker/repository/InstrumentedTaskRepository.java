@@ -0,0 +1,369 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.metrics.OperationMetrics;
+import com.tasktracker.metrics.RepositoryMetrics;
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/*
+ * Misst jede Repository-Operation: Latenz-Histogramm, Aufrufe, Fehler und gelieferte bzw. geschriebene Zeilen
+ * Je Aufruf nur zwei nanoTime()-Aufrufe und einige atomare Inkremente, keine Allokation
+ * streamAll() misst das Öffnen, die Zeilen werden beim Schließen des Streams gezählt
+ */
+
+public class InstrumentedTaskRepository extends ForwardingTaskRepository{
+    private final RepositoryMetrics metrics;
+
+    private final OperationMetrics save;
+    private final OperationMetrics findById;
+    private final OperationMetrics findAll;
+    private final OperationMetrics update;
+    private final OperationMetrics delete;
+    private final OperationMetrics existsById;
+    private final OperationMetrics findByStatus;
+    private final OperationMetrics findByDescriptionContaining;
+    private final OperationMetrics count;
+    private final OperationMetrics countByStatus;
+    private final OperationMetrics statistics;
+    private final OperationMetrics saveAll;
+    private final OperationMetrics deleteAll;
+    private final OperationMetrics updateAll;
+    private final OperationMetrics deleteAllById;
+    private final OperationMetrics updateStatus;
+    private final OperationMetrics saveOrUpdate;
+    private final OperationMetrics updateIfUnchanged;
+    private final OperationMetrics deleteByStatus;
+    private final OperationMetrics updateStatusByIds;
+    private final OperationMetrics streamAll;
+    private final OperationMetrics findPage;
+
+    public InstrumentedTaskRepository(TaskRepository delegate, RepositoryMetrics metrics){
+        super(delegate);
+        this.metrics = metrics;
+        this.save = metrics.operation("save");
+        this.findById = metrics.operation("findById");
+        this.findAll = metrics.operation("findAll");
+        this.update = metrics.operation("update");
+        this.delete = metrics.operation("delete");
+        this.existsById = metrics.operation("existsById");
+        this.findByStatus = metrics.operation("findByStatus");
+        this.findByDescriptionContaining = metrics.operation("findByDescriptionContaining");
+        this.count = metrics.operation("count");
+        this.countByStatus = metrics.operation("countByStatus");
+        this.statistics = metrics.operation("statistics");
+        this.saveAll = metrics.operation("saveAll");
+        this.deleteAll = metrics.operation("deleteAll");
+        this.updateAll = metrics.operation("updateAll");
+        this.deleteAllById = metrics.operation("deleteAllById");
+        this.updateStatus = metrics.operation("updateStatus");
+        this.saveOrUpdate = metrics.operation("saveOrUpdate");
+        this.updateIfUnchanged = metrics.operation("updateIfUnchanged");
+        this.deleteByStatus = metrics.operation("deleteByStatus");
+        this.updateStatusByIds = metrics.operation("updateStatusByIds");
+        this.streamAll = metrics.operation("streamAll");
+        this.findPage = metrics.operation("findPage");
+    }
+
+    public RepositoryMetrics getMetrics(){
+        return metrics;
+    }
+
+    @Override
+    public Task save(Task task){
+        long start = System.nanoTime();
+        try{
+            Task result = delegate.save(task);
+            save.success(start, 1);
+            return result;
+        }catch (RuntimeException e){
+            save.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(long id){
+        long start = System.nanoTime();
+        try{
+            Optional<Task> result = delegate.findById(id);
+            findById.success(start, result.isPresent() ? 1 : 0);
+            return result;
+        }catch (RuntimeException e){
+            findById.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Task> findAll(){
+        long start = System.nanoTime();
+        try{
+            List<Task> result = delegate.findAll();
+            findAll.success(start, result.size());
+            return result;
+        }catch (RuntimeException e){
+            findAll.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Task update(Task task){
+        long start = System.nanoTime();
+        try{
+            Task result = delegate.update(task);
+            update.success(start, 1);
+            return result;
+        }catch (RuntimeException e){
+            update.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean delete(long id){
+        long start = System.nanoTime();
+        try{
+            boolean result = delegate.delete(id);
+            delete.success(start, result ? 1 : 0);
+            return result;
+        }catch (RuntimeException e){
+            delete.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean existsById(long id){
+        long start = System.nanoTime();
+        try{
+            boolean result = delegate.existsById(id);
+            existsById.success(start);
+            return result;
+        }catch (RuntimeException e){
+            existsById.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status){
+        long start = System.nanoTime();
+        try{
+            List<Task> result = delegate.findByStatus(status);
+            findByStatus.success(start, result.size());
+            return result;
+        }catch (RuntimeException e){
+            findByStatus.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Task> findByDescriptionContaining(String keyword){
+        long start = System.nanoTime();
+        try{
+            List<Task> result = delegate.findByDescriptionContaining(keyword);
+            findByDescriptionContaining.success(start, result.size());
+            return result;
+        }catch (RuntimeException e){
+            findByDescriptionContaining.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public long count(){
+        long start = System.nanoTime();
+        try{
+            long result = delegate.count();
+            count.success(start);
+            return result;
+        }catch (RuntimeException e){
+            count.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status){
+        long start = System.nanoTime();
+        try{
+            long result = delegate.countByStatus(status);
+            countByStatus.success(start);
+            return result;
+        }catch (RuntimeException e){
+            countByStatus.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public TaskStatistics statistics(){
+        long start = System.nanoTime();
+        try{
+            TaskStatistics result = delegate.statistics();
+            statistics.success(start);
+            return result;
+        }catch (RuntimeException e){
+            statistics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void saveAll(List<Task> taskList){
+        long start = System.nanoTime();
+        try{
+            delegate.saveAll(taskList);
+            saveAll.success(start, taskList == null ? 0 : taskList.size());
+        }catch (RuntimeException e){
+            saveAll.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteAll(){
+        long start = System.nanoTime();
+        try{
+            delegate.deleteAll();
+            deleteAll.success(start);
+        }catch (RuntimeException e){
+            deleteAll.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int updateAll(List<Task> taskList){
+        long start = System.nanoTime();
+        try{
+            int result = delegate.updateAll(taskList);
+            updateAll.success(start, result);
+            return result;
+        }catch (RuntimeException e){
+            updateAll.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> ids){
+        long start = System.nanoTime();
+        try{
+            int result = delegate.deleteAllById(ids);
+            deleteAllById.success(start, result);
+            return result;
+        }catch (RuntimeException e){
+            deleteAllById.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Task saveOrUpdate(Task task){
+        long start = System.nanoTime();
+        try{
+            Task result = delegate.saveOrUpdate(task);
+            saveOrUpdate.success(start, 1);
+            return result;
+        }catch (RuntimeException e){
+            saveOrUpdate.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        long start = System.nanoTime();
+        try{
+            boolean result = delegate.updateIfUnchanged(task, expectedStatus, expectedDescription);
+            updateIfUnchanged.success(start, result ? 1 : 0);
+            return result;
+        }catch (RuntimeException e){
+            updateIfUnchanged.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        long start = System.nanoTime();
+        try{
+            int result = delegate.updateStatus(from, to);
+            updateStatus.success(start, result);
+            return result;
+        }catch (RuntimeException e){
+            updateStatus.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        long start = System.nanoTime();
+        try{
+            int result = delegate.deleteByStatus(status);
+            deleteByStatus.success(start, result);
+            return result;
+        }catch (RuntimeException e){
+            deleteByStatus.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        long start = System.nanoTime();
+        try{
+            int result = delegate.updateStatusByIds(ids, status);
+            updateStatusByIds.success(start, result);
+            return result;
+        }catch (RuntimeException e){
+            updateStatusByIds.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<Task> streamAll(){
+        long start = System.nanoTime();
+        try{
+            LongAdder rows = new LongAdder();
+            Stream<Task> result = delegate.streamAll()
+                    .peek(task -> rows.increment())
+                    .onClose(() -> streamAll.addRows(rows.sum()));
+            streamAll.success(start);
+            return result;
+        }catch (RuntimeException e){
+            streamAll.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        long start = System.nanoTime();
+        try{
+            TaskPage result = delegate.findPage(after, pageSize);
+            findPage.success(start, result.getTasks().size());
+            return result;
+        }catch (RuntimeException e){
+            findPage.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close(){
+        metrics.close();
+        super.close();
+    }
+}
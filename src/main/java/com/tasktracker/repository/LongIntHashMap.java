@@ -0,0 +1,165 @@
+package com.tasktracker.repository;
+
+import java.util.Arrays;
+
+/*
+ * Primitive Variante von LongObjectHashMap für long -> int (z.B. ID -> Zeile)
+ * Gleiches Verfahren: Open Addressing, lineares Sondieren, Backward-Shift beim Löschen
+ * Nicht vorhandene Schlüssel liefern MISSING, Schlüssel 0 wird separat gespeichert
+ * Nicht thread-sicher
+ */
+
+final class LongIntHashMap{
+    static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int shift;
+    private int resizeAt;
+    private int size;
+
+    private boolean hasZeroKey;
+    private int zeroValue = MISSING;
+
+    LongIntHashMap(){
+        allocate(MIN_CAPACITY);
+    }
+
+    int size(){
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    int get(long key){
+        if (key == 0){
+            return hasZeroKey ? zeroValue : MISSING;
+        }
+        long[] keys = this.keys;
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != 0){
+            if (existing == key){
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    boolean containsKey(long key){
+        return get(key) != MISSING;
+    }
+
+    /*
+     * Liefert den bisherigen Wert oder MISSING
+     */
+    int put(long key, int value){
+        if (key == 0){
+            int previous = hasZeroKey ? zeroValue : MISSING;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != 0){
+            if (existing == key){
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt){
+            rehash(keys.length * 2);
+        }
+        return MISSING;
+    }
+
+    int remove(long key){
+        if (key == 0){
+            int previous = hasZeroKey ? zeroValue : MISSING;
+            hasZeroKey = false;
+            zeroValue = MISSING;
+            return previous;
+        }
+
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != 0){
+            if (existing == key){
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    void clear(){
+        Arrays.fill(keys, 0);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = MISSING;
+    }
+
+    long tableBytes(){
+        return (long) keys.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    private int slot(long key){
+        return (int) ((key * PHI) >>> shift);
+    }
+
+    private void shiftBack(int slot){
+        int gap = slot;
+        int current = (slot + 1) & mask;
+        long key;
+        while ((key = keys[current]) != 0){
+            int home = slot(key);
+            if (((current - home) & mask) >= ((current - gap) & mask)){
+                keys[gap] = key;
+                values[gap] = values[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    private void rehash(int newCapacity){
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++){
+            long key = oldKeys[i];
+            if (key != 0){
+                int slot = slot(key);
+                while (keys[slot] != 0){
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity){
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+}
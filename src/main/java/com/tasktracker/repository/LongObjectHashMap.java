@@ -0,0 +1,301 @@
+package com.tasktracker.repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Hash-Map mit primitiven long-Schlüsseln (Open Addressing, lineares Sondieren)
+ * Schlüssel und Werte liegen in zwei parallelen Arrays, es gibt weder Node-Objekte
+ * noch geboxte Longs - get/containsKey allozieren nichts
+ * Schlüssel 0 markiert freie Plätze und wird daher separat gespeichert
+ * Löschen verschiebt nachfolgende Einträge zurück (Backward Shift), es bleiben keine Grabsteine
+ * Nicht thread-sicher
+ */
+
+final class LongObjectHashMap<V>{
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int shift;
+    private int resizeAt;
+    private int size;
+
+    private boolean hasZeroKey;
+    private Object zeroValue;
+
+    private int modCount;
+
+    LongObjectHashMap(){
+        this(MIN_CAPACITY);
+    }
+
+    LongObjectHashMap(int expectedSize){
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size(){
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    boolean isEmpty(){
+        return size() == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key){
+        if (key == 0){
+            return hasZeroKey ? (V) zeroValue : null;
+        }
+        long[] keys = this.keys;
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != 0){
+            if (existing == key){
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    boolean containsKey(long key){
+        if (key == 0){
+            return hasZeroKey;
+        }
+        long[] keys = this.keys;
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != 0){
+            if (existing == key){
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /*
+     * Liefert den bisherigen Wert oder null
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value){
+        if (key == 0){
+            V previous = (V) zeroValue;
+            if (!hasZeroKey){
+                hasZeroKey = true;
+                modCount++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != 0){
+            if (existing == key){
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        modCount++;
+        if (++size >= resizeAt){
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key){
+        if (key == 0){
+            if (!hasZeroKey){
+                return null;
+            }
+            V previous = (V) zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            modCount++;
+            return previous;
+        }
+
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != 0){
+            if (existing == key){
+                V previous = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                modCount++;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    void clear(){
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+        modCount++;
+    }
+
+    /*
+     * Hängt alle Werte an target an, ohne Zwischenkopie
+     */
+    @SuppressWarnings("unchecked")
+    void addValuesTo(Collection<? super V> target){
+        if (hasZeroKey){
+            target.add((V) zeroValue);
+        }
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        for (int i = 0; i < keys.length; i++){
+            if (keys[i] != 0){
+                target.add((V) values[i]);
+            }
+        }
+    }
+
+    /*
+     * Alle Schlüssel in Tabellenreihenfolge (unsortiert)
+     */
+    long[] keys(){
+        long[] result = new long[size()];
+        int count = 0;
+        if (hasZeroKey){
+            result[count++] = 0;
+        }
+        for (long key : keys){
+            if (key != 0){
+                result[count++] = key;
+            }
+        }
+        return result;
+    }
+
+    Stream<V> valueStream(){
+        return StreamSupport.stream(Spliterators.spliterator(new ValueIterator(), size(),
+                Spliterator.SIZED | Spliterator.NONNULL), false);
+    }
+
+    /*
+     * Geschätzter Speicherbedarf der beiden Arrays in Bytes (ohne die Werte selbst)
+     */
+    long tableBytes(){
+        return (long) keys.length * Long.BYTES + (long) values.length * 4;
+    }
+
+    private int slot(long key){
+        // Fibonacci-Hashing: die oberen Bits des Produkts sind gut durchmischt
+        return (int) ((key * PHI) >>> shift);
+    }
+
+    /*
+     * Schließt die Lücke an slot, indem spätere Einträge derselben Sondierungskette nachrücken
+     */
+    private void shiftBack(int slot){
+        int gap = slot;
+        int current = (slot + 1) & mask;
+        long key;
+        while ((key = keys[current]) != 0){
+            int home = slot(key);
+            // Eintrag darf nur nachrücken, wenn sein Heimatplatz nicht zwischen Lücke und aktueller Position liegt
+            if (((current - home) & mask) >= ((current - gap) & mask)){
+                keys[gap] = key;
+                values[gap] = values[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    private void rehash(int newCapacity){
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++){
+            long key = oldKeys[i];
+            if (key != 0){
+                int slot = slot(key);
+                while (keys[slot] != 0){
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity){
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    private static int capacityFor(int expectedSize){
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) LOAD_FACTOR) + 1;
+        if (needed > 1 << 30){
+            throw new IllegalArgumentException("Zu viele Einträge: " + expectedSize);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private final class ValueIterator implements Iterator<V>{
+        private final int expectedModCount = modCount;
+        private boolean zeroPending = hasZeroKey;
+        private int next = advance(0);
+
+        @Override
+        public boolean hasNext(){
+            return zeroPending || next < keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next(){
+            if (modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+            if (zeroPending){
+                zeroPending = false;
+                return (V) zeroValue;
+            }
+            if (next >= keys.length){
+                throw new NoSuchElementException();
+            }
+            V value = (V) values[next];
+            next = advance(next + 1);
+            return value;
+        }
+
+        private int advance(int from){
+            while (from < keys.length && keys[from] == 0){
+                from++;
+            }
+            return from;
+        }
+    }
+}
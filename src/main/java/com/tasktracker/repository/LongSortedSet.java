@@ -0,0 +1,312 @@
+package com.tasktracker.repository;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/*
+ * Sortierte Menge primitiver long-Werte, aufgeteilt in Blöcke von höchstens BLOCK_CAPACITY Einträgen
+ * Einfügen und Löschen verschieben nur innerhalb eines Blocks, nicht die ganze Liste;
+ * aufsteigend angehängte Werte (neue IDs) landen in O(1) im letzten Block
+ * Blöcke wachsen durch Verdoppeln, kleine Mengen belegen daher nur wenige Bytes
+ * Nicht thread-sicher
+ */
+
+final class LongSortedSet{
+    static final int BLOCK_CAPACITY = 256;
+    private static final int INITIAL_BLOCK_CAPACITY = 4;
+
+    // Grobe Objektgrößen (64-Bit JVM, Compressed Oops) für die Speicherabschätzung
+    private static final long ARRAY_HEADER_BYTES = 16;
+
+    private long[][] blocks = new long[1][];
+    private int[] sizes = new int[1];
+    private int blockCount;
+    private int size;
+
+    int size(){
+        return size;
+    }
+
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    boolean contains(long value){
+        if (size == 0){
+            return false;
+        }
+        int block = blockFor(value);
+        return Arrays.binarySearch(blocks[block], 0, sizes[block], value) >= 0;
+    }
+
+    /*
+     * Liefert false, wenn der Wert bereits enthalten war
+     * Leere Blöcke gibt es nur vorübergehend innerhalb von add()
+     */
+    boolean add(long value){
+        if (blockCount == 0){
+            insertBlock(0, new long[INITIAL_BLOCK_CAPACITY], 0);
+            append(0, value);
+            return true;
+        }
+
+        int last = blockCount - 1;
+        if (value > blocks[last][sizes[last] - 1]){
+            if (sizes[last] == BLOCK_CAPACITY){
+                insertBlock(blockCount, new long[INITIAL_BLOCK_CAPACITY], 0);
+                last++;
+            }
+            append(last, value);
+            return true;
+        }
+
+        int block = blockFor(value);
+        int pos = Arrays.binarySearch(blocks[block], 0, sizes[block], value);
+        if (pos >= 0){
+            return false;
+        }
+        int insert = -pos - 1;
+        if (sizes[block] == BLOCK_CAPACITY){
+            split(block);
+            if (insert > sizes[block]){
+                insert -= sizes[block];
+                block++;
+            }
+        }
+        ensureBlockCapacity(block, sizes[block] + 1);
+        long[] values = blocks[block];
+        System.arraycopy(values, insert, values, insert + 1, sizes[block] - insert);
+        values[insert] = value;
+        sizes[block]++;
+        size++;
+        return true;
+    }
+
+    boolean remove(long value){
+        if (size == 0){
+            return false;
+        }
+        int block = blockFor(value);
+        long[] values = blocks[block];
+        int pos = Arrays.binarySearch(values, 0, sizes[block], value);
+        if (pos < 0){
+            return false;
+        }
+        System.arraycopy(values, pos + 1, values, pos, sizes[block] - pos - 1);
+        sizes[block]--;
+        size--;
+
+        if (sizes[block] == 0){
+            removeBlock(block);
+        }else{
+            shrinkIfSparse(block);
+            mergeIfSparse(block);
+        }
+        return true;
+    }
+
+    /*
+     * Fügt alle Werte von other ein; Mischen in O(n + m) statt einzelner Einfügungen in der Mitte
+     */
+    void addAll(LongSortedSet other){
+        if (other.isEmpty()){
+            return;
+        }
+        if (isEmpty() || other.blocks[0][0] > blocks[blockCount - 1][sizes[blockCount - 1] - 1]){
+            other.forEach(this::add);
+            return;
+        }
+
+        long[] left = toArray();
+        long[] right = other.toArray();
+        long[] merged = new long[left.length + right.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length || j < right.length){
+            long next;
+            if (j == right.length || (i < left.length && left[i] < right[j])){
+                next = left[i++];
+            }else if (i == left.length || right[j] < left[i]){
+                next = right[j++];
+            }else{
+                next = left[i++];
+                j++;
+            }
+            merged[count++] = next;
+        }
+
+        clear();
+        for (int from = 0; from < count; from += BLOCK_CAPACITY){
+            int length = Math.min(BLOCK_CAPACITY, count - from);
+            insertBlock(blockCount, Arrays.copyOfRange(merged, from, from + Math.max(length, INITIAL_BLOCK_CAPACITY)), length);
+        }
+        size = count;
+    }
+
+    void clear(){
+        blocks = new long[1][];
+        sizes = new int[1];
+        blockCount = 0;
+        size = 0;
+    }
+
+    long[] toArray(){
+        long[] result = new long[size];
+        int offset = 0;
+        for (int i = 0; i < blockCount; i++){
+            System.arraycopy(blocks[i], 0, result, offset, sizes[i]);
+            offset += sizes[i];
+        }
+        return result;
+    }
+
+    void forEach(LongConsumer action){
+        for (int i = 0; i < blockCount; i++){
+            long[] values = blocks[i];
+            for (int j = 0, n = sizes[i]; j < n; j++){
+                action.accept(values[j]);
+            }
+        }
+    }
+
+    /*
+     * Bis zu limit Werte kleiner als bound, absteigend (für Keyset-Paginierung von neu nach alt)
+     */
+    long[] descendingBelow(long bound, int limit){
+        long[] result = new long[Math.min(limit, size)];
+        if (result.length == 0){
+            return result;
+        }
+        int block = blockFor(bound);
+        int pos = Arrays.binarySearch(blocks[block], 0, sizes[block], bound);
+        int index = pos >= 0 ? pos - 1 : -pos - 2;
+
+        int count = 0;
+        while (count < result.length && block >= 0){
+            if (index < 0){
+                if (--block >= 0){
+                    index = sizes[block] - 1;
+                }
+                continue;
+            }
+            result[count++] = blocks[block][index--];
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /*
+     * Behält von den aufsteigend sortierten Kandidaten nur die enthaltenen (in-place), liefert deren Anzahl
+     */
+    int retainAll(long[] candidates, int count){
+        int kept = 0;
+        int block = 0;
+        for (int i = 0; i < count && blockCount > 0; i++){
+            long candidate = candidates[i];
+            while (block + 1 < blockCount && blocks[block + 1][0] <= candidate){
+                block++;
+            }
+            if (Arrays.binarySearch(blocks[block], 0, sizes[block], candidate) >= 0){
+                candidates[kept++] = candidate;
+            }
+        }
+        return kept;
+    }
+
+    /*
+     * Geschätzter Speicherbedarf der Blöcke in Bytes
+     */
+    long bytes(){
+        long bytes = ARRAY_HEADER_BYTES * 2 + 12L * blocks.length;
+        for (int i = 0; i < blockCount; i++){
+            bytes += ARRAY_HEADER_BYTES + 8L * blocks[i].length;
+        }
+        return bytes;
+    }
+
+    /*
+     * Letzter Block, dessen erster Wert <= value ist (Block 0, falls value kleiner als alle Werte ist)
+     */
+    private int blockFor(long value){
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high){
+            int mid = (low + high + 1) >>> 1;
+            if (blocks[mid][0] <= value){
+                low = mid;
+            }else{
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void append(int block, long value){
+        ensureBlockCapacity(block, sizes[block] + 1);
+        blocks[block][sizes[block]++] = value;
+        size++;
+    }
+
+    /*
+     * Teilt einen vollen Block in zwei halbvolle
+     */
+    private void split(int block){
+        long[] values = blocks[block];
+        int half = BLOCK_CAPACITY / 2;
+        long[] upper = new long[BLOCK_CAPACITY];
+        System.arraycopy(values, half, upper, 0, BLOCK_CAPACITY - half);
+        Arrays.fill(values, half, BLOCK_CAPACITY, 0);
+        sizes[block] = half;
+        insertBlock(block + 1, upper, BLOCK_CAPACITY - half);
+    }
+
+    private void mergeIfSparse(int block){
+        if (block + 1 < blockCount && sizes[block] + sizes[block + 1] <= BLOCK_CAPACITY / 2){
+            mergeWithNext(block);
+        }else if (block > 0 && sizes[block - 1] + sizes[block] <= BLOCK_CAPACITY / 2){
+            mergeWithNext(block - 1);
+        }
+    }
+
+    private void mergeWithNext(int block){
+        int merged = sizes[block] + sizes[block + 1];
+        ensureBlockCapacity(block, merged);
+        System.arraycopy(blocks[block + 1], 0, blocks[block], sizes[block], sizes[block + 1]);
+        sizes[block] = merged;
+        removeBlock(block + 1);
+    }
+
+    private void shrinkIfSparse(int block){
+        long[] values = blocks[block];
+        if (values.length > INITIAL_BLOCK_CAPACITY && sizes[block] < values.length / 4){
+            blocks[block] = Arrays.copyOf(values, values.length / 2);
+        }
+    }
+
+    private void ensureBlockCapacity(int block, int needed){
+        long[] values = blocks[block];
+        if (needed > values.length){
+            blocks[block] = Arrays.copyOf(values, Math.min(BLOCK_CAPACITY, Math.max(needed, values.length * 2)));
+        }
+    }
+
+    private void insertBlock(int index, long[] values, int count){
+        if (blockCount == blocks.length){
+            blocks = Arrays.copyOf(blocks, blocks.length * 2);
+            sizes = Arrays.copyOf(sizes, sizes.length * 2);
+        }
+        System.arraycopy(blocks, index, blocks, index + 1, blockCount - index);
+        System.arraycopy(sizes, index, sizes, index + 1, blockCount - index);
+        blocks[index] = values;
+        sizes[index] = count;
+        blockCount++;
+    }
+
+    private void removeBlock(int index){
+        System.arraycopy(blocks, index + 1, blocks, index, blockCount - index - 1);
+        System.arraycopy(sizes, index + 1, sizes, index, blockCount - index - 1);
+        blockCount--;
+        blocks[blockCount] = null;
+        sizes[blockCount] = 0;
+    }
+}
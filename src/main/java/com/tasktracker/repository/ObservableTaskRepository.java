@@ -0,0 +1,46 @@
+package com.tasktracker.repository;
+
+import java.util.Optional;
+
+/*
+ * Repository, das Änderungen als TaskChangeEvent veröffentlicht
+ * Statt findAll()/findByStatus() zu pollen und zu vergleichen, können Caches, Zähler und Indizes
+ * inkrementell nachgeführt werden
+ */
+
+public interface ObservableTaskRepository extends TaskRepository{
+    int DEFAULT_SUBSCRIPTION_CAPACITY = 1024;
+
+    /*
+     * capacity: Puffergröße dieses Empfängers (auf Zweierpotenz aufgerundet)
+     * policy: BLOCK bremst Schreiber, solange der Puffer voll ist; DROP verwirft und zählt
+     * Ereignisse ab dem Zeitpunkt des Abonnements, beenden mit close()
+     * Achtung BLOCK: Schreiber warten innerhalb ihrer Repository-Locks (z.B. in compute()) auf Platz,
+     * ein langsamer Empfänger hält damit alle Schreiber an; ein Empfänger, der selbst in dasselbe
+     * Repository schreibt, kann sich so verklemmen und muss DROP verwenden
+     */
+    ChangeSubscription subscribe(TaskChangeListener listener, int capacity, ChangeSubscription.OverflowPolicy policy);
+
+    /*
+     * Standard ist DROP: Schreiber werden nie durch Empfänger gebremst, Verluste zeigt getDroppedEvents()
+     */
+    default ChangeSubscription subscribe(TaskChangeListener listener){
+        return subscribe(listener, DEFAULT_SUBSCRIPTION_CAPACITY, ChangeSubscription.OverflowPolicy.DROP);
+    }
+
+    /*
+     * Sucht durch Decorators (ForwardingTaskRepository) hindurch das beobachtbare Backend
+     * Schreibzugriffe über Decorators landen dort ebenfalls, Write-behind erst beim Flush
+     */
+    static Optional<ObservableTaskRepository> find(TaskRepository repository){
+        TaskRepository current = repository;
+        while (current != null){
+            if (current instanceof ObservableTaskRepository){
+                return Optional.of((ObservableTaskRepository) current);
+            }
+            current = current instanceof ForwardingTaskRepository
+                    ? ((ForwardingTaskRepository) current).getDelegate() : null;
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,806 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Spaltenorientierter Speicher außerhalb des Heaps für sehr viele Aufgaben
+ * Je Zeile: ID (long), Status (byte), Verweis und Länge der Beschreibung
+ * Beschreibungen liegen als UTF-8 in einer Arena aus Direct Buffers, die nur angehängt wird
+ * Der Heap enthält nur die Zuordnung ID -> Zeile in primitiven Arrays, Task-Objekte entstehen erst beim Lesen
+ *
+ * Gelöschte Zeilen werden als Grabstein markiert, ersetzte Beschreibungen bleiben als Abfall
+ * in der Arena; compact() schreibt beides neu (automatisch, sobald mehr als die Hälfte Abfall ist)
+ * Geschützt durch ein ReadWriteLock, Lesezugriffe laufen parallel
+ * Gespeichert werden Werte: spätere Änderungen an einer Task-Instanz wirken erst nach update()
+ */
+
+public class OffHeapTaskRepository implements ObservableTaskRepository{
+    private static final byte NO_STATUS = -1;
+    private static final byte TOMBSTONE = -2;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final int INITIAL_ROWS = 1024;
+    private static final int MAX_ROWS = Integer.MAX_VALUE / Long.BYTES;
+    private static final int MIN_CHUNK_BYTES = 64 * 1024;
+    private static final int MAX_CHUNK_BYTES = 64 * 1024 * 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Ereignisse entstehen unter dem Schreib-Lock
+    private final TaskChangePublisher changes = new TaskChangePublisher();
+
+    // Spalten, Zeile i liegt bei i * Breite
+    private ByteBuffer ids;
+    private ByteBuffer statuses;
+    private ByteBuffer offsets;
+    private ByteBuffer lengths;
+    private int capacity;
+    private int rows;
+    private int tombstones;
+
+    // Arena: Verweis = Chunk-Index << 32 | Position im Chunk
+    private List<ByteBuffer> arena;
+    private long arenaBytes;
+    private long garbageBytes;
+
+    private final LongIntHashMap rowsById = new LongIntHashMap();
+    private final long[] statusCounts = new long[STATUSES.length];
+    private long nextId = 1;
+
+    // Wird bei compact() und deleteAll() erhöht, laufende Streams brechen dann ab
+    private int layoutVersion;
+
+    public OffHeapTaskRepository(){
+        reset(INITIAL_ROWS);
+    }
+
+    @Override
+    public Task save(Task task){
+        lock.writeLock().lock();
+        try{
+            saveLocked(task);
+            return task;
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(List<Task> taskList){
+        if (taskList == null) return;
+
+        lock.writeLock().lock();
+        try{
+            for (Task task : taskList){
+                saveLocked(task);
+            }
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(long id){
+        lock.readLock().lock();
+        try{
+            int row = rowsById.get(id);
+            return row == LongIntHashMap.MISSING ? Optional.empty() : Optional.of(readRow(row));
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAll(){
+        lock.readLock().lock();
+        try{
+            List<Task> result = new ArrayList<>(rowsById.size());
+            for (int row = 0; row < rows; row++){
+                if (statuses.get(row) != TOMBSTONE){
+                    result.add(readRow(row));
+                }
+            }
+            return result;
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Task update(Task task){
+        lock.writeLock().lock();
+        try{
+            int row = rowsById.get(task.getTaskId());
+            if (row == LongIntHashMap.MISSING){
+                throw new IllegalArgumentException("Task nicht gefunden");
+            }
+            overwriteRow(row, task);
+            maybeCompact();
+            return task;
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Task saveOrUpdate(Task task){
+        return save(task);
+    }
+
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        lock.writeLock().lock();
+        try{
+            int row = rowsById.get(task.getTaskId());
+            if (row == LongIntHashMap.MISSING || statuses.get(row) != encodeStatus(expectedStatus)
+                    || !readDescription(row).equals(expectedDescription)){
+                return false;
+            }
+            overwriteRow(row, task);
+            maybeCompact();
+            return true;
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int updateAll(List<Task> taskList){
+        if (taskList == null) return 0;
+
+        lock.writeLock().lock();
+        try{
+            int updated = 0;
+            for (Task task : taskList){
+                int row = rowsById.get(task.getTaskId());
+                if (row != LongIntHashMap.MISSING){
+                    overwriteRow(row, task);
+                    updated++;
+                }
+            }
+            maybeCompact();
+            return updated;
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(long id){
+        if (id <= 0){
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try{
+            boolean deleted = deleteLocked(id);
+            maybeCompact();
+            return deleted;
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> idList){
+        if (idList == null) return 0;
+
+        lock.writeLock().lock();
+        try{
+            int deleted = 0;
+            for (Long id : idList){
+                if (id != null && deleteLocked(id)){
+                    deleted++;
+                }
+            }
+            maybeCompact();
+            return deleted;
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll(){
+        lock.writeLock().lock();
+        try{
+            reset(INITIAL_ROWS);
+            rowsById.clear();
+            Arrays.fill(statusCounts, 0);
+            nextId = 1;
+            changes.cleared();
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Schreibt nur die Status-Spalte, Beschreibungen werden lediglich für Ereignisse gelesen
+     */
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        if (from == null || to == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (from == to) return 0;
+
+        lock.writeLock().lock();
+        try{
+            byte fromCode = encodeStatus(from);
+            byte toCode = encodeStatus(to);
+            boolean publish = changes.hasSubscribers();
+            int updated = 0;
+            for (int row = 0; row < rows; row++){
+                if (statuses.get(row) == fromCode){
+                    statuses.put(row, toCode);
+                    if (publish){
+                        changes.updated(ids.getLong(row * Long.BYTES), from, to, readDescription(row));
+                    }
+                    updated++;
+                }
+            }
+            statusCounts[fromCode] -= updated;
+            statusCounts[toCode] += updated;
+            return updated;
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+
+        lock.writeLock().lock();
+        try{
+            byte code = encodeStatus(status);
+            int deleted = 0;
+            for (int row = 0; row < rows; row++){
+                if (statuses.get(row) == code && deleteLocked(ids.getLong(row * Long.BYTES))){
+                    deleted++;
+                }
+            }
+            maybeCompact();
+            return deleted;
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> idList, TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (idList == null) return 0;
+
+        lock.writeLock().lock();
+        try{
+            byte newCode = encodeStatus(status);
+            boolean publish = changes.hasSubscribers();
+            int updated = 0;
+            for (Long id : new LinkedHashSet<>(idList)){
+                int row = id == null ? LongIntHashMap.MISSING : rowsById.get(id);
+                if (row == LongIntHashMap.MISSING){
+                    continue;
+                }
+                byte oldCode = statuses.get(row);
+                if (oldCode != newCode){
+                    if (oldCode >= 0){
+                        statusCounts[oldCode]--;
+                    }
+                    statusCounts[newCode]++;
+                    statuses.put(row, newCode);
+                }
+                if (publish){
+                    changes.updated(id, oldCode == NO_STATUS ? null : STATUSES[oldCode], status, readDescription(row));
+                }
+                updated++;
+            }
+            return updated;
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isThreadSafe(){
+        return true;
+    }
+
+    @Override
+    public ChangeSubscription subscribe(TaskChangeListener listener, int capacity, ChangeSubscription.OverflowPolicy policy){
+        return changes.subscribe(listener, capacity, policy);
+    }
+
+    @Override
+    public boolean existsById(long id){
+        if (id <= 0){
+            return false;
+        }
+
+        lock.readLock().lock();
+        try{
+            return rowsById.containsKey(id);
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Durchläuft nur die Status-Spalte, Beschreibungen werden erst für Treffer gelesen
+     */
+    @Override
+    public List<Task> findByStatus(TaskStatus status){
+        if (status == null){
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try{
+            byte code = (byte) status.ordinal();
+            List<Task> result = new ArrayList<>((int) Math.min(statusCounts[code], Integer.MAX_VALUE));
+            for (int row = 0; row < rows; row++){
+                if (statuses.get(row) == code){
+                    result.add(readRow(row));
+                }
+            }
+            result.sort(Comparator.comparingLong(Task::getTaskId));
+            return result;
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findByDescriptionContaining(String keyword){
+        if (keyword == null || keyword.trim().isEmpty()){
+            return new ArrayList<>();
+        }
+
+        String lowerKeyword = keyword.toLowerCase();
+        lock.readLock().lock();
+        try{
+            List<Task> result = new ArrayList<>();
+            for (int row = 0; row < rows; row++){
+                if (statuses.get(row) != TOMBSTONE && readDescription(row).toLowerCase().contains(lowerKeyword)){
+                    result.add(readRow(row));
+                }
+            }
+            result.sort(Comparator.comparingLong(Task::getTaskId));
+            return result;
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count(){
+        lock.readLock().lock();
+        try{
+            return rowsById.size();
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status){
+        if (status == null){
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try{
+            return statusCounts[status.ordinal()];
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public TaskStatistics statistics(){
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        lock.readLock().lock();
+        try{
+            for (TaskStatus status : STATUSES){
+                counts.put(status, statusCounts[status.ordinal()]);
+            }
+            return new TaskStatistics(rowsById.size(), counts);
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Liest Zeile für Zeile, jeweils unter kurzem Read-Lock
+     * Parallele Schreiber sind erlaubt, compact()/deleteAll() beenden den Stream mit einer Exception
+     */
+    @Override
+    public Stream<Task> streamAll(){
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new RowIterator(),
+                Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /*
+     * Hält nur die pageSize + 1 größten IDs unterhalb des Cursors in einem primitiven Min-Heap
+     */
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        if (pageSize <= 0){
+            throw new IllegalArgumentException("Seitengröße muss positiv sein");
+        }
+
+        lock.readLock().lock();
+        try{
+            long upperBound = after == null ? Long.MAX_VALUE : after.getId();
+            // long, damit pageSize = Integer.MAX_VALUE nicht überläuft
+            long[] heap = new long[(int) Math.min(pageSize + 1L, Math.max(rowsById.size(), 1))];
+            int heapSize = 0;
+
+            for (int row = 0; row < rows; row++){
+                if (statuses.get(row) == TOMBSTONE){
+                    continue;
+                }
+                long id = ids.getLong(row * Long.BYTES);
+                if (id >= upperBound){
+                    continue;
+                }
+                if (heapSize < heap.length){
+                    heap[heapSize] = id;
+                    siftUp(heap, heapSize++);
+                }else if (id > heap[0]){
+                    heap[0] = id;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            long[] selected = Arrays.copyOf(heap, heapSize);
+            Arrays.sort(selected);
+            List<Task> candidates = new ArrayList<>(heapSize);
+            for (int i = selected.length - 1; i >= 0; i--){
+                candidates.add(readRow(rowsById.get(selected[i])));
+            }
+            return TaskPage.of(candidates, pageSize);
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Schreibt Spalten und Arena ohne Grabsteine und Abfall neu
+     */
+    public void compact(){
+        lock.writeLock().lock();
+        try{
+            compactLocked();
+        }finally{
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long getOffHeapBytes(){
+        lock.readLock().lock();
+        try{
+            long bytes = (long) capacity * (Long.BYTES + 1 + Long.BYTES + Integer.BYTES);
+            for (ByteBuffer chunk : arena){
+                bytes += chunk.capacity();
+            }
+            return bytes;
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getArenaBytes(){
+        lock.readLock().lock();
+        try{
+            return arenaBytes;
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getGarbageBytes(){
+        lock.readLock().lock();
+        try{
+            return garbageBytes;
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTombstoneCount(){
+        lock.readLock().lock();
+        try{
+            return tombstones;
+        }finally{
+            lock.readLock().unlock();
+        }
+    }
+
+    private void saveLocked(Task task){
+        if (task.getTaskId() == 0){
+            task.setTaskId(nextId);
+            nextId++;
+        }else if (task.getTaskId() >= nextId){
+            nextId = task.getTaskId() + 1;
+        }
+
+        int existing = rowsById.get(task.getTaskId());
+        if (existing != LongIntHashMap.MISSING){
+            overwriteRow(existing, task);
+            return;
+        }
+
+        ensureCapacity(rows + 1);
+        int row = rows++;
+        byte code = encodeStatus(task.getTaskStatus());
+        ids.putLong(row * Long.BYTES, task.getTaskId());
+        statuses.put(row, code);
+        byte[] bytes = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        offsets.putLong(row * Long.BYTES, appendToArena(bytes));
+        lengths.putInt(row * Integer.BYTES, bytes.length);
+        rowsById.put(task.getTaskId(), row);
+        if (code >= 0){
+            statusCounts[code]++;
+        }
+        changes.created(task.getTaskId(), task.getTaskStatus(), task.getDescription());
+    }
+
+    private void overwriteRow(int row, Task task){
+        byte oldCode = statuses.get(row);
+        byte newCode = encodeStatus(task.getTaskStatus());
+        changes.updated(task.getTaskId(), oldCode == NO_STATUS ? null : STATUSES[oldCode], task.getTaskStatus(),
+                task.getDescription());
+        if (oldCode != newCode){
+            if (oldCode >= 0){
+                statusCounts[oldCode]--;
+            }
+            if (newCode >= 0){
+                statusCounts[newCode]++;
+            }
+            statuses.put(row, newCode);
+        }
+
+        byte[] bytes = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        int oldLength = lengths.getInt(row * Integer.BYTES);
+        if (bytes.length <= oldLength){
+            // Passt an die alte Stelle, der Rest wird Abfall
+            long reference = offsets.getLong(row * Long.BYTES);
+            chunkOf(reference).put(positionOf(reference), bytes);
+            garbageBytes += oldLength - bytes.length;
+        }else{
+            offsets.putLong(row * Long.BYTES, appendToArena(bytes));
+            garbageBytes += oldLength;
+        }
+        lengths.putInt(row * Integer.BYTES, bytes.length);
+    }
+
+    private boolean deleteLocked(long id){
+        int row = rowsById.remove(id);
+        if (row == LongIntHashMap.MISSING){
+            return false;
+        }
+        byte code = statuses.get(row);
+        if (code >= 0){
+            statusCounts[code]--;
+        }
+        changes.deleted(id, code == NO_STATUS ? null : STATUSES[code]);
+        statuses.put(row, TOMBSTONE);
+        garbageBytes += lengths.getInt(row * Integer.BYTES);
+        tombstones++;
+        return true;
+    }
+
+    private Task readRow(int row){
+        long id = ids.getLong(row * Long.BYTES);
+        byte code = statuses.get(row);
+        return new Task(id, readDescription(row), code == NO_STATUS ? null : STATUSES[code]);
+    }
+
+    private String readDescription(int row){
+        long reference = offsets.getLong(row * Long.BYTES);
+        byte[] bytes = new byte[lengths.getInt(row * Integer.BYTES)];
+        chunkOf(reference).get(positionOf(reference), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long appendToArena(byte[] bytes){
+        ByteBuffer chunk = arena.isEmpty() ? null : arena.get(arena.size() - 1);
+        if (chunk == null || chunk.remaining() < bytes.length){
+            int previous = chunk == null ? MIN_CHUNK_BYTES / 2 : chunk.capacity();
+            int size = Math.max(bytes.length, Math.min(MAX_CHUNK_BYTES, previous * 2));
+            chunk = ByteBuffer.allocateDirect(size);
+            arena.add(chunk);
+        }
+        int position = chunk.position();
+        chunk.put(bytes);
+        arenaBytes += bytes.length;
+        return ((long) (arena.size() - 1) << 32) | position;
+    }
+
+    private ByteBuffer chunkOf(long reference){
+        return arena.get((int) (reference >>> 32));
+    }
+
+    private static int positionOf(long reference){
+        return (int) reference;
+    }
+
+    private void maybeCompact(){
+        boolean arenaWasteful = garbageBytes > MIN_CHUNK_BYTES && garbageBytes * 2 > arenaBytes;
+        boolean rowsWasteful = tombstones > INITIAL_ROWS && tombstones * 2 > rows;
+        if (arenaWasteful || rowsWasteful){
+            compactLocked();
+        }
+    }
+
+    private void compactLocked(){
+        ByteBuffer oldIds = ids;
+        ByteBuffer oldStatuses = statuses;
+        ByteBuffer oldOffsets = offsets;
+        ByteBuffer oldLengths = lengths;
+        List<ByteBuffer> oldArena = arena;
+        int oldRows = rows;
+
+        reset(Math.max(INITIAL_ROWS, rowsById.size()));
+        for (int row = 0; row < oldRows; row++){
+            byte code = oldStatuses.get(row);
+            if (code == TOMBSTONE){
+                continue;
+            }
+            long id = oldIds.getLong(row * Long.BYTES);
+            long reference = oldOffsets.getLong(row * Long.BYTES);
+            byte[] bytes = new byte[oldLengths.getInt(row * Integer.BYTES)];
+            oldArena.get((int) (reference >>> 32)).get(positionOf(reference), bytes);
+
+            int newRow = rows++;
+            ids.putLong(newRow * Long.BYTES, id);
+            statuses.put(newRow, code);
+            offsets.putLong(newRow * Long.BYTES, appendToArena(bytes));
+            lengths.putInt(newRow * Integer.BYTES, bytes.length);
+            rowsById.put(id, newRow);
+        }
+    }
+
+    /*
+     * Neue, leere Spalten und Arena; Zähler und ID-Zuordnung bleiben unberührt
+     */
+    private void reset(int rowCapacity){
+        capacity = rowCapacity;
+        ids = column(rowCapacity, Long.BYTES);
+        statuses = column(rowCapacity, 1);
+        offsets = column(rowCapacity, Long.BYTES);
+        lengths = column(rowCapacity, Integer.BYTES);
+        rows = 0;
+        tombstones = 0;
+        arena = new ArrayList<>();
+        arenaBytes = 0;
+        garbageBytes = 0;
+        layoutVersion++;
+    }
+
+    private void ensureCapacity(int required){
+        if (required <= capacity){
+            return;
+        }
+        if (required > MAX_ROWS){
+            throw new IllegalStateException("Maximale Zeilenzahl erreicht: " + MAX_ROWS);
+        }
+        int newCapacity = (int) Math.min(MAX_ROWS, Math.max(required, (long) capacity * 2));
+        ids = grow(ids, newCapacity, Long.BYTES);
+        statuses = grow(statuses, newCapacity, 1);
+        offsets = grow(offsets, newCapacity, Long.BYTES);
+        lengths = grow(lengths, newCapacity, Integer.BYTES);
+        capacity = newCapacity;
+    }
+
+    private ByteBuffer grow(ByteBuffer column, int newCapacity, int width){
+        ByteBuffer grown = column(newCapacity, width);
+        ByteBuffer used = column.duplicate();
+        used.clear().limit(rows * width);
+        grown.put(used);
+        grown.clear();
+        return grown;
+    }
+
+    private static ByteBuffer column(int rows, int width){
+        return ByteBuffer.allocateDirect(rows * width).order(ByteOrder.nativeOrder());
+    }
+
+    private static byte encodeStatus(TaskStatus status){
+        return status == null ? NO_STATUS : (byte) status.ordinal();
+    }
+
+    private static void siftUp(long[] heap, int index){
+        long value = heap[index];
+        while (index > 0){
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= value){
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private static void siftDown(long[] heap, int size){
+        long value = heap[0];
+        int index = 0;
+        while (true){
+            int child = 2 * index + 1;
+            if (child >= size){
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]){
+                child++;
+            }
+            if (value <= heap[child]){
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+
+    private final class RowIterator implements Iterator<Task>{
+        private final int expectedLayout;
+        private int row;
+        private Task next;
+
+        RowIterator(){
+            lock.readLock().lock();
+            try{
+                expectedLayout = layoutVersion;
+            }finally{
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean hasNext(){
+            if (next != null){
+                return true;
+            }
+            lock.readLock().lock();
+            try{
+                if (layoutVersion != expectedLayout){
+                    throw new ConcurrentModificationException("Speicher wurde während des Durchlaufs kompaktiert");
+                }
+                while (row < rows){
+                    int current = row++;
+                    if (statuses.get(current) != TOMBSTONE){
+                        next = readRow(current);
+                        return true;
+                    }
+                }
+                return false;
+            }finally{
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public Task next(){
+            if (!hasNext()){
+                throw new NoSuchElementException();
+            }
+            Task result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.tasktracker.repository;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/*
+ * Position für Keyset-Paginierung auf (created_at, id), absteigend sortiert
+ * createdAt ist bei In-Memory Repositories null, dort entspricht die ID der Anlagereihenfolge
+ */
+
+public final class PageCursor{
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public PageCursor(LocalDateTime createdAt, long id){
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static PageCursor afterId(long id){
+        return new PageCursor(null, id);
+    }
+
+    public LocalDateTime getCreatedAt(){
+        return createdAt;
+    }
+
+    public long getId(){
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if (this == o) return true;
+        if (!(o instanceof PageCursor)) return false;
+        PageCursor other = (PageCursor) o;
+        return id == other.id && Objects.equals(createdAt, other.createdAt);
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(createdAt, id);
+    }
+
+    @Override
+    public String toString(){
+        return "PageCursor[" + createdAt + ", " + id + "]";
+    }
+}
@@ -0,0 +1,224 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * Persistenter 32-närer Trie über die Bits der ID (bit-partitioned wie bei Clojure-Vektoren)
+ * with()/without() kopieren nur den Pfad von der Wurzel zum Blatt (max. 13 Knoten à 32 Referenzen),
+ * alle anderen Knoten werden mit der Vorgängerversion geteilt - alte Versionen bleiben unverändert gültig
+ * Durchlauf in ID-Reihenfolge, auch absteigend ab einer Obergrenze (für findPage)
+ * Unveränderlich und damit ohne Synchronisation lesbar; IDs müssen positiv sein
+ */
+
+final class PersistentTaskTrie implements Iterable<Task>{
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    // Bei Shift 60 deckt die Wurzel die Bits 60..63 ab, also jede positive long-ID
+    private static final int MAX_SHIFT = 60;
+
+    static final PersistentTaskTrie EMPTY = new PersistentTaskTrie(null, 0, 0);
+
+    private final Object[] root;
+    private final int shift;
+    private final int size;
+
+    private PersistentTaskTrie(Object[] root, int shift, int size){
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    int size(){
+        return size;
+    }
+
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    Task get(long id){
+        if (id <= 0 || root == null || exceedsRoot(id, shift)){
+            return null;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS){
+            node = (Object[]) node[(int) ((id >>> level) & MASK)];
+            if (node == null){
+                return null;
+            }
+        }
+        return (Task) node[(int) (id & MASK)];
+    }
+
+    PersistentTaskTrie with(Task task){
+        long id = task.getTaskId();
+        if (id <= 0){
+            throw new IllegalArgumentException("ID muss positiv sein: " + id);
+        }
+
+        Object[] newRoot = root;
+        int newShift = shift;
+        while (exceedsRoot(id, newShift)){
+            // Neue Ebene oberhalb der bisherigen Wurzel, der alte Baum wird Kind 0
+            Object[] grown = new Object[WIDTH];
+            grown[0] = newRoot;
+            newRoot = newRoot == null ? null : grown;
+            newShift += BITS;
+        }
+
+        boolean[] added = new boolean[1];
+        newRoot = insert(newRoot, newShift, id, task, added);
+        return new PersistentTaskTrie(newRoot, newShift, added[0] ? size + 1 : size);
+    }
+
+    PersistentTaskTrie without(long id){
+        if (get(id) == null){
+            return this;
+        }
+        Object[] newRoot = remove(root, shift, id);
+        return newRoot == null ? EMPTY : new PersistentTaskTrie(newRoot, shift, size - 1);
+    }
+
+    @Override
+    public Iterator<Task> iterator(){
+        return new TrieIterator(this, false, Long.MAX_VALUE);
+    }
+
+    /*
+     * Absteigend, nur IDs kleiner als belowId
+     */
+    Iterator<Task> descendingIterator(long belowId){
+        return new TrieIterator(this, true, belowId);
+    }
+
+    private static boolean exceedsRoot(long id, int shift){
+        return shift < MAX_SHIFT && (id >>> (shift + BITS)) != 0;
+    }
+
+    private static Object[] insert(Object[] node, int level, long id, Task task, boolean[] added){
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int index = (int) ((id >>> level) & MASK);
+        if (level == 0){
+            added[0] = copy[index] == null;
+            copy[index] = task;
+        }else{
+            copy[index] = insert((Object[]) copy[index], level - BITS, id, task, added);
+        }
+        return copy;
+    }
+
+    // Liefert null, wenn der Knoten danach leer ist, damit leere Teilbäume verschwinden
+    private static Object[] remove(Object[] node, int level, long id){
+        int index = (int) ((id >>> level) & MASK);
+        Object replacement = level == 0 ? null : remove((Object[]) node[index], level - BITS, id);
+        for (int i = 0; i < WIDTH; i++){
+            if (i != index && node[i] != null){
+                Object[] copy = node.clone();
+                copy[index] = replacement;
+                return copy;
+            }
+        }
+        if (replacement == null){
+            return null;
+        }
+        Object[] copy = new Object[WIDTH];
+        copy[index] = replacement;
+        return copy;
+    }
+
+    /*
+     * Tiefensuche mit explizitem Stapel: je Ebene der Knoten und die zuletzt besuchte Position
+     */
+    private static final class TrieIterator implements Iterator<Task>{
+        private final Object[][] nodes;
+        private final int[] positions;
+        private final int leaf;
+        private final int delta;
+        private int top;
+        private Task next;
+
+        TrieIterator(PersistentTaskTrie trie, boolean descending, long belowId){
+            this.leaf = trie.shift / BITS;
+            this.nodes = new Object[leaf + 1][];
+            this.positions = new int[leaf + 1];
+            this.delta = descending ? -1 : 1;
+
+            if (trie.root == null || belowId <= 1){
+                top = -1;
+                return;
+            }
+            nodes[0] = trie.root;
+            long maxId = belowId - 1;
+            if (!descending || exceedsRoot(maxId, trie.shift)){
+                positions[0] = descending ? WIDTH : -1;
+                top = 0;
+            }else{
+                seek(maxId, trie.shift);
+            }
+            advance();
+        }
+
+        // Stellt den Stapel so ein, dass advance() als nächstes die größte ID <= maxId liefert
+        private void seek(long maxId, int rootShift){
+            int level = 0;
+            int bitShift = rootShift;
+            while (true){
+                int index = (int) ((maxId >>> bitShift) & MASK);
+                if (level == leaf){
+                    positions[level] = index + 1;
+                    top = level;
+                    return;
+                }
+                positions[level] = index;
+                Object[] child = (Object[]) nodes[level][index];
+                if (child == null){
+                    top = level;
+                    return;
+                }
+                nodes[++level] = child;
+                bitShift -= BITS;
+            }
+        }
+
+        private void advance(){
+            while (top >= 0){
+                Object[] node = nodes[top];
+                int position = positions[top] + delta;
+                while (position >= 0 && position < WIDTH && node[position] == null){
+                    position += delta;
+                }
+                if (position < 0 || position >= WIDTH){
+                    top--;
+                    continue;
+                }
+                positions[top] = position;
+                if (top == leaf){
+                    next = (Task) node[position];
+                    return;
+                }
+                nodes[++top] = (Object[]) node[position];
+                positions[top] = delta < 0 ? WIDTH : -1;
+            }
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext(){
+            return next != null;
+        }
+
+        @Override
+        public Task next(){
+            Task result = next;
+            if (result == null){
+                throw new NoSuchElementException();
+            }
+            advance();
+            return result;
+        }
+    }
+}
@@ -1,20 +1,38 @@
 package com.tasktracker.repository;
 
+import com.tasktracker.logging.LogManager;
+import com.tasktracker.logging.Logger;
+import com.tasktracker.metrics.RepositoryMetrics;
 import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskValidator;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 public class RepositoryFactory{
+    private static final Logger LOG = LogManager.getLogger(RepositoryFactory.class);
+
     private static final String CONFIG_FILE = "application.properties";
     private static final String REPOSITORY_TYPE_KEY = "repository.type";
     private static final String DEFAULT_REPOSITORY_TYPE = "AUTO_DETECT";
 
     private static final String TYPE_MSSQL = "MSSQL";
     private static final String TYPE_IN_MEMORY = "IN_MEMORY";
+    private static final String TYPE_CONCURRENT_IN_MEMORY = "CONCURRENT_IN_MEMORY";
+    private static final String TYPE_OFF_HEAP = "OFF_HEAP";
+    private static final String TYPE_SNAPSHOT_IN_MEMORY = "SNAPSHOT_IN_MEMORY";
+    private static final String TYPE_SHARDED = "SHARDED";
     private static final String TYPE_AUTO_DETECT = "AUTO_DETECT";
 
+    private static final String CACHE_ENABLED_KEY = "cache.enabled";
+    private static final String CACHE_MAX_SIZE_KEY = "cache.max.size";
+    private static final String CACHE_NEGATIVE_KEY = "cache.negative.enabled";
+
     private static RepositoryFactory instance;
     private final Properties properties;
 
@@ -22,6 +40,10 @@ public class RepositoryFactory{
         this.properties = loadProperties();
     }
 
+    RepositoryFactory(Properties properties){
+        this.properties = properties;
+    }
+
     public static synchronized RepositoryFactory getInstance(){
         if (instance == null){
             instance = new RepositoryFactory();
@@ -32,49 +54,216 @@ public class RepositoryFactory{
     public TaskRepository createRepository(){
         String repositoryType = properties.getProperty(REPOSITORY_TYPE_KEY, DEFAULT_REPOSITORY_TYPE);
 
-        System.out.println("Repository Factory: Konfiguriert für '" + repositoryType + "'");
+        LOG.info("Repository Factory: Konfiguriert für '{}'", repositoryType);
 
+        TaskRepository repository;
         switch (repositoryType.toUpperCase()){
             case TYPE_MSSQL:
-                return createMssqlRepository();
+                repository = createMssqlRepository();
+                break;
             case TYPE_IN_MEMORY:
-                return createInMemoryRepository();
+                repository = createInMemoryRepository();
+                break;
+            case TYPE_CONCURRENT_IN_MEMORY:
+                repository = createConcurrentInMemoryRepository();
+                break;
+            case TYPE_OFF_HEAP:
+                repository = createOffHeapRepository();
+                break;
+            case TYPE_SNAPSHOT_IN_MEMORY:
+                repository = createSnapshotInMemoryRepository();
+                break;
+            case TYPE_SHARDED:
+                repository = createShardedRepository();
+                break;
             case TYPE_AUTO_DETECT:
             default:
-                return autoDetectRepository();
+                repository = autoDetectRepository();
+                break;
+        }
+        return decorate(repository);
+    }
+
+    /*
+     * Legt die per Konfiguration aktivierten Decorators um das Backend
+     */
+    private TaskRepository decorate(TaskRepository repository){
+        if (Boolean.parseBoolean(properties.getProperty("write.behind.enabled", "false"))){
+            if (repository.isThreadSafe()){
+                repository = createWriteBehindRepository(repository);
+            }else{
+                // z. B. der In-Memory-Fallback von AUTO_DETECT: der Flush-Thread bräuchte ein thread-sicheres Backend
+                LOG.warn("Write-behind deaktiviert: {} ist nicht thread-sicher", repository.getClass().getSimpleName());
+            }
+        }
+        if (Boolean.parseBoolean(properties.getProperty(CACHE_ENABLED_KEY, "false"))){
+            repository = createCachingRepository(repository);
+        }
+        if (Boolean.parseBoolean(properties.getProperty("metrics.enabled", "false"))){
+            repository = createInstrumentedRepository(repository);
+        }
+        return repository;
+    }
+
+    public WriteBehindTaskRepository createWriteBehindRepository(TaskRepository backend){
+        int maxPending = Integer.parseInt(properties.getProperty("write.behind.max.pending", "10000"));
+        int flushSize = Integer.parseInt(properties.getProperty("write.behind.flush.size", "500"));
+        long flushInterval = Long.parseLong(properties.getProperty("write.behind.flush.interval", "100"));
+        int maxDescriptionLength = Integer.parseInt(properties.getProperty("task.max.description.length",
+                String.valueOf(TaskValidator.DEFAULT_MAX_DESCRIPTION_LENGTH)));
+
+        LOG.info("Aktiviere Write-behind (Flush ab {} Änderungen oder alle {} ms)", flushSize, flushInterval);
+        return new WriteBehindTaskRepository(backend, maxPending, flushSize, flushInterval, new TaskValidator(maxDescriptionLength));
+    }
+
+    public TaskRepository createCachingRepository(TaskRepository backend){
+        int maxSize = Integer.parseInt(properties.getProperty(CACHE_MAX_SIZE_KEY, "10000"));
+        boolean negativeCaching = Boolean.parseBoolean(properties.getProperty(CACHE_NEGATIVE_KEY, "true"));
+
+        LOG.info("Aktiviere Cache (max. {} Einträge)", maxSize);
+        return new CachingTaskRepository(backend, maxSize, negativeCaching);
+    }
+
+    /*
+     * Äußerste Hülle, misst also die Latenz inklusive Cache und Write-behind
+     */
+    public InstrumentedTaskRepository createInstrumentedRepository(TaskRepository backend){
+        long dumpInterval = Long.parseLong(properties.getProperty("metrics.dump.interval", "0"));
+
+        RepositoryMetrics metrics = new RepositoryMetrics(backend.getClass().getSimpleName());
+        InstrumentedTaskRepository repository = new InstrumentedTaskRepository(backend, metrics);
+        metrics.registerMBeans();
+        metrics.startDump(dumpInterval);
+        return repository;
+    }
+
+    /*
+     * Asynchrone Hülle, Parallelität standardmäßig auf die Pool-Größe begrenzt
+     * Nicht thread-sichere Repositories (z.B. der In-Memory-Fallback von AUTO_DETECT) laufen mit Parallelität 1
+     */
+    public AsyncTaskRepository createAsyncRepository(TaskRepository repository){
+        int maxConcurrency = Integer.parseInt(properties.getProperty("async.max.concurrency",
+                properties.getProperty("mssql.pool.size", String.valueOf(ConnectionPool.DEFAULT_POOL_SIZE))));
+        if (maxConcurrency > 1 && !repository.isThreadSafe()){
+            LOG.warn("Asynchrone Parallelität auf 1 begrenzt: {} ist nicht thread-sicher",
+                    repository.getClass().getSimpleName());
         }
+        return new AsyncTaskRepository(repository, maxConcurrency);
     }
 
     public TaskRepository createInMemoryRepository(){
-        System.out.println("Erstelle In-Memory Repository (für Entwicklung/Tests)");
+        if (Boolean.parseBoolean(properties.getProperty("journal.enabled", "false"))){
+            return createDurableInMemoryRepository();
+        }
+        LOG.info("Erstelle In-Memory Repository (für Entwicklung/Tests)");
         return new InMemoryTaskRepository();
     }
 
+    /*
+     * In-Memory Repository mit Journal und Snapshots im Verzeichnis journal.directory
+     */
+    public DurableTaskRepository createDurableInMemoryRepository(){
+        Path directory = Paths.get(properties.getProperty("journal.directory", "data"));
+        boolean fsync = Boolean.parseBoolean(properties.getProperty("journal.fsync", "true"));
+        long snapshotInterval = Long.parseLong(properties.getProperty("journal.snapshot.interval", "300000"));
+        long snapshotMaxBytes = Long.parseLong(properties.getProperty("journal.snapshot.max.bytes", "67108864"));
+
+        LOG.info("Erstelle dauerhaftes In-Memory Repository (Journal in {})", directory.toAbsolutePath());
+        return new DurableTaskRepository(directory, fsync, snapshotInterval, snapshotMaxBytes);
+    }
+
+    public TaskRepository createConcurrentInMemoryRepository(){
+        LOG.info("Erstelle thread-sicheres In-Memory Repository");
+        return new ConcurrentInMemoryTaskRepository();
+    }
+
+    public TaskRepository createOffHeapRepository(){
+        LOG.info("Erstelle Off-Heap Repository (spaltenorientiert, außerhalb des Heaps)");
+        return new OffHeapTaskRepository();
+    }
+
+    public TaskRepository createSnapshotInMemoryRepository(){
+        LOG.info("Erstelle In-Memory Repository mit Snapshot-Isolation (unveränderliche Aufgaben)");
+        return new SnapshotTaskRepository();
+    }
+
+    /*
+     * sharding.shards Backends vom Typ sharding.backend; MSSQL-Shards brauchen je eine URL in sharding.mssql.urls
+     * In-Memory-Shards laufen ohne Journal, da sich alle Shards sonst ein Journalverzeichnis teilen würden
+     */
+    public ShardedTaskRepository createShardedRepository(){
+        int shardCount = Integer.parseInt(properties.getProperty("sharding.shards", "4"));
+        String backend = properties.getProperty("sharding.backend", TYPE_CONCURRENT_IN_MEMORY).toUpperCase();
+
+        List<TaskRepository> shards = new ArrayList<>(shardCount);
+        if (TYPE_MSSQL.equals(backend)){
+            String[] urls = properties.getProperty("sharding.mssql.urls", "").split(",");
+            if (urls.length != shardCount || urls[0].trim().isEmpty()){
+                throw new IllegalArgumentException("sharding.mssql.urls braucht genau " + shardCount + " URLs");
+            }
+            for (String url : urls){
+                Properties shardProperties = new Properties();
+                shardProperties.putAll(properties);
+                shardProperties.setProperty("mssql.url", url.trim());
+                shards.add(new SqlServerTaskRepository(shardProperties));
+            }
+        }else{
+            for (int i = 0; i < shardCount; i++){
+                shards.add(createShardBackend(backend));
+            }
+        }
+
+        LOG.info("Erstelle Sharded Repository ({} Shards vom Typ {})", shardCount, backend);
+        return new ShardedTaskRepository(shards);
+    }
+
+    private TaskRepository createShardBackend(String backend){
+        switch (backend){
+            case TYPE_IN_MEMORY:
+                return new InMemoryTaskRepository();
+            case TYPE_CONCURRENT_IN_MEMORY:
+                return new ConcurrentInMemoryTaskRepository();
+            case TYPE_OFF_HEAP:
+                return new OffHeapTaskRepository();
+            case TYPE_SNAPSHOT_IN_MEMORY:
+                return new SnapshotTaskRepository();
+            default:
+                throw new IllegalArgumentException("Unbekanntes Shard-Backend: " + backend);
+        }
+    }
+
+    /*
+     * Verbindung, Pool (mssql.pool.*) und alle übrigen mssql.*-Einstellungen aus der Konfiguration
+     */
     public TaskRepository createMssqlRepository(){
-        System.out.println("Erstelle MSSQL Repository");
-        return new SqlServerTaskRepository();
+        LOG.info("Erstelle MSSQL Repository");
+        return new SqlServerTaskRepository(properties);
     }
 
     public TaskRepository createMssqlRepository(String url, String username, String password) {
-        System.out.println("Erstelle MSSQL Repository mit benutzerdefinierter Verbindung");
+        LOG.info("Erstelle MSSQL Repository mit benutzerdefinierter Verbindung");
         return new SqlServerTaskRepository(url, username, password);
     }
 
     private TaskRepository autoDetectRepository(){
-        System.out.println("Auto-Detect: Prüfe MSSQL-Verfügbarkeit...");
+        LOG.info("Auto-Detect: Prüfe MSSQL-Verfügbarkeit...");
 
         try {
-            TaskRepository mssqlRepo = new SqlServerTaskRepository(properties);
+            SqlServerTaskRepository mssqlRepo = new SqlServerTaskRepository(properties);
 
-            mssqlRepo.count();
-            System.out.println("MSSQL verfügbar - verwende Datenbank");
-            return mssqlRepo;
+            if (mssqlRepo.isAvailable()) {
+                LOG.info("MSSQL verfügbar - verwende Datenbank");
+                return mssqlRepo;
+            }
+            mssqlRepo.close();
+            LOG.warn("⚠ MSSQL nicht verfügbar");
 
         } catch (Exception e) {
-            System.out.println("⚠ MSSQL nicht verfügbar: " + e.getMessage());
-            System.out.println("Fallback zu In-Memory Repository");
-            return createInMemoryRepository();
+            LOG.warn("⚠ MSSQL nicht verfügbar: {}", e.getMessage());
         }
+
+        LOG.info("Fallback zu In-Memory Repository");
+        return createInMemoryRepository();
     }
 
     private Properties loadProperties(){
@@ -83,13 +272,13 @@ public class RepositoryFactory{
         try (InputStream input = getClass().getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             if (input != null) {
                 props.load(input);
-                System.out.println("⚙️ Konfiguration geladen aus: " + CONFIG_FILE);
+                LOG.info("⚙️ Konfiguration geladen aus: {}", CONFIG_FILE);
             } else {
-                System.out.println(CONFIG_FILE + " nicht gefunden, verwende Standardwerte");
+                LOG.warn("{} nicht gefunden, verwende Standardwerte", CONFIG_FILE);
                 setDefaultProperties(props);
             }
         } catch (IOException e) {
-            System.err.println("Fehler beim Laden von " + CONFIG_FILE + ": " + e.getMessage());
+            LOG.error("Fehler beim Laden von {}: {}", CONFIG_FILE, e.getMessage());
             setDefaultProperties(props);
         }
         return props;
@@ -108,10 +297,8 @@ public class RepositoryFactory{
     }
 
     public static boolean isMssqlAvailable() {
-        try {
-            SqlServerTaskRepository repo = new SqlServerTaskRepository();
-            repo.count(); // Test-Query
-            return true;
+        try (SqlServerTaskRepository repo = new SqlServerTaskRepository(getInstance().properties)) {
+            return repo.isAvailable();
         } catch (Exception e) {
             return false;
         }
@@ -0,0 +1,522 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/*
+ * Verteilt Aufgaben nach ID auf mehrere Backends (Shards), z.B. mehrere Datenbanken oder Heaps
+ * Globale ID = (lokale ID << 8) | Shard-Nummer: jede ID kennt ihren Shard, max. 256 Shards
+ * Neue Aufgaben gehen reihum an die Shards, explizite IDs an den Shard aus ihren unteren 8 Bits
+ * Punktzugriffe treffen genau einen Shard; findAll/findByStatus/findByDescriptionContaining/count*
+ * und die Stapeloperationen laufen parallel auf allen Shards und werden zusammengeführt
+ * Listen sind aufsteigend, findPage absteigend nach globaler ID sortiert
+ * Backends sehen nur lokale IDs und bekommen Kopien; ausgelieferte Aufgaben sind ebenfalls Kopien
+ */
+
+public class ShardedTaskRepository implements TaskRepository, AutoCloseable{
+    private static final int SHARD_BITS = 8;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+    private static final long SHARD_MASK = MAX_SHARDS - 1;
+    private static final long MAX_LOCAL_ID = Long.MAX_VALUE >>> SHARD_BITS;
+
+    private static final Comparator<Task> BY_ID = Comparator.comparingLong(Task::getTaskId);
+
+    private final TaskRepository[] shards;
+    private final ExecutorService executor;
+    private final AtomicLong nextShard = new AtomicLong();
+
+    public ShardedTaskRepository(List<? extends TaskRepository> shards){
+        if (shards == null || shards.isEmpty() || shards.size() > MAX_SHARDS){
+            throw new IllegalArgumentException("Anzahl der Shards muss zwischen 1 und " + MAX_SHARDS + " liegen");
+        }
+        this.shards = shards.toArray(new TaskRepository[0]);
+
+        if (this.shards.length > 1){
+            // Der Aufrufer übernimmt selbst einen Shard, daher ein Thread weniger
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(this.shards.length - 1, runnable -> {
+                Thread thread = new Thread(runnable, "shard-query-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }else{
+            this.executor = null;
+        }
+    }
+
+    public static long globalId(long localId, int shard){
+        if (localId <= 0 || localId > MAX_LOCAL_ID){
+            throw new IllegalArgumentException("Lokale ID außerhalb des gültigen Bereichs: " + localId);
+        }
+        return (localId << SHARD_BITS) | shard;
+    }
+
+    public static int shardOf(long globalId){
+        return (int) (globalId & SHARD_MASK);
+    }
+
+    public static long localId(long globalId){
+        return globalId >>> SHARD_BITS;
+    }
+
+    public int getShardCount(){
+        return shards.length;
+    }
+
+    public TaskRepository getShard(int shard){
+        return shards[shard];
+    }
+
+    // Parallele Aufrufer erreichen dieselben Shards gleichzeitig
+    @Override
+    public boolean isThreadSafe(){
+        for (TaskRepository shard : shards){
+            if (!shard.isThreadSafe()){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Task save(Task task){
+        int shard;
+        Task local;
+        if (task.getTaskId() == 0){
+            shard = nextShard();
+            local = new Task(0, task.getDescription(), task.getTaskStatus());
+        }else{
+            shard = route(task.getTaskId());
+            if (shard < 0){
+                throw new IllegalArgumentException("ID gehört zu keinem Shard: " + task.getTaskId());
+            }
+            local = toLocal(task);
+        }
+        shards[shard].save(local);
+        task.setTaskId(globalId(local.getTaskId(), shard));
+        return task;
+    }
+
+    @Override
+    public Optional<Task> findById(long id){
+        int shard = route(id);
+        if (shard < 0){
+            return Optional.empty();
+        }
+        return shards[shard].findById(localId(id)).map(task -> toGlobal(task, shard));
+    }
+
+    @Override
+    public List<Task> findAll(){
+        return mergeAscending(fanOut(shard -> toGlobalSorted(shards[shard].findAll(), shard)));
+    }
+
+    @Override
+    public Task update(Task task){
+        int shard = route(task.getTaskId());
+        if (shard < 0){
+            throw new IllegalArgumentException("Task nicht gefunden");
+        }
+        shards[shard].update(toLocal(task));
+        return task;
+    }
+
+    /*
+     * Neue Aufgaben wie save(), sonst an den Shard der ID; vergibt das Backend eine neue lokale ID
+     * (MSSQL bei unbekannter ID), bleibt die Aufgabe auf diesem Shard
+     */
+    @Override
+    public Task saveOrUpdate(Task task){
+        if (task.getTaskId() == 0){
+            return save(task);
+        }
+        int shard = route(task.getTaskId());
+        if (shard < 0){
+            throw new IllegalArgumentException("ID gehört zu keinem Shard: " + task.getTaskId());
+        }
+        Task local = toLocal(task);
+        shards[shard].saveOrUpdate(local);
+        task.setTaskId(globalId(local.getTaskId(), shard));
+        return task;
+    }
+
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        int shard = route(task.getTaskId());
+        return shard >= 0 && shards[shard].updateIfUnchanged(toLocal(task), expectedStatus, expectedDescription);
+    }
+
+    @Override
+    public boolean delete(long id){
+        int shard = route(id);
+        return shard >= 0 && shards[shard].delete(localId(id));
+    }
+
+    @Override
+    public boolean existsById(long id){
+        int shard = route(id);
+        return shard >= 0 && shards[shard].existsById(localId(id));
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status){
+        if (status == null){
+            return new ArrayList<>();
+        }
+        return mergeAscending(fanOut(shard -> toGlobalSorted(shards[shard].findByStatus(status), shard)));
+    }
+
+    @Override
+    public List<Task> findByDescriptionContaining(String keyword){
+        if (keyword == null || keyword.trim().isEmpty()){
+            return new ArrayList<>();
+        }
+        return mergeAscending(fanOut(shard -> toGlobalSorted(shards[shard].findByDescriptionContaining(keyword), shard)));
+    }
+
+    @Override
+    public long count(){
+        return fanOut(shard -> shards[shard].count()).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status){
+        if (status == null){
+            return 0;
+        }
+        return fanOut(shard -> shards[shard].countByStatus(status)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public TaskStatistics statistics(){
+        return TaskStatistics.sum(fanOut(shard -> shards[shard].statistics()));
+    }
+
+    /*
+     * Verteilt den Stapel und speichert je Shard mit einem saveAll, alle Shards parallel
+     * Jeder Shard setzt die globalen IDs seiner Aufgaben selbst, damit sie auch dann stimmen,
+     * wenn ein anderer Shard scheitert und fanOut dessen Fehler weitergibt
+     */
+    @Override
+    public void saveAll(List<Task> taskList){
+        if (taskList == null || taskList.isEmpty()) return;
+
+        List<List<Task>> originals = perShard();
+        List<List<Task>> locals = perShard();
+        for (Task task : taskList){
+            int shard;
+            if (task.getTaskId() == 0){
+                shard = nextShard();
+            }else{
+                shard = route(task.getTaskId());
+                if (shard < 0){
+                    throw new IllegalArgumentException("ID gehört zu keinem Shard: " + task.getTaskId());
+                }
+            }
+            originals.get(shard).add(task);
+            locals.get(shard).add(toLocal(task));
+        }
+
+        fanOut(shard -> {
+            List<Task> saved = locals.get(shard);
+            if (!saved.isEmpty()){
+                shards[shard].saveAll(saved);
+                for (int i = 0; i < saved.size(); i++){
+                    originals.get(shard).get(i).setTaskId(globalId(saved.get(i).getTaskId(), shard));
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(){
+        fanOut(shard -> {
+            shards[shard].deleteAll();
+            return null;
+        });
+    }
+
+    @Override
+    public int updateAll(List<Task> taskList){
+        if (taskList == null || taskList.isEmpty()) return 0;
+
+        List<List<Task>> locals = perShard();
+        for (Task task : taskList){
+            int shard = route(task.getTaskId());
+            if (shard >= 0){
+                locals.get(shard).add(toLocal(task));
+            }
+        }
+        return fanOut(shard -> locals.get(shard).isEmpty() ? 0 : shards[shard].updateAll(locals.get(shard)))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> ids){
+        if (ids == null || ids.isEmpty()) return 0;
+
+        List<List<Long>> locals = perShard();
+        for (Long id : ids){
+            int shard = id == null ? -1 : route(id);
+            if (shard >= 0){
+                locals.get(shard).add(localId(id));
+            }
+        }
+        return fanOut(shard -> locals.get(shard).isEmpty() ? 0 : shards[shard].deleteAllById(locals.get(shard)))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        if (from == null || to == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        return fanOut(shard -> shards[shard].updateStatus(from, to)).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        return fanOut(shard -> shards[shard].deleteByStatus(status)).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (ids == null || ids.isEmpty()) return 0;
+
+        List<List<Long>> locals = perShard();
+        for (Long id : ids){
+            int shard = id == null ? -1 : route(id);
+            if (shard >= 0){
+                locals.get(shard).add(localId(id));
+            }
+        }
+        return fanOut(shard -> locals.get(shard).isEmpty() ? 0 : shards[shard].updateStatusByIds(locals.get(shard), status))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /*
+     * Shard für Shard nacheinander, ohne Sortierung; jeder Shard-Stream wird nach Gebrauch geschlossen
+     */
+    @Override
+    public Stream<Task> streamAll(){
+        return IntStream.range(0, shards.length).boxed()
+                .flatMap(shard -> shards[shard].streamAll().map(task -> toGlobal(task, shard)));
+    }
+
+    /*
+     * Je Shard die pageSize + 1 größten lokalen IDs unterhalb der Grenze, parallel, dann absteigend gemischt
+     * Die Shards bekommen immer einen ID-Cursor, damit auch MSSQL-Shards nach ID blättern
+     */
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        if (pageSize <= 0){
+            throw new IllegalArgumentException("Seitengröße muss positiv sein");
+        }
+
+        int shardPageSize = pageSize == Integer.MAX_VALUE ? pageSize : pageSize + 1;
+        List<List<Task>> pages = fanOut(shard -> {
+            long bound = localBound(after, shard);
+            if (bound <= 1){
+                return Collections.<Task>emptyList();
+            }
+            List<Task> page = shards[shard].findPage(PageCursor.afterId(bound), shardPageSize).getTasks();
+            List<Task> result = new ArrayList<>(page.size());
+            for (Task task : page){
+                result.add(toGlobal(task, shard));
+            }
+            return result;
+        });
+
+        long available = 0;
+        for (List<Task> page : pages){
+            available += page.size();
+        }
+        List<Task> candidates = new ArrayList<>((int) Math.min(pageSize + 1L, available));
+        PriorityQueue<int[]> heads = new PriorityQueue<>(
+                (a, b) -> Long.compare(pages.get(b[0]).get(b[1]).getTaskId(), pages.get(a[0]).get(a[1]).getTaskId()));
+        for (int shard = 0; shard < pages.size(); shard++){
+            if (!pages.get(shard).isEmpty()){
+                heads.add(new int[]{shard, 0});
+            }
+        }
+        while (!heads.isEmpty() && candidates.size() <= pageSize){
+            int[] head = heads.poll();
+            List<Task> page = pages.get(head[0]);
+            candidates.add(page.get(head[1]));
+            if (head[1] + 1 < page.size()){
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return TaskPage.of(candidates, pageSize);
+    }
+
+    /*
+     * Schließt alle Shards, auch wenn einzelne fehlschlagen; der erste Fehler wird weitergereicht
+     */
+    @Override
+    public void close(){
+        if (executor != null){
+            executor.shutdownNow();
+        }
+        RuntimeException failure = null;
+        for (TaskRepository shard : shards){
+            try{
+                ForwardingTaskRepository.closeResource(shard);
+            }catch (RuntimeException e){
+                if (failure == null){
+                    failure = e;
+                }else{
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null){
+            throw failure;
+        }
+    }
+
+    private int nextShard(){
+        return (int) (nextShard.getAndIncrement() % shards.length);
+    }
+
+    // Shard der globalen ID oder -1, wenn die ID zu keinem Shard gehört
+    private int route(long globalId){
+        if (globalId <= 0){
+            return -1;
+        }
+        int shard = shardOf(globalId);
+        return shard < shards.length && localId(globalId) > 0 ? shard : -1;
+    }
+
+    /*
+     * Kleinste lokale ID, die auf diesem Shard nicht mehr zur Seite gehört:
+     * global < after  <=>  lokal * 256 + shard < after  <=>  lokal <= (after - shard - 1) / 256
+     */
+    private static long localBound(PageCursor after, int shard){
+        if (after == null){
+            return Long.MAX_VALUE;
+        }
+        long limit = after.getId() - shard - 1;
+        return limit < 0 ? 0 : (limit >> SHARD_BITS) + 1;
+    }
+
+    private static Task toLocal(Task task){
+        return new Task(localId(task.getTaskId()), task.getDescription(), task.getTaskStatus());
+    }
+
+    private static Task toGlobal(Task task, int shard){
+        return new Task(globalId(task.getTaskId(), shard), task.getDescription(), task.getTaskStatus());
+    }
+
+    private static List<Task> toGlobalSorted(List<Task> tasks, int shard){
+        List<Task> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks){
+            result.add(toGlobal(task, shard));
+        }
+        result.sort(BY_ID);
+        return result;
+    }
+
+    private static List<Task> mergeAscending(List<List<Task>> sorted){
+        int total = 0;
+        for (List<Task> tasks : sorted){
+            total += tasks.size();
+        }
+        List<Task> result = new ArrayList<>(total);
+        PriorityQueue<int[]> heads = new PriorityQueue<>(
+                (a, b) -> BY_ID.compare(sorted.get(a[0]).get(a[1]), sorted.get(b[0]).get(b[1])));
+        for (int shard = 0; shard < sorted.size(); shard++){
+            if (!sorted.get(shard).isEmpty()){
+                heads.add(new int[]{shard, 0});
+            }
+        }
+        while (!heads.isEmpty()){
+            int[] head = heads.poll();
+            List<Task> tasks = sorted.get(head[0]);
+            result.add(tasks.get(head[1]));
+            if (head[1] + 1 < tasks.size()){
+                head[1]++;
+                heads.add(head);
+            }
+        }
+        return result;
+    }
+
+    private <T> List<List<T>> perShard(){
+        List<List<T>> lists = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++){
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+
+    /*
+     * Führt die Abfrage auf allen Shards aus; der letzte Shard läuft im aufrufenden Thread
+     * Fehler eines Shards werden nach dem Warten auf alle anderen weitergegeben
+     */
+    private <R> List<R> fanOut(IntFunction<R> query){
+        int last = shards.length - 1;
+        List<Future<R>> futures = new ArrayList<>(last);
+        for (int shard = 0; shard < last; shard++){
+            int target = shard;
+            futures.add(executor.submit(() -> query.apply(target)));
+        }
+
+        List<R> results = new ArrayList<>(shards.length);
+        RuntimeException failure = null;
+        R own = null;
+        try{
+            own = query.apply(last);
+        }catch (RuntimeException e){
+            failure = e;
+        }
+
+        for (Future<R> future : futures){
+            try{
+                results.add(future.get());
+            }catch (ExecutionException e){
+                RuntimeException cause = e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : new IllegalStateException("Shard-Abfrage fehlgeschlagen", e.getCause());
+                if (failure == null){
+                    failure = cause;
+                }else{
+                    failure.addSuppressed(cause);
+                }
+            }catch (InterruptedException e){
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Shard-Abfrage unterbrochen", e);
+            }
+        }
+        if (failure != null){
+            throw failure;
+        }
+        results.add(own);
+        return results;
+    }
+}
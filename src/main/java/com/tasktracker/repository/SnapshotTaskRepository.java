@@ -0,0 +1,562 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.FrozenTask;
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * In-Memory Repository mit Snapshot-Isolation für leselastige Anwendungen (Dashboards)
+ * Der gesamte Zustand ist eine unveränderliche Version aus persistenten Tries (alle Aufgaben und je Status),
+ * veröffentlicht über eine AtomicReference
+ * Lesen: eine volatile-Referenz holen, danach ohne Lock und ohne Kopie; findAll()/findByStatus() liefern
+ *   in O(1) eine unveränderliche Sicht auf genau diese Version, spätere Schreibzugriffe ändern sie nicht
+ * Schreiben: ein Schreiber zur Zeit, Pfadkopie O(log32 n), saveAll/updateAll/deleteAllById werden
+ *   als eine einzige neue Version sichtbar
+ * Gespeichert und ausgeliefert werden nur FrozenTask-Instanzen, deren Setter werfen
+ * Änderungsereignisse werden unter dem Schreib-Lock nach dem Veröffentlichen der Version erzeugt
+ */
+
+public class SnapshotTaskRepository implements ObservableTaskRepository{
+
+    private final AtomicReference<Version> current = new AtomicReference<>(Version.EMPTY);
+    private final Object writeLock = new Object();
+    private final TaskChangePublisher changes = new TaskChangePublisher();
+
+    /*
+     * Konsistente Sicht für mehrere aufeinanderfolgende Lesezugriffe
+     */
+    public ReadView snapshot(){
+        return new ReadView(current.get());
+    }
+
+    @Override
+    public Task save(Task task){
+        synchronized (writeLock){
+            Version version = current.get();
+            long id = task.getTaskId();
+            long nextId = version.nextId;
+            if (id == 0){
+                id = nextId++;
+                if (!(task instanceof FrozenTask)){
+                    task.setTaskId(id);
+                }
+            }else if (id >= nextId){
+                // Explizite IDs (Import, Wiederherstellung) dürfen später nicht erneut vergeben werden
+                nextId = id + 1;
+            }
+            FrozenTask frozen = FrozenTask.of(task, id);
+            Task previous = version.tasks.get(id);
+            current.set(version.put(frozen, nextId));
+            changes.saved(previous != null, id, previous == null ? null : previous.getTaskStatus(),
+                    frozen.getTaskStatus(), frozen.getDescription());
+            return task.getTaskId() == id ? task : frozen;
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(long id){
+        return Optional.ofNullable(current.get().tasks.get(id));
+    }
+
+    @Override
+    public List<Task> findAll(){
+        return current.get().all();
+    }
+
+    @Override
+    public Task update(Task task){
+        synchronized (writeLock){
+            Version version = current.get();
+            Task previous = version.tasks.get(task.getTaskId());
+            if (previous == null){
+                throw new IllegalArgumentException("Task nicht gefunden");
+            }
+            current.set(version.put(FrozenTask.of(task), version.nextId));
+            changes.updated(task.getTaskId(), previous.getTaskStatus(), task.getTaskStatus(), task.getDescription());
+            return task;
+        }
+    }
+
+    @Override
+    public Task saveOrUpdate(Task task){
+        return save(task);
+    }
+
+    // Gespeicherte Aufgaben sind unveränderlich, der Vergleich ist daher immer zuverlässig
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        synchronized (writeLock){
+            Version version = current.get();
+            Task previous = version.tasks.get(task.getTaskId());
+            if (previous == null || previous.getTaskStatus() != expectedStatus
+                    || !previous.getDescription().equals(expectedDescription)){
+                return false;
+            }
+            current.set(version.put(FrozenTask.of(task), version.nextId));
+            changes.updated(task.getTaskId(), previous.getTaskStatus(), task.getTaskStatus(), task.getDescription());
+            return true;
+        }
+    }
+
+    @Override
+    public boolean delete(long id){
+        if (id <= 0){
+            return false;
+        }
+        synchronized (writeLock){
+            Version version = current.get();
+            Task previous = version.tasks.get(id);
+            if (previous == null){
+                return false;
+            }
+            current.set(version.remove(id));
+            changes.deleted(id, previous.getTaskStatus());
+            return true;
+        }
+    }
+
+    @Override
+    public boolean existsById(long id){
+        return id > 0 && current.get().tasks.get(id) != null;
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status){
+        if (status == null){
+            return Collections.emptyList();
+        }
+        return current.get().byStatus(status);
+    }
+
+    @Override
+    public List<Task> findByDescriptionContaining(String keyword){
+        return current.get().search(keyword);
+    }
+
+    @Override
+    public long count(){
+        return current.get().tasks.size();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status){
+        if (status == null){
+            return 0;
+        }
+        return current.get().statusTrie(status).size();
+    }
+
+    @Override
+    public TaskStatistics statistics(){
+        return current.get().statistics();
+    }
+
+    @Override
+    public void saveAll(List<Task> taskList){
+        if (taskList == null) return;
+
+        synchronized (writeLock){
+            Version version = current.get();
+            long nextId = version.nextId;
+            // Ereignisse erst nach dem Veröffentlichen der gesamten Version, daher Vorher/Nachher merken
+            boolean publish = changes.hasSubscribers();
+            List<Task> previous = publish ? new ArrayList<>(taskList.size()) : null;
+            List<FrozenTask> stored = publish ? new ArrayList<>(taskList.size()) : null;
+            for (Task task : taskList){
+                long id = task.getTaskId();
+                if (id == 0){
+                    id = nextId++;
+                    if (!(task instanceof FrozenTask)){
+                        task.setTaskId(id);
+                    }
+                }else if (id >= nextId){
+                    nextId = id + 1;
+                }
+                FrozenTask frozen = FrozenTask.of(task, id);
+                if (publish){
+                    previous.add(version.tasks.get(id));
+                    stored.add(frozen);
+                }
+                version = version.put(frozen, nextId);
+            }
+            current.set(version);
+
+            if (publish){
+                for (int i = 0; i < stored.size(); i++){
+                    Task old = previous.get(i);
+                    FrozenTask task = stored.get(i);
+                    changes.saved(old != null, task.getTaskId(), old == null ? null : old.getTaskStatus(),
+                            task.getTaskStatus(), task.getDescription());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void deleteAll(){
+        synchronized (writeLock){
+            current.set(Version.EMPTY);
+            changes.cleared();
+        }
+    }
+
+    @Override
+    public int updateAll(List<Task> taskList){
+        if (taskList == null) return 0;
+
+        synchronized (writeLock){
+            Version version = current.get();
+            List<Task> previous = changes.hasSubscribers() ? new ArrayList<>() : null;
+            List<Task> applied = new ArrayList<>(taskList.size());
+            for (Task task : taskList){
+                Task old = version.tasks.get(task.getTaskId());
+                if (old != null){
+                    FrozenTask frozen = FrozenTask.of(task);
+                    version = version.put(frozen, version.nextId);
+                    applied.add(frozen);
+                    if (previous != null){
+                        previous.add(old);
+                    }
+                }
+            }
+            current.set(version);
+
+            if (previous != null){
+                for (int i = 0; i < applied.size(); i++){
+                    Task task = applied.get(i);
+                    changes.updated(task.getTaskId(), previous.get(i).getTaskStatus(), task.getTaskStatus(), task.getDescription());
+                }
+            }
+            return applied.size();
+        }
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> ids){
+        if (ids == null) return 0;
+
+        synchronized (writeLock){
+            Version version = current.get();
+            List<Task> removed = new ArrayList<>();
+            for (Long id : ids){
+                Task old = id == null ? null : version.tasks.get(id);
+                if (old != null){
+                    version = version.remove(id);
+                    removed.add(old);
+                }
+            }
+            current.set(version);
+
+            for (Task task : removed){
+                changes.deleted(task.getTaskId(), task.getTaskStatus());
+            }
+            return removed.size();
+        }
+    }
+
+    /*
+     * Alle Änderungen in einer neuen Version, Leser sehen entweder keine oder alle
+     */
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        if (from == null || to == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (from == to) return 0;
+
+        synchronized (writeLock){
+            Version version = current.get();
+            List<Task> affected = new ArrayList<>(version.statusTrie(from).size());
+            for (Task task : version.statusTrie(from)){
+                affected.add(task);
+            }
+            for (Task task : affected){
+                version = version.put(FrozenTask.of(task).withStatus(to), version.nextId);
+            }
+            current.set(version);
+
+            for (Task task : affected){
+                changes.updated(task.getTaskId(), from, to, task.getDescription());
+            }
+            return affected.size();
+        }
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+
+        synchronized (writeLock){
+            Version version = current.get();
+            List<Task> affected = new ArrayList<>(version.statusTrie(status).size());
+            for (Task task : version.statusTrie(status)){
+                affected.add(task);
+            }
+            for (Task task : affected){
+                version = version.remove(task.getTaskId());
+            }
+            current.set(version);
+
+            for (Task task : affected){
+                changes.deleted(task.getTaskId(), status);
+            }
+            return affected.size();
+        }
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (ids == null) return 0;
+
+        synchronized (writeLock){
+            Version version = current.get();
+            List<Task> previous = new ArrayList<>();
+            for (Long id : new LinkedHashSet<>(ids)){
+                Task old = id == null ? null : version.tasks.get(id);
+                if (old != null){
+                    version = version.put(FrozenTask.of(old).withStatus(status), version.nextId);
+                    previous.add(old);
+                }
+            }
+            current.set(version);
+
+            for (Task old : previous){
+                changes.updated(old.getTaskId(), old.getTaskStatus(), status, old.getDescription());
+            }
+            return previous.size();
+        }
+    }
+
+    @Override
+    public boolean isThreadSafe(){
+        return true;
+    }
+
+    @Override
+    public ChangeSubscription subscribe(TaskChangeListener listener, int capacity, ChangeSubscription.OverflowPolicy policy){
+        return changes.subscribe(listener, capacity, policy);
+    }
+
+    @Override
+    public Stream<Task> streamAll(){
+        return current.get().stream();
+    }
+
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        return current.get().page(after, pageSize);
+    }
+
+    /*
+     * Unveränderlicher Zustand; put()/remove() liefern neue Versionen mit geteilten Teilbäumen
+     */
+    private static final class Version{
+        static final Version EMPTY = new Version(PersistentTaskTrie.EMPTY, emptyStatusTries(), 1);
+
+        final PersistentTaskTrie tasks;
+        final PersistentTaskTrie[] statusTries;
+        final long nextId;
+
+        Version(PersistentTaskTrie tasks, PersistentTaskTrie[] statusTries, long nextId){
+            this.tasks = tasks;
+            this.statusTries = statusTries;
+            this.nextId = nextId;
+        }
+
+        Version put(FrozenTask task, long nextId){
+            Task previous = tasks.get(task.getTaskId());
+            PersistentTaskTrie[] statuses = statusTries.clone();
+            if (previous != null && previous.getTaskStatus() != null){
+                int ordinal = previous.getTaskStatus().ordinal();
+                statuses[ordinal] = statuses[ordinal].without(task.getTaskId());
+            }
+            if (task.getTaskStatus() != null){
+                int ordinal = task.getTaskStatus().ordinal();
+                statuses[ordinal] = statuses[ordinal].with(task);
+            }
+            return new Version(tasks.with(task), statuses, nextId);
+        }
+
+        Version remove(long id){
+            Task previous = tasks.get(id);
+            if (previous == null){
+                return this;
+            }
+            PersistentTaskTrie[] statuses = statusTries;
+            if (previous.getTaskStatus() != null){
+                statuses = statusTries.clone();
+                int ordinal = previous.getTaskStatus().ordinal();
+                statuses[ordinal] = statuses[ordinal].without(id);
+            }
+            return new Version(tasks.without(id), statuses, nextId);
+        }
+
+        PersistentTaskTrie statusTrie(TaskStatus status){
+            return statusTries[status.ordinal()];
+        }
+
+        TaskStatistics statistics(){
+            Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()){
+                counts.put(status, (long) statusTrie(status).size());
+            }
+            return new TaskStatistics(tasks.size(), counts);
+        }
+
+        List<Task> all(){
+            return new TrieListView(tasks);
+        }
+
+        List<Task> byStatus(TaskStatus status){
+            return new TrieListView(statusTrie(status));
+        }
+
+        List<Task> search(String keyword){
+            if (keyword == null || keyword.trim().isEmpty()){
+                return Collections.emptyList();
+            }
+            String lowerKeyword = keyword.toLowerCase();
+            List<Task> result = new ArrayList<>();
+            for (Task task : tasks){
+                if (task.getDescription().toLowerCase().contains(lowerKeyword)){
+                    result.add(task);
+                }
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        Stream<Task> stream(){
+            return StreamSupport.stream(Spliterators.spliterator(tasks.iterator(), tasks.size(),
+                    Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+        }
+
+        TaskPage page(PageCursor after, int pageSize){
+            if (pageSize <= 0){
+                throw new IllegalArgumentException("Seitengröße muss positiv sein");
+            }
+            Iterator<Task> descending = tasks.descendingIterator(after == null ? Long.MAX_VALUE : after.getId());
+            List<Task> candidates = new ArrayList<>((int) Math.min(pageSize + 1L, tasks.size()));
+            while (descending.hasNext() && candidates.size() <= pageSize){
+                candidates.add(descending.next());
+            }
+            return TaskPage.of(candidates, pageSize);
+        }
+
+        private static PersistentTaskTrie[] emptyStatusTries(){
+            PersistentTaskTrie[] tries = new PersistentTaskTrie[TaskStatus.values().length];
+            for (int i = 0; i < tries.length; i++){
+                tries[i] = PersistentTaskTrie.EMPTY;
+            }
+            return tries;
+        }
+    }
+
+    /*
+     * Unveränderliche Listen-Sicht auf einen Trie, aufsteigend nach ID
+     * size() und Iteration ohne Kopie; erst ein Zugriff per Index legt einmalig ein Array an
+     */
+    private static final class TrieListView extends AbstractList<Task>{
+        private final PersistentTaskTrie trie;
+        private volatile Task[] indexed;
+
+        TrieListView(PersistentTaskTrie trie){
+            this.trie = trie;
+        }
+
+        @Override
+        public Task get(int index){
+            Objects.checkIndex(index, trie.size());
+            Task[] array = indexed;
+            if (array == null){
+                array = new Task[trie.size()];
+                int i = 0;
+                for (Task task : trie){
+                    array[i++] = task;
+                }
+                indexed = array;
+            }
+            return array[index];
+        }
+
+        @Override
+        public int size(){
+            return trie.size();
+        }
+
+        @Override
+        public Iterator<Task> iterator(){
+            return trie.iterator();
+        }
+
+        @Override
+        public Spliterator<Task> spliterator(){
+            return Spliterators.spliterator(trie.iterator(), trie.size(),
+                    Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
+    }
+
+    /*
+     * Alle Abfragen gegen dieselbe Version, z.B. Liste und Zähler eines Dashboards
+     */
+    public static final class ReadView{
+        private final Version version;
+
+        private ReadView(Version version){
+            this.version = version;
+        }
+
+        public Optional<Task> findById(long id){
+            return Optional.ofNullable(version.tasks.get(id));
+        }
+
+        public List<Task> findAll(){
+            return version.all();
+        }
+
+        public List<Task> findByStatus(TaskStatus status){
+            return status == null ? Collections.emptyList() : version.byStatus(status);
+        }
+
+        public List<Task> findByDescriptionContaining(String keyword){
+            return version.search(keyword);
+        }
+
+        public long count(){
+            return version.tasks.size();
+        }
+
+        public long countByStatus(TaskStatus status){
+            return status == null ? 0 : version.statusTrie(status).size();
+        }
+
+        public TaskStatistics statistics(){
+            return version.statistics();
+        }
+
+        public TaskPage findPage(PageCursor after, int pageSize){
+            return version.page(after, pageSize);
+        }
+    }
+}
@@ -1,29 +1,70 @@
 package com.tasktracker.repository;
 
+import com.tasktracker.logging.LogManager;
+import com.tasktracker.logging.Logger;
 import com.tasktracker.model.Task;
 import com.tasktracker.model.TaskStatus;
+import com.tasktracker.model.TaskValidator;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.*;
-
-public class SqlServerTaskRepository implements TaskRepository{
-    private final String connectionUrl;
-    private final String username;
-    private final String password;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class SqlServerTaskRepository implements ObservableTaskRepository, AutoCloseable{
+    private static final Logger LOG = LogManager.getLogger(SqlServerTaskRepository.class);
+
+    // SQL Server erlaubt max. 1000 Zeilen je VALUES-Liste und 2100 Parameter je Statement
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+    private static final int MAX_ROWS_PER_UPDATE = 700;
+    private static final int MAX_IDS_PER_STATEMENT = 2000;
+
+    private final ConnectionPool connectionPool;
+    private final int batchInsertSize;
+    private final int batchUpdateSize;
+    private final int fetchSize;
+    private final TaskValidator validator;
+
+    /*
+     * Herkunft von count()/countByStatus():
+     * TABLE   COUNT(*) auf Tasks
+     * VIEW    indizierte Sicht vw_TaskStatusCounts (sql/07_migration_task_counters.sql)
+     * CACHED  Zähler im Prozess, periodisch mit der Datenbank abgeglichen
+     * AUTO    VIEW, falls die Sicht existiert, sonst TABLE
+     */
+    public enum CounterMode{ AUTO, TABLE, VIEW, CACHED }
+
+    private final CounterMode counterMode;
+
+    /*
+     * Pfad von findByDescriptionContaining():
+     * LIKE      (Standard) LOWER(description) LIKE '%...%', immer ein Scan über Tasks
+     * FULLTEXT  nur explizit: CONTAINS über den Volltextindex (sql/08_migration_fulltext_search.sql), LIKE prüft
+     *           nur noch die Treffer nach; ändert die Bedeutung der Suche:
+     *           - findet ganze Wörter und Wortanfänge, keine Teilwörter mitten im Wort ("view" findet nicht "review")
+     *           - der Index wird im Hintergrund nachgeführt (CHANGE_TRACKING AUTO), gerade gespeicherte oder
+     *             geänderte Aufgaben sind erst nach einer kurzen Verzögerung auffindbar (eventual consistency)
+     */
+    public enum SearchMode{ FULLTEXT, LIKE }
+
+    private final SearchMode searchMode;
+    private final TaskCounters counters = new TaskCounters();
+    private final ScheduledExecutorService reconciler;
+
+    // Nur Änderungen über dieses Repository-Objekt, nicht die anderer Prozesse
+    private final TaskChangePublisher changes = new TaskChangePublisher();
 
     public SqlServerTaskRepository(String connectionUrl, String username, String password){
-        this.connectionUrl = connectionUrl;
-        this.username = username;
-        this.password = password;
-        validateConnection();
+        this(new ConnectionPool(connectionUrl, username, password));
     }
 
     public SqlServerTaskRepository(Properties properties){
-        this(
-                properties.getProperty("mssql.url", "jdbc:sqlserver://localhost:1433;"+
-                        "databaseName=TaskTrackedDB;trustServerCertificate=true"),
-                properties.getProperty("mssql.username", "sa"),
-                properties.getProperty("mssql.password", ""));
+        this(new ConnectionPool(properties), properties);
     }
 
     public SqlServerTaskRepository(){
@@ -33,28 +74,123 @@ public class SqlServerTaskRepository implements TaskRepository{
         );
     }
 
+    public SqlServerTaskRepository(ConnectionPool connectionPool){
+        this(connectionPool, new Properties());
+    }
+
+    public SqlServerTaskRepository(ConnectionPool connectionPool, Properties properties){
+        this.connectionPool = connectionPool;
+        this.batchInsertSize = Math.min(MAX_ROWS_PER_INSERT,
+                Math.max(1, Integer.parseInt(properties.getProperty("batch.insert.size", "100"))));
+        this.batchUpdateSize = Math.min(MAX_ROWS_PER_UPDATE,
+                Math.max(1, Integer.parseInt(properties.getProperty("batch.update.size", "50"))));
+        this.fetchSize = Integer.parseInt(properties.getProperty("mssql.fetch.size", "500"));
+        this.validator = new TaskValidator(Integer.parseInt(properties.getProperty("task.max.description.length",
+                String.valueOf(TaskValidator.DEFAULT_MAX_DESCRIPTION_LENGTH))));
+        validateConnection();
+
+        CounterMode mode = CounterMode.valueOf(properties.getProperty("mssql.counters.mode", "AUTO").toUpperCase());
+        this.counterMode = mode == CounterMode.AUTO ? detectCounterMode() : mode;
+
+        this.searchMode = SearchMode.valueOf(properties.getProperty("mssql.search.mode", "LIKE").toUpperCase());
+
+        if (counterMode == CounterMode.CACHED){
+            long interval = Long.parseLong(properties.getProperty("mssql.counters.reconcile.interval", "60000"));
+            reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "task-counter-reconciler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reconciler.scheduleWithFixedDelay(this::reconcileQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }else{
+            reconciler = null;
+        }
+    }
+
     private void validateConnection(){
         try (Connection conn = getConnection()) {
-            System.out.println("MSSQL Repository: Verbindung validiert");
+            LOG.info("MSSQL Repository: Verbindung validiert");
         }catch (SQLException e){
-            System.err.println("MSSQL Repository: Verbindung fehlgeschlagen");
-            System.err.println("URL: " + connectionUrl);
-            System.err.println("Fehler: " + e.getMessage());
+            LOG.error("MSSQL Repository: Verbindung fehlgeschlagen (URL: {}): {}", connectionPool.getUrl(), e.getMessage());
         }
     }
 
     private Connection getConnection() throws SQLException{
-        try{
-            Class.forName("com.microsoft.sqlserver.jdbc.SQLServerDriver");
-        }catch (ClassNotFoundException e){
-            throw new SQLException("JDBC Driver nicht gefunden", e);
+        return connectionPool.getConnection();
+    }
+
+    /*
+     * Leichtgewichtige Erreichbarkeitsprüfung ohne Abfrage auf Tasks
+     */
+    public boolean isAvailable(){
+        try (Connection conn = getConnection()){
+            return conn.isValid(5);
+        }catch (SQLException e){
+            return false;
         }
+    }
 
-        if (username == null || username.isEmpty()){
-            return DriverManager.getConnection(connectionUrl);
-        }else{
-            return DriverManager.getConnection(connectionUrl, username, password);
+    public CounterMode getCounterMode(){
+        return counterMode;
+    }
+
+    private CounterMode detectCounterMode(){
+        String sql = "SELECT 1 FROM sys.indexes WHERE object_id = OBJECT_ID('vw_TaskStatusCounts') AND index_id = 1";
+
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)){
+            return rs.next() ? CounterMode.VIEW : CounterMode.TABLE;
+        }catch (SQLException e){
+            return CounterMode.TABLE;
+        }
+    }
+
+    public SearchMode getSearchMode(){
+        return searchMode;
+    }
+
+    /*
+     * Suchbedingung für CONTAINS: jedes Wort des Suchbegriffs als Präfixterm, verknüpft mit AND
+     * "Kategorie 7" -> "kategorie*" AND "7*"; null, wenn der Begriff kein Wort enthält
+     */
+    static String fullTextCondition(String keyword){
+        StringBuilder condition = new StringBuilder();
+        for (String word : keyword.toLowerCase().split("[^\\p{L}\\p{Nd}]+")){
+            if (word.isEmpty()) continue;
+            if (condition.length() > 0){
+                condition.append(" AND ");
+            }
+            condition.append('"').append(word).append("*\"");
+        }
+        return condition.length() == 0 ? null : condition.toString();
+    }
+
+    // Jeder Aufruf holt sich eine eigene Verbindung aus dem Pool
+    @Override
+    public boolean isThreadSafe(){
+        return true;
+    }
+
+    /*
+     * Ereignisse nach erfolgreichem Commit; bei parallelen Änderungen derselben ID
+     * kann die Zustellreihenfolge von der Reihenfolge in der Datenbank abweichen
+     */
+    @Override
+    public ChangeSubscription subscribe(TaskChangeListener listener, int capacity, ChangeSubscription.OverflowPolicy policy){
+        return changes.subscribe(listener, capacity, policy);
+    }
+
+    public ConnectionPool.Stats getPoolStats(){
+        return connectionPool.getStats();
+    }
+
+    @Override
+    public void close(){
+        if (reconciler != null){
+            reconciler.shutdownNow();
         }
+        connectionPool.close();
     }
 
     @Override
@@ -78,7 +214,9 @@ public class SqlServerTaskRepository implements TaskRepository{
                 if (generatedKeys.next()){
                     long id = generatedKeys.getLong(1);
                     task.setTaskId(id);
-                    System.out.println("Aufgabe gespeichert (ID: " + id + ")");
+                    counters.added(task.getTaskStatus(), 1);
+                    changes.created(id, task.getTaskStatus(), task.getDescription());
+                    LOG.debug("Aufgabe gespeichert (ID: {})", id);
                 }else{
                     throw new SQLException("Speichern fehlgeschlagen, keine ID erhalten");
                 }
@@ -127,7 +265,7 @@ public class SqlServerTaskRepository implements TaskRepository{
                 tasks.add(mapRowToTask(rs));
             }
 
-            System.out.println(tasks.size() + " Aufgaben geladen");
+            LOG.debug("{} Aufgaben geladen", tasks.size());
 
         }catch (SQLException e){
             throw new PersistenceException("Fehler beim Laden aller Aufgaben", e);
@@ -143,7 +281,12 @@ public class SqlServerTaskRepository implements TaskRepository{
             throw new IllegalArgumentException("Task-ID muss positiv sein für Update");
         }
 
-        String sql = "UPDATE Tasks SET description = ?, status = ?, updated_at = GETDATE() WHERE id = ?";
+        // Vorheriger Status im selben Roundtrip, für die Zähler
+        String sql = "SET NOCOUNT ON; "
+                + "DECLARE @old TABLE (status NVARCHAR(20)); "
+                + "UPDATE Tasks SET description = ?, status = ?, updated_at = GETDATE() "
+                + "OUTPUT DELETED.status INTO @old WHERE id = ?; "
+                + "SELECT status FROM @old;";
 
         try (Connection conn = getConnection();
             PreparedStatement pstmt = conn.prepareStatement(sql)){
@@ -152,13 +295,22 @@ public class SqlServerTaskRepository implements TaskRepository{
             pstmt.setString(2, task.getTaskStatus().name());
             pstmt.setLong(3, task.getTaskId());
 
-            int affectedRows = pstmt.executeUpdate();
+            String oldStatus = null;
+            boolean found;
+            try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+                found = rs != null && rs.next();
+                if (found){
+                    oldStatus = rs.getString(1);
+                }
+            }
 
-            if (affectedRows == 0){
+            if (!found){
                 throw new IllegalArgumentException("Task mit ID: " + task.getTaskId() + " wurde nicht gefunden");
             }
+            counters.changed(parseStatus(oldStatus), task.getTaskStatus());
+            changes.updated(task.getTaskId(), parseStatus(oldStatus), task.getTaskStatus(), task.getDescription());
 
-            System.out.println("Aufgabe aktualisiert (ID: " + task.getTaskId() + ")");
+            LOG.debug("Aufgabe aktualisiert (ID: {})", task.getTaskId());
             return task;
 
         }catch (SQLException e){
@@ -166,23 +318,126 @@ public class SqlServerTaskRepository implements TaskRepository{
         }
     }
 
+    /*
+     * Ein MERGE statt Existenzprüfung plus INSERT/UPDATE; HOLDLOCK schützt nur die Anweisung selbst
+     * vor einem parallelen Einfügen derselben ID. Unbekannte IDs werden neu angelegt und
+     * erhalten eine neue ID (IDENTITY), die in task übernommen wird
+     */
+    @Override
+    public Task saveOrUpdate(Task task){
+        if (task.getTaskId() <= 0){
+            return save(task);
+        }
+        validateTask(task);
+
+        String sql = "SET NOCOUNT ON; "
+                + "DECLARE @result TABLE (action NVARCHAR(10), id BIGINT, old_status NVARCHAR(20)); "
+                + "MERGE INTO Tasks WITH (HOLDLOCK) AS t USING (VALUES (?, ?, ?)) AS src (id, description, status) "
+                + "ON t.id = src.id "
+                + "WHEN MATCHED THEN UPDATE SET t.description = src.description, t.status = src.status, t.updated_at = GETDATE() "
+                + "WHEN NOT MATCHED THEN INSERT (description, status, created_at) VALUES (src.description, src.status, GETDATE()) "
+                + "OUTPUT $action, INSERTED.id, DELETED.status INTO @result; "
+                + "SELECT action, id, old_status FROM @result;";
+
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)){
+
+            pstmt.setLong(1, task.getTaskId());
+            pstmt.setString(2, task.getDescription());
+            pstmt.setString(3, task.getTaskStatus().name());
+
+            try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+                if (rs == null || !rs.next()){
+                    throw new SQLException("MERGE lieferte kein Ergebnis");
+                }
+                long id = rs.getLong(2);
+                if ("INSERT".equals(rs.getString(1))){
+                    task.setTaskId(id);
+                    counters.added(task.getTaskStatus(), 1);
+                    changes.created(id, task.getTaskStatus(), task.getDescription());
+                    LOG.debug("Aufgabe per MERGE angelegt (ID: {})", id);
+                }else{
+                    TaskStatus oldStatus = parseStatus(rs.getString(3));
+                    counters.changed(oldStatus, task.getTaskStatus());
+                    changes.updated(id, oldStatus, task.getTaskStatus(), task.getDescription());
+                    LOG.debug("Aufgabe per MERGE aktualisiert (ID: {})", id);
+                }
+            }
+            return task;
+
+        }catch (SQLException e){
+            throw new PersistenceException("Fehler beim Speichern oder Aktualisieren der Aufgabe", e);
+        }
+    }
+
+    /*
+     * Die erwarteten Werte stehen in der WHERE-Klausel, Prüfen und Schreiben sind damit ein Roundtrip
+     * Beschreibung binär verglichen, damit auch reine Groß-/Kleinschreibungsänderungen auffallen
+     */
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        validateTask(task);
+        if (task.getTaskId() <= 0 || expectedStatus == null || expectedDescription == null){
+            return false;
+        }
+
+        String sql = "SET NOCOUNT ON; "
+                + "DECLARE @old TABLE (status NVARCHAR(20)); "
+                + "UPDATE Tasks SET description = ?, status = ?, updated_at = GETDATE() "
+                + "OUTPUT DELETED.status INTO @old "
+                + "WHERE id = ? AND status = ? AND description COLLATE Latin1_General_100_BIN2 = ?; "
+                + "SELECT status FROM @old;";
+
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)){
+
+            pstmt.setString(1, task.getDescription());
+            pstmt.setString(2, task.getTaskStatus().name());
+            pstmt.setLong(3, task.getTaskId());
+            pstmt.setString(4, expectedStatus.name());
+            pstmt.setString(5, expectedDescription);
+
+            try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+                if (rs == null || !rs.next()){
+                    LOG.debug("Bedingtes Update übersprungen, Aufgabe geändert oder gelöscht (ID: {})", task.getTaskId());
+                    return false;
+                }
+            }
+            counters.changed(expectedStatus, task.getTaskStatus());
+            changes.updated(task.getTaskId(), expectedStatus, task.getTaskStatus(), task.getDescription());
+            LOG.debug("Aufgabe bedingt aktualisiert (ID: {})", task.getTaskId());
+            return true;
+
+        }catch (SQLException e){
+            throw new PersistenceException("Fehler beim bedingten Aktualisieren der Aufgabe", e);
+        }
+    }
+
     @Override
     public boolean delete(long id){
         if (id <= 0){
             return false;
         }
 
-        String sql = "DELETE FROM Tasks WHERE id = ?";
+        String sql = "SET NOCOUNT ON; "
+                + "DECLARE @old TABLE (status NVARCHAR(20)); "
+                + "DELETE FROM Tasks OUTPUT DELETED.status INTO @old WHERE id = ?; "
+                + "SELECT status FROM @old;";
 
         try (Connection conn = getConnection();
             PreparedStatement pstmt = conn.prepareStatement(sql)){
 
             pstmt.setLong(1, id);
-            int affectedRows = pstmt.executeUpdate();
 
-            boolean deleted = affectedRows > 0;
-            if (deleted){
-                System.out.println("Aufgabe gelöscht (ID: " + id + ")");
+            boolean deleted;
+            try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+                deleted = rs != null && rs.next();
+                if (deleted){
+                    TaskStatus oldStatus = parseStatus(rs.getString(1));
+                    counters.removed(oldStatus);
+                    changes.deleted(id, oldStatus);
+                    LOG.debug("Aufgabe gelöscht (ID: {})", id);
+                }
             }
 
             return deleted;
@@ -233,7 +488,7 @@ public class SqlServerTaskRepository implements TaskRepository{
                 }
             }
 
-            System.out.println(tasks.size() + " Aufgaben mit Status '" + status + "' gefunden");
+            LOG.debug("{} Aufgaben mit Status '{}' gefunden", tasks.size(), status);
 
         } catch (SQLException e) {
             throw new PersistenceException("Fehler beim Filtern nach Status: " + status, e);
@@ -248,13 +503,22 @@ public class SqlServerTaskRepository implements TaskRepository{
             throw new IllegalArgumentException("Suchbegriff darf nicht leer sein");
         }
 
+        // Volltextindex schränkt die Kandidaten ein, LIKE behält die bisherige Bedeutung (zusammenhängender Text)
+        String condition = searchMode == SearchMode.FULLTEXT ? fullTextCondition(keyword) : null;
+
         List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT id, description, status, created_at FROM Tasks WHERE LOWER(description) LIKE ? ORDER BY created_at DESC";
+        String sql = condition != null
+                ? "SELECT id, description, status, created_at FROM Tasks WHERE CONTAINS(description, ?) AND LOWER(description) LIKE ? ORDER BY created_at DESC"
+                : "SELECT id, description, status, created_at FROM Tasks WHERE LOWER(description) LIKE ? ORDER BY created_at DESC";
 
         try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, "%" + keyword.toLowerCase() + "%");
+            int index = 1;
+            if (condition != null){
+                pstmt.setString(index++, condition);
+            }
+            pstmt.setString(index, "%" + keyword.toLowerCase() + "%");
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -262,7 +526,7 @@ public class SqlServerTaskRepository implements TaskRepository{
                 }
             }
 
-            System.out.println(tasks.size() + " Aufgaben mit '" + keyword + "' gefunden");
+            LOG.debug("{} Aufgaben mit '{}' gefunden", tasks.size(), keyword);
 
         } catch (SQLException e) {
             throw new PersistenceException("Fehler bei der Suche nach: " + keyword, e);
@@ -273,20 +537,14 @@ public class SqlServerTaskRepository implements TaskRepository{
 
     @Override
     public long count(){
-        String sql = "SELECT COUNT(*) FROM Tasks";
-
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            if (rs.next()) {
-                return rs.getLong(1);
-            }
-
-            return 0;
-
-        } catch (SQLException e) {
-            throw new PersistenceException("Fehler beim Zählen der Aufgaben", e);
+        switch (counterMode){
+            case CACHED:
+                ensureCountersInitialized();
+                return counters.total();
+            case VIEW:
+                return queryCount("SELECT ISNULL(SUM(task_count), 0) FROM vw_TaskStatusCounts WITH (NOEXPAND)", null);
+            default:
+                return queryCount("SELECT COUNT(*) FROM Tasks", null);
         }
     }
 
@@ -296,12 +554,24 @@ public class SqlServerTaskRepository implements TaskRepository{
             throw new IllegalArgumentException("Status darf nicht null sein");
         }
 
-        String sql = "SELECT COUNT(*) FROM Tasks WHERE status = ?";
+        switch (counterMode){
+            case CACHED:
+                ensureCountersInitialized();
+                return counters.get(status);
+            case VIEW:
+                return queryCount("SELECT task_count FROM vw_TaskStatusCounts WITH (NOEXPAND) WHERE status = ?", status);
+            default:
+                return queryCount("SELECT COUNT(*) FROM Tasks WHERE status = ?", status);
+        }
+    }
 
+    private long queryCount(String sql, TaskStatus status){
         try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, status.name());
+            if (status != null){
+                pstmt.setString(1, status.name());
+            }
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
@@ -312,44 +582,441 @@ public class SqlServerTaskRepository implements TaskRepository{
             return 0;
 
         } catch (SQLException e) {
-            throw new PersistenceException("Fehler beim Zählen nach Status: " + status, e);
+            throw new PersistenceException(status == null
+                    ? "Fehler beim Zählen der Aufgaben"
+                    : "Fehler beim Zählen nach Status: " + status, e);
+        }
+    }
+
+    private void ensureCountersInitialized(){
+        if (!counters.isInitialized()){
+            reconcileCounters();
+        }
+    }
+
+    /*
+     * Gesamtzahl und Status in einem Roundtrip: GROUP BY status, bei VIEW aus der indizierten Sicht
+     */
+    @Override
+    public TaskStatistics statistics(){
+        switch (counterMode){
+            case CACHED:
+                ensureCountersInitialized();
+                Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+                for (TaskStatus status : TaskStatus.values()){
+                    counts.put(status, counters.get(status));
+                }
+                return new TaskStatistics(counters.total(), counts);
+            case VIEW:
+                return queryStatistics("SELECT status, task_count FROM vw_TaskStatusCounts WITH (NOEXPAND)");
+            default:
+                return queryStatistics("SELECT status, COUNT_BIG(*) FROM Tasks GROUP BY status");
+        }
+    }
+
+    // total enthält auch Zeilen mit Status, die TaskStatus nicht kennt
+    private TaskStatistics queryStatistics(String sql){
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            long total = 0;
+            Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+            while (rs.next()) {
+                long count = rs.getLong(2);
+                total += count;
+                TaskStatus status = parseStatus(rs.getString(1));
+                if (status != null){
+                    counts.put(status, count);
+                }
+            }
+            return new TaskStatistics(total, counts);
+
+        } catch (SQLException e) {
+            throw new PersistenceException("Fehler beim Ermitteln der Statistik", e);
+        }
+    }
+
+    /*
+     * Gleicht die Zähler im Prozess in einem Roundtrip mit der Datenbank ab
+     */
+    public void reconcileCounters(){
+        long epoch = counters.epoch();
+        TaskStatistics statistics = queryStatistics("SELECT status, COUNT_BIG(*) FROM Tasks GROUP BY status");
+        counters.reconcile(epoch, statistics.getTotal(), statistics.getByStatus());
+    }
+
+    private void reconcileQuietly(){
+        try{
+            reconcileCounters();
+        }catch (PersistenceException e){
+            LOG.warn("Abgleich der Zähler fehlgeschlagen: {}", e.getMessage());
         }
     }
 
+    /*
+     * Speichert in Blöcken von batch.insert.size Zeilen, jeder Block in einer eigenen Transaktion
+     * Die IDs werden über die Zeilennummer (ord) aus OUTPUT zugeordnet, da SQL Server
+     * für Batches und mehrzeilige INSERTs keine Reihenfolge der generierten Schlüssel garantiert
+     */
     @Override
     public void saveAll(List<Task> taskList){
         if (taskList == null || taskList.isEmpty()){
             return;
         }
 
-        String sql = "INSERT INTO Tasks (description, status, created_at) VALUES (?, ?, GETDATE())";
+        for (Task task : taskList){
+            validateTask(task);
+        }
+
+        int saved = 0;
+        try (Connection conn = getConnection()){
+            conn.setAutoCommit(false);
+
+            PreparedStatement fullChunk = null;
+            try{
+                while (saved < taskList.size()){
+                    List<Task> chunk = taskList.subList(saved, Math.min(saved + batchInsertSize, taskList.size()));
+
+                    long[] ids;
+                    if (chunk.size() == batchInsertSize){
+                        if (fullChunk == null){
+                            fullChunk = conn.prepareStatement(buildInsertChunkSql(batchInsertSize));
+                        }
+                        ids = insertChunk(fullChunk, chunk);
+                    }else{
+                        try (PreparedStatement lastChunk = conn.prepareStatement(buildInsertChunkSql(chunk.size()))){
+                            ids = insertChunk(lastChunk, chunk);
+                        }
+                    }
+                    conn.commit();
+
+                    for (int i = 0; i < chunk.size(); i++){
+                        Task task = chunk.get(i);
+                        task.setTaskId(ids[i]);
+                        counters.added(task.getTaskStatus(), 1);
+                        changes.created(ids[i], task.getTaskStatus(), task.getDescription());
+                    }
+                    saved += chunk.size();
+                }
+            }catch (SQLException e){
+                conn.rollback();
+                throw e;
+            }finally{
+                if (fullChunk != null){
+                    fullChunk.close();
+                }
+                conn.setAutoCommit(true);
+            }
+            LOG.debug("Batch gespeichert: {} Aufgaben", saved);
+
+        }catch (SQLException e){
+            throw new PersistenceException("Fehler beim Batch-Speichern nach " + saved + " von "
+                    + taskList.size() + " Aufgaben", e);
+        }
+    }
+
+    private long[] insertChunk(PreparedStatement pstmt, List<Task> chunk) throws SQLException{
+        int param = 1;
+        for (Task task : chunk){
+            pstmt.setString(param++, task.getDescription());
+            pstmt.setString(param++, task.getTaskStatus().name());
+        }
+
+        long[] ids = new long[chunk.size()];
+        int assigned = 0;
+        try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+            while (rs != null && rs.next()){
+                ids[rs.getInt(1)] = rs.getLong(2);
+                assigned++;
+            }
+        }
+
+        if (assigned != chunk.size()){
+            throw new SQLException("Batch-Speichern: " + assigned + " IDs für " + chunk.size() + " Aufgaben erhalten");
+        }
+        return ids;
+    }
+
+    /*
+     * OUTPUT ... INTO, da OUTPUT ohne INTO auf Tabellen mit Triggern nicht erlaubt ist
+     */
+    private static String buildInsertChunkSql(int rows){
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < rows; i++){
+            if (i > 0){
+                values.append(", ");
+            }
+            values.append('(').append(i).append(", ?, ?)");
+        }
+
+        return "SET NOCOUNT ON; "
+                + "DECLARE @ids TABLE (ord INT NOT NULL, id BIGINT NOT NULL); "
+                + "MERGE INTO Tasks AS t USING (VALUES " + values + ") AS src (ord, description, status) "
+                + "ON 1 = 0 "
+                + "WHEN NOT MATCHED THEN INSERT (description, status, created_at) "
+                + "VALUES (src.description, src.status, GETDATE()) "
+                + "OUTPUT src.ord, INSERTED.id INTO @ids (ord, id); "
+                + "SELECT ord, id FROM @ids;";
+    }
+
+    /*
+     * Überspringt Update-Counts bis zum ersten ResultSet eines Batches
+     */
+    private static ResultSet firstResultSet(Statement stmt, boolean isResultSet) throws SQLException{
+        while (!isResultSet){
+            if (stmt.getUpdateCount() == -1){
+                return null;
+            }
+            isResultSet = stmt.getMoreResults();
+        }
+        return stmt.getResultSet();
+    }
+
+    /*
+     * Set-basiertes UPDATE ... FROM (VALUES ...) je Block von batch.update.size Aufgaben
+     * Doppelte IDs werden zusammengefasst, die zuletzt übergebene Fassung gewinnt
+     */
+    @Override
+    public int updateAll(List<Task> taskList){
+        if (taskList == null || taskList.isEmpty()){
+            return 0;
+        }
+
+        Map<Long, Task> latest = new LinkedHashMap<>();
+        for (Task task : taskList){
+            validateTask(task);
+            if (task.getTaskId() <= 0){
+                throw new IllegalArgumentException("Task-ID muss positiv sein für Update");
+            }
+            latest.put(task.getTaskId(), task);
+        }
+        List<Task> tasks = new ArrayList<>(latest.values());
+
+        int updated = 0;
+        try (Connection conn = getConnection()){
+            for (int from = 0; from < tasks.size(); from += batchUpdateSize){
+                List<Task> chunk = tasks.subList(from, Math.min(from + batchUpdateSize, tasks.size()));
+                String sql = "SET NOCOUNT ON; "
+                        + "DECLARE @changed TABLE (id BIGINT, old_status NVARCHAR(20), new_status NVARCHAR(20)); "
+                        + "UPDATE t SET t.description = v.description, t.status = v.status, t.updated_at = GETDATE() "
+                        + "OUTPUT DELETED.id, DELETED.status, INSERTED.status INTO @changed "
+                        + "FROM Tasks AS t INNER JOIN (VALUES " + rowPlaceholders(chunk.size(), 3) + ") "
+                        + "AS v (id, description, status) ON t.id = v.id; "
+                        + "SELECT id, old_status, new_status FROM @changed;";
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)){
+                    int param = 1;
+                    for (Task task : chunk){
+                        pstmt.setLong(param++, task.getTaskId());
+                        pstmt.setString(param++, task.getDescription());
+                        pstmt.setString(param++, task.getTaskStatus().name());
+                    }
+
+                    try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+                        while (rs != null && rs.next()){
+                            long id = rs.getLong(1);
+                            TaskStatus oldStatus = parseStatus(rs.getString(2));
+                            TaskStatus newStatus = parseStatus(rs.getString(3));
+                            counters.changed(oldStatus, newStatus);
+                            changes.updated(id, oldStatus, newStatus, latest.get(id).getDescription());
+                            updated++;
+                        }
+                    }
+                }
+            }
+            LOG.debug("Batch aktualisiert: {} von {} Aufgaben", updated, tasks.size());
+            return updated;
+
+        }catch (SQLException e){
+            throw new PersistenceException("Fehler beim Batch-Aktualisieren nach " + updated + " Aufgaben", e);
+        }
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> ids){
+        if (ids == null || ids.isEmpty()){
+            return 0;
+        }
+
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.remove(null);
+        int deleted = 0;
+        try (Connection conn = getConnection()){
+            for (int from = 0; from < distinct.size(); from += MAX_IDS_PER_STATEMENT){
+                List<Long> chunk = distinct.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, distinct.size()));
+                String sql = "SET NOCOUNT ON; "
+                        + "DECLARE @deleted TABLE (id BIGINT, status NVARCHAR(20)); "
+                        + "DELETE FROM Tasks OUTPUT DELETED.id, DELETED.status INTO @deleted "
+                        + "WHERE id IN (" + placeholders(chunk.size()) + "); "
+                        + "SELECT id, status FROM @deleted;";
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)){
+                    for (int i = 0; i < chunk.size(); i++){
+                        pstmt.setLong(i + 1, chunk.get(i));
+                    }
+
+                    try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+                        while (rs != null && rs.next()){
+                            TaskStatus oldStatus = parseStatus(rs.getString(2));
+                            counters.removed(oldStatus);
+                            changes.deleted(rs.getLong(1), oldStatus);
+                            deleted++;
+                        }
+                    }
+                }
+            }
+            LOG.debug("Batch gelöscht: {} Aufgaben", deleted);
+            return deleted;
+
+        }catch (SQLException e){
+            throw new PersistenceException("Fehler beim Batch-Löschen nach " + deleted + " Aufgaben", e);
+        }
+    }
+
+    /*
+     * Ein UPDATE ... WHERE status = ?; die geänderten Zeilen werden nur für Abonnenten zurückgeliefert
+     */
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        if (from == null || to == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (from == to){
+            return 0;
+        }
+
+        boolean publish = changes.hasSubscribers();
+        String sql = publish
+                ? "SET NOCOUNT ON; "
+                + "DECLARE @changed TABLE (id BIGINT, description NVARCHAR(1000)); "
+                + "UPDATE Tasks SET status = ?, updated_at = GETDATE() "
+                + "OUTPUT INSERTED.id, INSERTED.description INTO @changed WHERE status = ?; "
+                + "SELECT id, description FROM @changed;"
+                : "UPDATE Tasks SET status = ?, updated_at = GETDATE() WHERE status = ?";
+
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)){
+
+            pstmt.setString(1, to.name());
+            pstmt.setString(2, from.name());
+
+            int updated = 0;
+            if (publish){
+                try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+                    while (rs != null && rs.next()){
+                        changes.updated(rs.getLong(1), from, to, rs.getString(2));
+                        updated++;
+                    }
+                }
+            }else{
+                updated = pstmt.executeUpdate();
+            }
+            counters.moved(from, to, updated);
+            LOG.debug("Status {} -> {} für {} Aufgaben gesetzt", from, to, updated);
+            return updated;
+
+        }catch (SQLException e){
+            throw new PersistenceException("Fehler beim Ändern des Status " + from + " -> " + to, e);
+        }
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+
+        boolean publish = changes.hasSubscribers();
+        String sql = publish
+                ? "SET NOCOUNT ON; "
+                + "DECLARE @deleted TABLE (id BIGINT); "
+                + "DELETE FROM Tasks OUTPUT DELETED.id INTO @deleted WHERE status = ?; "
+                + "SELECT id FROM @deleted;"
+                : "DELETE FROM Tasks WHERE status = ?";
 
         try (Connection conn = getConnection();
-            PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)){
+             PreparedStatement pstmt = conn.prepareStatement(sql)){
+
+            pstmt.setString(1, status.name());
 
-            for (Task task : taskList){
-                validateTask(task);
-                pstmt.setString(1, task.getDescription());
-                pstmt.setString(2, task.getTaskStatus().name());
-                pstmt.addBatch();
+            int deleted = 0;
+            if (publish){
+                try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+                    while (rs != null && rs.next()){
+                        changes.deleted(rs.getLong(1), status);
+                        deleted++;
+                    }
+                }
+            }else{
+                deleted = pstmt.executeUpdate();
             }
+            counters.removed(status, deleted);
+            LOG.debug("{} Aufgaben mit Status {} gelöscht", deleted, status);
+            return deleted;
 
-            int[] batchResults = pstmt.executeBatch();
+        }catch (SQLException e){
+            throw new PersistenceException("Fehler beim Löschen nach Status: " + status, e);
+        }
+    }
 
-            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()){
-                int i = 0;
-                while (generatedKeys.next() && i < taskList.size()){
-                    taskList.get(i).setTaskId(generatedKeys.getLong(1));
-                    i++;
+    /*
+     * UPDATE ... WHERE id IN (...) in Blöcken von bis zu 2000 IDs
+     */
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (ids == null || ids.isEmpty()){
+            return 0;
+        }
+
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.remove(null);
+        int updated = 0;
+        try (Connection conn = getConnection()){
+            for (int from = 0; from < distinct.size(); from += MAX_IDS_PER_STATEMENT){
+                List<Long> chunk = distinct.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, distinct.size()));
+                String sql = "SET NOCOUNT ON; "
+                        + "DECLARE @changed TABLE (id BIGINT, old_status NVARCHAR(20), description NVARCHAR(1000)); "
+                        + "UPDATE Tasks SET status = ?, updated_at = GETDATE() "
+                        + "OUTPUT DELETED.id, DELETED.status, INSERTED.description INTO @changed "
+                        + "WHERE id IN (" + placeholders(chunk.size()) + "); "
+                        + "SELECT id, old_status, description FROM @changed;";
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)){
+                    pstmt.setString(1, status.name());
+                    for (int i = 0; i < chunk.size(); i++){
+                        pstmt.setLong(i + 2, chunk.get(i));
+                    }
+
+                    try (ResultSet rs = firstResultSet(pstmt, pstmt.execute())){
+                        while (rs != null && rs.next()){
+                            TaskStatus oldStatus = parseStatus(rs.getString(2));
+                            counters.changed(oldStatus, status);
+                            changes.updated(rs.getLong(1), oldStatus, status, rs.getString(3));
+                            updated++;
+                        }
+                    }
                 }
             }
-            System.out.println("Batch gespeichert: " + batchResults.length + " Aufgaben");
+            LOG.debug("Status {} für {} von {} Aufgaben gesetzt", status, updated, distinct.size());
+            return updated;
 
         }catch (SQLException e){
-            throw new PersistenceException("Fehler beim Batch-Speichern", e);
+            throw new PersistenceException("Fehler beim Setzen des Status nach " + updated + " Aufgaben", e);
         }
     }
 
+    private static String placeholders(int count){
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static String rowPlaceholders(int rows, int columns){
+        return String.join(", ", Collections.nCopies(rows, "(" + placeholders(columns) + ")"));
+    }
+
     @Override
     public void deleteAll(){
         String sql = "DELETE FROM Tasks";
@@ -358,13 +1025,123 @@ public class SqlServerTaskRepository implements TaskRepository{
              Statement stmt = conn.createStatement()) {
 
             int deletedRows = stmt.executeUpdate(sql);
-            System.out.println("🗑️ Alle Aufgaben gelöscht: " + deletedRows + " Zeilen");
+            counters.cleared();
+            changes.cleared();
+            LOG.info("Alle Aufgaben gelöscht: {} Zeilen", deletedRows);
 
         } catch (SQLException e) {
             throw new PersistenceException("Fehler beim Löschen aller Aufgaben", e);
         }
     }
 
+    @Override
+    public Stream<Task> streamAll(){
+        return streamAll(fetchSize);
+    }
+
+    /*
+     * Streamt über ein offenes ResultSet, Verbindung und Statement werden mit dem Stream geschlossen
+     */
+    public Stream<Task> streamAll(int fetchSize){
+        String sql = "SELECT id, description, status, created_at FROM Tasks ORDER BY created_at DESC, id DESC";
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try{
+            conn = getConnection();
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(fetchSize);
+            rs = pstmt.executeQuery();
+        }catch (SQLException e){
+            closeQuietly(rs, pstmt, conn);
+            throw new PersistenceException("Fehler beim Öffnen des Aufgaben-Streams", e);
+        }
+
+        ResultSet cursor = rs;
+        Spliterator<Task> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL){
+            @Override
+            public boolean tryAdvance(Consumer<? super Task> action){
+                try{
+                    if (!cursor.next()){
+                        return false;
+                    }
+                    action.accept(mapRowToTask(cursor));
+                    return true;
+                }catch (SQLException e){
+                    throw new PersistenceException("Fehler beim Lesen des Aufgaben-Streams", e);
+                }
+            }
+        };
+
+        AutoCloseable[] resources = {rs, pstmt, conn};
+        return StreamSupport.stream(spliterator, false).onClose(() -> closeQuietly(resources));
+    }
+
+    /*
+     * Cursor ohne created_at (PageCursor.afterId) blättern nach ID über den Primärschlüssel,
+     * z.B. für ShardedTaskRepository, das Seiten aller Shards nach ID zusammenführt
+     */
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        if (pageSize <= 0){
+            throw new IllegalArgumentException("Seitengröße muss positiv sein");
+        }
+
+        boolean byId = after != null && after.getCreatedAt() == null;
+        String sql = "SELECT TOP (?) id, description, status, created_at FROM Tasks "
+                + (after == null ? "ORDER BY created_at DESC, id DESC"
+                : byId ? "WHERE id < ? ORDER BY id DESC"
+                : "WHERE created_at < ? OR (created_at = ? AND id < ?) ORDER BY created_at DESC, id DESC");
+
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)){
+
+            pstmt.setLong(1, pageSize + 1L);
+            if (byId){
+                pstmt.setLong(2, after.getId());
+            }else if (after != null){
+                Timestamp createdAt = Timestamp.valueOf(after.getCreatedAt());
+                pstmt.setTimestamp(2, createdAt);
+                pstmt.setTimestamp(3, createdAt);
+                pstmt.setLong(4, after.getId());
+            }
+
+            List<Task> tasks = new ArrayList<>(Math.min(pageSize, 1024));
+            PageCursor next = null;
+            LocalDateTime lastCreatedAt = null;
+            try (ResultSet rs = pstmt.executeQuery()){
+                while (rs.next()){
+                    if (tasks.size() == pageSize){
+                        Task last = tasks.get(tasks.size() - 1);
+                        next = byId ? PageCursor.afterId(last.getTaskId()) : new PageCursor(lastCreatedAt, last.getTaskId());
+                        break;
+                    }
+                    tasks.add(mapRowToTask(rs));
+                    lastCreatedAt = rs.getTimestamp("created_at").toLocalDateTime();
+                }
+            }
+            return new TaskPage(tasks, next);
+
+        }catch (SQLException e){
+            throw new PersistenceException("Fehler beim Laden der Seite nach " + after, e);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable... resources){
+        for (AutoCloseable resource : resources){
+            if (resource == null){
+                continue;
+            }
+            try{
+                resource.close();
+            }catch (Exception e){
+                // Aufräumen, Fehler beim Schließen sind hier nicht relevant
+            }
+        }
+    }
+
     private Task mapRowToTask(ResultSet rs) throws SQLException{
         long id = rs.getLong("id");
         String description = rs.getString("description");
@@ -373,19 +1150,27 @@ public class SqlServerTaskRepository implements TaskRepository{
         return new Task(id, description, status);
     }
 
-    private void validateTask(Task task){
-        if (task == null){
-            throw new IllegalArgumentException("Task darf nicht null sein");
+    /*
+     * Status aus der Datenbank, die TaskStatus nicht kennt, werden als null geliefert
+     */
+    private static TaskStatus parseStatus(String status){
+        if (status == null){
+            return null;
         }
-        if (task.getDescription() == null || task.getDescription().trim().isEmpty()){
-            throw new IllegalArgumentException("Task-Beschreibung darf nicht leer sein");
-        }
-        if (task.getTaskStatus() == null){
-            throw new IllegalArgumentException("Task-Status darf nicht null sein");
+        try{
+            return TaskStatus.valueOf(status);
+        }catch (IllegalArgumentException e){
+            return null;
         }
     }
 
+    private void validateTask(Task task){
+        validator.validate(task);
+    }
+
     public static class PersistenceException extends RuntimeException{
+        private static final long serialVersionUID = 1L;
+
         public PersistenceException(String message){
             super(message);
         }
@@ -0,0 +1,65 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.TaskStatus;
+
+/*
+ * Eine Änderung im Repository, unveränderlich
+ * sequence steigt je Repository streng monoton; eine Lücke beim Empfänger bedeutet verworfene Ereignisse (DROP)
+ * oldStatus ist bei CREATED null, newStatus und description bei DELETED und CLEARED
+ * CLEARED steht für deleteAll() und hat keine Task-ID (0)
+ */
+
+public final class TaskChangeEvent{
+
+    public enum Type{
+        CREATED,
+        UPDATED,
+        DELETED,
+        CLEARED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final long taskId;
+    private final TaskStatus oldStatus;
+    private final TaskStatus newStatus;
+    private final String description;
+
+    TaskChangeEvent(long sequence, Type type, long taskId, TaskStatus oldStatus, TaskStatus newStatus, String description){
+        this.sequence = sequence;
+        this.type = type;
+        this.taskId = taskId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.description = description;
+    }
+
+    public long getSequence(){
+        return sequence;
+    }
+
+    public Type getType(){
+        return type;
+    }
+
+    public long getTaskId(){
+        return taskId;
+    }
+
+    public TaskStatus getOldStatus(){
+        return oldStatus;
+    }
+
+    public TaskStatus getNewStatus(){
+        return newStatus;
+    }
+
+    public String getDescription(){
+        return description;
+    }
+
+    @Override
+    public String toString(){
+        return "#" + sequence + " " + type + " " + taskId + " " + oldStatus + " -> " + newStatus;
+    }
+}
@@ -0,0 +1,11 @@
+package com.tasktracker.repository;
+
+/*
+ * Empfänger von Änderungen, wird immer vom selben Dispatcher-Thread der Subscription aufgerufen
+ * Darf bei OverflowPolicy.BLOCK nicht in dasselbe Repository schreiben (der eigene volle Puffer blockiert sonst)
+ */
+
+@FunctionalInterface
+public interface TaskChangeListener{
+    void onChange(TaskChangeEvent event);
+}
@@ -0,0 +1,95 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.TaskStatus;
+
+import java.util.Arrays;
+
+/*
+ * Verteilt Änderungen eines Repositorys an alle ChangeSubscriptions
+ * Ohne Abonnenten kostet jede Änderung nur das Lesen eines volatile-Arrays, es entsteht kein Ereignis
+ * Mit Abonnenten werden Sequenznummer und Einreihen unter einem kurzen Lock vergeben,
+ * damit jeder Empfänger alle Ereignisse in Sequenzreihenfolge erhält
+ */
+
+final class TaskChangePublisher{
+    private static final ChangeSubscription[] NONE = new ChangeSubscription[0];
+
+    private volatile ChangeSubscription[] subscriptions = NONE;
+    private long sequence;
+
+    ChangeSubscription subscribe(TaskChangeListener listener, int capacity, ChangeSubscription.OverflowPolicy policy){
+        ChangeSubscription subscription = new ChangeSubscription(this, listener, capacity, policy);
+        synchronized (this){
+            ChangeSubscription[] current = subscriptions;
+            ChangeSubscription[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = subscription;
+            subscriptions = updated;
+        }
+        subscription.start();
+        return subscription;
+    }
+
+    synchronized void unsubscribe(ChangeSubscription subscription){
+        ChangeSubscription[] current = subscriptions;
+        for (int i = 0; i < current.length; i++){
+            if (current[i] == subscription){
+                ChangeSubscription[] updated = new ChangeSubscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscriptions = updated;
+                return;
+            }
+        }
+    }
+
+    boolean hasSubscribers(){
+        return subscriptions.length > 0;
+    }
+
+    void created(long taskId, TaskStatus status, String description){
+        publish(TaskChangeEvent.Type.CREATED, taskId, null, status, description);
+    }
+
+    void updated(long taskId, TaskStatus oldStatus, TaskStatus newStatus, String description){
+        publish(TaskChangeEvent.Type.UPDATED, taskId, oldStatus, newStatus, description);
+    }
+
+    /*
+     * save() mit bereits vorhandener ID ist ein Update, sonst eine Neuanlage
+     */
+    void saved(boolean existed, long taskId, TaskStatus oldStatus, TaskStatus newStatus, String description){
+        if (existed){
+            updated(taskId, oldStatus, newStatus, description);
+        }else{
+            created(taskId, newStatus, description);
+        }
+    }
+
+    void deleted(long taskId, TaskStatus oldStatus){
+        publish(TaskChangeEvent.Type.DELETED, taskId, oldStatus, null, null);
+    }
+
+    void cleared(){
+        publish(TaskChangeEvent.Type.CLEARED, 0, null, null, null);
+    }
+
+    synchronized long getSequence(){
+        return sequence;
+    }
+
+    private void publish(TaskChangeEvent.Type type, long taskId, TaskStatus oldStatus, TaskStatus newStatus, String description){
+        if (subscriptions.length == 0){
+            return;
+        }
+        synchronized (this){
+            ChangeSubscription[] targets = subscriptions;
+            if (targets.length == 0){
+                return;
+            }
+            TaskChangeEvent event = new TaskChangeEvent(++sequence, type, taskId, oldStatus, newStatus, description);
+            for (ChangeSubscription subscription : targets){
+                subscription.offer(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.TaskStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Im Prozess gepflegte Zähler für count() und countByStatus()
+ * Eigene Schreibzugriffe werden sofort verbucht, ein periodischer Abgleich mit der
+ * Datenbank korrigiert Änderungen anderer Prozesse
+ * total enthält auch Status, die TaskStatus nicht kennt (z.B. IN_ARBEIT aus den Beispieldaten)
+ */
+
+final class TaskCounters{
+    private final AtomicLong total = new AtomicLong();
+    private final Map<TaskStatus, AtomicLong> byStatus = new EnumMap<>(TaskStatus.class);
+
+    // Zählt eigene Schreibzugriffe, ein Abgleich gilt nur, wenn währenddessen keiner stattfand
+    private final AtomicLong writeEpoch = new AtomicLong();
+    private volatile boolean initialized;
+
+    TaskCounters(){
+        for (TaskStatus status : TaskStatus.values()){
+            byStatus.put(status, new AtomicLong());
+        }
+    }
+
+    boolean isInitialized(){
+        return initialized;
+    }
+
+    long total(){
+        return total.get();
+    }
+
+    long get(TaskStatus status){
+        return byStatus.get(status).get();
+    }
+
+    long epoch(){
+        return writeEpoch.get();
+    }
+
+    void added(TaskStatus status, long count){
+        writeEpoch.incrementAndGet();
+        total.addAndGet(count);
+        byStatus.get(status).addAndGet(count);
+    }
+
+    void removed(TaskStatus status){
+        writeEpoch.incrementAndGet();
+        total.decrementAndGet();
+        if (status != null){
+            byStatus.get(status).decrementAndGet();
+        }
+    }
+
+    void changed(TaskStatus oldStatus, TaskStatus newStatus){
+        if (oldStatus == newStatus){
+            return;
+        }
+        writeEpoch.incrementAndGet();
+        if (oldStatus != null){
+            byStatus.get(oldStatus).decrementAndGet();
+        }
+        byStatus.get(newStatus).incrementAndGet();
+    }
+
+    void moved(TaskStatus from, TaskStatus to, long count){
+        if (count == 0){
+            return;
+        }
+        writeEpoch.incrementAndGet();
+        byStatus.get(from).addAndGet(-count);
+        byStatus.get(to).addAndGet(count);
+    }
+
+    void removed(TaskStatus status, long count){
+        if (count == 0){
+            return;
+        }
+        writeEpoch.incrementAndGet();
+        total.addAndGet(-count);
+        byStatus.get(status).addAndGet(-count);
+    }
+
+    void cleared(){
+        writeEpoch.incrementAndGet();
+        total.set(0);
+        byStatus.values().forEach(counter -> counter.set(0));
+    }
+
+    /*
+     * Übernimmt die Werte aus der Datenbank, sofern seit expectedEpoch nichts geschrieben wurde
+     */
+    synchronized boolean reconcile(long expectedEpoch, long newTotal, Map<TaskStatus, Long> counts){
+        if (initialized && writeEpoch.get() != expectedEpoch){
+            return false;
+        }
+        total.set(newTotal);
+        for (TaskStatus status : TaskStatus.values()){
+            byStatus.get(status).set(counts.getOrDefault(status, 0L));
+        }
+        initialized = true;
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Eine Seite aus findPage, nextCursor ist null wenn keine weiteren Aufgaben folgen
+ */
+
+public final class TaskPage{
+    private final List<Task> tasks;
+    private final PageCursor nextCursor;
+
+    public TaskPage(List<Task> tasks, PageCursor nextCursor){
+        this.tasks = Collections.unmodifiableList(new ArrayList<>(tasks));
+        this.nextCursor = nextCursor;
+    }
+
+    /*
+     * Erwartet bis zu pageSize + 1 Aufgaben, die zusätzliche Aufgabe zeigt eine Folgeseite an
+     * Für In-Memory Repositories ohne created_at
+     */
+    static TaskPage of(List<Task> candidates, int pageSize){
+        if (candidates.size() <= pageSize){
+            return new TaskPage(candidates, null);
+        }
+        List<Task> page = candidates.subList(0, pageSize);
+        return new TaskPage(page, PageCursor.afterId(page.get(pageSize - 1).getTaskId()));
+    }
+
+    public List<Task> getTasks(){
+        return tasks;
+    }
+
+    public PageCursor getNextCursor(){
+        return nextCursor;
+    }
+
+    public boolean hasNext(){
+        return nextCursor != null;
+    }
+}
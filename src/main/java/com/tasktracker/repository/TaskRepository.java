@@ -3,8 +3,16 @@ package com.tasktracker.repository;
 import com.tasktracker.model.Task;
 import com.tasktracker.model.TaskStatus;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /*
  * Repository Interface für CRUD-Operationen
@@ -27,4 +35,169 @@ public interface TaskRepository{
     long countByStatus(TaskStatus status);
     void saveAll(List<Task> taskList);
     void deleteAll();
+
+    // Bedingte Schreibzugriffe ohne vorheriges Lesen
+
+    /*
+     * Legt neue Aufgaben (ID 0) an und aktualisiert bestehende, unbekannte IDs werden angelegt
+     * Die Standardimplementierung prüft die Existenz vorher, Implementierungen erledigen das in einem Schritt
+     */
+    default Task saveOrUpdate(Task task){
+        if (task.getTaskId() > 0 && existsById(task.getTaskId())){
+            return update(task);
+        }
+        return save(task);
+    }
+
+    /*
+     * Optimistisches Update: schreibt task nur, wenn die gespeicherte Aufgabe noch
+     * expectedStatus und expectedDescription hat; false, wenn sie fehlt oder inzwischen geändert wurde
+     * Die Standardimplementierung ist nicht atomar, Implementierungen prüfen und schreiben in einem Schritt
+     */
+    default boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        Optional<Task> current = findById(task.getTaskId());
+        if (current.isEmpty() || current.get().getTaskStatus() != expectedStatus
+                || !current.get().getDescription().equals(expectedDescription)){
+            return false;
+        }
+        update(task);
+        return true;
+    }
+
+    /*
+     * Gesamtzahl und Anzahl je Status in einem Aufruf
+     * Die Standardimplementierung fragt count() und countByStatus() einzeln ab, Implementierungen
+     * liefern alles aus einer Abfrage bzw. einem konsistenten Zustand
+     */
+    default TaskStatistics statistics(){
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()){
+            counts.put(status, countByStatus(status));
+        }
+        return new TaskStatistics(count(), counts);
+    }
+
+    /*
+     * true, wenn beliebig viele Threads das Repository gleichzeitig verwenden dürfen
+     * Decorators mit eigenen Threads (Write-behind, asynchrone Hülle) setzen das voraus
+     * Standard ist false, thread-sichere Implementierungen überschreiben die Methode
+     */
+    default boolean isThreadSafe(){
+        return false;
+    }
+
+    // Stapelverarbeitung
+
+    /*
+     * Aktualisiert mehrere Aufgaben, nicht (mehr) vorhandene Aufgaben werden übersprungen
+     * Liefert die Anzahl der tatsächlich aktualisierten Aufgaben
+     */
+    default int updateAll(List<Task> taskList){
+        if (taskList == null) return 0;
+
+        int updated = 0;
+        for (Task task : taskList){
+            try{
+                update(task);
+                updated++;
+            }catch (IllegalArgumentException e){
+                // Aufgabe existiert nicht mehr
+            }
+        }
+        return updated;
+    }
+
+    /*
+     * Löscht mehrere Aufgaben und liefert die Anzahl der gelöschten Aufgaben, null-IDs werden übersprungen
+     */
+    default int deleteAllById(Collection<Long> ids){
+        if (ids == null) return 0;
+
+        int deleted = 0;
+        for (Long id : ids){
+            if (id != null && delete(id)){
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    // Mengenbasierte Änderungen, jeweils mit der Anzahl der betroffenen Aufgaben als Ergebnis
+
+    /*
+     * Setzt alle Aufgaben mit Status from auf Status to (from == to ändert nichts und liefert 0)
+     * Die Standardimplementierung lädt die Aufgaben und aktualisiert sie über updateAll
+     */
+    default int updateStatus(TaskStatus from, TaskStatus to){
+        if (from == null || to == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (from == to) return 0;
+
+        List<Task> changed = new ArrayList<>();
+        for (Task task : findByStatus(from)){
+            changed.add(new Task(task.getTaskId(), task.getDescription(), to));
+        }
+        return updateAll(changed);
+    }
+
+    /*
+     * Löscht alle Aufgaben mit dem angegebenen Status
+     */
+    default int deleteByStatus(TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Task task : findByStatus(status)){
+            ids.add(task.getTaskId());
+        }
+        return deleteAllById(ids);
+    }
+
+    /*
+     * Setzt den Status der angegebenen Aufgaben, doppelte und unbekannte IDs werden übersprungen
+     * Liefert die Anzahl der gefundenen Aufgaben, auch wenn sie den Status bereits hatten
+     */
+    default int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        if (status == null){
+            throw new IllegalArgumentException("Status darf nicht null sein");
+        }
+        if (ids == null) return 0;
+
+        List<Task> changed = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)){
+            if (id != null){
+                findById(id).ifPresent(task -> changed.add(new Task(task.getTaskId(), task.getDescription(), status)));
+            }
+        }
+        return updateAll(changed);
+    }
+
+    // Streaming und Paginierung für große Datenmengen
+
+    /*
+     * Liefert alle Aufgaben als Stream, der nach Gebrauch geschlossen werden muss (try-with-resources)
+     * Die Standardimplementierung lädt alle Aufgaben, Implementierungen streamen direkt
+     */
+    default Stream<Task> streamAll(){
+        return findAll().stream();
+    }
+
+    /*
+     * Keyset-Paginierung, neueste Aufgaben zuerst, after == null liefert die erste Seite
+     */
+    default TaskPage findPage(PageCursor after, int pageSize){
+        if (pageSize <= 0){
+            throw new IllegalArgumentException("Seitengröße muss positiv sein");
+        }
+
+        List<Task> candidates = findAll().stream()
+                .filter(task -> after == null || task.getTaskId() < after.getId())
+                .sorted(Comparator.comparing(Task::getTaskId).reversed())
+                .limit(pageSize + 1L)
+                .collect(Collectors.toCollection(ArrayList::new));
+        return TaskPage.of(candidates, pageSize);
+    }
 }
@@ -0,0 +1,72 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.TaskStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * Gesamtzahl und Anzahl je Status aus TaskRepository.statistics()
+ * total kann größer sein als die Summe der Status, wenn die Datenbank unbekannte Status enthält
+ */
+
+public final class TaskStatistics{
+    private final long total;
+    private final Map<TaskStatus, Long> byStatus;
+
+    public TaskStatistics(long total, Map<TaskStatus, Long> byStatus){
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()){
+            counts.put(status, byStatus.getOrDefault(status, 0L));
+        }
+        this.total = total;
+        this.byStatus = Collections.unmodifiableMap(counts);
+    }
+
+    /*
+     * Addiert die Kennzahlen mehrerer Repositories, z.B. der Shards
+     */
+    static TaskStatistics sum(Collection<TaskStatistics> statistics){
+        long total = 0;
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatistics part : statistics){
+            total += part.total;
+            part.byStatus.forEach((status, count) -> counts.merge(status, count, Long::sum));
+        }
+        return new TaskStatistics(total, counts);
+    }
+
+    public long getTotal(){
+        return total;
+    }
+
+    public long getCount(TaskStatus status){
+        return status == null ? 0 : byStatus.get(status);
+    }
+
+    // Enthält jeden TaskStatus, auch mit Anzahl 0
+    public Map<TaskStatus, Long> getByStatus(){
+        return byStatus;
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if (this == o) return true;
+        if (!(o instanceof TaskStatistics)) return false;
+        TaskStatistics other = (TaskStatistics) o;
+        return total == other.total && byStatus.equals(other.byStatus);
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(total, byStatus);
+    }
+
+    @Override
+    public String toString(){
+        return "TaskStatistics[" + total + ", " + byStatus + "]";
+    }
+}
@@ -0,0 +1,172 @@
+package com.tasktracker.repository;
+
+import java.util.*;
+
+/*
+ * Invertierter Trigramm-Index über die kleingeschriebenen Beschreibungen
+ * Liefert für einen Suchbegriff die Kandidaten aus der Schnittmenge der Posting-Listen,
+ * die anschließend exakt per contains() geprüft werden
+ * Posting-Listen sind blockweise sortierte long-Mengen (LongSortedSet), Ergebnisse sind daher bereits
+ * nach ID sortiert; Löschen und Einfügen mitten in der Liste kopieren nur einen Block
+ * Beschreibungen und Posting-Listen liegen in LongObjectHashMaps, IDs und Trigramme werden nie geboxt
+ */
+
+final class TrigramIndex{
+    private static final int GRAM_LENGTH = 3;
+
+    // Grobe Objektgrößen (64-Bit JVM, Compressed Oops) für die Speicherabschätzung
+    private static final long STRING_BYTES = 24 + 16;
+
+    private final LongObjectHashMap<String> descriptions = new LongObjectHashMap<>();
+    private final LongObjectHashMap<LongSortedSet> postings = new LongObjectHashMap<>();
+
+    // Originalschreibweise, nur wo sie von der kleingeschriebenen abweicht (dieselbe String-Instanz wie in der Aufgabe)
+    private final LongObjectHashMap<String> originals = new LongObjectHashMap<>();
+    private long descriptionChars;
+
+    void put(long id, String description){
+        String lower = description.toLowerCase();
+        if (lower.equals(description)){
+            originals.remove(id);
+        }else{
+            originals.put(id, description);
+        }
+        String previous = descriptions.put(id, lower);
+
+        if (previous != null){
+            if (previous.equals(lower)){
+                return;
+            }
+            removeGrams(id, previous);
+        }
+
+        descriptionChars += lower.length();
+        for (long gram : grams(lower)){
+            LongSortedSet list = postings.get(gram);
+            if (list == null){
+                list = new LongSortedSet();
+                postings.put(gram, list);
+            }
+            list.add(id);
+        }
+    }
+
+    void remove(long id){
+        originals.remove(id);
+        String previous = descriptions.remove(id);
+        if (previous != null){
+            removeGrams(id, previous);
+        }
+    }
+
+    void clear(){
+        descriptions.clear();
+        originals.clear();
+        postings.clear();
+        descriptionChars = 0;
+    }
+
+    /*
+     * Die zuletzt indizierte Beschreibung in Originalschreibweise, null wenn die ID nicht indiziert ist
+     * Unabhängig von späteren Änderungen an der Task-Instanz durch Aufrufer
+     */
+    String description(long id){
+        String original = originals.get(id);
+        return original != null ? original : descriptions.get(id);
+    }
+
+    /*
+     * Liefert alle IDs, deren Beschreibung den Begriff enthält, aufsteigend sortiert
+     */
+    long[] search(String keyword){
+        String lower = keyword.toLowerCase();
+
+        if (lower.length() < GRAM_LENGTH){
+            return scan(lower);
+        }
+
+        List<LongSortedSet> lists = new ArrayList<>();
+        for (long gram : grams(lower)){
+            LongSortedSet list = postings.get(gram);
+            if (list == null){
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongSortedSet::size));
+
+        long[] candidates = lists.get(0).toArray();
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++){
+            count = lists.get(i).retainAll(candidates, count);
+        }
+
+        int matches = 0;
+        for (int i = 0; i < count; i++){
+            if (descriptions.get(candidates[i]).contains(lower)){
+                candidates[matches++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(candidates, matches);
+    }
+
+    DescriptionIndexStats stats(){
+        List<LongSortedSet> lists = new ArrayList<>(postings.size());
+        postings.addValuesTo(lists);
+
+        long postingCount = 0;
+        long postingBytes = postings.tableBytes();
+        for (LongSortedSet list : lists){
+            postingCount += list.size();
+            postingBytes += list.bytes();
+        }
+
+        long descriptionBytes = descriptions.tableBytes() + originals.tableBytes()
+                + descriptions.size() * STRING_BYTES + descriptionChars;
+        return new DescriptionIndexStats(descriptions.size(), postings.size(), postingCount,
+                descriptionBytes + postingBytes);
+    }
+
+    private long[] scan(String lower){
+        long[] result = descriptions.keys();
+        int matches = 0;
+        for (long id : result){
+            if (descriptions.get(id).contains(lower)){
+                result[matches++] = id;
+            }
+        }
+        result = Arrays.copyOf(result, matches);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void removeGrams(long id, String lower){
+        descriptionChars -= lower.length();
+        for (long gram : grams(lower)){
+            LongSortedSet list = postings.get(gram);
+            if (list != null && list.remove(id) && list.isEmpty()){
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /*
+     * Die verschiedenen Trigramme als sortiertes long-Array (je 16 Bit pro Zeichen)
+     */
+    private static long[] grams(String lower){
+        int count = Math.max(0, lower.length() - GRAM_LENGTH + 1);
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++){
+            result[i] = ((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2);
+        }
+        Arrays.sort(result);
+
+        int distinct = 0;
+        for (int i = 0; i < count; i++){
+            if (distinct == 0 || result[distinct - 1] != result[i]){
+                result[distinct++] = result[i];
+            }
+        }
+        return distinct == count ? result : Arrays.copyOf(result, distinct);
+    }
+}
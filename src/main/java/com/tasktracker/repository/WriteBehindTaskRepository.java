@@ -0,0 +1,575 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.logging.LogManager;
+import com.tasktracker.logging.Logger;
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.model.TaskValidator;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/*
+ * Write-behind Decorator: update() und delete() werden gepuffert, mehrfache Änderungen
+ * derselben ID zusammengefasst und gebündelt über updateAll/deleteAllById geschrieben
+ * Auslöser: flushSize gepufferte IDs oder flushInterval Millisekunden
+ * Ist der Puffer voll (maxPending), blockieren Schreiber bis zum nächsten Flush
+ * findById/existsById sehen gepufferte Änderungen, alle anderen Lesezugriffe flushen vorher
+ * update() prüft die Existenz vor dem Puffern (gepufferte Änderungen zuerst, sonst das Backend);
+ * nur ein paralleles Löschen zwischen Prüfung und Flush kann ein Update noch verwerfen
+ * Gepufferte Updates werden vorher mit demselben TaskValidator geprüft wie im Backend
+ * (task.max.description.length), damit das Backend sie später nicht ablehnt
+ *
+ * Scheitert ein Stapel, wird jede Änderung einzeln wiederholt: vom Backend abgelehnte Änderungen
+ * (IllegalArgumentException) werden verworfen und in getDroppedWrites() gezählt, bei anderen Fehlern
+ * (z. B. Verbindung weg) bleiben sie für bis zu MAX_ATTEMPTS Versuche gepuffert
+ *
+ * Der Flush-Thread ruft das Backend parallel zu den Aufrufern auf, das Backend muss daher
+ * thread-sicher sein (isThreadSafe()); InMemoryTaskRepository wird abgelehnt
+ */
+
+public class WriteBehindTaskRepository extends ForwardingTaskRepository{
+    private static final Logger LOG = LogManager.getLogger(WriteBehindTaskRepository.class);
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private final int maxPending;
+    private final int flushSize;
+    private final long flushInterval;
+    private final TaskValidator validator;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushWanted = lock.newCondition();
+    private LinkedHashMap<Long, PendingWrite> pending = new LinkedHashMap<>();
+    private Map<Long, PendingWrite> inFlight = Collections.emptyMap();
+
+    // Nur ein Flush gleichzeitig, damit Änderungen derselben ID in Reihenfolge ankommen
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    private final LongAdder bufferedWrites = new LongAdder();
+    private final LongAdder coalescedWrites = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedWrites = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder droppedWrites = new LongAdder();
+
+    public WriteBehindTaskRepository(TaskRepository delegate, int maxPending, int flushSize, long flushInterval){
+        this(delegate, maxPending, flushSize, flushInterval, new TaskValidator());
+    }
+
+    public WriteBehindTaskRepository(TaskRepository delegate, int maxPending, int flushSize, long flushInterval,
+                                     TaskValidator validator){
+        super(delegate);
+        if (maxPending <= 0 || flushSize <= 0 || flushInterval <= 0){
+            throw new IllegalArgumentException("Puffergrößen und Intervall müssen positiv sein");
+        }
+        if (!delegate.isThreadSafe()){
+            throw new IllegalArgumentException("Write-behind braucht ein thread-sicheres Backend, "
+                    + delegate.getClass().getSimpleName() + " ist es nicht");
+        }
+        this.maxPending = maxPending;
+        this.flushSize = Math.min(flushSize, maxPending);
+        this.flushInterval = flushInterval;
+        this.validator = Objects.requireNonNull(validator, "Validator darf nicht null sein");
+
+        this.flusher = new Thread(this::runFlusher, "write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public Task update(Task task){
+        validateUpdate(task);
+        if (!existsById(task.getTaskId())){
+            throw new IllegalArgumentException("Task nicht gefunden");
+        }
+        enqueue(task.getTaskId(), PendingWrite.update(task));
+        return task;
+    }
+
+    /*
+     * Wie die Standardimplementierung: nicht vorhandene Aufgaben werden übersprungen und nicht gezählt
+     */
+    @Override
+    public int updateAll(List<Task> taskList){
+        if (taskList == null) return 0;
+
+        int updated = 0;
+        for (Task task : taskList){
+            validateUpdate(task);
+            if (existsById(task.getTaskId())){
+                enqueue(task.getTaskId(), PendingWrite.update(task));
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /*
+     * Das Ergebnis erfordert eine Existenzprüfung, das Löschen selbst wird gepuffert
+     */
+    @Override
+    public boolean delete(long id){
+        if (!existsById(id)){
+            return false;
+        }
+        enqueue(id, PendingWrite.DELETE);
+        return true;
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> ids){
+        if (ids == null) return 0;
+
+        int deleted = 0;
+        for (Long id : new LinkedHashSet<>(ids)){
+            if (id != null && delete(id)){
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /*
+     * Bedingte Schreibzugriffe brauchen den aktuellen Stand im Backend und werden nicht gepuffert
+     */
+    @Override
+    public Task saveOrUpdate(Task task){
+        flushLock.lock();
+        try{
+            flush();
+            return delegate.saveOrUpdate(task);
+        }finally{
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateIfUnchanged(Task task, TaskStatus expectedStatus, String expectedDescription){
+        flushLock.lock();
+        try{
+            flush();
+            return delegate.updateIfUnchanged(task, expectedStatus, expectedDescription);
+        }finally{
+            flushLock.unlock();
+        }
+    }
+
+    /*
+     * Mengenbasierte Änderungen gehen direkt an das Backend, gepufferte Änderungen vorher
+     * Der Flush-Lock hält den Hintergrund-Flush an, bis die Änderung durch ist
+     */
+    @Override
+    public int updateStatus(TaskStatus from, TaskStatus to){
+        flushLock.lock();
+        try{
+            flush();
+            return delegate.updateStatus(from, to);
+        }finally{
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public int deleteByStatus(TaskStatus status){
+        flushLock.lock();
+        try{
+            flush();
+            return delegate.deleteByStatus(status);
+        }finally{
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, TaskStatus status){
+        flushLock.lock();
+        try{
+            flush();
+            return delegate.updateStatusByIds(ids, status);
+        }finally{
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(long id){
+        PendingWrite write = lookup(id);
+        if (write != null){
+            return write.isDelete() ? Optional.empty() : Optional.of(write.toTask(id));
+        }
+        return delegate.findById(id);
+    }
+
+    @Override
+    public boolean existsById(long id){
+        PendingWrite write = lookup(id);
+        if (write != null){
+            return !write.isDelete();
+        }
+        return delegate.existsById(id);
+    }
+
+    /*
+     * Aufgaben mit expliziter ID könnten gepufferte Änderungen überholen, daher vorher flushen
+     */
+    @Override
+    public Task save(Task task){
+        if (task.getTaskId() != 0){
+            flush();
+        }
+        return delegate.save(task);
+    }
+
+    @Override
+    public void saveAll(List<Task> taskList){
+        if (taskList != null && taskList.stream().anyMatch(task -> task.getTaskId() != 0)){
+            flush();
+        }
+        delegate.saveAll(taskList);
+    }
+
+    @Override
+    public List<Task> findAll(){
+        flush();
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status){
+        flush();
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Task> findByDescriptionContaining(String keyword){
+        flush();
+        return delegate.findByDescriptionContaining(keyword);
+    }
+
+    @Override
+    public long count(){
+        flush();
+        return delegate.count();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status){
+        flush();
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public TaskStatistics statistics(){
+        flush();
+        return delegate.statistics();
+    }
+
+    @Override
+    public Stream<Task> streamAll(){
+        flush();
+        return delegate.streamAll();
+    }
+
+    @Override
+    public TaskPage findPage(PageCursor after, int pageSize){
+        flush();
+        return delegate.findPage(after, pageSize);
+    }
+
+    @Override
+    public void deleteAll(){
+        flushLock.lock();
+        try{
+            lock.lock();
+            try{
+                pending = new LinkedHashMap<>();
+                notFull.signalAll();
+            }finally{
+                lock.unlock();
+            }
+            delegate.deleteAll();
+        }finally{
+            flushLock.unlock();
+        }
+    }
+
+    /*
+     * Schreibt alle gepufferten Änderungen synchron
+     * Scheitert der Stapel, wird jede Änderung einzeln geschrieben (writeIndividually); eine Exception
+     * wird nur weitergereicht, wenn danach noch Änderungen für einen weiteren Versuch gepuffert sind
+     */
+    public void flush(){
+        flushLock.lock();
+        try{
+            Map<Long, PendingWrite> batch;
+            lock.lock();
+            try{
+                if (pending.isEmpty()){
+                    return;
+                }
+                batch = pending;
+                inFlight = batch;
+                pending = new LinkedHashMap<>();
+                notFull.signalAll();
+            }finally{
+                lock.unlock();
+            }
+
+            try{
+                write(batch);
+                flushes.increment();
+                flushedWrites.add(batch.size());
+            }catch (RuntimeException e){
+                failedFlushes.increment();
+                LOG.warn("Write-behind Stapel mit {} Änderungen fehlgeschlagen, schreibe einzeln: {}",
+                        batch.size(), e.getMessage());
+                writeIndividually(batch);
+            }finally{
+                lock.lock();
+                try{
+                    inFlight = Collections.emptyMap();
+                }finally{
+                    lock.unlock();
+                }
+            }
+        }finally{
+            flushLock.unlock();
+        }
+    }
+
+    public int getPendingCount(){
+        lock.lock();
+        try{
+            return pending.size();
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    public long getBufferedWrites(){
+        return bufferedWrites.sum();
+    }
+
+    public long getCoalescedWrites(){
+        return coalescedWrites.sum();
+    }
+
+    public long getFlushes(){
+        return flushes.sum();
+    }
+
+    public long getFlushedWrites(){
+        return flushedWrites.sum();
+    }
+
+    public long getFailedFlushes(){
+        return failedFlushes.sum();
+    }
+
+    /*
+     * Vom Backend abgelehnte oder nach MAX_ATTEMPTS Versuchen aufgegebene Änderungen
+     */
+    public long getDroppedWrites(){
+        return droppedWrites.sum();
+    }
+
+    @Override
+    public void close(){
+        closed = true;
+        flusher.interrupt();
+        try{
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }catch (InterruptedException e){
+            // Trotzdem noch flushen, das Interrupt-Flag bleibt für den Aufrufer gesetzt
+            Thread.currentThread().interrupt();
+        }
+        try{
+            flush();
+        }finally{
+            super.close();
+        }
+    }
+
+    private void validateUpdate(Task task){
+        validator.validate(task);
+        if (task.getTaskId() <= 0){
+            throw new IllegalArgumentException("Task-ID muss positiv sein für Update");
+        }
+    }
+
+    private void enqueue(long id, PendingWrite write){
+        if (closed){
+            throw new IllegalStateException("Repository ist geschlossen");
+        }
+
+        lock.lock();
+        try{
+            while (pending.size() >= maxPending && !pending.containsKey(id)){
+                flushWanted.signal();
+                notFull.awaitUninterruptibly();
+            }
+
+            bufferedWrites.increment();
+            // remove + put, damit die ID an das Ende der Schreibreihenfolge rückt
+            if (pending.remove(id) != null){
+                coalescedWrites.increment();
+            }
+            pending.put(id, write);
+
+            if (pending.size() >= flushSize){
+                flushWanted.signal();
+            }
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    private PendingWrite lookup(long id){
+        lock.lock();
+        try{
+            PendingWrite write = pending.get(id);
+            return write != null ? write : inFlight.get(id);
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    private void write(Map<Long, PendingWrite> batch){
+        List<Task> updates = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (Map.Entry<Long, PendingWrite> entry : batch.entrySet()){
+            if (entry.getValue().isDelete()){
+                deletes.add(entry.getKey());
+            }else{
+                updates.add(entry.getValue().toTask(entry.getKey()));
+            }
+        }
+
+        if (!updates.isEmpty()){
+            delegate.updateAll(updates);
+        }
+        if (!deletes.isEmpty()){
+            delegate.deleteAllById(deletes);
+        }
+    }
+
+    /*
+     * Einzelversuch je Änderung nach einem fehlgeschlagenen Stapel, damit eine einzelne abgelehnte
+     * Änderung nicht den ganzen Stapel und damit alle späteren Lesezugriffe dauerhaft blockiert
+     */
+    private void writeIndividually(Map<Long, PendingWrite> batch){
+        LinkedHashMap<Long, PendingWrite> retry = new LinkedHashMap<>();
+        RuntimeException failure = null;
+        for (Map.Entry<Long, PendingWrite> entry : batch.entrySet()){
+            long id = entry.getKey();
+            PendingWrite write = entry.getValue();
+            try{
+                write(Collections.singletonMap(id, write));
+                flushedWrites.increment();
+            }catch (IllegalArgumentException e){
+                drop(id, e);
+            }catch (RuntimeException e){
+                failure = e;
+                if (write.attempts + 1 >= MAX_ATTEMPTS){
+                    drop(id, e);
+                }else{
+                    retry.put(id, write.retried());
+                }
+            }
+        }
+        if (!retry.isEmpty()){
+            requeue(retry);
+            throw failure;
+        }
+    }
+
+    private void drop(long id, RuntimeException cause){
+        droppedWrites.increment();
+        LOG.error("Write-behind: Änderung für ID {} verworfen: {}", id, cause.getMessage());
+    }
+
+    /*
+     * Fehlgeschlagene Änderungen zurück in den Puffer, neuere Änderungen derselben ID haben Vorrang
+     */
+    private void requeue(Map<Long, PendingWrite> batch){
+        lock.lock();
+        try{
+            LinkedHashMap<Long, PendingWrite> merged = new LinkedHashMap<>(batch);
+            for (Map.Entry<Long, PendingWrite> entry : pending.entrySet()){
+                merged.remove(entry.getKey());
+                merged.put(entry.getKey(), entry.getValue());
+            }
+            pending = merged;
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher(){
+        while (!closed){
+            lock.lock();
+            try{
+                if (pending.size() < flushSize){
+                    flushWanted.await(flushInterval, TimeUnit.MILLISECONDS);
+                }
+            }catch (InterruptedException e){
+                return;
+            }finally{
+                lock.unlock();
+            }
+
+            try{
+                flush();
+            }catch (RuntimeException e){
+                LOG.error("Write-behind Flush fehlgeschlagen: {}", e.getMessage());
+                try{
+                    Thread.sleep(flushInterval);
+                }catch (InterruptedException interrupted){
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class PendingWrite{
+        private static final PendingWrite DELETE = new PendingWrite(null, null, true, 0);
+
+        private final String description;
+        private final TaskStatus status;
+        private final boolean delete;
+        private final int attempts;
+
+        private PendingWrite(String description, TaskStatus status, boolean delete, int attempts){
+            this.description = description;
+            this.status = status;
+            this.delete = delete;
+            this.attempts = attempts;
+        }
+
+        // Kopie, damit spätere Änderungen des Aufrufers den Puffer nicht verändern
+        private static PendingWrite update(Task task){
+            return new PendingWrite(task.getDescription(), task.getTaskStatus(), false, 0);
+        }
+
+        private PendingWrite retried(){
+            return new PendingWrite(description, status, delete, attempts + 1);
+        }
+
+        private boolean isDelete(){
+            return delete;
+        }
+
+        private Task toTask(long id){
+            return new Task(id, description, status);
+        }
+    }
+}
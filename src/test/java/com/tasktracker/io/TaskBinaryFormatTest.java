@@ -0,0 +1,143 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.repository.InMemoryTaskRepository;
+import com.tasktracker.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskBinaryFormatTest{
+    /*
+     * Tests für TaskExporter, TaskImporter und das Binärformat
+     * Kleine Blöcke, damit auch Dateien mit wenigen Aufgaben mehrere Blöcke enthalten
+     */
+
+    @TempDir
+    Path directory;
+
+    private TaskRepository filledRepository(int count){
+        TaskRepository repository = new InMemoryTaskRepository();
+        for (int i = 0; i < count; i++){
+            repository.save(new Task(0, "Aufgabe " + i + " äöü €", i % 3 == 0 ? TaskStatus.ERLEDIGT : TaskStatus.OFFEN));
+        }
+        return repository;
+    }
+
+    private static List<String> snapshot(TaskRepository repository){
+        return repository.findAll().stream()
+                .sorted(Comparator.comparingLong(Task::getTaskId))
+                .map(task -> task.getTaskId() + "|" + task.getDescription() + "|" + task.getTaskStatus())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testRoundTripUncompressedKeepsIds() throws IOException{
+        TaskRepository source = filledRepository(5000);
+        source.delete(7);
+        Path file = directory.resolve("tasks.bin");
+
+        assertEquals(4999, new TaskExporter(false, 4096).export(source, file));
+
+        TaskRepository target = new InMemoryTaskRepository();
+        assertEquals(4999, new TaskImporter(1000, true).importTasks(file, target));
+        assertEquals(snapshot(source), snapshot(target));
+    }
+
+    @Test
+    void testCompressedIsSmallerAndRoundTrips() throws IOException{
+        TaskRepository source = filledRepository(5000);
+        Path plain = directory.resolve("plain.bin");
+        Path packed = directory.resolve("packed.bin");
+
+        new TaskExporter(false).export(source, plain);
+        new TaskExporter(true, 4096).export(source, packed);
+        assertTrue(Files.size(packed) < Files.size(plain) / 2);
+
+        TaskRepository target = new InMemoryTaskRepository();
+        new TaskImporter(true).importTasks(packed, target);
+        assertEquals(snapshot(source), snapshot(target));
+    }
+
+    @Test
+    void testImportWithoutIdsAssignsNewOnes() throws IOException{
+        TaskRepository source = filledRepository(10);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new TaskExporter(true).export(source, Channels.newChannel(bytes));
+
+        TaskRepository target = new InMemoryTaskRepository();
+        target.save(new Task("Bereits vorhanden"));
+        new TaskImporter(false).importTasks(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), target);
+
+        assertEquals(11, target.count());
+        assertEquals("Bereits vorhanden", target.findById(1).orElseThrow().getDescription());
+        assertEquals(4, target.countByStatus(TaskStatus.ERLEDIGT));
+    }
+
+    @Test
+    void testCorruptBlockIsRejected() throws IOException{
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new TaskExporter(false).export(filledRepository(100), Channels.newChannel(bytes));
+        byte[] data = bytes.toByteArray();
+        data[40] ^= 0x7F;
+
+        TaskImporter importer = new TaskImporter(true);
+        TaskRepository target = new InMemoryTaskRepository();
+        assertThrows(IOException.class,
+                () -> importer.importTasks(Channels.newChannel(new ByteArrayInputStream(data)), target));
+        assertEquals(0, target.count());
+    }
+
+    @Test
+    void testTruncatedFileIsRejected() throws IOException{
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new TaskExporter(false).export(filledRepository(100), Channels.newChannel(bytes));
+        byte[] data = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 16);
+
+        assertThrows(IOException.class, () -> new TaskImporter(true)
+                .importTasks(Channels.newChannel(new ByteArrayInputStream(data)), new InMemoryTaskRepository()));
+    }
+
+    @Test
+    void testFailedExportLeavesNoCompleteFile() throws IOException{
+        TaskRepository failing = new InMemoryTaskRepository(){
+            @Override
+            public Stream<Task> streamAll(){
+                return Stream.concat(Stream.of(new Task(1, "Erste", TaskStatus.OFFEN)),
+                        Stream.generate(() -> {
+                            throw new IllegalStateException("Verbindung verloren");
+                        }));
+            }
+        };
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        assertThrows(IllegalStateException.class,
+                () -> new TaskExporter(false).export(failing, Channels.newChannel(bytes)));
+        assertThrows(IOException.class, () -> new TaskImporter(true)
+                .importTasks(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), new InMemoryTaskRepository()));
+
+        Path file = directory.resolve("tasks.bin");
+        new TaskExporter(false).export(filledRepository(3), file);
+        byte[] previous = Files.readAllBytes(file);
+
+        assertThrows(IllegalStateException.class, () -> new TaskExporter(false).export(failing, file));
+        assertArrayEquals(previous, Files.readAllBytes(file));
+        try (Stream<Path> files = Files.list(directory)){
+            assertEquals(1, files.count());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.tasktracker.io;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.model.TaskValidator;
+import com.tasktracker.repository.InMemoryTaskRepository;
+import com.tasktracker.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskImportPipelineTest{
+    /*
+     * Tests für TaskImportPipeline
+     * Kleine Blöcke und Stapel, damit auch kurze Dateien alle Stufen mehrfach durchlaufen
+     */
+
+    @TempDir
+    Path directory;
+
+    private TaskImportPipeline pipeline(TaskRepository repository){
+        return new TaskImportPipeline(repository, new TaskValidator(20), 3, 2, 2, 3);
+    }
+
+    private Path write(String name, String content) throws IOException{
+        Path file = directory.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    void testCsvWithQuotesAndRejects() throws IOException{
+        Path input = write("tasks.csv", "id,description,status\n"
+                + "1,Einkaufen,OFFEN\n"
+                + "2,\"Mit, Komma\",erledigt\n"
+                + "3,\"Zwei\nZeilen\",\n"
+                + "4,\"Mit \"\"Zitat\"\"\",OFFEN\n"
+                + "\n"
+                + "5,   ,OFFEN\n"
+                + "6,Unbekannt,VIELLEICHT\n"
+                + "7,Diese Beschreibung ist viel zu lang,OFFEN\n");
+        Path rejects = directory.resolve("rejects.tsv");
+        TaskRepository repository = new InMemoryTaskRepository();
+
+        ImportReport report = pipeline(repository).run(input, rejects);
+
+        assertEquals(7, report.getRecordsRead());
+        assertEquals(4, report.getTasksSaved());
+        assertEquals(3, report.getParseRejected());
+        assertEquals(1, repository.findByDescriptionContaining("Mit, Komma").size());
+        assertEquals(TaskStatus.ERLEDIGT, repository.findByDescriptionContaining("Mit, Komma").get(0).getTaskStatus());
+        assertEquals(1, repository.findByDescriptionContaining("Zwei\nZeilen").size());
+        assertEquals(1, repository.findByDescriptionContaining("Mit \"Zitat\"").size());
+
+        List<String> lines = Files.readAllLines(rejects);
+        assertEquals(4, lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("9\t") && line.contains("VIELLEICHT")));
+    }
+
+    @Test
+    void testJsonLines() throws IOException{
+        Path input = write("tasks.jsonl", "{\"description\": \"Eins\", \"status\": \"ERLEDIGT\", \"prio\": 3}\n"
+                + "{\"description\": \"Zwei \\u00e4\\n\"}\n"
+                + "{\"status\": \"OFFEN\"}\n"
+                + "kein json\n"
+                + "{\"description\": \"Drei\", \"tags\": [\"a\"]}\n");
+        TaskRepository repository = new InMemoryTaskRepository();
+
+        ImportReport report = pipeline(repository).run(input, null);
+
+        assertEquals(2, report.getTasksSaved());
+        assertEquals(3, report.getRejected());
+        assertEquals(1, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(1, repository.findByDescriptionContaining("Zwei ä\n").size());
+    }
+
+    @Test
+    void testFailedBatchRejectsOnlyUnsavedTasks() throws IOException{
+        StringBuilder csv = new StringBuilder("description\n");
+        for (int i = 0; i < 30; i++){
+            csv.append(i == 13 ? "Explodiert" : "Aufgabe " + i).append('\n');
+        }
+        Path input = write("tasks.csv", csv.toString());
+        Path rejects = directory.resolve("rejects.tsv");
+        // Speichert wie SqlServerTaskRepository bis zum Fehler und wirft dann: der Stapel ist teilweise gespeichert
+        TaskRepository repository = new InMemoryTaskRepository(){
+            @Override
+            public Task save(Task task){
+                if (task.getDescription().equals("Explodiert")){
+                    throw new IllegalStateException("Backend lehnt ab");
+                }
+                return super.save(task);
+            }
+
+            @Override
+            public void saveAll(List<Task> taskList){
+                for (Task task : taskList){
+                    save(task);
+                }
+            }
+        };
+
+        ImportReport report = pipeline(repository).run(input, rejects);
+
+        assertEquals(1, report.getSaveRejected());
+        assertEquals(29, report.getTasksSaved());
+        assertEquals(29, repository.count());
+        assertEquals(29, repository.findAll().stream().map(Task::getDescription).distinct().count());
+        assertEquals(2, Files.readAllLines(rejects).size());
+        assertTrue(Files.readAllLines(rejects).get(1).contains("Explodiert"));
+    }
+
+    @Test
+    void testLargeParallelImport() throws IOException{
+        List<String> lines = new ArrayList<>();
+        lines.add("description;status");
+        for (int i = 0; i < 20_000; i++){
+            lines.add("Aufgabe " + i + ";" + (i % 2 == 0 ? "OFFEN" : "ERLEDIGT"));
+        }
+        Path input = directory.resolve("large.csv");
+        Files.write(input, lines, StandardCharsets.UTF_8);
+        TaskRepository repository = new InMemoryTaskRepository();
+
+        ImportReport report = new TaskImportPipeline(repository, new TaskValidator(), 4, 500, 4, 2000)
+                .withCsvDelimiter(';')
+                .run(input, null);
+
+        assertEquals(20_000, report.getTasksSaved());
+        assertEquals(10, report.getBatches());
+        assertEquals(10_000, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertFalse(report.toString().isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.tasktracker.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoggerTest{
+    /*
+     * Tests für Logger, LogManager und die Logdatei
+     * Nach jedem Test wird die Konfiguration aus application.properties wiederhergestellt
+     */
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void restore(){
+        LogManager.configure(LogManager.loadConfiguration());
+    }
+
+    @Test
+    void testLongestPrefixWins(){
+        Properties properties = new Properties();
+        properties.setProperty("logging.level.root", "WARN");
+        properties.setProperty("logging.level.com.tasktracker", "DEBUG");
+        properties.setProperty("logging.level.com.tasktracker.repository", "INFO");
+        LogManager.configure(properties);
+
+        Logger repository = LogManager.getLogger("com.tasktracker.repository.SqlServerTaskRepository");
+        assertFalse(repository.isDebugEnabled());
+        assertTrue(repository.isInfoEnabled());
+        assertTrue(LogManager.getLogger("com.tasktracker.model.Task").isDebugEnabled());
+        assertEquals(LogLevel.WARN, LogManager.getLogger("com.tasktrackerx.Other").getLevel());
+
+        // Bestehende Logger übernehmen eine neue Konfiguration
+        properties.setProperty("logging.level.com.tasktracker.repository", "ERROR");
+        LogManager.configure(properties);
+        assertFalse(repository.isWarnEnabled());
+        assertTrue(repository.isErrorEnabled());
+    }
+
+    @Test
+    void testDisabledLevelDoesNotTouchArguments() throws Exception{
+        Path file = tempDir.resolve("test.log");
+        LogManager.configure(fileConfiguration(file, "1MB", 1));
+        AtomicInteger formatted = new AtomicInteger();
+        Object argument = new Object(){
+            @Override
+            public String toString(){
+                formatted.incrementAndGet();
+                return "Argument";
+            }
+        };
+
+        Logger logger = LogManager.getLogger("test.quiet");
+        logger.debug("Nicht sichtbar {}", argument);
+        logger.info("Sichtbar {} und {}", argument, 42);
+        LogManager.flush();
+
+        assertEquals(1, formatted.get());
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertFalse(content.contains("Nicht sichtbar"));
+        assertTrue(content.contains("INFO  test.quiet - Sichtbar Argument und 42"));
+    }
+
+    @Test
+    void testThrowableAndRotation() throws Exception{
+        Path file = tempDir.resolve("rotate.log");
+        LogManager.configure(fileConfiguration(file, "2KB", 2));
+
+        Logger logger = LogManager.getLogger("test.rotate");
+        logger.error("Fehlgeschlagen: {}", "Grund", new IllegalStateException("Ursache"));
+        for (int i = 0; i < 200; i++){
+            logger.info("Zeile {} mit etwas Text, damit die Datei wächst", i);
+        }
+        LogManager.flush();
+
+        assertTrue(Files.exists(tempDir.resolve("rotate.log.1")));
+        assertTrue(Files.exists(tempDir.resolve("rotate.log.2")));
+        assertFalse(Files.exists(tempDir.resolve("rotate.log.3")));
+        assertTrue(Files.size(file) <= 2048);
+        String newest = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertTrue(newest.contains("Zeile 199"));
+    }
+
+    @Test
+    void testPatternAndSizes(){
+        assertEquals("c.t.r.SqlServerTaskRepository",
+                LogPattern.abbreviate("com.tasktracker.repository.SqlServerTaskRepository", 36));
+        assertEquals("com.tasktracker.Main", LogPattern.abbreviate("com.tasktracker.Main", 36));
+
+        LogEvent event = new LogEvent();
+        event.set(0, LogLevel.WARN, "a.b.C", "main", "{} von {}", 1, "eins", null, null);
+        assertEquals("[main] WARN  C: eins von {}|", new LogPattern("[%t] %-5level %logger{0}: %msg|").format(event));
+
+        assertEquals(10L * 1024 * 1024, LogManager.parseSize("10MB"));
+        assertEquals(512, LogManager.parseSize("512"));
+        assertThrows(IllegalArgumentException.class, () -> LogManager.parseSize("zehn"));
+    }
+
+    private static Properties fileConfiguration(Path file, String maxSize, int maxHistory){
+        Properties properties = new Properties();
+        properties.setProperty("logging.level.root", "INFO");
+        properties.setProperty("logging.pattern.console", "%-5level %logger - %msg%n");
+        properties.setProperty("logging.file.enabled", "true");
+        properties.setProperty("logging.file.name", file.toString());
+        properties.setProperty("logging.file.max-size", maxSize);
+        properties.setProperty("logging.file.max-history", String.valueOf(maxHistory));
+        return properties;
+    }
+}
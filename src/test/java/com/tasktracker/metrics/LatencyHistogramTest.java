@@ -0,0 +1,79 @@
+package com.tasktracker.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest{
+    /*
+     * Tests für LatencyHistogram und RepositoryMetrics
+     * Perzentile dürfen höchstens um die Bucket-Breite (1/32 der Zweierpotenz) über dem exakten Wert liegen
+     */
+
+    @Test
+    void testBucketBoundsAreContiguous(){
+        long previous = -1;
+        for (int i = 0; i < 1248; i++){
+            long upper = LatencyHistogram.bucketUpperBound(i);
+            assertTrue(upper > previous, "Bucket " + i);
+            assertEquals(i, LatencyHistogram.bucketIndex(previous + 1));
+            assertEquals(i, LatencyHistogram.bucketIndex(upper));
+            previous = upper;
+        }
+        assertEquals(1247, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testPercentilesOfUniformDistribution(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++){
+            histogram.record(i * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(100_000_000L, snapshot.getMaxNanos());
+        assertEquals(50_000_500L, snapshot.getMeanNanos());
+        assertWithin(50_000_000L, snapshot.getP50Nanos());
+        assertWithin(90_000_000L, snapshot.getP90Nanos());
+        assertWithin(99_000_000L, snapshot.getP99Nanos());
+        assertWithin(99_900_000L, snapshot.getP999Nanos());
+    }
+
+    @Test
+    void testEmptyAndNegative(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getP99Nanos());
+        assertEquals(0, histogram.snapshot().getMeanNanos());
+
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.snapshot().getMaxNanos());
+    }
+
+    @Test
+    void testOperationMetricsAndFormat(){
+        RepositoryMetrics metrics = new RepositoryMetrics("Test");
+        OperationMetrics find = metrics.operation("findAll");
+        assertSame(find, metrics.operation("findAll"));
+
+        long start = System.nanoTime();
+        find.success(start, 7);
+        find.failure(start);
+        metrics.operation("count");
+
+        assertEquals(2, find.getCount());
+        assertEquals(1, find.getErrors());
+        assertEquals(7, find.getRows());
+
+        String table = metrics.format();
+        assertTrue(table.contains("findAll"));
+        assertFalse(table.contains("count"), "Operationen ohne Aufruf werden ausgelassen");
+        metrics.close();
+    }
+
+    private static void assertWithin(long expected, long actual){
+        assertTrue(actual >= expected && actual <= expected + expected / 32,
+                "erwartet " + expected + ", erhalten " + actual);
+    }
+}
@@ -61,4 +61,14 @@ public class TaskTest{
         assertEquals("Beschreibung", task.getDescription());
         assertEquals(TaskStatus.ERLEDIGT, task.getTaskStatus());
     }
+
+    @Test
+    void testValidatorRejectsMissingStatusAndLongDescription(){
+        TaskValidator validator = new TaskValidator(10);
+
+        assertDoesNotThrow(() -> validator.validate(new Task(0, "Kurz", TaskStatus.OFFEN)));
+        assertThrows(IllegalArgumentException.class, () -> validator.validate(new Task(0, "Kurz", null)));
+        assertThrows(IllegalArgumentException.class, () -> validator.create(0, "Viel zu lang", TaskStatus.OFFEN));
+        assertThrows(IllegalArgumentException.class, () -> validator.create(0, " ", TaskStatus.OFFEN));
+    }
 }
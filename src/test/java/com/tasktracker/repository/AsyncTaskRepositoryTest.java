@@ -0,0 +1,186 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AsyncTaskRepositoryTest{
+    /*
+     * Tests für AsyncTaskRepository
+     */
+
+    private AsyncTaskRepository repository;
+
+    @AfterEach
+    void tearDown(){
+        repository.close();
+    }
+
+    @Test
+    void testOperationsComplete(){
+        repository = new AsyncTaskRepository(new ConcurrentInMemoryTaskRepository(), 4);
+
+        Task saved = repository.save(new Task("Aufgabe")).join();
+
+        assertTrue(repository.existsById(saved.getTaskId()).join());
+        assertEquals(1L, repository.count().join());
+    }
+
+    @Test
+    void testCountAllByStatusFansOut(){
+        repository = new AsyncTaskRepository(new ConcurrentInMemoryTaskRepository(), 4);
+        Task done = new Task("Erledigt");
+        done.setTaskStatus(TaskStatus.ERLEDIGT);
+        repository.saveAll(List.of(new Task("Offen"), done)).join();
+
+        Map<TaskStatus, Long> counts = repository.countAllByStatus().join();
+
+        assertEquals(1L, counts.get(TaskStatus.OFFEN));
+        assertEquals(1L, counts.get(TaskStatus.ERLEDIGT));
+    }
+
+    @Test
+    void testUpsertAndCompareAndSet(){
+        repository = new AsyncTaskRepository(new ConcurrentInMemoryTaskRepository(), 4);
+        Task saved = repository.saveOrUpdate(new Task("Neu")).join();
+        long id = saved.getTaskId();
+
+        repository.saveOrUpdate(new Task(id, "Geändert", TaskStatus.OFFEN)).join();
+        boolean stale = repository.updateIfUnchanged(new Task(id, "Veraltet", TaskStatus.ERLEDIGT),
+                TaskStatus.OFFEN, "Neu").join();
+        boolean current = repository.updateIfUnchanged(new Task(id, "Fertig", TaskStatus.ERLEDIGT),
+                TaskStatus.OFFEN, "Geändert").join();
+
+        assertFalse(stale);
+        assertTrue(current);
+        assertEquals("Fertig", repository.findById(id).join().orElseThrow().getDescription());
+        assertEquals(1L, repository.count().join());
+    }
+
+    @Test
+    void testBulkUpdateAndDelete(){
+        repository = new AsyncTaskRepository(new ConcurrentInMemoryTaskRepository(), 4);
+        Task first = repository.save(new Task("Erste")).join();
+        Task second = repository.save(new Task("Zweite")).join();
+
+        int updated = repository.updateAll(List.of(new Task(first.getTaskId(), "Geändert", TaskStatus.OFFEN))).join();
+        int deleted = repository.deleteAllById(List.of(second.getTaskId(), 99L)).join();
+
+        assertEquals(1, updated);
+        assertEquals(1, deleted);
+        assertEquals("Geändert", repository.findById(first.getTaskId()).join().orElseThrow().getDescription());
+        assertEquals(1L, repository.count().join());
+    }
+
+    @Test
+    void testStatusOperations(){
+        repository = new AsyncTaskRepository(new ConcurrentInMemoryTaskRepository(), 4);
+        Task first = repository.save(new Task("Erste")).join();
+        repository.save(new Task("Zweite")).join();
+        repository.save(new Task("Dritte")).join();
+
+        assertEquals(1, repository.updateStatusByIds(List.of(first.getTaskId()), TaskStatus.ERLEDIGT).join());
+        assertEquals(1, repository.deleteByStatus(TaskStatus.ERLEDIGT).join());
+        assertEquals(2, repository.updateStatus(TaskStatus.OFFEN, TaskStatus.ERLEDIGT).join());
+
+        assertEquals(2L, repository.countByStatus(TaskStatus.ERLEDIGT).join());
+        assertFalse(repository.existsById(first.getTaskId()).join());
+    }
+
+    @Test
+    void testConcurrencyIsLimited(){
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        repository = new AsyncTaskRepository(new ConcurrentInMemoryTaskRepository(){
+            @Override
+            public long count(){
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try{
+                    Thread.sleep(20);
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return super.count();
+            }
+        }, 2);
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++){
+            futures.add(repository.count());
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void testNonThreadSafeRepositoryRunsSequentially(){
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        repository = new AsyncTaskRepository(new InMemoryTaskRepository(){
+            @Override
+            public long count(){
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try{
+                    Thread.sleep(5);
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return super.count();
+            }
+        }, 4);
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++){
+            futures.add(repository.count());
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(1, repository.getMaxConcurrency());
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void testExceptionIsPropagated(){
+        repository = new AsyncTaskRepository(new ConcurrentInMemoryTaskRepository(), 1);
+
+        CompletableFuture<Task> future = repository.update(new Task(99L, "Gibt es nicht", TaskStatus.OFFEN));
+
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+
+    @Test
+    void testFallbackPoolIsBoundedByMaxConcurrency(){
+        // Ab Java 21 laufen die Operationen auf virtuellen Threads, der Ersatz-Pool wird nicht verwendet
+        assumeTrue(Runtime.version().feature() < 21);
+        repository = new AsyncTaskRepository(new ConcurrentInMemoryTaskRepository(), 2);
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++){
+            futures.add(repository.submit(repo -> {
+                threads.add(Thread.currentThread().getName());
+                return repo.count();
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertTrue(threads.size() <= 2, "Threads: " + threads);
+    }
+}
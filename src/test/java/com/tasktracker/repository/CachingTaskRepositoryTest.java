@@ -0,0 +1,225 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingTaskRepositoryTest{
+    /*
+     * Tests für CachingTaskRepository
+     * Das Backend zählt die Punktzugriffe, die den Cache verfehlen
+     */
+
+    private CountingRepository backend;
+    private CachingTaskRepository repository;
+
+    @BeforeEach
+    void setup(){
+        backend = new CountingRepository();
+        repository = new CachingTaskRepository(backend, 100, true);
+    }
+
+    @Test
+    void testRepeatedFindByIdIsServedFromCache(){
+        long id = backend.save(new Task("Aufgabe")).getTaskId();
+
+        repository.findById(id);
+        repository.findById(id);
+        repository.existsById(id);
+
+        assertEquals(1, backend.lookups);
+        assertEquals(2, repository.getStats().getHits());
+        assertEquals(1, repository.getStats().getMisses());
+    }
+
+    @Test
+    void testUpdateIsVisibleImmediately(){
+        Task task = repository.save(new Task("Alt"));
+        repository.findById(task.getTaskId());
+
+        repository.update(new Task(task.getTaskId(), "Neu", TaskStatus.ERLEDIGT));
+
+        Task found = repository.findById(task.getTaskId()).orElseThrow();
+        assertEquals("Neu", found.getDescription());
+        assertEquals(TaskStatus.ERLEDIGT, found.getTaskStatus());
+    }
+
+    @Test
+    void testDeleteInvalidatesEntry(){
+        long id = repository.save(new Task("Aufgabe")).getTaskId();
+        repository.findById(id);
+
+        repository.delete(id);
+
+        assertFalse(repository.findById(id).isPresent());
+        assertFalse(repository.existsById(id));
+    }
+
+    @Test
+    void testNegativeCacheIsClearedBySave(){
+        assertFalse(repository.findById(7L).isPresent());
+        assertFalse(repository.findById(7L).isPresent());
+        assertEquals(1, backend.lookups);
+        assertEquals(1, repository.getStats().getNegativeHits());
+
+        repository.save(new Task(7L, "Importiert", TaskStatus.OFFEN));
+
+        assertTrue(repository.findById(7L).isPresent());
+    }
+
+    @Test
+    void testReturnedTaskCannotModifyCache(){
+        long id = repository.save(new Task("Original")).getTaskId();
+
+        Task found = repository.findById(id).orElseThrow();
+        found.setDescription("Lokal geändert");
+
+        assertEquals("Original", repository.findById(id).orElseThrow().getDescription());
+    }
+
+    @Test
+    void testCacheSizeIsBounded(){
+        CachingTaskRepository small = new CachingTaskRepository(backend, 10, false);
+        for (int i = 0; i < 50; i++){
+            long id = backend.save(new Task("Aufgabe " + i)).getTaskId();
+            small.findById(id);
+            small.findById(id);
+        }
+
+        assertTrue(small.getStats().getSize() <= 10);
+        assertTrue(small.getStats().getEvictions() + small.getStats().getRejections() > 0);
+    }
+
+    @Test
+    void testParallelHitsAreServedFromCache() throws Exception{
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++){
+            ids.add(repository.save(new Task("Aufgabe " + i)).getTaskId());
+        }
+
+        AtomicInteger wrong = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 8; t++){
+            Thread reader = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++){
+                    int index = i % ids.size();
+                    Optional<Task> found = repository.findById(ids.get(index));
+                    if (found.isEmpty() || !found.get().getDescription().equals("Aufgabe " + index)){
+                        wrong.incrementAndGet();
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (Thread reader : readers){
+            reader.join(10_000);
+        }
+
+        assertEquals(0, wrong.get());
+        assertEquals(0, backend.lookups);
+        assertEquals(80_000, repository.getStats().getHits());
+        assertEquals(50, repository.getStats().getSize());
+    }
+
+    @Test
+    void testAccessBufferDropsAccessesWhenFull(){
+        CachingTaskRepository.AccessBuffer buffer = new CachingTaskRepository.AccessBuffer();
+        for (long id = 1; id <= 20; id++){
+            buffer.record(id);
+        }
+
+        List<Long> drained = new ArrayList<>();
+        buffer.drainTo(drained::add);
+
+        assertEquals(16, drained.size());
+        assertEquals(1L, drained.get(0));
+        assertEquals(16L, drained.get(15));
+    }
+
+    @Test
+    void testDeleteAllClearsCache(){
+        long id = repository.save(new Task("Aufgabe")).getTaskId();
+        repository.findById(id);
+
+        repository.deleteAll();
+
+        assertEquals(0, repository.getStats().getSize());
+        assertFalse(repository.findById(id).isPresent());
+    }
+
+    @Test
+    void testLoadDuringDeleteDoesNotCacheDeletedTask() throws Exception{
+        BlockingRepository blocking = new BlockingRepository();
+        CachingTaskRepository cache = new CachingTaskRepository(blocking, 100, true);
+        long id = blocking.save(new Task("Aufgabe")).getTaskId();
+
+        // delete() hat die Generation bereits erhöht, das Backend löscht aber erst nach dem Laden
+        Thread writer = new Thread(() -> cache.delete(id));
+        writer.start();
+        assertTrue(blocking.deleteStarted.await(5, TimeUnit.SECONDS));
+
+        // Lädt die alte Zeile, lagert sie aber erst nach dem Abschluss von delete() ein
+        Thread reader = new Thread(() -> cache.findById(id));
+        reader.start();
+        assertTrue(blocking.loaded.await(5, TimeUnit.SECONDS));
+        writer.join(5000);
+        blocking.admitLoad.countDown();
+        reader.join(5000);
+
+        assertFalse(blocking.existsById(id));
+        assertFalse(cache.findById(id).isPresent());
+    }
+
+    private static final class CountingRepository extends InMemoryTaskRepository{
+        private int lookups;
+
+        @Override
+        public Optional<Task> findById(long id){
+            lookups++;
+            return super.findById(id);
+        }
+    }
+
+    private static final class BlockingRepository extends InMemoryTaskRepository{
+        private final CountDownLatch deleteStarted = new CountDownLatch(1);
+        private final CountDownLatch loaded = new CountDownLatch(1);
+        private final CountDownLatch admitLoad = new CountDownLatch(1);
+
+        // Das erste Laden während delete() wartet nach dem Lesen, bis der Test es freigibt
+        @Override
+        public Optional<Task> findById(long id){
+            Optional<Task> result = super.findById(id);
+            if (deleteStarted.getCount() == 0 && loaded.getCount() > 0){
+                loaded.countDown();
+                await(admitLoad);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean delete(long id){
+            deleteStarted.countDown();
+            await(loaded);
+            return super.delete(id);
+        }
+
+        private static void await(CountDownLatch latch){
+            try{
+                latch.await(5, TimeUnit.SECONDS);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
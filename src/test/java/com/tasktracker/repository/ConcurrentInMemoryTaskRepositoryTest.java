@@ -0,0 +1,173 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentInMemoryTaskRepositoryTest{
+    /*
+     * Tests für ConcurrentInMemoryTaskRepository
+     * Schwerpunkt: eindeutige IDs und stimmige Zähler bei parallelen Aufrufern
+     */
+
+    private static final int THREADS = 8;
+    private static final int TASKS_PER_THREAD = 2000;
+
+    private ConcurrentInMemoryTaskRepository repository;
+
+    @BeforeEach
+    void setup(){
+        repository = new ConcurrentInMemoryTaskRepository();
+    }
+
+    @Test
+    void testParallelSaveAssignsUniqueIds() throws Exception{
+        List<Task> saved = runParallel(thread -> {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < TASKS_PER_THREAD; i++){
+                tasks.add(repository.save(new Task("Aufgabe " + thread + "-" + i)));
+            }
+            return tasks;
+        });
+
+        Set<Long> ids = new HashSet<>();
+        saved.forEach(task -> ids.add(task.getTaskId()));
+
+        assertEquals(THREADS * TASKS_PER_THREAD, ids.size());
+        assertEquals(THREADS * TASKS_PER_THREAD, repository.count());
+        assertEquals(THREADS * TASKS_PER_THREAD, repository.countByStatus(TaskStatus.OFFEN));
+    }
+
+    @Test
+    void testCountsStayConsistentUnderParallelUpdates() throws Exception{
+        for (int i = 0; i < 100; i++){
+            repository.save(new Task("Aufgabe " + i));
+        }
+
+        runParallel(thread -> {
+            for (int i = 0; i < TASKS_PER_THREAD; i++){
+                long id = ThreadLocalRandom.current().nextLong(1, 101);
+                TaskStatus status = ThreadLocalRandom.current().nextBoolean() ? TaskStatus.ERLEDIGT : TaskStatus.OFFEN;
+                repository.update(new Task(id, "Aufgabe " + id, status));
+            }
+            return List.of();
+        });
+
+        long open = repository.countByStatus(TaskStatus.OFFEN);
+        long done = repository.countByStatus(TaskStatus.ERLEDIGT);
+
+        assertEquals(100, open + done);
+        assertEquals(open, repository.findByStatus(TaskStatus.OFFEN).size());
+        assertEquals(done, repository.findByStatus(TaskStatus.ERLEDIGT).size());
+    }
+
+    @Test
+    void testUpdateWithInPlaceModifiedTaskMovesStatusCount(){
+        Task task = repository.save(new Task("Aufgabe"));
+
+        task.setTaskStatus(TaskStatus.ERLEDIGT);
+        repository.update(task);
+
+        assertEquals(0, repository.countByStatus(TaskStatus.OFFEN));
+        assertEquals(1, repository.countByStatus(TaskStatus.ERLEDIGT));
+    }
+
+    @Test
+    void testSaveWithExplicitIdIsNotReassigned(){
+        repository.save(new Task(50L, "Importiert", TaskStatus.OFFEN));
+        Task next = repository.save(new Task("Neu"));
+
+        assertEquals(51L, next.getTaskId());
+    }
+
+    @Test
+    void testUpdateNonExistingTask(){
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.update(new Task(999L, "Gibt es nicht", TaskStatus.OFFEN)));
+    }
+
+    @Test
+    void testDeleteAllResetsCounts(){
+        repository.save(new Task("Aufgabe 1"));
+        repository.save(new Task("Aufgabe 2"));
+
+        repository.deleteAll();
+
+        assertEquals(0, repository.count());
+        assertEquals(0, repository.countByStatus(TaskStatus.OFFEN));
+    }
+
+    @Test
+    void testDeleteAllDuringParallelSavesNeverReusesIds() throws Exception{
+        List<Task> saved = runParallel(thread -> {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < TASKS_PER_THREAD; i++){
+                if (thread == 0){
+                    repository.deleteAll();
+                }else{
+                    tasks.add(repository.save(new Task("Aufgabe " + thread + "-" + i)));
+                }
+            }
+            return tasks;
+        });
+
+        Set<Long> ids = new HashSet<>();
+        saved.forEach(task -> assertTrue(ids.add(task.getTaskId()), "ID doppelt vergeben: " + task.getTaskId()));
+        for (Task task : repository.findAll()){
+            assertTrue(saved.contains(task));
+        }
+        assertEquals(repository.count(), repository.countByStatus(TaskStatus.OFFEN));
+    }
+
+    @Test
+    void testParallelUpdateIfUnchangedHasSingleWinner() throws Exception{
+        repository.save(new Task("Aufgabe"));
+
+        List<Task> winners = runParallel(thread -> {
+            Task changed = new Task(1, "Aufgabe von Thread " + thread, TaskStatus.ERLEDIGT);
+            return repository.updateIfUnchanged(changed, TaskStatus.OFFEN, "Aufgabe") ? List.of(changed) : List.of();
+        });
+
+        assertEquals(1, winners.size());
+        assertEquals(winners.get(0).getDescription(), repository.findById(1).orElseThrow().getDescription());
+        assertEquals(1, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(0, repository.countByStatus(TaskStatus.OFFEN));
+    }
+
+    private List<Task> runParallel(Callable1 work) throws Exception{
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try{
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<Task>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++){
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return work.call(thread);
+                }));
+            }
+            start.countDown();
+
+            List<Task> result = new ArrayList<>();
+            for (Future<List<Task>> future : futures){
+                result.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            return result;
+        }finally{
+            executor.shutdownNow();
+        }
+    }
+
+    private interface Callable1{
+        List<Task> call(int thread) throws Exception;
+    }
+}
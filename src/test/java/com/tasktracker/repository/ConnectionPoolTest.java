@@ -0,0 +1,141 @@
+package com.tasktracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolTest{
+    /*
+     * Tests für ConnectionPool
+     * Physische Verbindungen werden durch einfache Proxies ersetzt
+     */
+
+    private final List<FakeConnection> physical = new ArrayList<>();
+
+    private ConnectionPool createPool(int size, long maxLifetime, long validationIdle){
+        return new ConnectionPool("jdbc:fake", () -> {
+            FakeConnection fake = new FakeConnection();
+            physical.add(fake);
+            return fake.proxy;
+        }, size, 100, maxLifetime, validationIdle);
+    }
+
+    @Test
+    void testConnectionIsReusedAfterClose() throws SQLException{
+        ConnectionPool pool = createPool(2, 0, 60_000);
+
+        pool.getConnection().close();
+        pool.getConnection().close();
+
+        assertEquals(1, physical.size());
+        assertEquals(1, pool.getStats().getIdle());
+        assertEquals(0, pool.getStats().getActive());
+    }
+
+    @Test
+    void testAcquireTimesOutWhenPoolIsExhausted() throws SQLException{
+        ConnectionPool pool = createPool(1, 0, 60_000);
+        Connection leased = pool.getConnection();
+
+        assertThrows(SQLTimeoutException.class, pool::getConnection);
+        assertEquals(1, pool.getStats().getTimeouts());
+
+        leased.close();
+        assertNotNull(pool.getConnection());
+    }
+
+    @Test
+    void testClosedLeaseCannotBeUsed() throws SQLException{
+        ConnectionPool pool = createPool(1, 0, 60_000);
+        Connection leased = pool.getConnection();
+        leased.close();
+
+        assertTrue(leased.isClosed());
+        assertThrows(SQLException.class, leased::createStatement);
+    }
+
+    @Test
+    void testExpiredConnectionIsEvicted() throws Exception{
+        ConnectionPool pool = createPool(1, 20, 60_000);
+        pool.getConnection().close();
+
+        Thread.sleep(40);
+        pool.getConnection().close();
+
+        assertEquals(2, physical.size());
+        assertTrue(physical.get(0).closed);
+        assertEquals(1, pool.getStats().getEvicted());
+    }
+
+    @Test
+    void testInvalidIdleConnectionIsReplaced() throws SQLException{
+        ConnectionPool pool = createPool(1, 0, 0);
+        pool.getConnection().close();
+        physical.get(0).valid = false;
+
+        pool.getConnection().close();
+
+        assertEquals(2, physical.size());
+        assertTrue(physical.get(0).closed);
+    }
+
+    @Test
+    void testOpenTransactionIsRolledBackOnRelease() throws SQLException{
+        ConnectionPool pool = createPool(1, 0, 60_000);
+        Connection leased = pool.getConnection();
+        leased.setAutoCommit(false);
+
+        leased.close();
+
+        assertTrue(physical.get(0).rolledBack);
+        assertTrue(physical.get(0).autoCommit);
+    }
+
+    @Test
+    void testCloseClosesIdleConnections() throws SQLException{
+        ConnectionPool pool = createPool(2, 0, 60_000);
+        pool.getConnection().close();
+
+        pool.close();
+
+        assertTrue(physical.get(0).closed);
+        assertThrows(SQLException.class, pool::getConnection);
+    }
+
+    private static final class FakeConnection{
+        private boolean closed;
+        private boolean valid = true;
+        private boolean autoCommit = true;
+        private boolean rolledBack;
+
+        private final Connection proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (p, method, args) -> {
+                    switch (method.getName()){
+                        case "close":
+                            closed = true;
+                            return null;
+                        case "isClosed":
+                            return closed;
+                        case "isValid":
+                            return valid;
+                        case "getAutoCommit":
+                            return autoCommit;
+                        case "setAutoCommit":
+                            autoCommit = (Boolean) args[0];
+                            return null;
+                        case "rollback":
+                            rolledBack = true;
+                            return null;
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,259 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.persistence.TaskCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurableTaskRepositoryTest{
+    /*
+     * Tests für DurableTaskRepository
+     * Ohne fsync und ohne automatische Snapshots, "Neustart" = close() und neu öffnen
+     */
+
+    @TempDir
+    Path directory;
+
+    private DurableTaskRepository open(){
+        return new DurableTaskRepository(directory, false, 0, 0);
+    }
+
+    @Test
+    void testChangesSurviveRestart() throws Exception{
+        long keptId;
+        long deletedId;
+        try (DurableTaskRepository repository = open()){
+            keptId = repository.save(new Task("Bleibt")).getTaskId();
+            deletedId = repository.save(new Task("Wird gelöscht")).getTaskId();
+            repository.update(new Task(keptId, "Geändert ä€", TaskStatus.ERLEDIGT));
+            repository.delete(deletedId);
+        }
+
+        try (DurableTaskRepository repository = open()){
+            assertEquals(1, repository.count());
+            Task task = repository.findById(keptId).orElseThrow();
+            assertEquals("Geändert ä€", task.getDescription());
+            assertEquals(TaskStatus.ERLEDIGT, task.getTaskStatus());
+            assertFalse(repository.existsById(deletedId));
+            assertEquals(1, repository.countByStatus(TaskStatus.ERLEDIGT));
+
+            // Gelöschte IDs werden nach dem Neustart nicht erneut vergeben
+            assertTrue(repository.save(new Task("Neu")).getTaskId() > deletedId);
+        }
+    }
+
+    @Test
+    void testSnapshotPlusJournalTail() throws Exception{
+        try (DurableTaskRepository repository = open()){
+            for (int i = 0; i < 100; i++){
+                repository.save(new Task("Vor Snapshot " + i));
+            }
+            repository.snapshot();
+            repository.deleteAllById(List.of(1L, 2L, 3L));
+            repository.save(new Task("Nach Snapshot"));
+        }
+
+        try (Stream<Path> files = Files.list(directory)){
+            assertEquals(1, files.filter(f -> f.getFileName().toString().startsWith("journal-")).count(),
+                    "Journale vor dem Snapshot müssen gelöscht sein");
+        }
+
+        try (DurableTaskRepository repository = open()){
+            assertEquals(100, repository.getRecoveredSnapshotTasks());
+            assertEquals(4, repository.getRecoveredJournalRecords());
+            assertEquals(98, repository.count());
+            assertFalse(repository.existsById(1));
+            assertEquals(1, repository.findByDescriptionContaining("Nach Snapshot").size());
+        }
+    }
+
+    @Test
+    void testTornJournalTailIsIgnored() throws Exception{
+        try (DurableTaskRepository repository = open()){
+            repository.save(new Task("Vollständig"));
+        }
+        Path journal;
+        try (Stream<Path> files = Files.list(directory)){
+            journal = files.filter(f -> f.getFileName().toString().startsWith("journal-")).sorted().findFirst().orElseThrow();
+        }
+        // Halb geschriebener Datensatz: Länge passt, Prüfsumme und Inhalt nicht
+        Files.write(journal, new byte[]{0, 0, 0, 20, 1, 2, 3, 4, 1, 9}, StandardOpenOption.APPEND);
+
+        try (DurableTaskRepository repository = open()){
+            assertEquals(1, repository.count());
+            assertEquals(1, repository.getRecoveredJournalRecords());
+            repository.save(new Task("Nach Absturz"));
+        }
+        try (DurableTaskRepository repository = open()){
+            assertEquals(2, repository.count());
+        }
+    }
+
+    @Test
+    void testCorruptRecordBeforeTailFailsRecovery() throws Exception{
+        try (DurableTaskRepository repository = open()){
+            repository.save(new Task("Eins"));
+            repository.save(new Task("Zwei"));
+        }
+        try (DurableTaskRepository repository = open()){
+            repository.save(new Task("Drei"));
+        }
+        Path first = journals().get(0);
+        flipByte(first, 10);
+
+        // Beschädigt ist nicht die neueste Generation: kein stilles Verwerfen von "Zwei"
+        assertThrows(java.io.UncheckedIOException.class, this::open);
+    }
+
+    @Test
+    void testCorruptRecordInsideNewestGenerationFailsRecovery() throws Exception{
+        try (DurableTaskRepository repository = open()){
+            repository.save(new Task("Eins"));
+            repository.save(new Task("Zwei"));
+        }
+        flipByte(journals().get(0), 10);
+
+        assertThrows(java.io.UncheckedIOException.class, this::open);
+    }
+
+    @Test
+    void testOversizedDescriptionIsRejectedBeforeMemory() throws Exception{
+        String oversized = "x".repeat(TaskCodec.MAX_DESCRIPTION_BYTES + 1);
+        try (DurableTaskRepository repository = open()){
+            long id = repository.save(new Task("Bleibt")).getTaskId();
+
+            assertThrows(IllegalArgumentException.class, () -> repository.save(new Task(oversized)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> repository.update(new Task(id, oversized, TaskStatus.OFFEN)));
+            assertEquals(1, repository.count());
+            assertEquals("Bleibt", repository.findById(id).orElseThrow().getDescription());
+            repository.save(new Task("Danach"));
+        }
+        try (DurableTaskRepository repository = open()){
+            assertEquals(2, repository.count());
+            assertEquals(2, repository.getRecoveredJournalRecords());
+        }
+    }
+
+    @Test
+    void testRejectedJournalAppendLeavesMemoryUnchanged(){
+        DurableTaskRepository repository = open();
+        long id = repository.save(new Task("Vorher")).getTaskId();
+        repository.close();
+
+        // Der erste Schreibversuch auf den geschlossenen Kanal sperrt das Journal
+        assertThrows(java.io.UncheckedIOException.class, () -> repository.save(new Task("Sperrt")));
+        long count = repository.count();
+
+        assertThrows(java.io.UncheckedIOException.class, () -> repository.save(new Task("Abgelehnt")));
+        assertThrows(java.io.UncheckedIOException.class,
+                () -> repository.update(new Task(id, "Abgelehnt", TaskStatus.ERLEDIGT)));
+        assertThrows(java.io.UncheckedIOException.class, () -> repository.delete(id));
+        assertThrows(java.io.UncheckedIOException.class, repository::deleteAll);
+
+        assertEquals(count, repository.count());
+        assertEquals("Vorher", repository.findById(id).orElseThrow().getDescription());
+        assertEquals(0, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertTrue(repository.findByDescriptionContaining("Abgelehnt").isEmpty());
+    }
+
+    private List<Path> journals() throws Exception{
+        try (Stream<Path> files = Files.list(directory)){
+            return files.filter(f -> f.getFileName().toString().startsWith("journal-")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void flipByte(Path file, int position) throws Exception{
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[position] ^= 0x55;
+        Files.write(file, bytes);
+    }
+
+    @Test
+    void testDeleteAllIsJournaled() throws Exception{
+        try (DurableTaskRepository repository = open()){
+            repository.save(new Task("Eins"));
+            repository.save(new Task("Zwei"));
+            repository.deleteAll();
+            repository.save(new Task("Drei"));
+        }
+        try (DurableTaskRepository repository = open()){
+            assertEquals(1, repository.count());
+            assertEquals("Drei", repository.findAll().get(0).getDescription());
+        }
+    }
+
+    @Test
+    void testCorruptSnapshotFailsRecovery() throws Exception{
+        try (DurableTaskRepository repository = open()){
+            repository.save(new Task("Aufgabe"));
+            repository.snapshot();
+        }
+        Path snapshot = directory.resolve("tasks.snapshot");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(snapshot, bytes);
+
+        assertThrows(java.io.UncheckedIOException.class, this::open);
+    }
+
+    @Test
+    void testConcurrentWritersShareSyncs() throws Exception{
+        int threads = 8;
+        int perThread = 200;
+        try (DurableTaskRepository repository = new DurableTaskRepository(directory, true, 0, 0)){
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++){
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++){
+                        repository.save(new Task("Parallel " + i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures){
+                future.get();
+            }
+            pool.shutdown();
+
+            assertEquals(threads * perThread, repository.count());
+            assertTrue(repository.getJournalSyncCount() <= threads * perThread);
+        }
+        try (DurableTaskRepository repository = open()){
+            assertEquals(threads * perThread, repository.count());
+        }
+    }
+
+    @Test
+    void testBulkStatusChangesSurviveRestart() throws Exception{
+        try (DurableTaskRepository repository = open()){
+            for (int i = 0; i < 10; i++){
+                repository.save(new Task(0, "Aufgabe " + i, i < 4 ? TaskStatus.ERLEDIGT : TaskStatus.OFFEN));
+            }
+            assertEquals(4, repository.deleteByStatus(TaskStatus.ERLEDIGT));
+            assertEquals(6, repository.updateStatus(TaskStatus.OFFEN, TaskStatus.ERLEDIGT));
+            assertEquals(2, repository.updateStatusByIds(List.of(5L, 6L, 6L, 99L), TaskStatus.OFFEN));
+        }
+
+        try (DurableTaskRepository repository = open()){
+            assertEquals(6, repository.count());
+            assertEquals(4, repository.countByStatus(TaskStatus.ERLEDIGT));
+            assertEquals(TaskStatus.OFFEN, repository.findById(6).orElseThrow().getTaskStatus());
+            assertFalse(repository.existsById(1));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.metrics.OperationMetrics;
+import com.tasktracker.metrics.RepositoryMetrics;
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentedTaskRepositoryTest{
+    /*
+     * Tests für InstrumentedTaskRepository: Aufrufe, Fehler und Zeilen je Operation
+     */
+
+    @Test
+    void testCountsCallsRowsAndErrors() throws Exception{
+        RepositoryMetrics metrics = new RepositoryMetrics("InstrumentedTest");
+        InstrumentedTaskRepository repository = new InstrumentedTaskRepository(new InMemoryTaskRepository(), metrics);
+
+        repository.save(new Task("Eins"));
+        repository.save(new Task(0, "Zwei", TaskStatus.ERLEDIGT));
+        repository.findAll();
+        repository.findByStatus(TaskStatus.ERLEDIGT);
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Task(99, "Fehlt", TaskStatus.OFFEN)));
+        try (Stream<Task> tasks = repository.streamAll()){
+            assertEquals(2, tasks.filter(task -> task.getTaskId() > 0).count());
+        }
+
+        assertEquals(2, metrics.operation("save").getCount());
+        assertEquals(2, metrics.operation("findAll").getRows());
+        assertEquals(1, metrics.operation("findByStatus").getRows());
+        OperationMetrics update = metrics.operation("update");
+        assertEquals(1, update.getCount());
+        assertEquals(1, update.getErrors());
+        assertEquals(2, metrics.operation("streamAll").getRows());
+
+        repository.close();
+    }
+}
@@ -0,0 +1,98 @@
+package com.tasktracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectHashMapTest{
+    /*
+     * Tests für LongObjectHashMap
+     * Zufallsfolgen werden gegen HashMap geprüft, um Fehler beim Backward-Shift-Löschen zu finden
+     */
+
+    @Test
+    void testPutGetRemove(){
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertNull(map.put(1, "eins"));
+        assertEquals("eins", map.put(1, "EINS"));
+        assertEquals("EINS", map.get(1));
+        assertTrue(map.containsKey(1));
+        assertNull(map.get(2));
+        assertEquals(1, map.size());
+
+        assertEquals("EINS", map.remove(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testZeroAndNegativeKeys(){
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(0, "null");
+        map.put(-5, "minus");
+        map.put(Long.MIN_VALUE, "min");
+
+        assertEquals(3, map.size());
+        assertEquals("null", map.get(0));
+        assertEquals("minus", map.get(-5));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+
+        List<String> values = new ArrayList<>();
+        map.addValuesTo(values);
+        assertEquals(3, values.size());
+
+        assertEquals("null", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testRandomOperationsMatchHashMap(){
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++){
+            // Kleiner Schlüsselraum erzwingt lange Sondierungsketten und viele Löschungen darin
+            long key = random.nextInt(5_000) - 100;
+            if (random.nextInt(3) == 0){
+                assertEquals(expected.remove(key), map.remove(key));
+            }else{
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Long> entry : expected.entrySet()){
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(expected.values().stream().sorted().collect(Collectors.toList()),
+                map.valueStream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testGrowAndClear(){
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        for (long id = 1; id <= 100_000; id++){
+            map.put(id, id);
+        }
+        assertEquals(100_000, map.size());
+        assertEquals(Long.valueOf(77_777), map.get(77_777));
+        assertEquals(100_000, map.valueStream().count());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(77_777));
+        map.put(3, 3L);
+        assertEquals(1, map.size());
+    }
+}
@@ -0,0 +1,100 @@
+package com.tasktracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongSortedSetTest{
+    /*
+     * Tests für LongSortedSet
+     * Zufallsfolgen werden gegen TreeSet geprüft, um Fehler beim Teilen und Zusammenlegen der Blöcke zu finden
+     */
+
+    @Test
+    void testAppendAndRemove(){
+        LongSortedSet set = new LongSortedSet();
+        for (long i = 1; i <= 1000; i++){
+            assertTrue(set.add(i));
+        }
+        assertFalse(set.add(500));
+        assertEquals(1000, set.size());
+
+        for (long i = 1; i <= 1000; i += 2){
+            assertTrue(set.remove(i));
+        }
+        assertFalse(set.remove(1));
+        assertEquals(500, set.size());
+        assertTrue(set.contains(2));
+        assertFalse(set.contains(3));
+        assertEquals(2, set.toArray()[0]);
+    }
+
+    @Test
+    void testRandomOperationsMatchTreeSet(){
+        LongSortedSet set = new LongSortedSet();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++){
+            long value = random.nextInt(5000);
+            if (random.nextInt(3) == 0){
+                assertEquals(expected.remove(value), set.remove(value));
+            }else{
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), set.toArray());
+    }
+
+    @Test
+    void testRetainAll(){
+        LongSortedSet set = new LongSortedSet();
+        for (long i = 0; i < 2000; i += 3){
+            set.add(i);
+        }
+
+        long[] candidates = {0, 1, 3, 299, 300, 1500, 1999, 5000};
+        int kept = set.retainAll(candidates, candidates.length);
+
+        assertEquals(4, kept);
+        assertArrayEquals(new long[]{0, 3, 300, 1500}, Arrays.copyOf(candidates, kept));
+    }
+
+    @Test
+    void testDescendingBelowCrossesBlocks(){
+        LongSortedSet set = new LongSortedSet();
+        for (long i = 1; i <= 1000; i++){
+            set.add(i);
+        }
+
+        assertArrayEquals(new long[]{1000, 999, 998}, set.descendingBelow(Long.MAX_VALUE, 3));
+        assertArrayEquals(new long[]{256, 255, 254}, set.descendingBelow(257, 3));
+        assertArrayEquals(new long[]{2, 1}, set.descendingBelow(3, 5));
+        assertEquals(0, set.descendingBelow(1, 5).length);
+    }
+
+    @Test
+    void testAddAllMergesInterleavedSets(){
+        LongSortedSet even = new LongSortedSet();
+        LongSortedSet odd = new LongSortedSet();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (long i = 0; i < 1000; i++){
+            (i % 2 == 0 ? even : odd).add(i);
+            expected.add(i);
+        }
+        odd.add(10);
+
+        even.addAll(odd);
+        even.add(2000);
+
+        expected.add(2000L);
+        assertEquals(expected.size(), even.size());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), even.toArray());
+    }
+}
@@ -0,0 +1,138 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapTaskRepositoryTest{
+    /*
+     * Tests für OffHeapTaskRepository
+     * Schwerpunkt: Spalten, Arena und Kompaktierung; die CRUD-Grundlagen decken die anderen Tests ab
+     */
+
+    private OffHeapTaskRepository repository;
+
+    @BeforeEach
+    void setup(){
+        repository = new OffHeapTaskRepository();
+    }
+
+    @Test
+    void testStoresValuesNotInstances(){
+        Task task = repository.save(new Task("Original"));
+        task.setDescription("Nur lokal geändert");
+
+        assertEquals("Original", repository.findById(task.getTaskId()).orElseThrow().getDescription());
+        assertNotSame(task, repository.findById(task.getTaskId()).orElseThrow());
+    }
+
+    @Test
+    void testUpdateShorterAndLongerDescriptions(){
+        long id = repository.save(new Task("Mittellange Beschreibung")).getTaskId();
+
+        repository.update(new Task(id, "Kurz", TaskStatus.ERLEDIGT));
+        assertEquals("Kurz", repository.findById(id).orElseThrow().getDescription());
+
+        repository.update(new Task(id, "Deutlich längere Beschreibung mit Umlauten äöü €", TaskStatus.OFFEN));
+        Task reloaded = repository.findById(id).orElseThrow();
+        assertEquals("Deutlich längere Beschreibung mit Umlauten äöü €", reloaded.getDescription());
+        assertEquals(TaskStatus.OFFEN, reloaded.getTaskStatus());
+        assertEquals(1, repository.countByStatus(TaskStatus.OFFEN));
+        assertEquals(0, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertTrue(repository.getGarbageBytes() > 0);
+    }
+
+    @Test
+    void testStatusScanAndCountsAfterDeletes(){
+        for (int i = 1; i <= 100; i++){
+            repository.save(new Task(0, "Aufgabe " + i, i % 4 == 0 ? TaskStatus.ERLEDIGT : TaskStatus.OFFEN));
+        }
+        repository.deleteAllById(List.of(4L, 8L, 9L));
+
+        List<Task> done = repository.findByStatus(TaskStatus.ERLEDIGT);
+        assertEquals(23, done.size());
+        assertEquals(23, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(74, repository.countByStatus(TaskStatus.OFFEN));
+        assertEquals(12L, done.get(0).getTaskId());
+        assertEquals(3, repository.getTombstoneCount());
+    }
+
+    @Test
+    void testCompactKeepsDataAndDropsGarbage(){
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++){
+            ids.add(repository.save(new Task("Aufgabe Nummer " + i)).getTaskId());
+        }
+        for (int i = 0; i < ids.size(); i += 2){
+            repository.delete(ids.get(i));
+        }
+        repository.compact();
+
+        assertEquals(0, repository.getTombstoneCount());
+        assertEquals(0, repository.getGarbageBytes());
+        assertEquals(2500, repository.count());
+        assertEquals("Aufgabe Nummer 1", repository.findById(ids.get(1)).orElseThrow().getDescription());
+        assertFalse(repository.existsById(ids.get(0)));
+        assertEquals(1, repository.findByDescriptionContaining("nummer 4999").size());
+    }
+
+    @Test
+    void testExplicitIdsAndPaging(){
+        repository.save(new Task(500, "Importiert", TaskStatus.OFFEN));
+        long next = repository.save(new Task("Neu")).getTaskId();
+        assertEquals(501, next);
+
+        for (int i = 0; i < 10; i++){
+            repository.save(new Task("Seite " + i));
+        }
+
+        TaskPage first = repository.findPage(null, 5);
+        assertEquals(List.of(511L, 510L, 509L, 508L, 507L),
+                first.getTasks().stream().map(Task::getTaskId).collect(Collectors.toList()));
+        assertTrue(first.hasNext());
+
+        TaskPage last = repository.findPage(PageCursor.afterId(502), 5);
+        assertEquals(List.of(501L, 500L), last.getTasks().stream().map(Task::getTaskId).collect(Collectors.toList()));
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void testStreamAllSkipsDeletedRows(){
+        for (int i = 0; i < 10; i++){
+            repository.save(new Task("Aufgabe " + i));
+        }
+        repository.delete(3);
+
+        try (Stream<Task> tasks = repository.streamAll()){
+            assertEquals(9, tasks.filter(task -> task.getTaskId() != 3).count());
+        }
+
+        repository.deleteAll();
+        assertEquals(0, repository.count());
+        assertEquals(1, repository.save(new Task("Wieder von vorn")).getTaskId());
+    }
+
+    @Test
+    void testBulkStatusOperationsKeepCounts(){
+        for (int i = 1; i <= 20; i++){
+            repository.save(new Task(0, "Aufgabe " + i, i % 5 == 0 ? TaskStatus.ERLEDIGT : TaskStatus.OFFEN));
+        }
+
+        assertEquals(4, repository.deleteByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(3, repository.updateStatusByIds(List.of(1L, 2L, 3L, 5L), TaskStatus.ERLEDIGT));
+        assertEquals(13, repository.updateStatus(TaskStatus.OFFEN, TaskStatus.ERLEDIGT));
+
+        assertEquals(16, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(0, repository.countByStatus(TaskStatus.OFFEN));
+        assertEquals(16, repository.findByStatus(TaskStatus.ERLEDIGT).size());
+        assertEquals("Aufgabe 2", repository.findById(2).orElseThrow().getDescription());
+    }
+}
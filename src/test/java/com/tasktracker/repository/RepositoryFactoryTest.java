@@ -0,0 +1,34 @@
+package com.tasktracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RepositoryFactoryTest{
+    /*
+     * Tests für RepositoryFactory
+     * Die MSSQL-URL ist absichtlich ungültig, geprüft wird nur die Übernahme der Konfiguration
+     */
+
+    @Test
+    void testMssqlRepositoryUsesConfiguredPool(){
+        Properties properties = new Properties();
+        properties.setProperty("repository.type", "MSSQL");
+        properties.setProperty("mssql.url", "jdbc:invalid:tasktracker");
+        properties.setProperty("mssql.pool.size", "3");
+        properties.setProperty("mssql.connection.timeout", "100");
+        properties.setProperty("mssql.counters.mode", "TABLE");
+        properties.setProperty("mssql.search.mode", "FULLTEXT");
+
+        TaskRepository repository = new RepositoryFactory(properties).createRepository();
+
+        SqlServerTaskRepository mssql = assertInstanceOf(SqlServerTaskRepository.class, repository);
+        assertEquals(3, mssql.getPoolStats().getMaxSize());
+        assertEquals(SqlServerTaskRepository.CounterMode.TABLE, mssql.getCounterMode());
+        assertEquals(SqlServerTaskRepository.SearchMode.FULLTEXT, mssql.getSearchMode());
+        assertFalse(mssql.isAvailable());
+        mssql.close();
+    }
+}
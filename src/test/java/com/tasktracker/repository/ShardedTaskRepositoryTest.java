@@ -0,0 +1,142 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedTaskRepositoryTest{
+    /*
+     * Tests für ShardedTaskRepository
+     * Schwerpunkt: ID-Schema, Zusammenführen der Shard-Ergebnisse und Blättern über alle Shards
+     */
+
+    private ShardedTaskRepository repository;
+
+    @BeforeEach
+    void setup(){
+        repository = new ShardedTaskRepository(List.of(
+                new ConcurrentInMemoryTaskRepository(), new OffHeapTaskRepository(), new SnapshotTaskRepository()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception{
+        repository.close();
+    }
+
+    @Test
+    void testIdsEncodeShardAndRoundRobin(){
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++){
+            ids.add(repository.save(new Task("Aufgabe " + i)).getTaskId());
+        }
+
+        for (int i = 0; i < ids.size(); i++){
+            assertEquals(i % 3, ShardedTaskRepository.shardOf(ids.get(i)));
+            assertEquals(i / 3 + 1, ShardedTaskRepository.localId(ids.get(i)));
+        }
+        assertEquals(2, repository.getShard(1).count());
+        assertEquals("Aufgabe 4", repository.findById(ids.get(4)).orElseThrow().getDescription());
+        assertFalse(repository.existsById(ShardedTaskRepository.globalId(1, 7)));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.save(new Task(ShardedTaskRepository.globalId(1, 5), "Falscher Shard", TaskStatus.OFFEN)));
+    }
+
+    @Test
+    void testQueriesMergeAllShardsInIdOrder(){
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 30; i++){
+            tasks.add(new Task(0, "Stapel " + i, i % 3 == 0 ? TaskStatus.ERLEDIGT : TaskStatus.OFFEN));
+        }
+        repository.saveAll(tasks);
+
+        List<Long> ids = repository.findAll().stream().map(Task::getTaskId).collect(Collectors.toList());
+        assertEquals(30, ids.size());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+        assertEquals(10, repository.findByStatus(TaskStatus.ERLEDIGT).size());
+        assertEquals(20, repository.countByStatus(TaskStatus.OFFEN));
+        assertEquals(30, repository.statistics().getTotal());
+        assertEquals(10, repository.statistics().getCount(TaskStatus.ERLEDIGT));
+        assertEquals(11, repository.findByDescriptionContaining("stapel 1").size());
+        try (Stream<Task> stream = repository.streamAll()){
+            assertEquals(30, stream.filter(task -> task.getTaskId() > 0).count());
+        }
+    }
+
+    @Test
+    void testFailedShardKeepsIdsOfSavedShards(){
+        ShardedTaskRepository failing = new ShardedTaskRepository(List.of(
+                new ConcurrentInMemoryTaskRepository(), new ConcurrentInMemoryTaskRepository(){
+                    @Override
+                    public void saveAll(List<Task> taskList){
+                        throw new IllegalStateException("Shard nicht erreichbar");
+                    }
+                }));
+        try{
+            List<Task> tasks = List.of(new Task("Erste"), new Task("Zweite"), new Task("Dritte"));
+
+            assertThrows(IllegalStateException.class, () -> failing.saveAll(tasks));
+
+            assertEquals(ShardedTaskRepository.globalId(1, 0), tasks.get(0).getTaskId());
+            assertEquals(0, tasks.get(1).getTaskId());
+            assertEquals(ShardedTaskRepository.globalId(2, 0), tasks.get(2).getTaskId());
+            assertEquals("Dritte", failing.findById(tasks.get(2).getTaskId()).orElseThrow().getDescription());
+        }finally{
+            failing.close();
+        }
+    }
+
+    @Test
+    void testBatchUpdateAndDeleteAcrossShards(){
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 9; i++){
+            tasks.add(new Task("Aufgabe " + i));
+        }
+        repository.saveAll(tasks);
+
+        tasks.forEach(task -> task.setTaskStatus(TaskStatus.ERLEDIGT));
+        tasks.add(new Task(ShardedTaskRepository.globalId(99, 2), "Unbekannt", TaskStatus.ERLEDIGT));
+        assertEquals(9, repository.updateAll(tasks));
+        assertEquals(9, repository.countByStatus(TaskStatus.ERLEDIGT));
+
+        assertEquals(3, repository.deleteAllById(List.of(tasks.get(0).getTaskId(), tasks.get(1).getTaskId(),
+                tasks.get(5).getTaskId(), 12345L)));
+        assertEquals(6, repository.count());
+
+        assertEquals(6, repository.updateStatus(TaskStatus.ERLEDIGT, TaskStatus.OFFEN));
+        assertEquals(2, repository.updateStatusByIds(List.of(tasks.get(2).getTaskId(), tasks.get(3).getTaskId()),
+                TaskStatus.ERLEDIGT));
+        assertEquals(2, repository.deleteByStatus(TaskStatus.ERLEDIGT));
+
+        repository.deleteAll();
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testFindPageWalksAllShardsDescending(){
+        for (int i = 0; i < 25; i++){
+            repository.save(new Task("Seite " + i));
+        }
+        List<Long> expected = repository.findAll().stream().map(Task::getTaskId)
+                .sorted((a, b) -> Long.compare(b, a)).collect(Collectors.toList());
+
+        List<Long> walked = new ArrayList<>();
+        PageCursor cursor = null;
+        TaskPage page;
+        do{
+            page = repository.findPage(cursor, 7);
+            page.getTasks().forEach(task -> walked.add(task.getTaskId()));
+            cursor = page.getNextCursor();
+        }while (page.hasNext());
+
+        assertEquals(expected, walked);
+    }
+}
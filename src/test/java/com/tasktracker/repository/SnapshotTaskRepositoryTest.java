@@ -0,0 +1,154 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotTaskRepositoryTest{
+    /*
+     * Tests für SnapshotTaskRepository und PersistentTaskTrie
+     * Schwerpunkt: Sichten bleiben nach späteren Änderungen unverändert, Aufgaben sind unveränderlich
+     */
+
+    private SnapshotTaskRepository repository;
+
+    @BeforeEach
+    void setup(){
+        repository = new SnapshotTaskRepository();
+    }
+
+    @Test
+    void testViewsAreIsolatedFromLaterWrites(){
+        for (int i = 1; i <= 5; i++){
+            repository.save(new Task("Aufgabe " + i));
+        }
+        List<Task> before = repository.findAll();
+        List<Task> openBefore = repository.findByStatus(TaskStatus.OFFEN);
+        SnapshotTaskRepository.ReadView view = repository.snapshot();
+
+        repository.delete(2);
+        repository.update(new Task(3, "Geändert", TaskStatus.ERLEDIGT));
+        repository.save(new Task("Neu"));
+
+        assertEquals(5, before.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), before.stream().map(Task::getTaskId).collect(Collectors.toList()));
+        assertEquals("Aufgabe 3", before.get(2).getDescription());
+        assertEquals(5, openBefore.size());
+        assertEquals(5, view.count());
+        assertEquals(0, view.countByStatus(TaskStatus.ERLEDIGT));
+
+        assertEquals(5, repository.count());
+        assertEquals(List.of(3L), repository.findByStatus(TaskStatus.ERLEDIGT).stream()
+                .map(Task::getTaskId).collect(Collectors.toList()));
+        assertEquals(4, repository.countByStatus(TaskStatus.OFFEN));
+    }
+
+    @Test
+    void testReturnedTasksAndListsAreImmutable(){
+        Task input = repository.save(new Task("Original"));
+        input.setDescription("Nur beim Aufrufer geändert");
+
+        Task stored = repository.findById(input.getTaskId()).orElseThrow();
+        assertEquals("Original", stored.getDescription());
+        assertThrows(UnsupportedOperationException.class, () -> stored.setDescription("Hintertür"));
+        assertThrows(UnsupportedOperationException.class, () -> stored.setTaskStatus(TaskStatus.ERLEDIGT));
+        assertThrows(UnsupportedOperationException.class, () -> repository.findAll().add(new Task("Fremd")));
+        assertThrows(UnsupportedOperationException.class, () -> repository.findAll().iterator().remove());
+        assertThrows(IndexOutOfBoundsException.class, () -> repository.findAll().get(1));
+    }
+
+    @Test
+    void testSparseIdsPagingAndStream(){
+        long[] ids = {1, 31, 32, 33, 1024, 1_000_000, 1L << 40, Long.MAX_VALUE - 1};
+        for (long id : ids){
+            repository.save(new Task(id, "Aufgabe " + id, TaskStatus.OFFEN));
+        }
+
+        try (Stream<Task> tasks = repository.streamAll()){
+            assertArrayEquals(ids, tasks.mapToLong(Task::getTaskId).toArray());
+        }
+
+        TaskPage first = repository.findPage(null, 3);
+        assertEquals(List.of(Long.MAX_VALUE - 1, 1L << 40, 1_000_000L),
+                first.getTasks().stream().map(Task::getTaskId).collect(Collectors.toList()));
+        assertTrue(first.hasNext());
+
+        TaskPage middle = repository.findPage(PageCursor.afterId(1024), 3);
+        assertEquals(List.of(33L, 32L, 31L), middle.getTasks().stream().map(Task::getTaskId).collect(Collectors.toList()));
+
+        TaskPage last = repository.findPage(PageCursor.afterId(31), 3);
+        assertEquals(List.of(1L), last.getTasks().stream().map(Task::getTaskId).collect(Collectors.toList()));
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void testRandomOperationsMatchTreeMap(){
+        TreeMap<Long, String> expected = new TreeMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++){
+            long id = 1 + random.nextInt(3_000);
+            if (random.nextInt(3) == 0){
+                assertEquals(expected.remove(id) != null, repository.delete(id));
+            }else{
+                repository.save(new Task(id, "Wert " + i, TaskStatus.OFFEN));
+                expected.put(id, "Wert " + i);
+            }
+        }
+
+        List<Long> actualIds = new ArrayList<>();
+        for (Task task : repository.findAll()){
+            actualIds.add(task.getTaskId());
+            assertEquals(expected.get(task.getTaskId()), task.getDescription());
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), actualIds);
+        assertEquals(expected.size(), repository.countByStatus(TaskStatus.OFFEN));
+    }
+
+    @Test
+    void testBatchOperationsPublishOnce(){
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++){
+            batch.add(new Task(0, "Stapel " + i, i % 2 == 0 ? TaskStatus.OFFEN : TaskStatus.ERLEDIGT));
+        }
+        repository.saveAll(batch);
+        assertEquals(10, batch.get(9).getTaskId());
+
+        assertEquals(2, repository.updateAll(List.of(new Task(1, "Neu", TaskStatus.ERLEDIGT),
+                new Task(2, "Neu", TaskStatus.OFFEN), new Task(99, "Fehlt", TaskStatus.OFFEN))));
+        assertEquals(5, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(3, repository.deleteAllById(List.of(1L, 2L, 3L, 3L, 42L)));
+        assertEquals(7, repository.count());
+        assertEquals(1, repository.findByDescriptionContaining("STAPEL 4").size());
+
+        repository.deleteAll();
+        assertEquals(0, repository.count());
+        assertEquals(1, repository.save(new Task("Wieder von vorn")).getTaskId());
+    }
+
+    @Test
+    void testBulkStatusChangeIsOneVersion(){
+        for (int i = 1; i <= 6; i++){
+            repository.save(new Task("Aufgabe " + i));
+        }
+        SnapshotTaskRepository.ReadView view = repository.snapshot();
+
+        assertEquals(6, repository.updateStatus(TaskStatus.OFFEN, TaskStatus.ERLEDIGT));
+        assertEquals(2, repository.updateStatusByIds(List.of(1L, 4L), TaskStatus.OFFEN));
+
+        assertEquals(6, view.countByStatus(TaskStatus.OFFEN));
+        assertEquals(4, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(4, repository.deleteByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(List.of(1L, 4L), repository.findAll().stream().map(Task::getTaskId).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.tasktracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlServerTaskRepositoryTest{
+    /*
+     * Tests für SqlServerTaskRepository ohne Datenbank
+     * Schwerpunkt: Aufbau der Volltext-Suchbedingung
+     */
+
+    @Test
+    void testFullTextConditionUsesPrefixTermsPerWord(){
+        assertEquals("\"kategorie*\" AND \"7*\"", SqlServerTaskRepository.fullTextCondition("Kategorie 7"));
+        assertEquals("\"größe*\"", SqlServerTaskRepository.fullTextCondition("  Größe "));
+        assertEquals("\"a*\" AND \"or*\" AND \"b*\"", SqlServerTaskRepository.fullTextCondition("a\" OR \"b"));
+        assertNull(SqlServerTaskRepository.fullTextCondition("%-*"));
+    }
+}
@@ -0,0 +1,195 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskChangeEventTest{
+    /*
+     * Tests für Änderungsereignisse (ObservableTaskRepository, ChangeSubscription)
+     * Schwerpunkt: Inhalt und Reihenfolge der Ereignisse sowie BLOCK/DROP bei vollem Puffer
+     */
+
+    @Test
+    void testEventsCarryStatusTransitionsInOrder() throws Exception{
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        repository.save(new Task("Vor dem Abonnement"));
+        BlockingQueue<TaskChangeEvent> events = new LinkedBlockingQueue<>();
+
+        try (ChangeSubscription subscription = repository.subscribe(events::add)){
+            long id = repository.save(new Task("Neu")).getTaskId();
+            repository.update(new Task(id, "Erledigt", TaskStatus.ERLEDIGT));
+            repository.delete(id);
+            repository.delete(id);
+            repository.deleteAll();
+
+            TaskChangeEvent created = take(events);
+            assertEquals(TaskChangeEvent.Type.CREATED, created.getType());
+            assertEquals(id, created.getTaskId());
+            assertNull(created.getOldStatus());
+            assertEquals(TaskStatus.OFFEN, created.getNewStatus());
+
+            TaskChangeEvent updated = take(events);
+            assertEquals(TaskChangeEvent.Type.UPDATED, updated.getType());
+            assertEquals(TaskStatus.OFFEN, updated.getOldStatus());
+            assertEquals(TaskStatus.ERLEDIGT, updated.getNewStatus());
+            assertEquals("Erledigt", updated.getDescription());
+
+            TaskChangeEvent deleted = take(events);
+            assertEquals(TaskChangeEvent.Type.DELETED, deleted.getType());
+            assertEquals(TaskStatus.ERLEDIGT, deleted.getOldStatus());
+
+            TaskChangeEvent cleared = take(events);
+            assertEquals(TaskChangeEvent.Type.CLEARED, cleared.getType());
+            assertEquals(List.of(1L, 2L, 3L, 4L), List.of(created.getSequence(), updated.getSequence(),
+                    deleted.getSequence(), cleared.getSequence()));
+            assertNull(events.poll(50, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void testDropPolicyCountsLostEvents() throws Exception{
+        OffHeapTaskRepository repository = new OffHeapTaskRepository();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+
+        ChangeSubscription subscription = repository.subscribe(event -> {
+            awaitQuietly(release);
+            sequences.add(event.getSequence());
+        }, 4, ChangeSubscription.OverflowPolicy.DROP);
+
+        for (int i = 0; i < 100; i++){
+            repository.save(new Task("Aufgabe " + i));
+        }
+        assertTrue(subscription.getDroppedEvents() >= 100 - 4 - 1);
+        release.countDown();
+        waitUntil(() -> subscription.getPending() == 0);
+
+        assertEquals(100, subscription.getDeliveredEvents() + subscription.getDroppedEvents());
+        // Lücken in der Sequenz zeigen die verworfenen Ereignisse an
+        for (int i = 1; i < sequences.size(); i++){
+            assertTrue(sequences.get(i) > sequences.get(i - 1));
+        }
+        subscription.close();
+        assertTrue(subscription.isClosed());
+    }
+
+    @Test
+    void testDefaultSubscriptionNeverStallsWriters() throws Exception{
+        ConcurrentInMemoryTaskRepository repository = new ConcurrentInMemoryTaskRepository();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ChangeSubscription subscription = repository.subscribe(event -> awaitQuietly(release));
+        assertEquals(ChangeSubscription.OverflowPolicy.DROP, subscription.getPolicy());
+
+        // Mehr Änderungen als Pufferplätze, während der Empfänger hängt
+        for (int i = 0; i < 3 * ObservableTaskRepository.DEFAULT_SUBSCRIPTION_CAPACITY; i++){
+            repository.save(new Task("Aufgabe " + i));
+        }
+
+        assertTrue(subscription.getDroppedEvents() > 0);
+        release.countDown();
+        subscription.close();
+    }
+
+    @Test
+    void testBlockPolicyDeliversEverythingUnderParallelWriters() throws Exception{
+        ConcurrentInMemoryTaskRepository repository = new ConcurrentInMemoryTaskRepository();
+        long[] counts = new long[TaskStatus.values().length];
+        List<Long> sequences = new ArrayList<>();
+
+        ChangeSubscription subscription = repository.subscribe(event -> {
+            sequences.add(event.getSequence());
+            if (event.getOldStatus() != null){
+                counts[event.getOldStatus().ordinal()]--;
+            }
+            if (event.getNewStatus() != null){
+                counts[event.getNewStatus().ordinal()]++;
+            }
+        }, 8, ChangeSubscription.OverflowPolicy.BLOCK);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++){
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 2000; i++){
+                    Task task = repository.save(new Task("Aufgabe " + i));
+                    if (i % 3 == 0){
+                        repository.update(new Task(task.getTaskId(), "Erledigt", TaskStatus.ERLEDIGT));
+                    }
+                    if (i % 5 == 0){
+                        repository.delete(task.getTaskId());
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures){
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        waitUntil(() -> subscription.getPending() == 0);
+        subscription.close();
+
+        assertEquals(0, subscription.getDroppedEvents());
+        assertEquals(repository.countByStatus(TaskStatus.OFFEN), counts[TaskStatus.OFFEN.ordinal()]);
+        assertEquals(repository.countByStatus(TaskStatus.ERLEDIGT), counts[TaskStatus.ERLEDIGT.ordinal()]);
+        for (int i = 0; i < sequences.size(); i++){
+            assertEquals(i + 1, sequences.get(i));
+        }
+    }
+
+    @Test
+    void testFindThroughDecoratorsAndSnapshotRepository() throws Exception{
+        SnapshotTaskRepository backend = new SnapshotTaskRepository();
+        TaskRepository decorated = new CachingTaskRepository(backend, 100, true);
+        assertSame(backend, ObservableTaskRepository.find(decorated).orElseThrow());
+
+        BlockingQueue<TaskChangeEvent> events = new LinkedBlockingQueue<>();
+        try (ChangeSubscription subscription = ObservableTaskRepository.find(decorated).orElseThrow().subscribe(events::add)){
+            decorated.saveAll(List.of(new Task("Eins"), new Task("Zwei")));
+            decorated.deleteAllById(List.of(1L, 99L));
+
+            assertEquals(TaskChangeEvent.Type.CREATED, take(events).getType());
+            assertEquals(2, take(events).getTaskId());
+            TaskChangeEvent deleted = take(events);
+            assertEquals(TaskChangeEvent.Type.DELETED, deleted.getType());
+            assertEquals(1, deleted.getTaskId());
+        }
+    }
+
+    private static TaskChangeEvent take(BlockingQueue<TaskChangeEvent> events) throws InterruptedException{
+        TaskChangeEvent event = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "Ereignis nicht zugestellt");
+        return event;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch){
+        try{
+            latch.await();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException{
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline){
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
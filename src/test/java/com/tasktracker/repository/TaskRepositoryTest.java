@@ -5,8 +5,11 @@ import org.junit.jupiter.api.BeforeEach;
 import com.tasktracker.model.Task;
 import com.tasktracker.model.TaskStatus;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -167,6 +170,40 @@ public class TaskRepositoryTest {
         assertEquals("Erledigte Aufgabe", completedTasks.get(0).getDescription());
     }
 
+    @Test
+    void testFindByStatusAfterUpdateIsOrderedById() {
+        Task task1 = repository.save(new Task("Aufgabe 1"));
+        Task task2 = repository.save(new Task("Aufgabe 2"));
+        Task task3 = repository.save(new Task("Aufgabe 3"));
+
+        task3.setTaskStatus(TaskStatus.ERLEDIGT);
+        repository.update(task3);
+        task1.setTaskStatus(TaskStatus.ERLEDIGT);
+        repository.update(task1);
+
+        List<Task> completedTasks = repository.findByStatus(TaskStatus.ERLEDIGT);
+        List<Task> openTasks = repository.findByStatus(TaskStatus.OFFEN);
+
+        assertEquals(List.of(task1.getTaskId(), task3.getTaskId()),
+                completedTasks.stream().map(Task::getTaskId).toList());
+        assertEquals(List.of(task2.getTaskId()),
+                openTasks.stream().map(Task::getTaskId).toList());
+    }
+
+    @Test
+    void testCountByStatusAfterDelete() {
+        Task task1 = repository.save(new Task("Offen"));
+        Task task2 = new Task("Erledigt");
+        task2.setTaskStatus(TaskStatus.ERLEDIGT);
+        repository.save(task2);
+
+        repository.delete(task1.getTaskId());
+
+        assertEquals(0, repository.countByStatus(TaskStatus.OFFEN));
+        assertEquals(1, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertTrue(repository.findByStatus(TaskStatus.OFFEN).isEmpty());
+    }
+
     @Test
     void testFindByDescriptionContaining() {
         Task task1 = new Task("Java Programmierung");
@@ -184,6 +221,37 @@ public class TaskRepositoryTest {
         assertEquals(1, dbTasks.size());
     }
 
+    @Test
+    void testFindByDescriptionContainingAfterUpdateAndDelete() {
+        Task task1 = repository.save(new Task("Java Programmierung"));
+        Task task2 = repository.save(new Task("Datenbank Design"));
+        Task task3 = repository.save(new Task("Java Unit Tests"));
+
+        task2.setDescription("JAVA Datenbank Anbindung");
+        repository.update(task2);
+        repository.delete(task3.getTaskId());
+
+        List<Task> javaTasks = repository.findByDescriptionContaining("java");
+
+        assertEquals(List.of(task1.getTaskId(), task2.getTaskId()),
+                javaTasks.stream().map(Task::getTaskId).toList());
+        assertTrue(repository.findByDescriptionContaining("Design").isEmpty());
+        assertEquals(2, repository.findByDescriptionContaining("Un").size());
+    }
+
+    @Test
+    void testDescriptionIndexStats() {
+        InMemoryTaskRepository inMemory = new InMemoryTaskRepository();
+        inMemory.save(new Task("Java"));
+        inMemory.save(new Task("Java Tests"));
+
+        DescriptionIndexStats stats = inMemory.getDescriptionIndexStats();
+
+        assertEquals(2, stats.getIndexedTasks());
+        assertTrue(stats.getTrigrams() > 0);
+        assertTrue(stats.getEstimatedBytes() > 0);
+    }
+
     @Test
     void testCount() {
         repository.save(new Task("Aufgabe 1"));
@@ -221,6 +289,103 @@ public class TaskRepositoryTest {
         assertEquals(3, repository.count());
     }
 
+    @Test
+    void testStreamAll() {
+        repository.save(new Task("Aufgabe 1"));
+        repository.save(new Task("Aufgabe 2"));
+
+        try (Stream<Task> tasks = repository.streamAll()) {
+            assertEquals(2, tasks.count());
+        }
+    }
+
+    @Test
+    void testFindPageWalksAllTasksNewestFirst() {
+        Task done = new Task("Aufgabe 0");
+        done.setTaskStatus(TaskStatus.ERLEDIGT);
+        repository.save(done);
+        for (int i = 1; i < 5; i++) {
+            repository.save(new Task("Aufgabe " + i));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        TaskPage page = repository.findPage(null, 2);
+        ids.addAll(page.getTasks().stream().map(Task::getTaskId).toList());
+        while (page.hasNext()) {
+            page = repository.findPage(page.getNextCursor(), 2);
+            ids.addAll(page.getTasks().stream().map(Task::getTaskId).toList());
+        }
+
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids);
+    }
+
+    @Test
+    void testFindPageIncludesTasksWithoutStatus() {
+        repository.save(new Task("Aufgabe 1"));
+        repository.save(new Task(0, "Aufgabe 2", null));
+        repository.save(new Task("Aufgabe 3"));
+
+        TaskPage first = repository.findPage(null, 2);
+        TaskPage second = repository.findPage(first.getNextCursor(), 2);
+
+        assertEquals(List.of(3L, 2L), first.getTasks().stream().map(Task::getTaskId).toList());
+        assertEquals(List.of(1L), second.getTasks().stream().map(Task::getTaskId).toList());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testFindPageWithMaximumSizeInEveryImplementation() {
+        ShardedTaskRepository sharded = new ShardedTaskRepository(
+                List.of(new InMemoryTaskRepository(), new ConcurrentInMemoryTaskRepository()));
+        List<TaskRepository> repositories = List.of(new InMemoryTaskRepository(),
+                new ConcurrentInMemoryTaskRepository(), new OffHeapTaskRepository(), new SnapshotTaskRepository(), sharded);
+        try {
+            for (TaskRepository candidate : repositories) {
+                for (int i = 1; i <= 3; i++) {
+                    candidate.save(new Task("Aufgabe " + i));
+                }
+
+                TaskPage page = candidate.findPage(null, Integer.MAX_VALUE);
+
+                String name = candidate.getClass().getSimpleName();
+                assertEquals(3, page.getTasks().size(), name);
+                assertFalse(page.hasNext(), name);
+            }
+        } finally {
+            sharded.close();
+        }
+    }
+
+    @Test
+    void testDeleteAllByIdSkipsNullIdsInEveryImplementation() {
+        ShardedTaskRepository sharded = new ShardedTaskRepository(
+                List.of(new ConcurrentInMemoryTaskRepository(), new ConcurrentInMemoryTaskRepository()));
+        WriteBehindTaskRepository writeBehind = new WriteBehindTaskRepository(
+                new ConcurrentInMemoryTaskRepository(), 100, 100, 60_000);
+        List<TaskRepository> repositories = List.of(new InMemoryTaskRepository(),
+                new ConcurrentInMemoryTaskRepository(), new OffHeapTaskRepository(), new SnapshotTaskRepository(),
+                new CachingTaskRepository(new InMemoryTaskRepository(), 10, true), sharded, writeBehind);
+        try {
+            for (TaskRepository candidate : repositories) {
+                long id = candidate.save(new Task("Aufgabe")).getTaskId();
+
+                int deleted = candidate.deleteAllById(Arrays.asList(null, id, null));
+
+                String name = candidate.getClass().getSimpleName();
+                assertEquals(1, deleted, name);
+                assertEquals(0, candidate.count(), name);
+            }
+        } finally {
+            sharded.close();
+            writeBehind.close();
+        }
+    }
+
+    @Test
+    void testFindPageWithInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(null, 0));
+    }
+
     @Test
     void testDeleteAll() {
         repository.save(new Task("Aufgabe 1"));
@@ -231,4 +396,74 @@ public class TaskRepositoryTest {
 
         assertEquals(0, repository.count());
     }
+
+    @Test
+    void testStatisticsMatchesCounts() {
+        repository.save(new Task("Aufgabe 1"));
+        repository.save(new Task(0, "Aufgabe 2", TaskStatus.ERLEDIGT));
+        repository.save(new Task(0, "Aufgabe 3", TaskStatus.ERLEDIGT));
+
+        TaskStatistics statistics = repository.statistics();
+
+        assertEquals(3, statistics.getTotal());
+        assertEquals(1, statistics.getCount(TaskStatus.OFFEN));
+        assertEquals(2, statistics.getCount(TaskStatus.ERLEDIGT));
+    }
+
+    @Test
+    void testBulkStatusOperations() {
+        for (int i = 0; i < 6; i++) {
+            repository.save(new Task(0, "Aufgabe " + i, i % 2 == 0 ? TaskStatus.OFFEN : TaskStatus.ERLEDIGT));
+        }
+
+        assertEquals(3, repository.updateStatus(TaskStatus.OFFEN, TaskStatus.ERLEDIGT));
+        assertEquals(0, repository.updateStatus(TaskStatus.OFFEN, TaskStatus.ERLEDIGT));
+        assertEquals(6, repository.countByStatus(TaskStatus.ERLEDIGT));
+
+        assertEquals(2, repository.updateStatusByIds(List.of(1L, 2L, 2L, 42L), TaskStatus.OFFEN));
+        assertEquals(List.of(1L, 2L), repository.findByStatus(TaskStatus.OFFEN).stream().map(Task::getTaskId).toList());
+
+        assertEquals(4, repository.deleteByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(2, repository.count());
+        assertThrows(IllegalArgumentException.class, () -> repository.deleteByStatus(null));
+    }
+
+    @Test
+    void testSaveOrUpdateAndUpdateIfUnchanged() {
+        Task created = repository.saveOrUpdate(new Task("Aufgabe 1"));
+        assertEquals(1, created.getTaskId());
+
+        repository.saveOrUpdate(new Task(1, "Aufgabe 1 geändert", TaskStatus.OFFEN));
+        assertEquals(1, repository.count());
+        assertEquals("Aufgabe 1 geändert", repository.findById(1).orElseThrow().getDescription());
+
+        Task changed = new Task(1, "Aufgabe 1 erledigt", TaskStatus.ERLEDIGT);
+        assertFalse(repository.updateIfUnchanged(changed, TaskStatus.OFFEN, "Aufgabe 1"));
+        assertTrue(repository.updateIfUnchanged(changed, TaskStatus.OFFEN, "Aufgabe 1 geändert"));
+        assertFalse(repository.updateIfUnchanged(changed, TaskStatus.OFFEN, "Aufgabe 1 geändert"));
+        assertEquals(TaskStatus.ERLEDIGT, repository.findById(1).orElseThrow().getTaskStatus());
+        assertFalse(repository.updateIfUnchanged(new Task(42, "Unbekannt", TaskStatus.OFFEN), TaskStatus.OFFEN, "Unbekannt"));
+    }
+
+    @Test
+    void testUpdateIfUnchangedAfterModifyingFoundInstance() {
+        long id = repository.save(new Task("Alt")).getTaskId();
+
+        // Ablauf wie in Main: lesen, die gelieferte Instanz ändern, bedingt zurückschreiben
+        Task found = repository.findById(id).orElseThrow();
+        TaskStatus readStatus = found.getTaskStatus();
+        String readDescription = found.getDescription();
+        found.setDescription("Neu");
+        found.setTaskStatus(TaskStatus.ERLEDIGT);
+
+        assertTrue(repository.updateIfUnchanged(found, readStatus, readDescription));
+        assertEquals(1, repository.findByDescriptionContaining("Neu").size());
+        assertEquals(0, repository.findByDescriptionContaining("Alt").size());
+        assertEquals(1, repository.countByStatus(TaskStatus.ERLEDIGT));
+
+        // Reine Änderung der Groß-/Kleinschreibung zählt als Änderung
+        assertFalse(repository.updateIfUnchanged(new Task(id, "NEU", TaskStatus.ERLEDIGT), TaskStatus.ERLEDIGT, "neu"));
+        assertTrue(repository.updateIfUnchanged(new Task(id, "NEU", TaskStatus.ERLEDIGT), TaskStatus.ERLEDIGT, "Neu"));
+        assertEquals("NEU", repository.findById(id).orElseThrow().getDescription());
+    }
 }
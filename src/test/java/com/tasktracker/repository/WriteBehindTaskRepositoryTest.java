@@ -0,0 +1,181 @@
+package com.tasktracker.repository;
+
+import com.tasktracker.model.Task;
+import com.tasktracker.model.TaskStatus;
+import com.tasktracker.model.TaskValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindTaskRepositoryTest{
+    /*
+     * Tests für WriteBehindTaskRepository
+     * Großes Flush-Intervall, damit nur explizite Flushes schreiben
+     */
+
+    private BatchCountingRepository backend;
+    private WriteBehindTaskRepository repository;
+
+    @BeforeEach
+    void setup(){
+        backend = new BatchCountingRepository();
+        repository = new WriteBehindTaskRepository(backend, 100, 100, 60_000);
+    }
+
+    @Test
+    void testRepeatedUpdatesAreCoalesced(){
+        long id = repository.save(new Task("Aufgabe")).getTaskId();
+
+        for (int i = 0; i < 10; i++){
+            repository.update(new Task(id, "Version " + i, i % 2 == 0 ? TaskStatus.ERLEDIGT : TaskStatus.OFFEN));
+        }
+        repository.flush();
+
+        assertEquals(1, backend.updateBatches);
+        assertEquals(1, backend.updatedTasks);
+        assertEquals(9, repository.getCoalescedWrites());
+        assertEquals("Version 9", backend.findById(id).orElseThrow().getDescription());
+    }
+
+    @Test
+    void testReadYourWritesBeforeFlush(){
+        long id = repository.save(new Task("Alt")).getTaskId();
+
+        repository.update(new Task(id, "Neu", TaskStatus.ERLEDIGT));
+
+        assertEquals("Alt", backend.findById(id).orElseThrow().getDescription());
+        assertEquals("Neu", repository.findById(id).orElseThrow().getDescription());
+    }
+
+    @Test
+    void testUpdateOfUnknownTaskIsRejected(){
+        long id = repository.save(new Task("Aufgabe")).getTaskId();
+        repository.delete(id);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Task(42, "Unbekannt", TaskStatus.OFFEN)));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Task(id, "Gelöscht", TaskStatus.OFFEN)));
+        assertEquals(0, repository.updateAll(List.of(new Task(42, "Unbekannt", TaskStatus.OFFEN))));
+    }
+
+    @Test
+    void testDeleteIsBufferedAndVisible(){
+        long id = repository.save(new Task("Aufgabe")).getTaskId();
+
+        assertTrue(repository.delete(id));
+
+        assertTrue(backend.existsById(id));
+        assertFalse(repository.existsById(id));
+        assertFalse(repository.delete(id));
+    }
+
+    @Test
+    void testQueriesFlushFirst(){
+        long id = repository.save(new Task("Aufgabe")).getTaskId();
+        repository.update(new Task(id, "Aufgabe", TaskStatus.ERLEDIGT));
+
+        assertEquals(1, repository.countByStatus(TaskStatus.ERLEDIGT));
+        assertEquals(0, repository.getPendingCount());
+    }
+
+    @Test
+    void testFlushSizeTriggersBackgroundFlush() throws Exception{
+        WriteBehindTaskRepository small = new WriteBehindTaskRepository(backend, 10, 2, 60_000);
+        long id1 = small.save(new Task("Aufgabe 1")).getTaskId();
+        long id2 = small.save(new Task("Aufgabe 2")).getTaskId();
+
+        small.update(new Task(id1, "Neu 1", TaskStatus.ERLEDIGT));
+        small.update(new Task(id2, "Neu 2", TaskStatus.ERLEDIGT));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (backend.updatedTasks < 2 && System.currentTimeMillis() < deadline){
+            Thread.sleep(10);
+        }
+        assertEquals(2, backend.updatedTasks);
+        small.close();
+    }
+
+    @Test
+    void testCloseFlushesPendingWrites() throws Exception{
+        long id = repository.save(new Task("Aufgabe")).getTaskId();
+        repository.update(new Task(id, "Geschlossen", TaskStatus.OFFEN));
+
+        repository.close();
+
+        assertEquals("Geschlossen", backend.findById(id).orElseThrow().getDescription());
+        assertThrows(IllegalStateException.class,
+                () -> repository.update(new Task(id, "Zu spät", TaskStatus.OFFEN)));
+    }
+
+    @Test
+    void testUpdateIsValidatedLikeTheBackend(){
+        WriteBehindTaskRepository limited = new WriteBehindTaskRepository(backend, 100, 100, 60_000, new TaskValidator(10));
+        long id = limited.save(new Task("Kurz")).getTaskId();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> limited.update(new Task(id, "Deutlich zu lang", TaskStatus.OFFEN)));
+        assertEquals(0, limited.getPendingCount());
+        limited.close();
+    }
+
+    @Test
+    void testRejectedWriteIsDroppedInsteadOfBlockingReads(){
+        long good = repository.save(new Task("Aufgabe 1")).getTaskId();
+        long bad = repository.save(new Task("Aufgabe 2")).getTaskId();
+        repository.update(new Task(good, "Angenommen", TaskStatus.ERLEDIGT));
+        repository.update(new Task(bad, REJECTED, TaskStatus.ERLEDIGT));
+
+        assertEquals(2, repository.count());
+        assertEquals(0, repository.getPendingCount());
+        assertEquals(1, repository.getDroppedWrites());
+        assertEquals(1, repository.getFailedFlushes());
+        assertEquals("Angenommen", backend.findById(good).orElseThrow().getDescription());
+        assertEquals("Aufgabe 2", backend.findById(bad).orElseThrow().getDescription());
+    }
+
+    @Test
+    void testFailedWritesStayBufferedUntilBackendRecovers(){
+        long id = repository.save(new Task("Aufgabe")).getTaskId();
+        repository.update(new Task(id, "Später", TaskStatus.ERLEDIGT));
+
+        backend.unavailable = true;
+        assertThrows(IllegalStateException.class, repository::flush);
+        assertEquals(1, repository.getPendingCount());
+        assertEquals("Später", repository.findById(id).orElseThrow().getDescription());
+
+        backend.unavailable = false;
+        repository.flush();
+        assertEquals(0, repository.getDroppedWrites());
+        assertEquals("Später", backend.findById(id).orElseThrow().getDescription());
+    }
+
+    @Test
+    void testNonThreadSafeBackendIsRefused(){
+        assertThrows(IllegalArgumentException.class,
+                () -> new WriteBehindTaskRepository(new InMemoryTaskRepository(), 100, 100, 60_000));
+    }
+
+    private static final String REJECTED = "Vom Backend abgelehnt";
+
+    private static final class BatchCountingRepository extends ConcurrentInMemoryTaskRepository{
+        private volatile int updateBatches;
+        private volatile int updatedTasks;
+
+        private volatile boolean unavailable;
+
+        @Override
+        public int updateAll(List<Task> taskList){
+            if (unavailable){
+                throw new IllegalStateException("Backend nicht erreichbar");
+            }
+            if (taskList.stream().anyMatch(task -> REJECTED.equals(task.getDescription()))){
+                throw new IllegalArgumentException("Beschreibung abgelehnt");
+            }
+            updateBatches++;
+            updatedTasks += taskList.size();
+            return super.updateAll(taskList);
+        }
+    }
+}